@@ -0,0 +1,101 @@
+package com.line.review.episode21;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * FooVideoPlayer 변형별 벤치마크
+ *
+ * 각 벤치마크는 플레이어 생성 후 play()를 playCount번 호출합니다.
+ * 다른 파일의 보조 클래스인 옵션 1-2, 2-2는 그 파일의 공개 클래스가 제공하는 진입점을 거쳐 만듭니다.
+ * play()의 System.out 출력이 결과를 지배하지 않도록 측정 중에는 출력을 버립니다.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class FooVideoPlayerBenchmark {
+
+    @Param({"1", "10"})
+    int playCount;
+
+    private final Uri uri = new Uri("https://example.com/video.mp4");
+    private PrintStream originalOut;
+
+    @Setup(Level.Trial)
+    public void silenceOutput() {
+        originalOut = System.out;
+        System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+    }
+
+    @TearDown(Level.Trial)
+    public void restoreOutput() {
+        System.setOut(originalOut);
+    }
+
+    @Benchmark
+    public Object bad() {
+        FooVideoPlayerBad player = new FooVideoPlayerBad(uri);
+        player.prepare();
+        for (int i = 0; i < playCount; i++) {
+            player.play();
+        }
+        return player;
+    }
+
+    @Benchmark
+    public Object option1() {
+        FooVideoPlayerOption1 player = new FooVideoPlayerOption1(uri);
+        for (int i = 0; i < playCount; i++) {
+            player.play();
+        }
+        return player;
+    }
+
+    @Benchmark
+    public Object option1Factory() {
+        Runnable player = FooVideoPlayerOption1.createWithFactory(uri);
+        for (int i = 0; i < playCount; i++) {
+            player.run();
+        }
+        return player;
+    }
+
+    @Benchmark
+    public Object option2() {
+        FooVideoPlayerOption2 player = new FooVideoPlayerOption2(uri);
+        for (int i = 0; i < playCount; i++) {
+            player.play();
+        }
+        return player;
+    }
+
+    @Benchmark
+    public Object option2Lazy() {
+        Runnable player = FooVideoPlayerOption2.createWithSupplier(uri);
+        for (int i = 0; i < playCount; i++) {
+            player.run();
+        }
+        return player;
+    }
+
+    @Benchmark
+    public Object option3() {
+        PreparedFooVideoPlayer player = new FooVideoPlayerOption3(uri).prepare();
+        for (int i = 0; i < playCount; i++) {
+            player.play();
+        }
+        return player;
+    }
+}
@@ -0,0 +1,63 @@
+package com.line.review.episode21;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 초기화가 끝난 뒤 준비된 값을 읽는 비용 벤치마크 (play()의 출력을 뺀 부분)
+ *
+ * - finalField: 옵션 1처럼 생성 시 준비해 final 필드로 보관
+ * - lazy: 옵션 2처럼 Lazy로 처음 접근할 때 준비 (목표: finalField와 같음)
+ * - volatileField: 비교용, volatile 필드 읽기
+ * - synchronizedGetter: 비교용, 매번 모니터를 잡는 지연 초기화
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class LazyBenchmark {
+
+    private final Uri uri = new Uri("https://example.com/video.mp4");
+
+    private PreparedValue finalValue;
+    private Lazy<PreparedValue> lazyValue;
+    private volatile PreparedValue volatileValue;
+    private PreparedValue synchronizedValue;
+
+    @Setup
+    public void setUp() {
+        finalValue = new PreparedValue("prepared-" + uri.value());
+        lazyValue = Lazy.of(() -> new PreparedValue("prepared-" + uri.value()));
+        lazyValue.get();
+        volatileValue = finalValue;
+    }
+
+    @Benchmark
+    public PreparedValue finalField() {
+        return finalValue;
+    }
+
+    @Benchmark
+    public PreparedValue lazy() {
+        return lazyValue.get();
+    }
+
+    @Benchmark
+    public PreparedValue volatileField() {
+        return volatileValue;
+    }
+
+    @Benchmark
+    public synchronized PreparedValue synchronizedGetter() {
+        if (synchronizedValue == null) {
+            synchronizedValue = new PreparedValue("prepared-" + uri.value());
+        }
+        return synchronizedValue;
+    }
+}
@@ -0,0 +1,126 @@
+package com.line.review.episode21;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 플레이리스트 프리페치 창 크기별 시작 지연(time to first frame) 비교 드라이버
+ *
+ * 시청자 users명이 각자 items개짜리 자동 재생 플레이리스트를 가상 스레드에서 동시에 봅니다.
+ * 준비에는 prepareMillis(±50%)만큼 걸리는 I/O를 흉내 내고, 시청자는 항목마다
+ * skipPercent% 확률로 곧바로(최대 prepareMillis/2) 건너뛰고 그 밖에는 prepareMillis의 1~6배 동안 봅니다.
+ * 건너뛸 때는 다음 한두 항목을 뛰어넘기도 합니다.
+ * 창 크기마다(0은 프리페치 없음) play 호출의 지연 분포와 미리 준비 결과를 출력합니다.
+ *
+ * 실행: ./gradlew prefetchLoad --args="users items prepareMillis skipPercent window..."
+ * 기본값: 200 20 100 30 0 1 3
+ */
+public final class PlaylistPrefetchDriver {
+
+    private static final ExecutorService PREFETCH_EXECUTOR = Executors.newVirtualThreadPerTaskExecutor();
+
+    private PlaylistPrefetchDriver() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        int users = intArg(args, 0, 200);
+        int items = intArg(args, 1, 20);
+        int prepareMillis = intArg(args, 2, 100);
+        int skipPercent = intArg(args, 3, 30);
+        int[] windows = args.length > 4
+                ? Arrays.stream(args, 4, args.length).mapToInt(Integer::parseInt).toArray()
+                : new int[]{0, 1, 3};
+
+        System.out.printf("users=%d items=%d prepareMillis=%d skipPercent=%d%n",
+                users, items, prepareMillis, skipPercent);
+
+        List<Uri> playlist = new ArrayList<>();
+        for (int i = 0; i < items; i++) {
+            playlist.add(new Uri("https://example.com/playlist/" + i));
+        }
+        for (int window : windows) {
+            ConcurrentLinkedQueue<Long> latencies = new ConcurrentLinkedQueue<>();
+            ConcurrentLinkedQueue<PlaylistPrefetcher.Stats> stats = new ConcurrentLinkedQueue<>();
+            try (ExecutorService sessions = Executors.newVirtualThreadPerTaskExecutor()) {
+                for (int u = 0; u < users; u++) {
+                    sessions.submit(() -> {
+                        watch(playlist, window, prepareMillis, skipPercent, latencies, stats);
+                        return null;
+                    });
+                }
+            }
+            long[] sorted = latencies.stream().mapToLong(Long::longValue).sorted().toArray();
+            long ready = stats.stream().mapToLong(PlaylistPrefetcher.Stats::readyCount).sum();
+            long waited = stats.stream().mapToLong(PlaylistPrefetcher.Stats::waitedCount).sum();
+            long missed = stats.stream().mapToLong(PlaylistPrefetcher.Stats::missCount).sum();
+            long cancelled = stats.stream().mapToLong(PlaylistPrefetcher.Stats::cancelledCount).sum();
+            long discarded = stats.stream().mapToLong(PlaylistPrefetcher.Stats::discardedCount).sum();
+            System.out.printf("window=%d ttff ms: p50=%.1f p90=%.1f p99=%.1f | ready=%d waited=%d miss=%d "
+                            + "cancelled=%d discarded=%d%n",
+                    window, percentile(sorted, 0.50), percentile(sorted, 0.90), percentile(sorted, 0.99),
+                    ready, waited, missed, cancelled, discarded);
+        }
+        PREFETCH_EXECUTOR.shutdown();
+    }
+
+    private static void watch(List<Uri> playlist, int window, int prepareMillis, int skipPercent,
+                              ConcurrentLinkedQueue<Long> latencies, ConcurrentLinkedQueue<PlaylistPrefetcher.Stats> stats)
+            throws InterruptedException {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        try (PlaylistPrefetcher prefetcher = new PlaylistPrefetcher(playlist, window,
+                uri -> new SlowPreparePlayer(uri, prepareMillis), PREFETCH_EXECUTOR)) {
+            int index = 0;
+            while (index < playlist.size()) {
+                long startNanos = System.nanoTime();
+                prefetcher.play(index);
+                latencies.add(System.nanoTime() - startNanos);
+                if (random.nextInt(100) < skipPercent) {
+                    Thread.sleep(random.nextInt(prepareMillis / 2 + 1));
+                    index += 1 + random.nextInt(3);
+                } else {
+                    Thread.sleep(prepareMillis + random.nextInt(prepareMillis * 5 + 1));
+                    index++;
+                }
+            }
+            stats.add(prefetcher.stats());
+        }
+    }
+
+    private static double percentile(long[] sorted, double quantile) {
+        int index = (int) Math.ceil(quantile * sorted.length) - 1;
+        return sorted[Math.max(0, index)] / 1e6;
+    }
+
+    private static int intArg(String[] args, int index, int defaultValue) {
+        return args.length > index ? Integer.parseInt(args[index]) : defaultValue;
+    }
+
+    /**
+     * 준비에 prepareMillis(±50%)만큼 기다리는 플레이어
+     */
+    private static final class SlowPreparePlayer extends FooVideoPlayerOption3 {
+        private final int prepareMillis;
+
+        SlowPreparePlayer(Uri videoUri, int prepareMillis) {
+            super(videoUri);
+            this.prepareMillis = prepareMillis;
+        }
+
+        @Override
+        public PreparedFooVideoPlayer prepare() {
+            try {
+                TimeUnit.MILLISECONDS.sleep(prepareMillis / 2 + ThreadLocalRandom.current().nextInt(prepareMillis + 1));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("prepare interrupted", e);
+            }
+            return super.prepare();
+        }
+    }
+}
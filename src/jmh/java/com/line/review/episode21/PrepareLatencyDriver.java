@@ -0,0 +1,120 @@
+package com.line.review.episode21;
+
+import java.util.Arrays;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * prepare와 prepareAsync의 지연 시간 비교 드라이버
+ *
+ * 요청 스레드 풀(서블릿 컨테이너의 작업 스레드처럼 크기가 고정된 플랫폼 스레드)에 초당 rate개의 요청을
+ * 일정한 간격으로 넣습니다(열린 부하: 앞 요청이 밀려도 다음 요청은 예정대로 도착).
+ * 준비에는 preparedMillis만큼 걸리는 I/O(매니페스트 다운로드 등)를 흉내 냅니다.
+ * - blocking: 요청 스레드가 prepare()를 직접 호출하고 끝날 때까지 붙잡혀 있음
+ * - async: 요청 스레드는 prepareAsync()만 호출하고 바로 다음 요청을 받음
+ * 지연 시간은 요청이 도착하기로 예정된 시각부터 플레이어가 준비된 시각까지입니다.
+ *
+ * 실행: ./gradlew prepareLoad --args="rate seconds prepareMillis requestThreads"
+ * 기본값: 5000 3 50 200
+ */
+public final class PrepareLatencyDriver {
+
+    private PrepareLatencyDriver() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        int rate = intArg(args, 0, 5_000);
+        int seconds = intArg(args, 1, 3);
+        int prepareMillis = intArg(args, 2, 50);
+        int requestThreads = intArg(args, 3, 200);
+        int requests = rate * seconds;
+
+        System.out.printf("rate=%d/s seconds=%d prepareMillis=%d requestThreads=%d%n",
+                rate, seconds, prepareMillis, requestThreads);
+
+        for (boolean async : new boolean[]{false, true}) {
+            // 워밍업 한 번 후 측정
+            run(async, rate, rate / 2, prepareMillis, requestThreads);
+            long[] latencies = run(async, rate, requests, prepareMillis, requestThreads);
+            Arrays.sort(latencies);
+            System.out.printf("%-8s latency ms: p50=%.1f p90=%.1f p99=%.1f max=%.1f%n",
+                    async ? "async" : "blocking",
+                    percentile(latencies, 0.50), percentile(latencies, 0.90),
+                    percentile(latencies, 0.99), latencies[latencies.length - 1] / 1e6);
+        }
+    }
+
+    /**
+     * @return 요청별 지연 시간 (나노초)
+     */
+    private static long[] run(boolean async, int rate, int requests, int prepareMillis, int requestThreads)
+            throws InterruptedException {
+        long[] latencies = new long[requests];
+        CountDownLatch completed = new CountDownLatch(requests);
+        long intervalNanos = TimeUnit.SECONDS.toNanos(1) / rate;
+        ExecutorService pool = Executors.newFixedThreadPool(requestThreads);
+        try {
+            long startNanos = System.nanoTime();
+            for (int i = 0; i < requests; i++) {
+                long scheduledNanos = startNanos + i * intervalNanos;
+                long waitNanos = scheduledNanos - System.nanoTime();
+                if (waitNanos > 0) {
+                    LockSupport.parkNanos(waitNanos);
+                }
+                int index = i;
+                FooVideoPlayerOption3 player = new SlowPreparePlayer(new Uri("https://example.com/" + i), prepareMillis);
+                pool.execute(() -> {
+                    if (async) {
+                        player.prepareAsync().whenComplete((prepared, failure) -> {
+                            latencies[index] = System.nanoTime() - scheduledNanos;
+                            completed.countDown();
+                        });
+                    } else {
+                        player.prepare();
+                        latencies[index] = System.nanoTime() - scheduledNanos;
+                        completed.countDown();
+                    }
+                });
+            }
+            completed.await();
+            return latencies;
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    private static double percentile(long[] sorted, double quantile) {
+        int index = (int) Math.ceil(quantile * sorted.length) - 1;
+        return sorted[Math.max(0, index)] / 1e6;
+    }
+
+    private static int intArg(String[] args, int index, int defaultValue) {
+        return args.length > index ? Integer.parseInt(args[index]) : defaultValue;
+    }
+
+    /**
+     * 준비에 prepareMillis만큼 기다리는 플레이어
+     */
+    private static final class SlowPreparePlayer extends FooVideoPlayerOption3 {
+        private final int prepareMillis;
+
+        SlowPreparePlayer(Uri videoUri, int prepareMillis) {
+            super(videoUri);
+            this.prepareMillis = prepareMillis;
+        }
+
+        @Override
+        public PreparedFooVideoPlayer prepare() {
+            try {
+                Thread.sleep(prepareMillis);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("prepare interrupted", e);
+            }
+            return super.prepare();
+        }
+    }
+}
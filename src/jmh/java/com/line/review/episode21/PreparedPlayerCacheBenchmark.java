@@ -0,0 +1,92 @@
+package com.line.review.episode21;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * PreparedPlayerCache 경합 벤치마크
+ *
+ * 가상 스레드 threadCount개가 hotUriCount개의 인기 Uri를 동시에 요청합니다 (조회수가 급증한 동영상).
+ * 준비 비용은 prepareTokens만큼의 CPU 작업으로 흉내 냅니다.
+ * - uncached: 요청마다 준비
+ * - singleFlight: 빈 PreparedPlayerCache로 시작해 Uri마다 한 번만 준비
+ * - warmCache: 모든 Uri가 준비된 캐시 (적중 경로의 경합 비용)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class PreparedPlayerCacheBenchmark {
+
+    @Param({"10000"})
+    int threadCount;
+
+    @Param({"100"})
+    int hotUriCount;
+
+    @Param({"100000"})
+    long prepareTokens;
+
+    private Uri[] uris;
+    private Function<Uri, PreparedFooVideoPlayer> preparer;
+    private PreparedPlayerCache coldCache;
+    private PreparedPlayerCache warmCache;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        uris = new Uri[hotUriCount];
+        for (int i = 0; i < uris.length; i++) {
+            uris[i] = new Uri("https://example.com/viral/" + i + ".mp4");
+        }
+        preparer = uri -> {
+            Blackhole.consumeCPU(prepareTokens);
+            return new FooVideoPlayerOption3(uri).prepare();
+        };
+        warmCache = new PreparedPlayerCache(hotUriCount, Duration.ofHours(1), preparer);
+        for (Uri uri : uris) {
+            warmCache.get(uri);
+        }
+    }
+
+    @Setup(Level.Invocation)
+    public void newColdCache() {
+        coldCache = new PreparedPlayerCache(hotUriCount, Duration.ofHours(1), preparer);
+    }
+
+    @Benchmark
+    public void uncached() {
+        run(preparer);
+    }
+
+    @Benchmark
+    public void singleFlight() {
+        run(coldCache::get);
+    }
+
+    @Benchmark
+    public void warmCache() {
+        run(warmCache::get);
+    }
+
+    private void run(Function<Uri, PreparedFooVideoPlayer> source) {
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < threadCount; i++) {
+                Uri uri = uris[i % uris.length];
+                executor.execute(() -> source.apply(uri));
+            }
+        }
+    }
+}
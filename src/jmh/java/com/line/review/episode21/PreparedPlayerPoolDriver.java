@@ -0,0 +1,174 @@
+package com.line.review.episode21;
+
+import com.sun.management.GarbageCollectionNotificationInfo;
+
+import javax.management.ListenerNotFoundException;
+import javax.management.Notification;
+import javax.management.NotificationEmitter;
+import javax.management.NotificationListener;
+import javax.management.openmbean.CompositeData;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * 고정된 메모리 예산에서 PreparedPlayerPool의 적중률과 GC 정지 시간을 측정하는 드라이버
+ *
+ * catalogSize개의 동영상 중 Zipf 분포(인기 동영상에 요청이 몰림)로 requests번 요청합니다.
+ * 플레이어 하나는 payloadKb KB를 차지하며, 재생 중인 세션 sessions개가 최근에 받은 플레이어를 붙잡고 있습니다.
+ * 예산마다(0은 풀 없이 매번 준비) 다음을 출력합니다.
+ * - 적중률, 제거/해제 수, 측정 종료 시 풀이 보관/붙잡힌 바이트
+ * - GC 정지 횟수, 합계, 최댓값 (GC 알림의 duration, 동시 수행 단계는 제외)
+ *
+ * 실행: ./gradlew poolLoad --args="catalogSize requests payloadKb sessions budgetMb..."
+ * 기본값: 20000 200000 64 256 0 16 64 128 (힙 256MB)
+ */
+public final class PreparedPlayerPoolDriver {
+
+    private PreparedPlayerPoolDriver() {
+    }
+
+    public static void main(String[] args) throws InterruptedException {
+        int catalogSize = intArg(args, 0, 20_000);
+        int requests = intArg(args, 1, 200_000);
+        int payloadKb = intArg(args, 2, 64);
+        int sessions = intArg(args, 3, 256);
+        int[] budgetsMb = args.length > 4
+                ? Arrays.stream(args, 4, args.length).mapToInt(Integer::parseInt).toArray()
+                : new int[]{0, 16, 64, 128};
+
+        System.out.printf("catalogSize=%d requests=%d payloadKb=%d sessions=%d maxHeapMb=%d%n",
+                catalogSize, requests, payloadKb, sessions, Runtime.getRuntime().maxMemory() >> 20);
+
+        Uri[] catalog = new Uri[catalogSize];
+        for (int i = 0; i < catalogSize; i++) {
+            catalog[i] = new Uri("https://example.com/video/" + i);
+        }
+        int[] trace = zipfTrace(catalogSize, requests, 1.0, 42);
+        String payload = "x".repeat(payloadKb * 1024);
+
+        GcPauses pauses = new GcPauses();
+        for (int budgetMb : budgetsMb) {
+            // 워밍업 한 번 후 측정
+            run(catalog, trace, payload, sessions, budgetMb);
+            System.gc();
+            pauses.reset();
+            long startNanos = System.nanoTime();
+            PreparedPlayerPool.Stats stats = run(catalog, trace, payload, sessions, budgetMb);
+            long elapsedNanos = System.nanoTime() - startNanos;
+            // GC 알림은 별도 스레드로 늦게 도착할 수 있습니다.
+            Thread.sleep(100);
+            long[] paused = pauses.snapshot();
+            System.out.printf("budget=%4dMB hitRate=%.3f evictions=%d releases=%d resident=%dMB retained=%dMB "
+                            + "elapsed=%dms gcPauses=%d total=%dms max=%dms%n",
+                    budgetMb, stats.hitRate(), stats.evictionCount(), stats.releaseCount(),
+                    stats.residentBytes() >> 20, stats.retainedBytes() >> 20, elapsedNanos / 1_000_000,
+                    paused.length, Arrays.stream(paused).sum(), Arrays.stream(paused).max().orElse(0));
+        }
+        pauses.close();
+    }
+
+    private static PreparedPlayerPool.Stats run(Uri[] catalog, int[] trace, String payload, int sessions,
+                                                int budgetMb) {
+        PreparedPlayerPool pool = budgetMb == 0 ? null : new PreparedPlayerPool((long) budgetMb << 20,
+                uri -> prepare(uri, payload), player -> () -> {
+                });
+        PreparedFooVideoPlayer[] playing = new PreparedFooVideoPlayer[sessions];
+        long prepared = 0;
+        for (int i = 0; i < trace.length; i++) {
+            Uri uri = catalog[trace[i]];
+            PreparedFooVideoPlayer player;
+            if (pool == null) {
+                player = prepare(uri, payload);
+                prepared++;
+            } else {
+                player = pool.get(uri);
+            }
+            playing[i % sessions] = player;
+        }
+        return pool != null ? pool.stats() : new PreparedPlayerPool.Stats(0, prepared, 0, 0, 0, 0, 0, 0, 0);
+    }
+
+    /**
+     * 준비 결과마다 새 문자열을 만들어 실제처럼 플레이어마다 payload만큼 힙을 차지하게 합니다.
+     */
+    private static PreparedFooVideoPlayer prepare(Uri uri, String payload) {
+        return new PreparedFooVideoPlayer(uri, new PreparedValue(uri.value() + payload));
+    }
+
+    /**
+     * Zipf(s) 분포를 따르는 요청 순서 (0번이 가장 인기 있는 동영상)
+     */
+    private static int[] zipfTrace(int catalogSize, int requests, double s, long seed) {
+        double[] cumulative = new double[catalogSize];
+        double sum = 0;
+        for (int i = 0; i < catalogSize; i++) {
+            sum += 1.0 / Math.pow(i + 1, s);
+            cumulative[i] = sum;
+        }
+        Random random = new Random(seed);
+        int[] trace = new int[requests];
+        for (int i = 0; i < requests; i++) {
+            int index = Arrays.binarySearch(cumulative, random.nextDouble() * sum);
+            trace[i] = Math.min(index < 0 ? -index - 1 : index, catalogSize - 1);
+        }
+        return trace;
+    }
+
+    private static int intArg(String[] args, int index, int defaultValue) {
+        return args.length > index ? Integer.parseInt(args[index]) : defaultValue;
+    }
+
+    /**
+     * GC 알림으로 정지 시간을 모음 (밀리초)
+     *
+     * G1의 "G1 Concurrent GC"처럼 애플리케이션과 동시에 도는 단계는 정지가 아니므로 제외합니다.
+     */
+    private static final class GcPauses implements NotificationListener {
+        private final List<NotificationEmitter> emitters = new ArrayList<>();
+        private final ConcurrentLinkedQueue<Long> durations = new ConcurrentLinkedQueue<>();
+
+        GcPauses() {
+            for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+                if (gc instanceof NotificationEmitter emitter) {
+                    emitter.addNotificationListener(this, null, null);
+                    emitters.add(emitter);
+                }
+            }
+        }
+
+        @Override
+        public void handleNotification(Notification notification, Object handback) {
+            if (!GarbageCollectionNotificationInfo.GARBAGE_COLLECTION_NOTIFICATION.equals(notification.getType())) {
+                return;
+            }
+            GarbageCollectionNotificationInfo info =
+                    GarbageCollectionNotificationInfo.from((CompositeData) notification.getUserData());
+            if (!info.getGcName().contains("Concurrent") && !info.getGcName().contains("Cycles")) {
+                durations.add(info.getGcInfo().getDuration());
+            }
+        }
+
+        void reset() {
+            durations.clear();
+        }
+
+        long[] snapshot() {
+            return durations.stream().mapToLong(Long::longValue).toArray();
+        }
+
+        void close() {
+            for (NotificationEmitter emitter : emitters) {
+                try {
+                    emitter.removeNotificationListener(this);
+                } catch (ListenerNotFoundException e) {
+                    // 이미 제거됨
+                }
+            }
+        }
+    }
+}
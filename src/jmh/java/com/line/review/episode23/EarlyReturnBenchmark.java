@@ -0,0 +1,51 @@
+package com.line.review.episode23;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * EarlyReturnExample 벤치마크: 0개/1개 조기 반환과 스트림 한 가지 경로 비교
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class EarlyReturnBenchmark {
+
+    private static final List<UserId> KNOWN_USERS = List.of(
+            new UserId("user1"), new UserId("user2"), new UserId("user3")
+    );
+
+    @Param({"0", "1", "3", "1000"})
+    int size;
+
+    private final EarlyReturnExample example = new EarlyReturnExample();
+    private List<UserId> userIds;
+
+    @Setup
+    public void setUp() {
+        userIds = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            userIds.add(KNOWN_USERS.get(i % KNOWN_USERS.size()));
+        }
+    }
+
+    @Benchmark
+    public List<String> userNamesBad() {
+        return example.getUserNamesBad(userIds);
+    }
+
+    @Benchmark
+    public List<String> userNamesGood() {
+        return example.getUserNamesGood(userIds);
+    }
+}
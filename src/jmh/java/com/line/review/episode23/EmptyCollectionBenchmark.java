@@ -0,0 +1,67 @@
+package com.line.review.episode23;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * EmptyCollectionExample 벤치마크: 빈 컬렉션 조기 반환이 실제로 얼마나 절약하는지 확인
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class EmptyCollectionBenchmark {
+
+    @Param({"0", "10", "10000"})
+    int size;
+
+    private final EmptyCollectionExample example = new EmptyCollectionExample();
+    private List<Integer> numbers;
+
+    @Setup
+    public void setUp() {
+        numbers = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            numbers.add(i + 1);
+        }
+    }
+
+    @Benchmark
+    public int sumBad() {
+        return example.processNumbersBad(numbers);
+    }
+
+    @Benchmark
+    public int sumGood() {
+        return example.processNumbersGood(numbers);
+    }
+
+    @Benchmark
+    public boolean allPositiveBad() {
+        return example.checkAllPositiveBad(numbers);
+    }
+
+    @Benchmark
+    public boolean allPositiveGood() {
+        return example.checkAllPositiveGood(numbers);
+    }
+
+    @Benchmark
+    public boolean anyPositiveBad() {
+        return example.checkAnyPositiveBad(numbers);
+    }
+
+    @Benchmark
+    public boolean anyPositiveGood() {
+        return example.checkAnyPositiveGood(numbers);
+    }
+}
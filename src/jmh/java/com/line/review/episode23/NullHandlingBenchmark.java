@@ -0,0 +1,57 @@
+package com.line.review.episode23;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * NullHandlingExample 벤치마크: null 조기 반환과 Optional 비교
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class NullHandlingBenchmark {
+
+    @Param({"true", "false"})
+    boolean nullInput;
+
+    private final NullHandlingExample example = new NullHandlingExample();
+    private String value;
+
+    @Setup
+    public void setUp() {
+        value = nullInput ? null : "line review committee";
+    }
+
+    @Benchmark
+    public String convertBad() {
+        return example.convertBad(value);
+    }
+
+    @Benchmark
+    public String convertGood() {
+        return example.convertGood(value);
+    }
+
+    @Benchmark
+    public int lengthBad() {
+        return example.getLengthBad(value);
+    }
+
+    @Benchmark
+    public int lengthGood() {
+        return example.getLengthGood(value);
+    }
+
+    @Benchmark
+    public int lengthWithNullCheck() {
+        return example.getLengthWithNullCheck(value);
+    }
+}
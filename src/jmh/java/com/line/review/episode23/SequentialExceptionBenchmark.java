@@ -0,0 +1,31 @@
+package com.line.review.episode23;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * SequentialExceptionExample 벤치마크: try-catch 조기 반환과 flatMap 체인 비교
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class SequentialExceptionBenchmark {
+
+    private final SequentialExceptionExample example = new SequentialExceptionExample();
+
+    @Benchmark
+    public Object fooDataBad() {
+        return example.getFooDataBad();
+    }
+
+    @Benchmark
+    public Object fooDataGood() {
+        return example.getFooDataGood();
+    }
+}
@@ -0,0 +1,114 @@
+package com.line.review.episode6;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+
+/**
+ * 연락처 파일 스트리밍 처리 드라이버
+ *
+ * 지정한 크기의 CSV / JSON Lines / vCard 파일을 로컬 디렉터리에 만들고(이미 있으면 재사용),
+ * ContactProcessor로 스트리밍 처리하며 처리량(MB/s)과 최대 힙 사용량을 출력합니다.
+ *
+ * 실행: ./gradlew ingestLoad --args="sizeInGigabytes directory"
+ * 기본값: 2 (java.io.tmpdir)
+ */
+public final class ContactFileIngestDriver {
+
+    private static final long MEGABYTE = 1L << 20;
+
+    private ContactFileIngestDriver() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        double gigabytes = args.length > 0 ? Double.parseDouble(args[0]) : 2;
+        Path directory = Path.of(args.length > 1 ? args[1] : System.getProperty("java.io.tmpdir"));
+        long targetBytes = (long) (gigabytes * 1024 * MEGABYTE);
+
+        ContactProcessor processor = new ContactProcessor();
+        for (ContactFileReader.Format format : ContactFileReader.Format.values()) {
+            Path file = directory.resolve("contacts-" + (long) (gigabytes * 1024) + "m."
+                    + format.name().toLowerCase(Locale.ROOT));
+            if (!Files.exists(file) || Files.size(file) < targetBytes) {
+                System.out.printf("generating %s ...%n", file);
+                generate(file, format, targetBytes);
+            }
+
+            resetPeakHeap();
+            long startNanos = System.nanoTime();
+            long[] friends = new long[1];
+            long bytes;
+            try (ContactFileReader reader = ContactFileReader.open(file, format)) {
+                processor.processContacts(reader, result -> friends[0]++);
+                bytes = reader.bytesRead();
+            }
+            double seconds = (System.nanoTime() - startNanos) / 1e9;
+            System.out.printf("%-10s %,d MB in %.2f s = %.1f MB/s, friends=%,d, peak heap=%,d MB%n",
+                    format, bytes / MEGABYTE, seconds, bytes / (double) MEGABYTE / seconds,
+                    friends[0], peakHeap() / MEGABYTE);
+        }
+    }
+
+    private static void generate(Path file, ContactFileReader.Format format, long targetBytes) throws IOException {
+        List<String> names = DisplayNameCorpus.names();
+        Random random = new Random(29);
+        long written = 0;
+        try (BufferedWriter writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            if (format == ContactFileReader.Format.CSV) {
+                writer.write("id,displayName,isFriend\n");
+            }
+            for (long id = 0; written < targetBytes; id++) {
+                String name = names.get(random.nextInt(names.size()));
+                boolean friend = random.nextInt(3) == 0;
+                String record = switch (format) {
+                    case CSV -> id + "," + csvQuote(name) + "," + friend + "\n";
+                    case JSON_LINES -> "{\"id\": " + id + ", \"displayName\": \"" + jsonEscape(name)
+                            + "\", \"isFriend\": " + friend + "}\n";
+                    case VCARD -> "BEGIN:VCARD\r\nVERSION:3.0\r\nFN:" + vCardEscape(name) + "\r\nX-FRIEND:"
+                            + (friend ? "TRUE" : "FALSE") + "\r\nEND:VCARD\r\n";
+                };
+                writer.write(record);
+                written += record.getBytes(StandardCharsets.UTF_8).length;
+            }
+        }
+    }
+
+    private static String csvQuote(String value) {
+        return value.indexOf(',') < 0 && value.indexOf('"') < 0 ? value : '"' + value.replace("\"", "\"\"") + '"';
+    }
+
+    private static String jsonEscape(String value) {
+        return value.replace("\\", "\\\\").replace("\"", "\\\"");
+    }
+
+    private static String vCardEscape(String value) {
+        return value.replace("\\", "\\\\").replace(",", "\\,").replace(";", "\\;");
+    }
+
+    private static void resetPeakHeap() {
+        System.gc();
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            if (pool.getType() == MemoryType.HEAP) {
+                pool.resetPeakUsage();
+            }
+        }
+    }
+
+    private static long peakHeap() {
+        long peak = 0;
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            if (pool.getType() == MemoryType.HEAP) {
+                peak += pool.getPeakUsage().getUsed();
+            }
+        }
+        return peak;
+    }
+}
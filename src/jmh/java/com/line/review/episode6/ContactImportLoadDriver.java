@@ -0,0 +1,88 @@
+package com.line.review.episode6;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * ContactImportService 부하 테스트 드라이버
+ *
+ * 가상 스레드 하나가 가져오기 하나를 맡아 동시에 imports개의 주소록 동기화를 흉내 내고,
+ * 가져오기별 지연 시간의 분위수와 전체 처리량을 출력합니다.
+ *
+ * 실행: ./gradlew importLoad --args="imports contactsPerImport batchSize maxConcurrentBatches queueCapacity"
+ * 기본값: 1000 2000 250 (코어 수 * 2) 1024
+ */
+public final class ContactImportLoadDriver {
+
+    private ContactImportLoadDriver() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        int imports = intArg(args, 0, 1_000);
+        int contactsPerImport = intArg(args, 1, 2_000);
+        int batchSize = intArg(args, 2, 250);
+        int maxConcurrentBatches = intArg(args, 3, Runtime.getRuntime().availableProcessors() * 2);
+        int queueCapacity = intArg(args, 4, ContactImportService.DEFAULT_QUEUE_CAPACITY);
+
+        List<ContactModel> addressBook = DisplayNameCorpus.contacts(contactsPerImport, 0.3, 42);
+        ContactProcessor processor = new ContactProcessor();
+
+        System.out.printf("imports=%d contactsPerImport=%d batchSize=%d maxConcurrentBatches=%d queueCapacity=%d%n",
+                imports, contactsPerImport, batchSize, maxConcurrentBatches, queueCapacity);
+
+        // 워밍업 한 번 후 측정
+        run(processor, addressBook, imports / 10 + 1, batchSize, maxConcurrentBatches, queueCapacity);
+        long startNanos = System.nanoTime();
+        long[] latencies = run(processor, addressBook, imports, batchSize, maxConcurrentBatches, queueCapacity);
+        double elapsedSeconds = (System.nanoTime() - startNanos) / 1e9;
+
+        Arrays.sort(latencies);
+        System.out.printf("latency ms: p50=%.2f p90=%.2f p99=%.2f max=%.2f%n",
+                percentile(latencies, 0.50), percentile(latencies, 0.90),
+                percentile(latencies, 0.99), latencies[latencies.length - 1] / 1e6);
+        System.out.printf("throughput: %.0f contacts/s (%.1f imports/s)%n",
+                (double) imports * contactsPerImport / elapsedSeconds, imports / elapsedSeconds);
+    }
+
+    /**
+     * @return 가져오기별 지연 시간 (나노초)
+     */
+    private static long[] run(ContactProcessor processor, List<ContactModel> addressBook, int imports,
+                              int batchSize, int maxConcurrentBatches, int queueCapacity) throws Exception {
+        List<Future<ContactImportService.ImportResult>> results = new ArrayList<>(imports);
+        try (ContactImportService service = new ContactImportService(processor, maxConcurrentBatches, queueCapacity);
+             ExecutorService producers = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < imports; i++) {
+                results.add(producers.submit(() -> importAddressBook(service, addressBook, batchSize).join()));
+            }
+            long[] latencies = new long[imports];
+            for (int i = 0; i < imports; i++) {
+                latencies[i] = results.get(i).get().latency().toNanos();
+            }
+            return latencies;
+        }
+    }
+
+    private static CompletableFuture<ContactImportService.ImportResult> importAddressBook(
+            ContactImportService service, List<ContactModel> addressBook, int batchSize) throws InterruptedException {
+        ContactImportService.Import importJob = service.begin();
+        for (int from = 0; from < addressBook.size(); from += batchSize) {
+            importJob.submit(addressBook.subList(from, Math.min(addressBook.size(), from + batchSize)));
+        }
+        return importJob.finish();
+    }
+
+    private static double percentile(long[] sorted, double quantile) {
+        int index = (int) Math.ceil(quantile * sorted.length) - 1;
+        return sorted[Math.max(0, index)] / 1e6;
+    }
+
+    private static int intArg(String[] args, int index, int defaultValue) {
+        return args.length > index ? Integer.parseInt(args[index]) : defaultValue;
+    }
+}
@@ -0,0 +1,157 @@
+package com.line.review.episode6;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * ContactPipeline 벤치마크
+ *
+ * 친구 필터 -> 차단 목록 -> 별명 치환 -> 정규화 -> trim 다섯 단계를
+ * - 손으로 쓴 루프
+ * - ContactPipeline
+ * - 같은 단계의 Stream 체인
+ * - Predicate.and / Function.andThen으로 합성한 함수 (단계 호출 지점을 모든 파이프라인이 공유)
+ * 로 처리해 비교합니다. 설정 단계에서 다른 모양의 파이프라인을 미리 돌려
+ * 공유 호출 지점이 다형(megamorphic)이 된 상태에서 측정합니다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class ContactPipelineBenchmark {
+
+    @Param({"100000"})
+    int size;
+
+    @Param({"0.3"})
+    double friendRatio;
+
+    private List<ContactModel> contacts;
+    private Set<String> blockList;
+    private Map<String, String> nicknames;
+
+    private ContactPipeline pipeline;
+    private Predicate<ContactModel.Person> composedFilter;
+    private Function<ContactModel.Person, String> composedMapper;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        contacts = DisplayNameCorpus.contacts(size, friendRatio, 7);
+        List<String> names = DisplayNameCorpus.names();
+        blockList = new HashSet<>(names.subList(0, names.size() / 10));
+        nicknames = new HashMap<>();
+        for (String name : names.subList(names.size() / 10, names.size() / 5)) {
+            nicknames.put(name, name + " (별명)");
+        }
+
+        pipeline = ContactPipeline.builder()
+                .filter(ContactModel.Person::isFriend)
+                .filter(person -> !blockList.contains(person.getDisplayName()))
+                .mapWithContact((person, name) -> nicknames.getOrDefault(person.getDisplayName(), name))
+                .map(EmojiNormalizer::normalizeEmoji)
+                .map(String::trim)
+                .build();
+
+        Predicate<ContactModel.Person> friend = ContactModel.Person::isFriend;
+        composedFilter = friend.and(person -> !blockList.contains(person.getDisplayName()));
+        Function<ContactModel.Person, String> nickname =
+                person -> nicknames.getOrDefault(person.getDisplayName(), person.getDisplayName());
+        composedMapper = nickname.andThen(EmojiNormalizer::normalizeEmoji).andThen(String::trim);
+
+        pollute();
+    }
+
+    /**
+     * 다른 단계 조합을 충분히 실행해 공유 호출 지점의 타입 프로파일을 섞어 둡니다.
+     */
+    private void pollute() {
+        List<ContactModel> sample = contacts.subList(0, Math.min(contacts.size(), 10_000));
+        Predicate<ContactModel.Person> notFriend = person -> !person.isFriend();
+        Predicate<ContactModel.Person> longName = person -> person.getDisplayName().length() > 3;
+        Predicate<ContactModel.Person> anyFilter = notFriend.and(longName).and(Objects::nonNull);
+        Function<ContactModel.Person, String> displayName = ContactModel.Person::getDisplayName;
+        Function<ContactModel.Person, String> anyMapper = displayName.andThen(String::toUpperCase)
+                .andThen(String::strip).andThen(name -> name + "!");
+        List<ContactPipeline> others = List.of(
+                ContactPipeline.builder().filter(notFriend).map(String::toUpperCase).build(),
+                ContactPipeline.builder().filter(longName).map(String::strip).map(name -> name + "!").build(),
+                ContactPipeline.builder().mapWithContact((person, name) -> person.isFriend() ? name : null).build()
+        );
+        for (int round = 0; round < 20; round++) {
+            for (ContactPipeline other : others) {
+                other.process(sample);
+            }
+            for (ContactModel contact : sample) {
+                ContactModel.Person person = (ContactModel.Person) contact;
+                if (anyFilter.test(person)) {
+                    anyMapper.apply(person);
+                }
+            }
+        }
+    }
+
+    @Benchmark
+    public ReturnValue[] handWritten() {
+        ReturnValue[] results = new ReturnValue[contacts.size()];
+        int size = 0;
+        for (ContactModel contact : contacts) {
+            if (contact instanceof ContactModel.Person person && person.isFriend()) {
+                String name = person.getDisplayName();
+                if (blockList.contains(name)) {
+                    continue;
+                }
+                name = nicknames.getOrDefault(name, name);
+                results[size++] = new ReturnValue(EmojiNormalizer.normalizeEmoji(name).trim());
+            }
+        }
+        return Arrays.copyOf(results, size);
+    }
+
+    @Benchmark
+    public ReturnValue[] pipeline() {
+        return pipeline.process(contacts);
+    }
+
+    @Benchmark
+    public ReturnValue[] stream() {
+        return contacts.stream()
+                .filter(contact -> contact instanceof ContactModel.Person)
+                .map(contact -> (ContactModel.Person) contact)
+                .filter(ContactModel.Person::isFriend)
+                .filter(person -> !blockList.contains(person.getDisplayName()))
+                .map(person -> nicknames.getOrDefault(person.getDisplayName(), person.getDisplayName()))
+                .map(EmojiNormalizer::normalizeEmoji)
+                .map(String::trim)
+                .map(ReturnValue::new)
+                .toArray(ReturnValue[]::new);
+    }
+
+    @Benchmark
+    public ReturnValue[] composed() {
+        ReturnValue[] results = new ReturnValue[contacts.size()];
+        int size = 0;
+        for (ContactModel contact : contacts) {
+            if (contact instanceof ContactModel.Person person && composedFilter.test(person)) {
+                results[size++] = new ReturnValue(composedMapper.apply(person));
+            }
+        }
+        return Arrays.copyOf(results, size);
+    }
+}
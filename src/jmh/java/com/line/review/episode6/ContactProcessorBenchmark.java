@@ -0,0 +1,129 @@
+package com.line.review.episode6;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * ContactProcessor 벤치마크
+ *
+ * 단건 API(Bad/Better/Good)를 반복 호출하는 경우와 대량 API,
+ * 그리고 연락처를 담는 방식(List, ContactStore, ContactSnapshot)에 따른 차이를 비교합니다.
+ * gc 프로파일러의 gc.alloc.rate.norm으로 호출당 할당량도 함께 확인합니다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class ContactProcessorBenchmark {
+
+    @Param({"10000", "1000000"})
+    int size;
+
+    @Param({"0.3"})
+    double friendRatio;
+
+    private List<ContactModel> contacts;
+    private ContactStore store;
+    private Path snapshotPath;
+    private ContactSnapshot snapshot;
+    private final ContactProcessor processor = new ContactProcessor();
+    private ContactProcessor cachedProcessor;
+    private ContactProcessor internedProcessor;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        contacts = DisplayNameCorpus.contacts(size, friendRatio, 7);
+        store = new ContactStore(size);
+        for (ContactModel contact : contacts) {
+            store.add((ContactModel.Person) contact);
+        }
+        store.trimToSize();
+
+        snapshotPath = Files.createTempFile("contacts", ".snapshot");
+        new ContactSnapshotWriter().write(store, snapshotPath);
+        snapshot = ContactSnapshot.open(snapshotPath);
+
+        cachedProcessor = new ContactProcessor(new NormalizedNameCache(16 * 1024 * 1024)::normalize);
+        internedProcessor = new ContactProcessor(EmojiNormalizer::normalizeEmoji, new NormalizedNameInterner());
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        snapshot.close();
+        Files.deleteIfExists(snapshotPath);
+    }
+
+    @Benchmark
+    public void loopBad(Blackhole blackhole) {
+        for (ContactModel contact : contacts) {
+            blackhole.consume(processor.processContactBad(contact));
+        }
+    }
+
+    @Benchmark
+    public void loopBetter(Blackhole blackhole) {
+        for (ContactModel contact : contacts) {
+            blackhole.consume(processor.processContactBetter(contact));
+        }
+    }
+
+    @Benchmark
+    public void loopGood(Blackhole blackhole) {
+        for (ContactModel contact : contacts) {
+            blackhole.consume(processor.processContactGood(contact));
+        }
+    }
+
+    @Benchmark
+    public void loopGoodCached(Blackhole blackhole) {
+        for (ContactModel contact : contacts) {
+            blackhole.consume(cachedProcessor.processContactGood(contact));
+        }
+    }
+
+    @Benchmark
+    public void loopGoodInterned(Blackhole blackhole) {
+        for (ContactModel contact : contacts) {
+            blackhole.consume(internedProcessor.processContactGood(contact));
+        }
+    }
+
+    @Benchmark
+    public ReturnValue[] bulkList() {
+        return processor.processContacts(contacts);
+    }
+
+    @Benchmark
+    public ReturnValue[] bulkStream() {
+        return processor.processContacts(contacts.stream());
+    }
+
+    @Benchmark
+    public ReturnValue[] bulkParallelStream() {
+        return processor.processContacts(contacts.parallelStream());
+    }
+
+    @Benchmark
+    public ReturnValue[] bulkContactStore() {
+        return processor.processContacts(store);
+    }
+
+    @Benchmark
+    public ReturnValue[] bulkSnapshot() {
+        return processor.processContacts(snapshot);
+    }
+}
@@ -0,0 +1,112 @@
+package com.line.review.episode6;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * ContactSearchIndex 벤치마크
+ *
+ * - build: 인덱스 전체 구축 시간 (한 번 실행)
+ * - prefix*, infix: 검색 한 건의 지연 시간 (limit 10)
+ *
+ * 연락처당 메모리는 Setup에서 구축 전후 힙 사용량 차이로 구해 출력합니다.
+ */
+@State(Scope.Benchmark)
+public class ContactSearchIndexBenchmark {
+
+    private static final int LIMIT = 10;
+
+    @Param({"100000", "10000000"})
+    int size;
+
+    private List<ContactModel.Person> contacts;
+    private ContactSearchIndex index;
+    private String[] prefixQueries;
+    private String[] infixQueries;
+    private int cursor;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        contacts = DisplayNameCorpus.distinctContacts(size, 0.2, 5);
+
+        long before = usedHeap();
+        index = new ContactSearchIndex();
+        for (ContactModel.Person person : contacts) {
+            index.add(person);
+        }
+        long retained = usedHeap() - before;
+        System.out.printf("%n[ContactSearchIndex] size=%d retained=%d bytes (%.1f bytes/contact)%n",
+                size, retained, (double) retained / size);
+
+        List<String> names = DisplayNameCorpus.names().stream()
+                .map(EmojiNormalizer::normalizeEmoji)
+                .filter(name -> !name.isBlank())
+                .toList();
+        prefixQueries = new String[names.size()];
+        infixQueries = new String[names.size()];
+        for (int i = 0; i < names.size(); i++) {
+            String name = names.get(i);
+            prefixQueries[i] = name.substring(0, Math.min(2, name.length()));
+            // 일련번호 부분을 포함하는 중간 검색어
+            infixQueries[i] = name.substring(Math.max(0, name.length() - 2)) + " " + Integer.toString(i * 7919 % size, 36);
+        }
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public ContactSearchIndex build() {
+        ContactSearchIndex built = new ContactSearchIndex();
+        for (ContactModel.Person person : contacts) {
+            built.add(person);
+        }
+        return built;
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public List<ContactSearchIndex.Hit> prefixShort() {
+        return index.search(prefixQueries[next()], LIMIT);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public List<ContactSearchIndex.Hit> prefixSingleChar() {
+        return index.search(prefixQueries[next()].substring(0, 1), LIMIT);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public List<ContactSearchIndex.Hit> infix() {
+        return index.search(infixQueries[next()], LIMIT);
+    }
+
+    private int next() {
+        int i = cursor;
+        cursor = i + 1 == prefixQueries.length ? 0 : i + 1;
+        return i;
+    }
+
+    private static long usedHeap() {
+        MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return memory.getHeapMemoryUsage().getUsed();
+    }
+}
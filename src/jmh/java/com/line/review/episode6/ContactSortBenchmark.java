@@ -0,0 +1,71 @@
+package com.line.review.episode6;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.text.Collator;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 연락처 정렬 벤치마크: Collator.compare 정렬과 ContactSorter 비교
+ *
+ * - collatorCompare: 비교할 때마다 Collator.compare (기존 방식)
+ * - sorterColdCache: 매번 새 ContactSorter (키 생성 비용 포함)
+ * - sorterWarmCache: 키가 캐시된 ContactSorter (목록 화면을 다시 그리는 경우)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class ContactSortBenchmark {
+
+    @Param({"ko", "ja", "en"})
+    String language;
+
+    @Param({"10000", "1000000"})
+    int size;
+
+    private Locale locale;
+    private Collator collator;
+    private List<ContactModel.Person> persons;
+    private ContactSorter warmSorter;
+
+    @Setup
+    public void setUp() {
+        locale = Locale.forLanguageTag(language);
+        collator = Collator.getInstance(locale);
+        persons = new ArrayList<>(size);
+        for (ContactModel contact : DisplayNameCorpus.contacts(size, 0.3, 17)) {
+            persons.add((ContactModel.Person) contact);
+        }
+        warmSorter = new ContactSorter(locale);
+        warmSorter.sort(persons);
+    }
+
+    @Benchmark
+    public List<ContactModel.Person> collatorCompare() {
+        List<ContactModel.Person> sorted = new ArrayList<>(persons);
+        sorted.sort((a, b) -> collator.compare(
+                EmojiNormalizer.normalizeEmoji(a.getDisplayName()),
+                EmojiNormalizer.normalizeEmoji(b.getDisplayName())));
+        return sorted;
+    }
+
+    @Benchmark
+    public List<ContactModel.Person> sorterColdCache() {
+        return new ContactSorter(locale).sort(persons);
+    }
+
+    @Benchmark
+    public List<ContactModel.Person> sorterWarmCache() {
+        return warmSorter.sort(persons);
+    }
+}
@@ -0,0 +1,104 @@
+package com.line.review.episode6;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 연락처 보관 방식별 메모리와 적재 비용 벤치마크
+ *
+ * build* 벤치마크의 gc.alloc.rate.norm은 같은 연락처를 담는 데 드는 힙 크기의 근사치입니다.
+ * (List&lt;Person&gt;은 Person과 String 객체 전부, ContactStore는 배열 세 개)
+ * withInterner/withoutInterner는 인터너 조회 비용과 할당량을 비교합니다. 인터너도 ReturnValue를 새로 만든 뒤에야
+ * 중복을 알 수 있으므로 할당량은 줄지 않으며, GC 후에 남는 힙 크기는 InternerHeapDriver로 측정합니다.
+ * openSnapshot은 재시작 시 스냅샷을 여는 비용으로, 연락처 수와 무관해야 합니다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class ContactStorageBenchmark {
+
+    @Param({"100000", "1000000"})
+    int size;
+
+    private String[] names;
+    private boolean[] friends;
+    private Path snapshotPath;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        names = DisplayNameCorpus.sample(size, 11);
+        friends = new boolean[size];
+        ContactStore store = new ContactStore(size);
+        for (int i = 0; i < size; i++) {
+            friends[i] = i % 3 == 0;
+            store.add(names[i], friends[i]);
+        }
+        snapshotPath = Files.createTempFile("contacts", ".snapshot");
+        new ContactSnapshotWriter().write(store, snapshotPath);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(snapshotPath);
+    }
+
+    @Benchmark
+    public List<ContactModel.Person> buildPersonList() {
+        List<ContactModel.Person> persons = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            persons.add(new ContactModel.Person(new String(names[i]), friends[i]));
+        }
+        return persons;
+    }
+
+    @Benchmark
+    public ContactStore buildContactStore() {
+        ContactStore store = new ContactStore(size);
+        for (int i = 0; i < size; i++) {
+            store.add(names[i], friends[i]);
+        }
+        store.trimToSize();
+        return store;
+    }
+
+    @Benchmark
+    public int openSnapshot() throws IOException {
+        try (ContactSnapshot snapshot = ContactSnapshot.open(snapshotPath)) {
+            return snapshot.nextFriend(0);
+        }
+    }
+
+    @Benchmark
+    public ReturnValue[] withoutInterner() {
+        ReturnValue[] values = new ReturnValue[size];
+        for (int i = 0; i < size; i++) {
+            values[i] = new ReturnValue(EmojiNormalizer.normalizeEmoji(names[i]));
+        }
+        return values;
+    }
+
+    @Benchmark
+    public ReturnValue[] withInterner() {
+        NormalizedNameInterner interner = new NormalizedNameInterner();
+        ReturnValue[] values = new ReturnValue[size];
+        for (int i = 0; i < size; i++) {
+            values[i] = interner.returnValueOf(EmojiNormalizer.normalizeEmoji(names[i]));
+        }
+        return values;
+    }
+}
@@ -0,0 +1,89 @@
+package com.line.review.episode6;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * 벤치마크 입력으로 쓰는 표시 이름 코퍼스 (src/jmh/resources/display-names.txt)
+ */
+final class DisplayNameCorpus {
+
+    private static final List<String> NAMES = load();
+
+    private DisplayNameCorpus() {
+    }
+
+    static List<String> names() {
+        return NAMES;
+    }
+
+    /**
+     * 코퍼스에서 무작위로 뽑은 이름 size개를 반환합니다.
+     *
+     * 같은 이름이 여러 번 나오도록 하되 매번 별도의 String 인스턴스를 만들어
+     * 실제로 역직렬화된 데이터처럼 동일성(==)을 공유하지 않게 합니다.
+     */
+    static String[] sample(int size, long seed) {
+        Random random = new Random(seed);
+        String[] sample = new String[size];
+        for (int i = 0; i < size; i++) {
+            sample[i] = new String(NAMES.get(random.nextInt(NAMES.size())));
+        }
+        return sample;
+    }
+
+    /**
+     * 지정한 친구 비율로 연락처 목록을 만듭니다.
+     */
+    static List<ContactModel> contacts(int size, double friendRatio, long seed) {
+        Random random = new Random(seed);
+        String[] names = sample(size, seed);
+        List<ContactModel> contacts = new ArrayList<>(size);
+        for (String name : names) {
+            contacts.add(new ContactModel.Person(name, random.nextDouble() < friendRatio));
+        }
+        return contacts;
+    }
+
+    /**
+     * 이름이 서로 겹치지 않는 연락처 목록을 만듭니다.
+     *
+     * 코퍼스 이름 뒤에 일련번호(36진수)를 붙여, 검색 인덱스처럼 이름 분포가
+     * 결과에 영향을 주는 벤치마크에서 같은 이름 수천 개가 몰리지 않게 합니다.
+     */
+    static List<ContactModel.Person> distinctContacts(int size, double friendRatio, long seed) {
+        Random random = new Random(seed);
+        List<ContactModel.Person> contacts = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            String name = NAMES.get(random.nextInt(NAMES.size())) + " " + Integer.toString(i, 36);
+            contacts.add(new ContactModel.Person(name, random.nextDouble() < friendRatio));
+        }
+        return contacts;
+    }
+
+    private static List<String> load() {
+        try (InputStream input = DisplayNameCorpus.class.getResourceAsStream("/display-names.txt")) {
+            if (input == null) {
+                throw new IllegalStateException("display-names.txt not found");
+            }
+            BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8));
+            List<String> names = new ArrayList<>();
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (!line.isEmpty() && !line.startsWith("#")) {
+                    names.add(line);
+                }
+            }
+            return List.copyOf(names);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package com.line.review.episode6;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * EmojiNormalizer 벤치마크
+ *
+ * - legacyRegex: 기존 구현 (호출마다 String.replaceAll)
+ * - scanner: 테이블 기반 시퀀스 스캐너를 이름마다 호출
+ * - batchArray / batchList: SIMD 사전 검사를 거치는 배치 API
+ * - arenaInPlace: char 아레나 제자리 정규화 (매 호출 아레나 복원 비용 포함)
+ * - cached: NormalizedNameCache를 앞에 둔 경우
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class EmojiNormalizerBenchmark {
+
+    private static final String LEGACY_REGEX = "[\\uD83C-\\uDBFF\\uDC00-\\uDFFF]+";
+
+    @Param({"1000", "100000"})
+    int size;
+
+    private String[] names;
+    private List<String> nameList;
+    private char[] arenaTemplate;
+    private char[] arena;
+    private int[] offsetsTemplate;
+    private int[] offsets;
+    private NormalizedNameCache cache;
+
+    @Setup
+    public void setUp() {
+        names = DisplayNameCorpus.sample(size, 42);
+        nameList = Arrays.asList(names);
+
+        StringBuilder builder = new StringBuilder();
+        offsetsTemplate = new int[size + 1];
+        for (int i = 0; i < size; i++) {
+            builder.append(names[i]);
+            offsetsTemplate[i + 1] = builder.length();
+        }
+        arenaTemplate = builder.toString().toCharArray();
+        arena = new char[arenaTemplate.length];
+        offsets = new int[offsetsTemplate.length];
+
+        cache = new NormalizedNameCache(16 * 1024 * 1024);
+    }
+
+    @Benchmark
+    public void legacyRegex(Blackhole blackhole) {
+        for (String name : names) {
+            blackhole.consume(name.replaceAll(LEGACY_REGEX, ""));
+        }
+    }
+
+    @Benchmark
+    public void scanner(Blackhole blackhole) {
+        for (String name : names) {
+            blackhole.consume(EmojiNormalizer.normalizeEmoji(name));
+        }
+    }
+
+    @Benchmark
+    public String[] batchArray() {
+        return EmojiNormalizer.normalizeAll(names);
+    }
+
+    @Benchmark
+    public List<String> batchList() {
+        return EmojiNormalizer.normalizeAll(nameList);
+    }
+
+    @Benchmark
+    public int arenaInPlace() {
+        System.arraycopy(arenaTemplate, 0, arena, 0, arenaTemplate.length);
+        System.arraycopy(offsetsTemplate, 0, offsets, 0, offsetsTemplate.length);
+        return EmojiNormalizer.normalizeEmojiInPlace(arena, offsets, size);
+    }
+
+    @Benchmark
+    public void cached(Blackhole blackhole) {
+        for (String name : names) {
+            blackhole.consume(cache.normalize(name));
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package com.line.review.episode6;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * EmojiShortcodes 벤치마크
+ *
+ * - strip: normalizeEmoji (이모지 제거)
+ * - shortcodes: 트라이 기반 단축 코드 변환
+ * - chainedReplace: 코퍼스에 나오는 이모지마다 String.replace를 이어 부르는 방식
+ *
+ * 이름 수가 size이므로 초당 처리 이름 수는 size / 평균 시간입니다.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class EmojiShortcodesBenchmark {
+
+    @Param({"100000"})
+    int size;
+
+    private String[] names;
+    private EmojiShortcodes shortcodes;
+    private Map<String, String> replacements;
+
+    @Setup
+    public void setUp() {
+        names = DisplayNameCorpus.sample(size, 42);
+        shortcodes = EmojiShortcodes.defaults();
+
+        // 코퍼스에 나오는 이모지 시퀀스만 모아 긴 것부터 바꿉니다.
+        Map<String, String> found = new LinkedHashMap<>();
+        for (String name : DisplayNameCorpus.names()) {
+            for (int i = 0; i < name.length(); ) {
+                int end = EmojiNormalizer.emojiSequenceEnd(name, i, name.length());
+                if (end > i) {
+                    String emoji = name.substring(i, end);
+                    found.put(emoji, shortcodes.replace(emoji));
+                    i = end;
+                } else {
+                    i++;
+                }
+            }
+        }
+        replacements = new LinkedHashMap<>();
+        found.entrySet().stream()
+                .sorted((a, b) -> Integer.compare(b.getKey().length(), a.getKey().length()))
+                .forEach(entry -> replacements.put(entry.getKey(), entry.getValue()));
+    }
+
+    @Benchmark
+    public void strip(Blackhole blackhole) {
+        for (String name : names) {
+            blackhole.consume(EmojiNormalizer.normalizeEmoji(name));
+        }
+    }
+
+    @Benchmark
+    public void shortcodes(Blackhole blackhole) {
+        for (String name : names) {
+            blackhole.consume(shortcodes.replace(name));
+        }
+    }
+
+    @Benchmark
+    public void chainedReplace(Blackhole blackhole) {
+        for (String name : names) {
+            String replaced = name;
+            for (Map.Entry<String, String> entry : replacements.entrySet()) {
+                replaced = replaced.replace(entry.getKey(), entry.getValue());
+            }
+            blackhole.consume(replaced);
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package com.line.review.episode6;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * EmojiUsageStatistics를 관찰자로 등록했을 때 normalizeEmoji 처리량 벤치마크
+ *
+ * - samplingInterval=0: 관찰자 없음 (기준)
+ * - samplingInterval=1: 모든 이모지를 셈, 기본값
+ * - samplingInterval=16: 16개 중 하나꼴로 셈 (목표: 기준 대비 5% 이내)
+ * 코퍼스에는 이름 100개에 이모지가 40개꼴로 있어 실제 분포보다 관찰 비용이 크게 나타납니다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class EmojiUsageStatisticsBenchmark {
+
+    @Param({"100000"})
+    int size;
+
+    @Param({"0", "1", "16"})
+    int samplingInterval;
+
+    private String[] names;
+
+    @Setup
+    public void setUp() {
+        names = DisplayNameCorpus.sample(size, 42);
+        EmojiNormalizer.setObserver(samplingInterval == 0 ? null : new EmojiUsageStatistics(
+                EmojiUsageStatistics.DEFAULT_WIDTH, EmojiUsageStatistics.DEFAULT_DEPTH,
+                EmojiUsageStatistics.DEFAULT_TOP_K, samplingInterval));
+    }
+
+    @TearDown
+    public void tearDown() {
+        EmojiNormalizer.setObserver(null);
+    }
+
+    @Benchmark
+    public void normalizeEmoji(Blackhole blackhole) {
+        for (String name : names) {
+            blackhole.consume(EmojiNormalizer.normalizeEmoji(name));
+        }
+    }
+}
@@ -0,0 +1,156 @@
+package com.line.review.episode6;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * FriendGraph 벤치마크
+ *
+ * 사용자마다 친구의 70%는 가까운 id(같은 지역/학교처럼 모여 있는 집단)에서,
+ * 나머지는 전체에서 무작위로 고른 그래프를 만듭니다.
+ * - mutualFriends*: 무작위 쌍의 공통 친구 수 (행 디코딩 포함, 연산당 시간)
+ * - merge/vector/galloping: 디코딩된 두 행의 교집합 방식별 비교
+ * - suggestFriends: 친구의 친구 추천 한 건
+ *
+ * 간선당 메모리는 Setup에서 출력합니다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class FriendGraphBenchmark {
+
+    private static final int PAIRS = 1024;
+    private static final int COMMUNITY = 5_000;
+
+    @Param({"1000000"})
+    int users;
+
+    @Param({"100"})
+    int averageFriends;
+
+    private FriendGraph graph;
+    private int[] left;
+    private int[] right;
+    private int[][] leftRows;
+    private int[][] rightRows;
+    private int[][] hubRows;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        SplittableRandom random = new SplittableRandom(11);
+        FriendGraph.Builder builder = FriendGraph.builder(users);
+        for (int user = 0; user < users; user++) {
+            int friends = random.nextInt(averageFriends * 2 + 1);
+            for (int i = 0; i < friends; i++) {
+                int friend = random.nextInt(10) < 7
+                        ? Math.floorMod(user + random.nextInt(-COMMUNITY, COMMUNITY), users)
+                        : random.nextInt(users);
+                builder.addFriend(user, friend);
+            }
+        }
+        // 친구가 아주 많은 공식 계정 같은 사용자
+        for (int user = 0; user < users; user += 3) {
+            builder.addFriend(0, user);
+        }
+        graph = builder.build();
+        System.out.printf("%n[FriendGraph] users=%d edges=%d adjacency=%d bytes, %.2f bytes/edge (%.2f with offsets)%n",
+                users, graph.edgeCount(), graph.adjacencyBytes(),
+                (double) graph.adjacencyBytes() / graph.edgeCount(), graph.bytesPerEdge());
+
+        left = new int[PAIRS];
+        right = new int[PAIRS];
+        leftRows = new int[PAIRS][];
+        rightRows = new int[PAIRS][];
+        hubRows = new int[PAIRS][];
+        int[] hub = graph.friends(0);
+        for (int i = 0; i < PAIRS; i++) {
+            left[i] = 1 + random.nextInt(users - 1);
+            // 절반은 같은 집단 안의 쌍이라 공통 친구가 많습니다.
+            right[i] = i % 2 == 0
+                    ? Math.floorMod(left[i] + random.nextInt(-COMMUNITY, COMMUNITY), users)
+                    : random.nextInt(users);
+            leftRows[i] = graph.friends(left[i]);
+            rightRows[i] = graph.friends(right[i]);
+            hubRows[i] = hub;
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(PAIRS)
+    public int mutualFriends() {
+        int total = 0;
+        for (int i = 0; i < PAIRS; i++) {
+            total += graph.mutualFriendCount(left[i], right[i]);
+        }
+        return total;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(PAIRS)
+    public int[] mutualFriendsParallel() {
+        return graph.mutualFriendCounts(left, right);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(PAIRS)
+    public int merge() {
+        int total = 0;
+        for (int i = 0; i < PAIRS; i++) {
+            total += FriendGraph.mergeIntersectionSize(leftRows[i], 0, leftRows[i].length, rightRows[i], 0, rightRows[i].length);
+        }
+        return total;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(PAIRS)
+    public int vector() {
+        int total = 0;
+        for (int i = 0; i < PAIRS; i++) {
+            total += FriendGraph.vectorIntersectionSize(leftRows[i], leftRows[i].length, rightRows[i], rightRows[i].length);
+        }
+        return total;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(PAIRS)
+    public int hubMerge() {
+        int total = 0;
+        for (int i = 0; i < PAIRS; i++) {
+            total += FriendGraph.mergeIntersectionSize(leftRows[i], 0, leftRows[i].length, hubRows[i], 0, hubRows[i].length);
+        }
+        return total;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(PAIRS)
+    public int hubGalloping() {
+        int total = 0;
+        for (int i = 0; i < PAIRS; i++) {
+            total += FriendGraph.gallopingIntersectionSize(leftRows[i], leftRows[i].length, hubRows[i], hubRows[i].length);
+        }
+        return total;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(16)
+    public int suggestFriends() {
+        int total = 0;
+        for (int i = 0; i < 16; i++) {
+            List<FriendGraph.Suggestion> suggestions = graph.suggestFriends(left[i], 10);
+            total += suggestions.size();
+        }
+        return total;
+    }
+}
@@ -0,0 +1,61 @@
+package com.line.review.episode6;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * "모든 친구의 정규화된 이름" 조회 벤치마크
+ *
+ * 매번 전체 연락처를 훑는 방식과 FriendIndexedContacts의 인덱스 조회를
+ * 친구 비율 1%와 50%에서 비교합니다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class FriendIndexBenchmark {
+
+    @Param({"100000"})
+    int size;
+
+    @Param({"0.01", "0.5"})
+    double friendRatio;
+
+    private List<ContactModel> contacts;
+    private FriendIndexedContacts indexed;
+    private String[] friendNames;
+
+    @Setup
+    public void setUp() {
+        contacts = DisplayNameCorpus.contacts(size, friendRatio, 3);
+        indexed = new FriendIndexedContacts();
+        for (ContactModel contact : contacts) {
+            indexed.add((ContactModel.Person) contact);
+        }
+        friendNames = new String[indexed.friendCount()];
+    }
+
+    @Benchmark
+    public int scanAllContacts() {
+        int count = 0;
+        for (ContactModel contact : contacts) {
+            if (contact instanceof ContactModel.Person person && person.isFriend()) {
+                friendNames[count++] = EmojiNormalizer.normalizeEmoji(person.getDisplayName());
+            }
+        }
+        return count;
+    }
+
+    @Benchmark
+    public int friendIndex() {
+        return indexed.copyFriendNames(friendNames);
+    }
+}
@@ -0,0 +1,71 @@
+package com.line.review.episode6;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.lang.ref.Reference;
+import java.util.Arrays;
+
+/**
+ * NormalizedNameInterner 사용 여부에 따라 GC 후에 살아 남는 힙 크기를 비교하는 드라이버
+ *
+ * ContactStorageBenchmark의 withInterner/withoutInterner는 할당량과 시간만 보여 주므로,
+ * 여기서는 연락처 size개의 ReturnValue 배열(인터너를 쓰면 인터너 포함)을 붙잡은 채 GC를 돌려
+ * 그 전과의 힙 사용량 차이를 연락처 하나당 바이트로 출력합니다.
+ *
+ * 실행: ./gradlew internerHeap --args="size..."
+ * 기본값: 100000 1000000
+ */
+public final class InternerHeapDriver {
+
+    private static final MemoryMXBean MEMORY = ManagementFactory.getMemoryMXBean();
+
+    private InternerHeapDriver() {
+    }
+
+    public static void main(String[] args) throws InterruptedException {
+        int[] sizes = args.length > 0
+                ? Arrays.stream(args).mapToInt(Integer::parseInt).toArray()
+                : new int[]{100_000, 1_000_000};
+        for (int size : sizes) {
+            String[] names = DisplayNameCorpus.sample(size, 11);
+            // 워밍업 한 번 후 측정
+            retainedBytes(names, false);
+            retainedBytes(names, true);
+            long without = retainedBytes(names, false);
+            long with = retainedBytes(names, true);
+            System.out.printf("size=%d withoutInterner=%.1fB/contact withInterner=%.1fB/contact saved=%.1f%%%n",
+                    size, (double) without / size, (double) with / size, 100.0 * (without - with) / without);
+        }
+    }
+
+    private static long retainedBytes(String[] names, boolean intern) throws InterruptedException {
+        long before = usedHeapAfterGc();
+        NormalizedNameInterner interner = intern ? new NormalizedNameInterner() : null;
+        ReturnValue[] values = new ReturnValue[names.length];
+        for (int i = 0; i < names.length; i++) {
+            String normalized = EmojiNormalizer.normalizeEmoji(names[i]);
+            values[i] = intern ? interner.returnValueOf(normalized) : new ReturnValue(normalized);
+        }
+        long after = usedHeapAfterGc();
+        Reference.reachabilityFence(values);
+        Reference.reachabilityFence(interner);
+        return after - before;
+    }
+
+    /**
+     * 사용량이 더 줄지 않을 때까지 GC를 반복한 뒤의 힙 사용량
+     */
+    private static long usedHeapAfterGc() throws InterruptedException {
+        long used = Long.MAX_VALUE;
+        for (int i = 0; i < 10; i++) {
+            System.gc();
+            Thread.sleep(20);
+            long current = MEMORY.getHeapMemoryUsage().getUsed();
+            if (current >= used) {
+                return used;
+            }
+            used = current;
+        }
+        return used;
+    }
+}
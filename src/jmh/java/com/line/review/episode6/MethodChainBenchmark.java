@@ -0,0 +1,53 @@
+package com.line.review.episode6;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * MethodChainExample 벤치마크: 삼항 연산자 폴백 체인과 Optional 폴백 체인 비교
+ *
+ * nullCount는 앞에서부터 null인 인수 개수입니다 (0이면 첫 값, 3이면 기본값).
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class MethodChainBenchmark {
+
+    @Param({"0", "2", "3"})
+    int nullCount;
+
+    private final MethodChainExample example = new MethodChainExample();
+    private String nullable;
+    private String fallback;
+    private String another;
+
+    @Setup
+    public void setUp() {
+        nullable = nullCount > 0 ? null : "value";
+        fallback = nullCount > 1 ? null : "fallback";
+        another = nullCount > 2 ? null : "another";
+    }
+
+    @Benchmark
+    public String valueBad() {
+        return example.getValueBad(nullable, fallback, another);
+    }
+
+    @Benchmark
+    public String valueGood() {
+        return example.getValueGood(nullable, fallback, another);
+    }
+
+    @Benchmark
+    public String valueWithOptional() {
+        return example.getValueWithOptional(nullable, fallback, another);
+    }
+}
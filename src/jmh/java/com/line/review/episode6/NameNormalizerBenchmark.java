@@ -0,0 +1,79 @@
+package com.line.review.episode6;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.text.Normalizer;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * NameNormalizer 벤치마크
+ *
+ * 한국어/일본어/라틴 문자가 섞인 코퍼스 이름 중 decomposedRatio만큼을 NFD로 바꿔 둡니다.
+ * - separate: normalizeEmoji 뒤 Normalizer.normalize (항상 새 String)
+ * - guarded: normalizeEmoji 뒤 Normalizer.isNormalized로 확인하고 필요할 때만 normalize
+ * - fused: NameNormalizer (빠른 검사 표 + 한 번의 순회)
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class NameNormalizerBenchmark {
+
+    @Param({"100000"})
+    int size;
+
+    @Param({"0.01", "0.3"})
+    double decomposedRatio;
+
+    @Param({"NFC", "NFKC"})
+    String form;
+
+    private String[] names;
+    private Normalizer.Form normalizerForm;
+    private NameNormalizer normalizer;
+
+    @Setup
+    public void setUp() {
+        names = DisplayNameCorpus.sample(size, 42);
+        Random random = new Random(42);
+        for (int i = 0; i < names.length; i++) {
+            if (random.nextDouble() < decomposedRatio) {
+                names[i] = Normalizer.normalize(names[i], Normalizer.Form.NFD);
+            }
+        }
+        normalizerForm = Normalizer.Form.valueOf(form);
+        normalizer = normalizerForm == Normalizer.Form.NFC ? NameNormalizer.nfc() : NameNormalizer.nfkc();
+    }
+
+    @Benchmark
+    public void separate(Blackhole blackhole) {
+        for (String name : names) {
+            blackhole.consume(Normalizer.normalize(EmojiNormalizer.normalizeEmoji(name), normalizerForm));
+        }
+    }
+
+    @Benchmark
+    public void guarded(Blackhole blackhole) {
+        for (String name : names) {
+            String stripped = EmojiNormalizer.normalizeEmoji(name);
+            blackhole.consume(Normalizer.isNormalized(stripped, normalizerForm)
+                    ? stripped
+                    : Normalizer.normalize(stripped, normalizerForm));
+        }
+    }
+
+    @Benchmark
+    public void fused(Blackhole blackhole) {
+        for (String name : names) {
+            blackhole.consume(normalizer.normalize(name));
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package com.line.review.episode6;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Utf8EmojiNormalizer 벤치마크
+ *
+ * UTF-8로 이어 붙인 표시 이름들을 정규화해 출력 버퍼에 쓰는 시간을 비교합니다.
+ * - decodeEncode: 이름마다 String으로 디코딩 -> normalizeEmoji -> 다시 인코딩 (기존 방식)
+ * - bytes: byte[] 입력을 바이트 단위로 처리
+ * - directBuffer: 다이렉트 ByteBuffer 입력/출력
+ *
+ * 처리량(MB/s)은 입력 바이트 수(Setup에서 출력) / 평균 시간으로 구합니다.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class Utf8EmojiNormalizerBenchmark {
+
+    @Param({"100000"})
+    int size;
+
+    private byte[] input;
+    private int[] offsets;
+    private byte[] output;
+    private ByteBuffer directInput;
+    private ByteBuffer directOutput;
+
+    @Setup
+    public void setUp() {
+        String[] names = DisplayNameCorpus.sample(size, 42);
+        byte[][] encoded = new byte[size][];
+        offsets = new int[size + 1];
+        for (int i = 0; i < size; i++) {
+            encoded[i] = names[i].getBytes(StandardCharsets.UTF_8);
+            offsets[i + 1] = offsets[i] + encoded[i].length;
+        }
+        input = new byte[offsets[size]];
+        for (int i = 0; i < size; i++) {
+            System.arraycopy(encoded[i], 0, input, offsets[i], encoded[i].length);
+        }
+        output = new byte[input.length];
+        directInput = ByteBuffer.allocateDirect(input.length).put(input).flip();
+        directOutput = ByteBuffer.allocateDirect(input.length);
+        System.out.printf("%n[Utf8EmojiNormalizer] names=%d input=%d bytes%n", size, input.length);
+    }
+
+    @Benchmark
+    public int decodeEncode() {
+        int write = 0;
+        for (int i = 0; i < size; i++) {
+            String name = new String(input, offsets[i], offsets[i + 1] - offsets[i], StandardCharsets.UTF_8);
+            byte[] normalized = EmojiNormalizer.normalizeEmoji(name).getBytes(StandardCharsets.UTF_8);
+            System.arraycopy(normalized, 0, output, write, normalized.length);
+            write += normalized.length;
+        }
+        return write;
+    }
+
+    @Benchmark
+    public int bytes() {
+        int write = 0;
+        for (int i = 0; i < size; i++) {
+            write += Utf8EmojiNormalizer.normalize(input, offsets[i], offsets[i + 1], output, write);
+        }
+        return write;
+    }
+
+    @Benchmark
+    public int directBuffer() {
+        directOutput.clear();
+        for (int i = 0; i < size; i++) {
+            directInput.limit(offsets[i + 1]).position(offsets[i]);
+            Utf8EmojiNormalizer.normalize(directInput, directOutput);
+        }
+        return directOutput.position();
+    }
+}
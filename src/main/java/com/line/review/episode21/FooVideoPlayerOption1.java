@@ -26,6 +26,14 @@ public class FooVideoPlayerOption1 {
         // ... play `videoUri`.
         System.out.println("Playing video: " + videoUri.value() + " with " + preparedValue.data());
     }
+
+    /**
+     * 옵션 1-2의 팩토리 메서드로 만든 플레이어의 play를 반환합니다.
+     * FooVideoPlayerOption1Factory는 이 파일의 보조 클래스이므로 다른 파일(벤치마크 등)에서는 이 메서드로 사용합니다.
+     */
+    static Runnable createWithFactory(Uri videoUri) {
+        return FooVideoPlayerOption1Factory.createInstance(videoUri)::play;
+    }
 }
 
 /**
@@ -11,13 +11,18 @@ import java.util.function.Supplier;
  * 
  * 단점:
  * 1. prepare에서 확정하는 속성을 가변으로 해야 함
+ *    (여기서는 Lazy 홀더에 담아, 동시에 play를 호출해도 준비 로직이 한 번만 실행되게 함)
  */
 public class FooVideoPlayerOption2 {
     private final Uri videoUri;
-    private PreparedValue preparedValue;
+    private final Lazy<PreparedValue> preparedValue;
 
     public FooVideoPlayerOption2(Uri videoUri) {
         this.videoUri = videoUri;
+        this.preparedValue = Lazy.of(() -> {
+            // preparation logic
+            return new PreparedValue("prepared-" + videoUri.value());
+        });
     }
 
     public void play() {
@@ -28,15 +33,15 @@ public class FooVideoPlayerOption2 {
     }
 
     private PreparedValue prepare() {
-        PreparedValue existingValue = preparedValue;
-        if (existingValue != null) {
-            return existingValue;
-        }
+        return preparedValue.get();
+    }
 
-        // preparation logic
-        PreparedValue newValue = new PreparedValue("prepared-" + videoUri.value());
-        preparedValue = newValue;
-        return newValue;
+    /**
+     * 옵션 2-2의 Supplier로 지연 초기화하는 플레이어의 play를 반환합니다.
+     * FooVideoPlayerOption2Lazy는 이 파일의 보조 클래스이므로 다른 파일(벤치마크 등)에서는 이 메서드로 사용합니다.
+     */
+    static Runnable createWithSupplier(Uri videoUri) {
+        return new FooVideoPlayerOption2Lazy(videoUri)::play;
     }
 }
 
@@ -45,6 +50,7 @@ public class FooVideoPlayerOption2 {
  * 
  * Java에서는 Supplier를 사용하여 최초 접근 시에 로직을 실행
  * prepare에서 확정하는 속성을 final로 만들 수 있음
+ * 일반 Supplier는 결과를 기억하지 않으므로 Lazy로 감싸 최초 한 번만 실행함
  */
 class FooVideoPlayerOption2Lazy {
     private final Uri videoUri;
@@ -52,10 +58,10 @@ class FooVideoPlayerOption2Lazy {
 
     public FooVideoPlayerOption2Lazy(Uri videoUri) {
         this.videoUri = videoUri;
-        this.preparedValueSupplier = () -> {
+        this.preparedValueSupplier = Lazy.of(() -> {
             // preparation logic
             return new PreparedValue("prepared-" + videoUri.value());
-        };
+        });
     }
 
     public void play() {
@@ -1,5 +1,11 @@
 package com.line.review.episode21;
 
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.FutureTask;
+
 /**
  * 옵션 3: prepare 전에 play를 호출할 수 없도록 강제
  * 
@@ -14,6 +20,10 @@ package com.line.review.episode21;
  * 4. 타입 안전성: 컴파일 타임에 잘못된 사용을 방지
  */
 public class FooVideoPlayerOption3 {
+    /** prepareAsync의 기본 실행기: 준비마다 가상 스레드 하나 */
+    private static final ExecutorService DEFAULT_PREPARE_EXECUTOR =
+            Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("video-prepare-", 0).factory());
+
     private final Uri videoUri;
 
     public FooVideoPlayerOption3(Uri videoUri) {
@@ -34,26 +44,53 @@ public class FooVideoPlayerOption3 {
                 preparedValue
         );
     }
-}
 
-/**
- * 준비된 비디오 플레이어
- * 
- * prepare()를 호출한 후에만 생성되는 인스턴스
- * play() 메서드를 호출할 수 있음
- */
-class PreparedFooVideoPlayer {
-    private final Uri videoUri;
-    private final PreparedValue preparedValue;
+    /**
+     * prepare를 가상 스레드에서 실행하고 바로 반환
+     *
+     * @see #prepareAsync(Executor)
+     */
+    public CompletableFuture<PreparedFooVideoPlayer> prepareAsync() {
+        return prepareAsync(DEFAULT_PREPARE_EXECUTOR);
+    }
 
-    PreparedFooVideoPlayer(Uri videoUri, PreparedValue preparedValue) {
-        this.videoUri = videoUri;
-        this.preparedValue = preparedValue;
+    /**
+     * prepare를 executor에서 실행하고 바로 반환
+     *
+     * 시청자가 재생 전에 화면을 떠나면 반환된 future를 취소(또는 다른 값으로 완료)하면 됩니다.
+     * 아직 시작하지 않은 준비는 실행되지 않고, 실행 중인 준비는 인터럽트됩니다.
+     *
+     * @return PreparedFooVideoPlayer로 완료되는 future
+     * @throws java.util.concurrent.RejectedExecutionException executor가 작업을 받지 않으면
+     */
+    public CompletableFuture<PreparedFooVideoPlayer> prepareAsync(Executor executor) {
+        PrepareTask task = new PrepareTask(this);
+        executor.execute(task);
+        return task.result;
     }
 
-    public void play() {
-        // ... play `videoUri`.
-        System.out.println("Playing video: " + videoUri.value() + " with " + preparedValue.data());
+    /**
+     * 취소를 실행 중인 준비까지 전달하는 작업
+     *
+     * CompletableFuture.cancel은 실행 중인 스레드를 인터럽트하지 않으므로, 실행은 FutureTask에 맡기고
+     * (인터럽트가 다음 작업으로 새지 않도록 처리해 줍니다) 결과만 CompletableFuture로 옮깁니다.
+     */
+    private static final class PrepareTask extends FutureTask<PreparedFooVideoPlayer> {
+        final CompletableFuture<PreparedFooVideoPlayer> result = new CompletableFuture<>();
+
+        PrepareTask(FooVideoPlayerOption3 player) {
+            super(player::prepare);
+            // 준비가 끝나기 전에 result가 바깥에서 완료되면(취소, 시간 초과 등) 준비도 멈춥니다.
+            result.whenComplete((prepared, failure) -> cancel(true));
+        }
+
+        @Override
+        protected void done() {
+            switch (state()) {
+                case SUCCESS -> result.complete(resultNow());
+                case FAILED -> result.completeExceptionally(exceptionNow());
+                default -> result.cancel(false);
+            }
+        }
     }
 }
-
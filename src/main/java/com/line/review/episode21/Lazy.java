@@ -0,0 +1,146 @@
+package com.line.review.episode21;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Supplier;
+
+/**
+ * 처음 접근할 때 한 번만 값을 계산해 보관하는 지연 초기화 홀더
+ *
+ * 옵션 2처럼 play를 처음 호출할 때 prepare를 실행하되, 여러 스레드가 동시에 호출해도
+ * 준비 로직은 한 번만 실행됩니다.
+ * - 초기화 후의 get()은 잠금 없이 acquire 읽기 한 번으로 끝납니다 (x86에서는 일반 필드 읽기와 같음).
+ * - 초기화는 CAS로 한 스레드만 맡고, 나머지 스레드는 그 결과를 기다립니다.
+ *   잠금(synchronized)을 쓰지 않으므로 가상 스레드가 준비 중에 I/O로 멈춰도 캐리어 스레드를 붙잡지 않습니다.
+ * - 초기화가 예외로 끝나면 기다리던 스레드도 같은 예외를 받고, 다음 get()에서 다시 시도합니다.
+ * - 초기화가 끝나면 supplier를 놓아 주어, supplier가 붙잡고 있던 객체가 수거될 수 있게 합니다.
+ *
+ * @param <T> 값의 타입 (null은 허용하지 않습니다)
+ */
+public final class Lazy<T> implements Supplier<T> {
+
+    private static final VarHandle VALUE;
+    private static final VarHandle INITIALIZATION;
+
+    static {
+        try {
+            MethodHandles.Lookup lookup = MethodHandles.lookup();
+            VALUE = lookup.findVarHandle(Lazy.class, "value", Object.class);
+            INITIALIZATION = lookup.findVarHandle(Lazy.class, "initialization", Initialization.class);
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    /** 계산된 값. VALUE로 release 쓰기/acquire 읽기만 합니다. */
+    private Object value;
+    /** 진행 중인 초기화 (없거나 끝났으면 null) */
+    private Initialization<T> initialization;
+    /** 초기화가 끝나면 null (value를 release로 쓰기 전에 지우므로 value를 본 스레드는 쓰지 않습니다) */
+    private Supplier<? extends T> supplier;
+
+    private Lazy(Supplier<? extends T> supplier) {
+        this.supplier = supplier;
+    }
+
+    /**
+     * supplier를 처음 get()할 때 한 번만 호출하는 홀더를 생성합니다.
+     */
+    public static <T> Lazy<T> of(Supplier<? extends T> supplier) {
+        return new Lazy<>(Objects.requireNonNull(supplier, "supplier"));
+    }
+
+    /**
+     * 값을 반환합니다. 아직 계산되지 않았으면 계산하고, 다른 스레드가 계산 중이면 기다립니다.
+     *
+     * @throws NullPointerException supplier가 null을 반환하면
+     * @throws IllegalStateException supplier 안에서 같은 홀더의 get()을 호출하면
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public T get() {
+        Object current = VALUE.getAcquire(this);
+        if (current != null) {
+            return (T) current;
+        }
+        return initialize();
+    }
+
+    /**
+     * 값이 이미 계산됐는지 확인합니다.
+     */
+    public boolean isInitialized() {
+        return VALUE.getAcquire(this) != null;
+    }
+
+    @SuppressWarnings("unchecked")
+    private T initialize() {
+        while (true) {
+            Object current = VALUE.getAcquire(this);
+            if (current != null) {
+                return (T) current;
+            }
+            Initialization<T> running = (Initialization<T>) INITIALIZATION.getAcquire(this);
+            if (running == null) {
+                Initialization<T> mine = new Initialization<>();
+                if (INITIALIZATION.compareAndSet(this, null, mine)) {
+                    return run(mine);
+                }
+                continue;
+            }
+            if (running.owner == Thread.currentThread()) {
+                throw new IllegalStateException("Recursive initialization of Lazy");
+            }
+            try {
+                return running.join();
+            } catch (CompletionException e) {
+                if (e.getCause() instanceof RuntimeException cause) {
+                    throw cause;
+                }
+                if (e.getCause() instanceof Error cause) {
+                    throw cause;
+                }
+                throw e;
+            }
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private T run(Initialization<T> mine) {
+        T result;
+        try {
+            // 다른 스레드가 CAS 직전에 초기화를 끝내고 물러났을 수 있습니다.
+            Object current = VALUE.getAcquire(this);
+            if (current != null) {
+                result = (T) current;
+            } else {
+                result = Objects.requireNonNull(supplier.get(), "Lazy supplier returned null");
+                supplier = null;
+                VALUE.setRelease(this, result);
+            }
+        } catch (RuntimeException | Error e) {
+            INITIALIZATION.setRelease(this, null);
+            mine.completeExceptionally(e);
+            throw e;
+        }
+        INITIALIZATION.setRelease(this, null);
+        mine.complete(result);
+        return result;
+    }
+
+    @Override
+    public String toString() {
+        Object current = VALUE.getAcquire(this);
+        return current != null ? "Lazy[" + current + "]" : "Lazy[not initialized]";
+    }
+
+    /**
+     * 진행 중인 초기화. 초기화를 맡은 스레드를 기억해 재귀 호출을 교착 대신 예외로 알립니다.
+     */
+    private static final class Initialization<T> extends CompletableFuture<T> {
+        final Thread owner = Thread.currentThread();
+    }
+}
@@ -0,0 +1,232 @@
+package com.line.review.episode21;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.OperatingSystemMXBean;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.DoubleSupplier;
+import java.util.function.Function;
+
+/**
+ * 자동 재생 플레이리스트의 다음 항목들을 미리 준비하는 프리페처
+ *
+ * 옵션 3의 장점 1(호출자가 prepare의 실행 시점을 제어)을 이용해, 현재 항목을 재생하는 동안
+ * 다음 window개 항목을 {@link FooVideoPlayerOption3#prepareAsync(Executor)}로 준비해 둡니다.
+ * 사용자가 다음 항목에 도착하면 이미 준비된 플레이어를 받으므로 시작 지연이 사라집니다.
+ *
+ * - 건너뛰기 등으로 창 밖으로 벗어난 항목의 준비는 취소합니다 (실행 중이면 인터럽트).
+ * - 시스템 CPU 사용률이 {@link #LOW_PRESSURE}를 넘으면 미리 준비하는 항목 수를 줄이고,
+ *   {@link #HIGH_PRESSURE} 이상이면 프리페치를 멈춥니다. 재생 중인 항목의 디코딩과 CPU를 다투지 않기 위함입니다.
+ *
+ * 재생 세션 하나가 자기 스레드에서 사용하는 객체이며 스레드 안전하지 않습니다.
+ */
+public class PlaylistPrefetcher implements AutoCloseable {
+
+    /** 이 CPU 사용률까지는 창 전체를 미리 준비합니다. */
+    static final double LOW_PRESSURE = 0.7;
+    /** 이 CPU 사용률부터는 미리 준비하지 않습니다. */
+    static final double HIGH_PRESSURE = 0.95;
+
+    /** 기본 실행기: 미리 준비마다 가상 스레드 하나 */
+    private static final ExecutorService DEFAULT_PREFETCH_EXECUTOR =
+            Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("playlist-prefetch-", 0).factory());
+
+    private final List<Uri> playlist;
+    private final int window;
+    private final Function<Uri, FooVideoPlayerOption3> playerFactory;
+    private final Executor executor;
+    private final DoubleSupplier cpuLoad;
+
+    /** 플레이리스트 위치별 진행 중이거나 끝난 프리페치 */
+    private final Map<Integer, CompletableFuture<PreparedFooVideoPlayer>> prefetches = new HashMap<>();
+
+    private final LongAdder readyCount = new LongAdder();
+    private final LongAdder waitedCount = new LongAdder();
+    private final LongAdder missCount = new LongAdder();
+    private final LongAdder cancelledCount = new LongAdder();
+    private final LongAdder discardedCount = new LongAdder();
+    private final LongAdder timeToFirstFrameNanos = new LongAdder();
+
+    /**
+     * 가상 스레드에서 FooVideoPlayerOption3.prepare()로 미리 준비하는 프리페처를 생성합니다.
+     *
+     * @param playlist 재생 순서대로 나열한 Uri
+     * @param window 현재 항목 다음으로 미리 준비할 항목 수
+     */
+    public PlaylistPrefetcher(List<Uri> playlist, int window) {
+        this(playlist, window, FooVideoPlayerOption3::new, DEFAULT_PREFETCH_EXECUTOR);
+    }
+
+    /**
+     * @param playlist 재생 순서대로 나열한 Uri
+     * @param window 현재 항목 다음으로 미리 준비할 항목 수
+     * @param playerFactory Uri로 준비 전 플레이어를 만드는 함수
+     * @param executor 미리 준비를 실행할 실행기
+     */
+    public PlaylistPrefetcher(List<Uri> playlist, int window, Function<Uri, FooVideoPlayerOption3> playerFactory,
+                              Executor executor) {
+        this(playlist, window, playerFactory, executor, systemCpuLoad());
+    }
+
+    PlaylistPrefetcher(List<Uri> playlist, int window, Function<Uri, FooVideoPlayerOption3> playerFactory,
+                       Executor executor, DoubleSupplier cpuLoad) {
+        if (window < 0) {
+            throw new IllegalArgumentException("window must not be negative: " + window);
+        }
+        this.playlist = List.copyOf(playlist);
+        this.window = window;
+        this.playerFactory = playerFactory;
+        this.executor = executor;
+        this.cpuLoad = cpuLoad;
+    }
+
+    /**
+     * index번째 항목의 준비된 플레이어를 반환하고, 그 다음 항목들을 미리 준비합니다.
+     *
+     * 미리 준비한 플레이어가 있으면 그것을 (준비 중이면 기다려서) 반환하고, 없거나 미리 준비가 실패했으면 이 스레드에서 준비합니다.
+     * 다음 항목으로 넘어갈 때뿐 아니라 건너뛰거나 되돌아갈 때도 이 메서드를 호출하면 됩니다.
+     *
+     * @throws IndexOutOfBoundsException index가 플레이리스트 범위를 벗어나면
+     */
+    public PreparedFooVideoPlayer play(int index) {
+        Objects.checkIndex(index, playlist.size());
+        long startNanos = System.nanoTime();
+        CompletableFuture<PreparedFooVideoPlayer> prefetched = prefetches.remove(index);
+        int upcoming = effectiveWindow();
+        // 현재 항목을 기다리기 전에 더는 필요 없는 준비부터 멈춥니다.
+        cancelOutside(index + 1, index + upcoming);
+
+        PreparedFooVideoPlayer player = null;
+        if (prefetched != null) {
+            boolean done = prefetched.isDone();
+            player = awaitOrNull(prefetched);
+            if (player != null) {
+                (done ? readyCount : waitedCount).increment();
+            }
+        }
+        if (player == null) {
+            missCount.increment();
+            player = playerFactory.apply(playlist.get(index)).prepare();
+        }
+        timeToFirstFrameNanos.add(System.nanoTime() - startNanos);
+
+        prefetch(index + 1, index + upcoming);
+        return player;
+    }
+
+    /**
+     * 진행 중인 모든 미리 준비를 취소합니다.
+     */
+    @Override
+    public void close() {
+        cancelOutside(0, -1);
+    }
+
+    /**
+     * 현재까지의 통계를 반환합니다.
+     */
+    public Stats stats() {
+        return new Stats(readyCount.sum(), waitedCount.sum(), missCount.sum(), cancelledCount.sum(),
+                discardedCount.sum(), timeToFirstFrameNanos.sum());
+    }
+
+    /**
+     * CPU 사용률에 따라 줄인 창 크기
+     */
+    int effectiveWindow() {
+        double load = cpuLoad.getAsDouble();
+        // 측정할 수 없으면(음수, NaN) 여유가 있다고 봅니다.
+        if (!(load > LOW_PRESSURE)) {
+            return window;
+        }
+        if (load >= HIGH_PRESSURE) {
+            return 0;
+        }
+        return (int) Math.ceil(window * (HIGH_PRESSURE - load) / (HIGH_PRESSURE - LOW_PRESSURE));
+    }
+
+    private void prefetch(int from, int to) {
+        int last = Math.min(to, playlist.size() - 1);
+        // 가까운 항목부터 시작합니다.
+        for (int i = from; i <= last; i++) {
+            if (!prefetches.containsKey(i)) {
+                prefetches.put(i, playerFactory.apply(playlist.get(i)).prepareAsync(executor));
+            }
+        }
+    }
+
+    private void cancelOutside(int from, int to) {
+        Iterator<Map.Entry<Integer, CompletableFuture<PreparedFooVideoPlayer>>> iterator =
+                prefetches.entrySet().iterator();
+        while (iterator.hasNext()) {
+            Map.Entry<Integer, CompletableFuture<PreparedFooVideoPlayer>> entry = iterator.next();
+            int index = entry.getKey();
+            if (index >= from && index <= to) {
+                continue;
+            }
+            iterator.remove();
+            if (entry.getValue().cancel(true)) {
+                cancelledCount.increment();
+            } else {
+                discardedCount.increment();
+            }
+        }
+    }
+
+    /**
+     * 미리 준비한 결과를 기다립니다. 실패하거나 취소됐으면 null을 반환해 호출자가 다시 준비하게 합니다.
+     */
+    private static PreparedFooVideoPlayer awaitOrNull(CompletableFuture<PreparedFooVideoPlayer> prefetched) {
+        try {
+            return prefetched.join();
+        } catch (CompletionException | CancellationException e) {
+            return null;
+        }
+    }
+
+    /**
+     * 최근 시스템 CPU 사용률(0.0~1.0)을 반환하는 함수
+     *
+     * com.sun.management 확장이 없으면 1분 평균 부하를 코어 수로 나눈 값을 씁니다.
+     */
+    static DoubleSupplier systemCpuLoad() {
+        OperatingSystemMXBean os = ManagementFactory.getOperatingSystemMXBean();
+        if (os instanceof com.sun.management.OperatingSystemMXBean extended) {
+            return extended::getCpuLoad;
+        }
+        int processors = Runtime.getRuntime().availableProcessors();
+        return () -> os.getSystemLoadAverage() / processors;
+    }
+
+    /**
+     * 프리페처 통계
+     *
+     * @param readyCount 재생할 때 미리 준비가 끝나 있던 수
+     * @param waitedCount 재생할 때 미리 준비가 진행 중이라 남은 시간만 기다린 수
+     * @param missCount 미리 준비하지 않았거나 미리 준비가 실패해 재생할 때 준비한 수
+     * @param cancelledCount 창 밖으로 벗어나 끝나기 전에 취소한 미리 준비 수
+     * @param discardedCount 끝났지만 재생하지 않고 버린 미리 준비 수
+     * @param timeToFirstFrameNanos play 호출부터 플레이어가 준비될 때까지 걸린 시간의 합
+     */
+    public record Stats(long readyCount, long waitedCount, long missCount, long cancelledCount, long discardedCount,
+                        long timeToFirstFrameNanos) {
+
+        /**
+         * 재생 한 번당 평균 시작 지연 (밀리초, 재생이 없으면 0)
+         */
+        public double averageTimeToFirstFrameMillis() {
+            long plays = readyCount + waitedCount + missCount;
+            return plays == 0 ? 0.0 : timeToFirstFrameNanos / 1e6 / plays;
+        }
+    }
+}
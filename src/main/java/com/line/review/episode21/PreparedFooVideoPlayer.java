@@ -0,0 +1,32 @@
+package com.line.review.episode21;
+
+/**
+ * 준비된 비디오 플레이어
+ * 
+ * prepare()를 호출한 후에만 생성되는 인스턴스
+ * play() 메서드를 호출할 수 있음
+ */
+class PreparedFooVideoPlayer {
+    private final Uri videoUri;
+    private final PreparedValue preparedValue;
+
+    PreparedFooVideoPlayer(Uri videoUri, PreparedValue preparedValue) {
+        this.videoUri = videoUri;
+        this.preparedValue = preparedValue;
+    }
+
+    public void play() {
+        // ... play `videoUri`.
+        System.out.println("Playing video: " + videoUri.value() + " with " + preparedValue.data());
+    }
+
+    /**
+     * 이 플레이어가 붙잡고 있는 힙 크기의 추정치 (바이트)
+     *
+     * videoUri는 호출자와 공유하므로 세지 않습니다.
+     */
+    long sizeInBytes() {
+        // 헤더 12 + 참조 2개 8, 8바이트 정렬
+        return 24 + preparedValue.sizeInBytes();
+    }
+}
@@ -0,0 +1,270 @@
+package com.line.review.episode21;
+
+import java.time.Duration;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+
+/**
+ * Uri별로 준비된 플레이어를 공유하는 캐시 (single-flight)
+ *
+ * 옵션 3의 장점 2(prepare된 인스턴스를 캐시로 보유)를 동시 요청에 맞게 구현합니다.
+ * 같은 Uri에 대한 요청이 동시에 몰리면 첫 요청만 {@link FooVideoPlayerOption3#prepare()}를 실행하고,
+ * 나머지는 그 결과를 기다려 같은 {@link PreparedFooVideoPlayer} 인스턴스를 받습니다.
+ * PreparedFooVideoPlayer는 모든 속성이 final이므로 여러 세션이 공유해도 안전합니다.
+ *
+ * - 준비가 실패하면 기다리던 호출자 모두에게 같은 예외를 던지고, 결과를 캐시하지 않습니다.
+ * - 준비가 끝난 지 timeToLive가 지난 항목은 다음 요청에서 다시 준비합니다.
+ * - 항목 수가 maximumSize를 넘으면 CLOCK(second chance) 순서로 최근에 쓰이지 않은 항목부터 제거합니다.
+ *   준비 중인 항목은 제거하지 않습니다.
+ * - 만료되어 다시 준비하거나 invalidate한 항목은 CLOCK 큐에서도 빼서 이전 플레이어를 붙잡지 않습니다.
+ */
+public class PreparedPlayerCache {
+
+    private final Function<Uri, PreparedFooVideoPlayer> preparer;
+    private final int maximumSize;
+    private final long timeToLiveNanos;
+    private final LongSupplier ticker;
+
+    private final ConcurrentHashMap<Uri, Entry> entries = new ConcurrentHashMap<>();
+    /** CLOCK 바늘이 도는 순서 (삽입 순서, 두 번째 기회를 얻은 항목은 뒤로 다시 들어감) */
+    private final Queue<Entry> clock = new ConcurrentLinkedQueue<>();
+    private final ReentrantLock evictionLock = new ReentrantLock();
+    /** 맵에서 빠졌지만 CLOCK 큐에 남아 있는 만료 항목 수 */
+    private final AtomicInteger staleCount = new AtomicInteger();
+
+    private final LongAdder hitCount = new LongAdder();
+    private final LongAdder missCount = new LongAdder();
+    private final LongAdder coalescedCount = new LongAdder();
+    private final LongAdder evictionCount = new LongAdder();
+
+    /**
+     * FooVideoPlayerOption3.prepare()로 준비하는 캐시를 생성합니다.
+     *
+     * @param maximumSize 보관할 최대 Uri 수
+     * @param timeToLive 준비한 플레이어를 재사용할 기간
+     */
+    public PreparedPlayerCache(int maximumSize, Duration timeToLive) {
+        this(maximumSize, timeToLive, uri -> new FooVideoPlayerOption3(uri).prepare());
+    }
+
+    /**
+     * @param maximumSize 보관할 최대 Uri 수
+     * @param timeToLive 준비한 플레이어를 재사용할 기간
+     * @param preparer 캐시 미스 시 플레이어를 준비하는 함수
+     */
+    public PreparedPlayerCache(int maximumSize, Duration timeToLive, Function<Uri, PreparedFooVideoPlayer> preparer) {
+        this(maximumSize, timeToLive, preparer, System::nanoTime);
+    }
+
+    PreparedPlayerCache(int maximumSize, Duration timeToLive, Function<Uri, PreparedFooVideoPlayer> preparer,
+                        LongSupplier ticker) {
+        if (maximumSize <= 0) {
+            throw new IllegalArgumentException("maximumSize must be positive: " + maximumSize);
+        }
+        if (timeToLive.isNegative() || timeToLive.isZero()) {
+            throw new IllegalArgumentException("timeToLive must be positive: " + timeToLive);
+        }
+        this.preparer = preparer;
+        this.maximumSize = maximumSize;
+        this.timeToLiveNanos = timeToLive.toNanos();
+        this.ticker = ticker;
+    }
+
+    /**
+     * videoUri의 준비된 플레이어를 반환합니다. 없으면 준비하며, 다른 스레드가 준비 중이면 그 결과를 기다립니다.
+     *
+     * @throws RuntimeException 준비 함수가 던진 예외 (기다리던 호출자도 같은 예외를 받습니다)
+     */
+    public PreparedFooVideoPlayer get(Uri videoUri) {
+        Entry entry = entries.get(videoUri);
+        if (entry != null && !isExpired(entry)) {
+            entry.markReferenced();
+            if (entry.player.isDone()) {
+                hitCount.increment();
+            } else {
+                coalescedCount.increment();
+            }
+            return await(entry);
+        }
+
+        Entry created = new Entry(videoUri);
+        boolean[] replaced = {false};
+        Entry current = entries.compute(videoUri, (uri, existing) -> {
+            if (existing == null) {
+                return created;
+            }
+            if (isExpired(existing)) {
+                replaced[0] = true;
+                return created;
+            }
+            return existing;
+        });
+        if (replaced[0]) {
+            sweepIfNeeded();
+        }
+        if (current != created) {
+            // 다른 스레드가 먼저 준비를 시작했습니다.
+            current.markReferenced();
+            coalescedCount.increment();
+            return await(current);
+        }
+
+        missCount.increment();
+        clock.offer(created);
+        evictIfNeeded();
+        try {
+            PreparedFooVideoPlayer player = preparer.apply(videoUri);
+            created.preparedAt = ticker.getAsLong();
+            created.player.complete(player);
+            return player;
+        } catch (RuntimeException | Error e) {
+            if (entries.remove(videoUri, created)) {
+                clock.remove(created);
+            }
+            created.player.completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    /**
+     * videoUri의 항목을 제거합니다. 준비 중이던 호출자는 그 결과를 그대로 받습니다.
+     */
+    public void invalidate(Uri videoUri) {
+        Entry entry = entries.remove(videoUri);
+        if (entry != null) {
+            // 큐 길이에 비례하지만 드문 호출입니다.
+            clock.remove(entry);
+        }
+    }
+
+    /**
+     * 현재까지의 통계를 반환합니다.
+     */
+    public Stats stats() {
+        return new Stats(hitCount.sum(), missCount.sum(), coalescedCount.sum(), evictionCount.sum(), entries.size());
+    }
+
+    private boolean isExpired(Entry entry) {
+        // 준비 중인 항목은 만료되지 않습니다.
+        return entry.player.isDone() && ticker.getAsLong() - entry.preparedAt >= timeToLiveNanos;
+    }
+
+    /**
+     * 만료되어 교체된 항목이 보관 중인 항목 수보다 많이 쌓이면 CLOCK 큐에서 한꺼번에 뺍니다.
+     *
+     * 교체할 때마다 큐를 훑으면 만료가 잦을 때 요청마다 큐 길이만큼 걸리므로 모아서 처리합니다.
+     * 큐 길이는 보관 중인 항목 수의 두 배 안팎으로 유지됩니다.
+     */
+    private void sweepIfNeeded() {
+        if (staleCount.incrementAndGet() <= Math.max(maximumSize, entries.size())) {
+            return;
+        }
+        evictionLock.lock();
+        try {
+            staleCount.set(0);
+            clock.removeIf(entry -> entries.get(entry.videoUri) != entry);
+        } finally {
+            evictionLock.unlock();
+        }
+    }
+
+    /**
+     * CLOCK 큐에 남은 노드 수 (테스트용)
+     */
+    int clockSize() {
+        return clock.size();
+    }
+
+    private void evictIfNeeded() {
+        if (entries.size() <= maximumSize) {
+            return;
+        }
+        evictionLock.lock();
+        try {
+            // 모든 항목이 준비 중이면 한 바퀴 돈 뒤 멈춥니다.
+            int budget = entries.size() * 2;
+            while (entries.size() > maximumSize && budget-- > 0) {
+                Entry entry = clock.poll();
+                if (entry == null) {
+                    break;
+                }
+                if (entries.get(entry.videoUri) != entry) {
+                    // 이미 제거되거나 다시 준비된 항목
+                    continue;
+                }
+                if (!entry.player.isDone() || (entry.referenced && !isExpired(entry))) {
+                    entry.referenced = false;
+                    clock.offer(entry);
+                    continue;
+                }
+                if (entries.remove(entry.videoUri, entry)) {
+                    evictionCount.increment();
+                }
+            }
+        } finally {
+            evictionLock.unlock();
+        }
+    }
+
+    private static PreparedFooVideoPlayer await(Entry entry) {
+        try {
+            return entry.player.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof Error cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * 캐시 통계
+     *
+     * @param hitCount 준비된 플레이어를 바로 반환한 수
+     * @param missCount 준비를 실행한 수
+     * @param coalescedCount 다른 호출자의 준비를 기다려 결과를 공유한 수
+     * @param evictionCount 크기 제한으로 제거된 항목 수
+     * @param size 현재 항목 수 (준비 중 포함)
+     */
+    public record Stats(long hitCount, long missCount, long coalescedCount, long evictionCount, long size) {
+
+        /**
+         * 준비를 실행하지 않고 끝난 요청의 비율 (요청이 없으면 1.0)
+         */
+        public double hitRate() {
+            long requests = hitCount + missCount + coalescedCount;
+            return requests == 0 ? 1.0 : (double) (hitCount + coalescedCount) / requests;
+        }
+    }
+
+    private static final class Entry {
+        final Uri videoUri;
+        final CompletableFuture<PreparedFooVideoPlayer> player = new CompletableFuture<>();
+        /** 준비를 마친 시각. player가 완료되기 전에 쓰므로 isDone()을 본 스레드에는 보입니다. */
+        long preparedAt;
+        /** 마지막 CLOCK 검사 뒤에 쓰였는지 (경합으로 일부 갱신이 사라져도 제거 순서만 달라집니다) */
+        volatile boolean referenced;
+
+        Entry(Uri videoUri) {
+            this.videoUri = videoUri;
+        }
+
+        void markReferenced() {
+            // 인기 Uri는 수많은 스레드가 동시에 읽으므로 이미 표시된 경우에는 쓰지 않습니다.
+            if (!referenced) {
+                referenced = true;
+            }
+        }
+    }
+}
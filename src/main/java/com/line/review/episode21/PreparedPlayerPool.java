@@ -0,0 +1,371 @@
+package com.line.review.episode21;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.lang.management.MemoryUsage;
+import java.lang.ref.Cleaner;
+import java.lang.ref.Reference;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.DoubleSupplier;
+import java.util.function.Function;
+
+/**
+ * 메모리 예산 안에서 준비된 플레이어를 보관하는 풀
+ *
+ * {@link PreparedPlayerCache}가 항목 수와 유효 기간으로 크기를 제한한다면, 이 풀은 플레이어가 차지하는
+ * 바이트 수({@link PreparedFooVideoPlayer#sizeInBytes()})의 합으로 제한합니다.
+ * 같은 Uri를 동시에 요청하면 한 번만 준비합니다.
+ *
+ * - 보관 중인 플레이어의 크기 합이 예산을 넘으면 CLOCK(second chance) 순서로 최근에 쓰이지 않은 항목부터 제거합니다.
+ * - 풀에서 제거된 플레이어도 재생 중인 세션이 붙잡고 있을 수 있으므로 바로 해제하지 않습니다.
+ *   마지막 세션이 놓아 도달할 수 없게 되면 {@link Cleaner}가 준비할 때 받아 둔 그 플레이어의 해제 작업을 실행합니다
+ *   (디코더 등 힙 밖 자원 해제). 같은 Uri를 다시 준비한 플레이어는 자기 해제 작업을 따로 가지므로 영향받지 않습니다.
+ * - 플레이어 하나가 예산보다 크면 다른 항목을 밀어내지 않도록 보관하지 않고 반환만 합니다.
+ * - 마지막 GC 후의 old 영역 사용률이 {@link #PRESSURE_THRESHOLD}를 넘으면 사용률에 비례해 예산을 줄이고,
+ *   사용률이 내려가면 원래 예산으로 돌아옵니다. 예산은 준비할 때마다, 그리고 {@link #trim()}을 호출할 때 다시 계산합니다.
+ */
+public class PreparedPlayerPool {
+
+    /** 이 사용률부터 예산을 줄이기 시작해 사용률 100%에서 0이 됩니다. */
+    static final double PRESSURE_THRESHOLD = 0.75;
+
+    private static final Cleaner CLEANER = Cleaner.create();
+
+    private final Function<Uri, PreparedFooVideoPlayer> preparer;
+    private final Function<PreparedFooVideoPlayer, Runnable> releaseActions;
+    private final long maximumBytes;
+    private final DoubleSupplier heapOccupancy;
+
+    private final ConcurrentHashMap<Uri, Entry> entries = new ConcurrentHashMap<>();
+    /** CLOCK 바늘이 도는 순서 (준비를 마친 순서, 두 번째 기회를 얻은 항목은 뒤로 다시 들어감) */
+    private final Queue<Entry> clock = new ConcurrentLinkedQueue<>();
+    private final ReentrantLock evictionLock = new ReentrantLock();
+
+    /** 풀이 보관 중인 플레이어의 크기 합 */
+    private final AtomicLong residentBytes = new AtomicLong();
+    /** 풀에서 제거됐지만 아직 해제되지 않은(세션이 붙잡고 있거나 GC 전인) 플레이어의 크기 합 */
+    private final AtomicLong retainedBytes = new AtomicLong();
+    private volatile long budgetBytes;
+
+    private final LongAdder hitCount = new LongAdder();
+    private final LongAdder missCount = new LongAdder();
+    private final LongAdder coalescedCount = new LongAdder();
+    private final LongAdder evictionCount = new LongAdder();
+    private final LongAdder releaseCount = new LongAdder();
+
+    /**
+     * FooVideoPlayerOption3.prepare()로 준비하는 풀을 생성합니다.
+     *
+     * @param maximumBytes 보관할 플레이어 크기 합의 상한
+     */
+    public PreparedPlayerPool(long maximumBytes) {
+        this(maximumBytes, uri -> new FooVideoPlayerOption3(uri).prepare(), player -> () -> {
+        });
+    }
+
+    /**
+     * @param maximumBytes 보관할 플레이어 크기 합의 상한
+     * @param preparer 풀에 없을 때 플레이어를 준비하는 함수
+     * @param releaseActions 준비한 플레이어마다 한 번 호출해, 그 플레이어가 쥔 자원만 해제하는 작업을 받는 함수.
+     *                       작업은 풀에서 제거된 플레이어에 더 이상 도달할 수 없을 때 Cleaner 스레드에서 실행됩니다.
+     *                       작업이 플레이어를 참조하면 영영 수거되지 않으므로 자원 핸들만 붙잡아야 합니다.
+     */
+    public PreparedPlayerPool(long maximumBytes, Function<Uri, PreparedFooVideoPlayer> preparer,
+                              Function<PreparedFooVideoPlayer, Runnable> releaseActions) {
+        this(maximumBytes, preparer, releaseActions, tenuredOccupancy());
+    }
+
+    PreparedPlayerPool(long maximumBytes, Function<Uri, PreparedFooVideoPlayer> preparer,
+                       Function<PreparedFooVideoPlayer, Runnable> releaseActions, DoubleSupplier heapOccupancy) {
+        if (maximumBytes <= 0) {
+            throw new IllegalArgumentException("maximumBytes must be positive: " + maximumBytes);
+        }
+        this.preparer = preparer;
+        this.releaseActions = releaseActions;
+        this.maximumBytes = maximumBytes;
+        this.heapOccupancy = heapOccupancy;
+        this.budgetBytes = maximumBytes;
+    }
+
+    /**
+     * videoUri의 준비된 플레이어를 반환합니다. 없으면 준비하며, 다른 스레드가 준비 중이면 그 결과를 기다립니다.
+     *
+     * 플레이어 하나가 예산보다 크면 준비해서 반환하되 보관하지는 않습니다.
+     *
+     * @throws RuntimeException 준비 함수가 던진 예외 (기다리던 호출자도 같은 예외를 받습니다)
+     */
+    public PreparedFooVideoPlayer get(Uri videoUri) {
+        Entry entry = entries.get(videoUri);
+        if (entry != null) {
+            entry.markReferenced();
+            if (entry.player.isDone()) {
+                hitCount.increment();
+            } else {
+                coalescedCount.increment();
+            }
+            return await(entry);
+        }
+
+        Entry created = new Entry(videoUri);
+        Entry current = entries.putIfAbsent(videoUri, created);
+        if (current != null) {
+            // 다른 스레드가 먼저 준비를 시작했습니다.
+            current.markReferenced();
+            coalescedCount.increment();
+            return await(current);
+        }
+
+        missCount.increment();
+        PreparedFooVideoPlayer player;
+        Runnable releaseAction;
+        try {
+            player = preparer.apply(videoUri);
+            releaseAction = releaseActions.apply(player);
+        } catch (RuntimeException | Error e) {
+            entries.remove(videoUri, created);
+            created.player.completeExceptionally(e);
+            throw e;
+        }
+        created.bytes = player.sizeInBytes();
+        created.release = new Release(created.bytes, retainedBytes, releaseCount, releaseAction);
+        CLEANER.register(player, created.release);
+        residentBytes.addAndGet(created.bytes);
+        created.player.complete(player);
+        long budget = refreshBudget();
+        if (created.bytes > budget) {
+            // CLOCK에 넣으면 예산을 맞추려고 다른 항목을 모두 밀어낸 뒤 자신도 제거되므로 처음부터 보관하지 않습니다.
+            entries.remove(videoUri, created);
+            detach(created);
+        } else if (entries.get(videoUri) == created) {
+            clock.offer(created);
+            // 확인과 offer 사이에 invalidate가 끼어들었으면 그쪽의 clock.remove가 먼저 끝났을 수 있으므로 직접 뺍니다.
+            // invalidate는 entries에서 먼저 지우므로, 여기서 아직 남아 있으면 그 뒤의 clock.remove가 이 항목을 뺍니다.
+            if (entries.get(videoUri) != created) {
+                clock.remove(created);
+            }
+        } else {
+            // 준비하는 동안 invalidate되었습니다.
+            detach(created);
+        }
+        evictIfNeeded(budget);
+        return player;
+    }
+
+    /**
+     * videoUri의 항목을 제거합니다. 준비 중이던 호출자는 그 결과를 그대로 받습니다.
+     */
+    public void invalidate(Uri videoUri) {
+        Entry entry = entries.remove(videoUri);
+        // 준비 중이던 항목은 준비를 마친 스레드가 정리합니다.
+        if (entry != null && entry.player.isDone()) {
+            // CLOCK 큐에 남아 있으면 플레이어가 계속 도달 가능해 Cleaner가 실행되지 않습니다 (큐 길이에 비례하지만 드문 호출입니다).
+            clock.remove(entry);
+            detach(entry);
+        }
+    }
+
+    /**
+     * 힙 사용률을 다시 확인해 예산을 넘는 항목을 제거합니다.
+     *
+     * 풀은 준비할 때만 예산을 다시 계산하므로, 적중만 이어지는 동안 힙이 부족해지면 이 메서드를 주기적으로 호출하면 됩니다.
+     */
+    public void trim() {
+        evictIfNeeded(refreshBudget());
+    }
+
+    /**
+     * 현재까지의 통계를 반환합니다.
+     */
+    public Stats stats() {
+        return new Stats(hitCount.sum(), missCount.sum(), coalescedCount.sum(), evictionCount.sum(),
+                releaseCount.sum(), residentBytes.get(), retainedBytes.get(), budgetBytes, entries.size());
+    }
+
+    private long refreshBudget() {
+        double occupancy = heapOccupancy.getAsDouble();
+        long budget = maximumBytes;
+        if (occupancy > PRESSURE_THRESHOLD) {
+            double headroom = Math.max(0.0, (1.0 - occupancy) / (1.0 - PRESSURE_THRESHOLD));
+            budget = (long) (maximumBytes * headroom);
+        }
+        budgetBytes = budget;
+        return budget;
+    }
+
+    private void evictIfNeeded(long budget) {
+        if (residentBytes.get() <= budget) {
+            return;
+        }
+        evictionLock.lock();
+        try {
+            // 모든 항목이 최근에 쓰였으면 한 바퀴 돌며 표시를 지운 뒤 다음 바퀴에서 제거합니다.
+            int remaining = entries.size() * 2 + 1;
+            while (residentBytes.get() > budget && remaining-- > 0) {
+                Entry entry = clock.poll();
+                if (entry == null) {
+                    break;
+                }
+                if (entries.get(entry.videoUri) != entry) {
+                    // 이미 제거된 항목
+                    continue;
+                }
+                if (entry.referenced) {
+                    entry.referenced = false;
+                    clock.offer(entry);
+                    continue;
+                }
+                if (entries.remove(entry.videoUri, entry)) {
+                    detach(entry);
+                    evictionCount.increment();
+                }
+            }
+        } finally {
+            evictionLock.unlock();
+        }
+    }
+
+    /**
+     * 풀에서 뺀 항목의 크기를 보관 중에서 해제 대기 중으로 옮깁니다.
+     */
+    private void detach(Entry entry) {
+        // invalidate와 준비를 마친 스레드가 함께 부를 수 있습니다.
+        if (!entry.detached.compareAndSet(false, true)) {
+            return;
+        }
+        entry.release.evicted();
+        residentBytes.addAndGet(-entry.bytes);
+        // 크기를 옮기기 전에 Cleaner가 먼저 실행되지 않도록 여기까지 플레이어를 붙잡아 둡니다.
+        Reference.reachabilityFence(entry);
+    }
+
+    private static PreparedFooVideoPlayer await(Entry entry) {
+        try {
+            return entry.player.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof Error cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * 마지막 GC 후의 old 영역 사용률을 반환하는 함수
+     *
+     * GC 직후 살아 있는 객체만 반영하므로, 곧 수거될 쓰레기 때문에 예산을 줄이지 않습니다.
+     * 측정할 수 있는 영역이 없으면 항상 0을 반환합니다.
+     */
+    static DoubleSupplier tenuredOccupancy() {
+        MemoryPoolMXBean tenured = null;
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            // old 영역은 collection usage를 지원하는 힙 영역 중 최대 크기가 가장 큽니다 (G1 Old Gen, PS Old Gen, Tenured Gen 등).
+            if (pool.getType() == MemoryType.HEAP && pool.isCollectionUsageThresholdSupported()
+                    && (tenured == null || pool.getUsage().getMax() > tenured.getUsage().getMax())) {
+                tenured = pool;
+            }
+        }
+        if (tenured == null) {
+            return () -> 0.0;
+        }
+        MemoryPoolMXBean pool = tenured;
+        return () -> {
+            MemoryUsage usage = pool.getCollectionUsage();
+            long max = pool.getUsage().getMax();
+            if (usage == null || max <= 0) {
+                return 0.0;
+            }
+            return (double) usage.getUsed() / max;
+        };
+    }
+
+    /**
+     * 풀 통계
+     *
+     * @param hitCount 보관 중인 플레이어를 바로 반환한 수
+     * @param missCount 준비를 실행한 수
+     * @param coalescedCount 다른 호출자의 준비를 기다려 결과를 공유한 수
+     * @param evictionCount 예산을 넘어 제거된 항목 수
+     * @param releaseCount Cleaner가 해제한 플레이어 수
+     * @param residentBytes 풀이 보관 중인 플레이어의 크기 합
+     * @param retainedBytes 풀에서 제거됐지만 아직 해제되지 않은 플레이어의 크기 합
+     * @param budgetBytes 마지막으로 계산한 예산 (힙이 부족하면 maximumBytes보다 작음)
+     * @param size 현재 항목 수 (준비 중 포함)
+     */
+    public record Stats(long hitCount, long missCount, long coalescedCount, long evictionCount, long releaseCount,
+                        long residentBytes, long retainedBytes, long budgetBytes, long size) {
+
+        /**
+         * 준비를 실행하지 않고 끝난 요청의 비율 (요청이 없으면 1.0)
+         */
+        public double hitRate() {
+            long requests = hitCount + missCount + coalescedCount;
+            return requests == 0 ? 1.0 : (double) (hitCount + coalescedCount) / requests;
+        }
+    }
+
+    private static final class Entry {
+        final Uri videoUri;
+        final CompletableFuture<PreparedFooVideoPlayer> player = new CompletableFuture<>();
+        /** 아래 두 필드는 player가 완료되기 전에 쓰므로 isDone()을 본 스레드에는 보입니다. */
+        long bytes;
+        Release release;
+        /** 마지막 CLOCK 검사 뒤에 쓰였는지 (경합으로 일부 갱신이 사라져도 제거 순서만 달라집니다) */
+        volatile boolean referenced;
+        /** 크기를 해제 대기 중으로 옮겼는지 */
+        final AtomicBoolean detached = new AtomicBoolean();
+
+        Entry(Uri videoUri) {
+            this.videoUri = videoUri;
+        }
+
+        void markReferenced() {
+            // 인기 Uri는 수많은 스레드가 동시에 읽으므로 이미 표시된 경우에는 쓰지 않습니다.
+            if (!referenced) {
+                referenced = true;
+            }
+        }
+    }
+
+    /**
+     * 플레이어에 더 이상 도달할 수 없을 때 Cleaner가 실행하는 해제 작업
+     *
+     * 플레이어나 풀을 참조하면 영영 수거되지 않으므로 필요한 값과 그 플레이어의 자원 해제 작업만 들고 있습니다.
+     * 풀에 보관 중인 플레이어는 풀이 붙잡고 있으므로, 이 작업은 풀에서 제거된(evicted) 뒤에만 실행됩니다.
+     */
+    private static final class Release implements Runnable {
+        private final long bytes;
+        private final AtomicLong retainedBytes;
+        private final LongAdder releaseCount;
+        private final Runnable releaseAction;
+
+        Release(long bytes, AtomicLong retainedBytes, LongAdder releaseCount, Runnable releaseAction) {
+            this.bytes = bytes;
+            this.retainedBytes = retainedBytes;
+            this.releaseCount = releaseCount;
+            this.releaseAction = releaseAction;
+        }
+
+        void evicted() {
+            retainedBytes.addAndGet(bytes);
+        }
+
+        @Override
+        public void run() {
+            retainedBytes.addAndGet(-bytes);
+            releaseCount.increment();
+            releaseAction.run();
+        }
+    }
+}
@@ -4,5 +4,33 @@ package com.line.review.episode21;
  * 준비된 값을 나타내는 레코드
  */
 public record PreparedValue(String data) {
-}
 
+    /** 레코드 헤더 12 + 참조 4 (64비트 JVM, 압축 포인터 기준) */
+    private static final long RECORD_BYTES = 16;
+    /** String 헤더 12 + value 참조 4 + hash 4 + coder 1 + hashIsZero 1, 8바이트 정렬 */
+    private static final long STRING_BYTES = 24;
+    /** 배열 헤더 12 + 길이 4 */
+    private static final long ARRAY_HEADER_BYTES = 16;
+
+    /**
+     * 이 값이 차지하는 힙 크기의 추정치 (바이트)
+     *
+     * 레코드, String, String 내부의 byte 배열을 더한 값입니다.
+     * 모든 문자가 Latin-1이면 문자당 1바이트, 아니면 2바이트로 계산합니다 (compact strings).
+     */
+    public long sizeInBytes() {
+        int length = data.length();
+        int bytesPerChar = 1;
+        for (int i = 0; i < length; i++) {
+            if (data.charAt(i) > 0xFF) {
+                bytesPerChar = 2;
+                break;
+            }
+        }
+        return RECORD_BYTES + STRING_BYTES + align(ARRAY_HEADER_BYTES + (long) length * bytesPerChar);
+    }
+
+    private static long align(long bytes) {
+        return (bytes + 7) & ~7L;
+    }
+}
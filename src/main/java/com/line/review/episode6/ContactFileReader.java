@@ -0,0 +1,701 @@
+package com.line.review.episode6;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * 연락처 파일(vCard, CSV, JSON Lines)을 한 건씩 읽는 스트리밍 리더
+ *
+ * 파일 전체를 읽거나 Person 객체를 만들지 않고, 고정 크기 ByteBuffer 하나로
+ * FileChannel을 조금씩 읽으며 커서처럼 현재 연락처 하나만 보여 줍니다.
+ * 메모리 사용량은 파일 크기와 관계없이 버퍼 크기로 제한되며, 한 레코드(CSV는 한 행,
+ * JSON Lines는 한 줄, vCard는 한 물리 줄)는 버퍼보다 작아야 합니다.
+ *
+ * 표시 이름은 {@link #getDisplayName()}을 호출할 때만 String으로 디코딩하므로
+ * 친구가 아닌 연락처를 걸러 내는 데에는 String 할당이 없습니다.
+ * {@link ContactProcessor#processContacts(ContactFileReader, java.util.function.Consumer)}가 이 방식으로 처리합니다.
+ *
+ * 형식별 규칙 (모두 UTF-8):
+ * <pre>
+ * CSV         첫 행은 헤더. displayName, isFriend 열을 이름으로 찾음 (RFC 4180 따옴표 규칙)
+ *             isFriend는 true/1/yes (대소문자 무시)
+ * JSON_LINES  한 줄에 객체 하나. {"displayName": "...", "isFriend": true}, 다른 키는 무시
+ * VCARD       BEGIN:VCARD ~ END:VCARD. FN이 표시 이름, X-FRIEND:TRUE면 친구 (vCard 3.0/4.0, 줄 접기 지원)
+ * </pre>
+ */
+public final class ContactFileReader implements AutoCloseable {
+
+    public static final int DEFAULT_BUFFER_SIZE = 1 << 20;
+
+    /**
+     * 연락처 파일 형식
+     */
+    public enum Format {
+        VCARD, CSV, JSON_LINES
+    }
+
+    private static final byte[] DISPLAY_NAME = "displayName".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] IS_FRIEND = "isFriend".getBytes(StandardCharsets.US_ASCII);
+
+    private final FileChannel channel;
+    private final Format format;
+    private final ByteBuffer buffer;
+    private final byte[] bytes;
+    /** 버퍼에서 유효한 바이트의 끝 */
+    private int limit;
+    /** 다음 줄을 찾기 시작할 위치 */
+    private int position;
+    /** 현재 레코드 [recordStart, lineEnd) */
+    private int recordStart;
+    private int lineEnd;
+    private boolean endOfFile;
+    private long bytesRead;
+    private long recordOffset;
+
+    private int nameColumn = -1;
+    private int friendColumn = -1;
+
+    /** 현재 연락처의 표시 이름 (UTF-8, 이스케이프 해제 후) */
+    private byte[] name = new byte[128];
+    private int nameLength;
+    private boolean hasName;
+    private boolean friend;
+    private String decodedName;
+
+    private ContactFileReader(FileChannel channel, Format format, int bufferSize) {
+        this.channel = channel;
+        this.format = format;
+        this.buffer = ByteBuffer.allocate(bufferSize);
+        this.bytes = buffer.array();
+    }
+
+    public static ContactFileReader open(Path path, Format format) throws IOException {
+        return open(path, format, DEFAULT_BUFFER_SIZE);
+    }
+
+    /**
+     * @param bufferSize 읽기 버퍼 크기 (가장 긴 레코드보다 커야 함)
+     */
+    public static ContactFileReader open(Path path, Format format, int bufferSize) throws IOException {
+        if (bufferSize < 16) {
+            throw new IllegalArgumentException("bufferSize is too small: " + bufferSize);
+        }
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.READ);
+        try {
+            ContactFileReader reader = new ContactFileReader(channel, format, bufferSize);
+            if (format == Format.CSV) {
+                reader.readCsvHeader();
+            }
+            return reader;
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * 다음 연락처로 이동합니다.
+     *
+     * @return 더 이상 연락처가 없으면 false
+     * @throws IOException 읽기에 실패했거나 형식이 잘못되었으면
+     */
+    public boolean next() throws IOException {
+        nameLength = 0;
+        hasName = false;
+        friend = false;
+        decodedName = null;
+        return switch (format) {
+            case CSV -> nextCsv();
+            case JSON_LINES -> nextJsonLine();
+            case VCARD -> nextVCard();
+        };
+    }
+
+    public boolean isFriend() {
+        return friend;
+    }
+
+    /**
+     * 현재 연락처의 표시 이름. 처음 호출할 때 디코딩합니다.
+     *
+     * @return 이름이 없으면 null
+     */
+    public String getDisplayName() {
+        if (!hasName) {
+            return null;
+        }
+        if (decodedName == null) {
+            decodedName = new String(name, 0, nameLength, StandardCharsets.UTF_8);
+        }
+        return decodedName;
+    }
+
+    /**
+     * 현재 연락처를 Person으로 만듭니다.
+     */
+    public ContactModel.Person toPerson() {
+        return new ContactModel.Person(getDisplayName(), friend);
+    }
+
+    /**
+     * 지금까지 파일에서 읽은 바이트 수
+     */
+    public long bytesRead() {
+        return bytesRead;
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    // ---- 줄 단위 읽기 ----
+
+    /**
+     * 새 레코드를 시작하고 첫 줄을 찾습니다.
+     */
+    private boolean nextLine() throws IOException {
+        recordStart = position;
+        recordOffset = bytesRead - (limit - position);
+        return scanLine();
+    }
+
+    /**
+     * 현재 레코드에 다음 줄을 이어 붙입니다. 레코드 시작 위치는 그대로입니다.
+     */
+    private boolean continueLine() throws IOException {
+        return scanLine();
+    }
+
+    /**
+     * position부터 줄바꿈을 찾아 lineEnd(줄바꿈 제외)와 position(줄바꿈 다음)을 정합니다.
+     * 버퍼 안에 없으면 레코드를 버퍼 앞으로 옮기고 채워 넣습니다.
+     */
+    private boolean scanLine() throws IOException {
+        int from = position;
+        while (true) {
+            for (int i = from; i < limit; i++) {
+                if (bytes[i] == '\n') {
+                    lineEnd = i > position && bytes[i - 1] == '\r' ? i - 1 : i;
+                    position = i + 1;
+                    return true;
+                }
+            }
+            from = limit;
+            if (endOfFile) {
+                if (position == limit) {
+                    return false;
+                }
+                lineEnd = limit;
+                position = limit;
+                return true;
+            }
+            int shift = compact();
+            from -= shift;
+            if (!fill()) {
+                endOfFile = true;
+            }
+        }
+    }
+
+    /**
+     * 현재 레코드를 버퍼 앞으로 옮깁니다.
+     *
+     * @return 옮긴 거리
+     */
+    private int compact() throws IOException {
+        int shift = recordStart;
+        if (shift > 0) {
+            System.arraycopy(bytes, shift, bytes, 0, limit - shift);
+            limit -= shift;
+            position -= shift;
+            lineEnd = Math.max(0, lineEnd - shift);
+            recordStart = 0;
+        }
+        if (limit == bytes.length) {
+            throw new IOException("Record at byte " + recordOffset + " exceeds buffer size " + bytes.length);
+        }
+        return shift;
+    }
+
+    private boolean fill() throws IOException {
+        buffer.limit(bytes.length).position(limit);
+        int read = channel.read(buffer);
+        if (read < 0) {
+            return false;
+        }
+        limit += read;
+        bytesRead += read;
+        return true;
+    }
+
+    private boolean isBlank(int from, int to) {
+        for (int i = from; i < to; i++) {
+            if (bytes[i] != ' ' && bytes[i] != '\t') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void appendName(byte b) {
+        if (nameLength == name.length) {
+            name = Arrays.copyOf(name, nameLength * 2);
+        }
+        name[nameLength++] = b;
+    }
+
+    private void appendName(int from, int to) {
+        int length = to - from;
+        if (nameLength + length > name.length) {
+            name = Arrays.copyOf(name, Math.max(nameLength + length, name.length * 2));
+        }
+        System.arraycopy(bytes, from, name, nameLength, length);
+        nameLength += length;
+    }
+
+    private IOException malformed(String what) {
+        return new IOException("Malformed " + what + " at byte " + recordOffset);
+    }
+
+    // ---- CSV ----
+
+    private void readCsvHeader() throws IOException {
+        if (!nextCsvRecord()) {
+            throw new IOException("CSV header is missing");
+        }
+        int column = 0;
+        int p = recordStart;
+        while (true) {
+            nameLength = 0;
+            p = csvField(p, true);
+            String header = new String(name, 0, nameLength, StandardCharsets.UTF_8).replace("\uFEFF", "").trim();
+            if (header.equalsIgnoreCase("displayName")) {
+                nameColumn = column;
+            } else if (header.equalsIgnoreCase("isFriend")) {
+                friendColumn = column;
+            }
+            if (p >= lineEnd) {
+                break;
+            }
+            p++; // 쉼표
+            column++;
+        }
+        nameLength = 0;
+        if (nameColumn < 0) {
+            throw new IOException("CSV header has no displayName column");
+        }
+    }
+
+    private boolean nextCsv() throws IOException {
+        if (!nextCsvRecord()) {
+            return false;
+        }
+        int column = 0;
+        int p = recordStart;
+        while (true) {
+            if (column == nameColumn) {
+                p = csvField(p, true);
+                hasName = true;
+            } else if (column == friendColumn) {
+                int start = p;
+                p = csvField(p, false);
+                friend = parseBoolean(start, p);
+            } else {
+                p = csvField(p, false);
+            }
+            if (p >= lineEnd) {
+                return true;
+            }
+            p++;
+            column++;
+        }
+    }
+
+    /**
+     * 빈 줄을 건너뛰고, 따옴표 안의 줄바꿈을 포함해 한 행 전체를 [recordStart, lineEnd)에 담습니다.
+     */
+    private boolean nextCsvRecord() throws IOException {
+        do {
+            if (!nextLine()) {
+                return false;
+            }
+        } while (recordStart == lineEnd);
+        while (hasOpenQuote()) {
+            if (!continueLine()) {
+                throw malformed("CSV (unterminated quote)");
+            }
+        }
+        return true;
+    }
+
+    private boolean hasOpenQuote() {
+        boolean quoted = false;
+        for (int i = recordStart; i < lineEnd; i++) {
+            if (bytes[i] == '"') {
+                quoted = !quoted;
+            }
+        }
+        return quoted;
+    }
+
+    /**
+     * p에서 시작하는 필드의 끝(쉼표 또는 lineEnd)을 반환합니다.
+     *
+     * @param copy true면 따옴표를 벗긴 내용을 이름 버퍼에 복사합니다
+     */
+    private int csvField(int p, boolean copy) {
+        if (p < lineEnd && bytes[p] == '"') {
+            p++;
+            while (p < lineEnd) {
+                if (bytes[p] == '"') {
+                    if (p + 1 < lineEnd && bytes[p + 1] == '"') {
+                        if (copy) {
+                            appendName((byte) '"');
+                        }
+                        p += 2;
+                        continue;
+                    }
+                    p++;
+                    break;
+                }
+                if (copy) {
+                    appendName(bytes[p]);
+                }
+                p++;
+            }
+            // 닫는 따옴표 뒤에 남은 내용은 무시합니다.
+            while (p < lineEnd && bytes[p] != ',') {
+                p++;
+            }
+            return p;
+        }
+        int start = p;
+        while (p < lineEnd && bytes[p] != ',') {
+            p++;
+        }
+        if (copy) {
+            appendName(start, p);
+        }
+        return p;
+    }
+
+    private boolean parseBoolean(int from, int to) {
+        while (from < to && (bytes[from] == ' ' || bytes[from] == '"')) {
+            from++;
+        }
+        while (to > from && (bytes[to - 1] == ' ' || bytes[to - 1] == '"')) {
+            to--;
+        }
+        return equalsIgnoreCase(from, to, "true") || equalsIgnoreCase(from, to, "1") || equalsIgnoreCase(from, to, "yes");
+    }
+
+    private boolean equalsIgnoreCase(int from, int to, String ascii) {
+        if (to - from != ascii.length()) {
+            return false;
+        }
+        for (int i = 0; i < ascii.length(); i++) {
+            if (Character.toLowerCase((char) bytes[from + i]) != Character.toLowerCase(ascii.charAt(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // ---- JSON Lines ----
+
+    private boolean nextJsonLine() throws IOException {
+        do {
+            if (!nextLine()) {
+                return false;
+            }
+        } while (isBlank(recordStart, lineEnd));
+
+        int p = skipWhitespace(recordStart);
+        if (p >= lineEnd || bytes[p] != '{') {
+            throw malformed("JSON line");
+        }
+        p = skipWhitespace(p + 1);
+        if (p < lineEnd && bytes[p] == '}') {
+            return true;
+        }
+        while (true) {
+            if (p >= lineEnd || bytes[p] != '"') {
+                throw malformed("JSON line");
+            }
+            int keyStart = p + 1;
+            p = skipJsonString(p);
+            int keyEnd = p - 1;
+            p = skipWhitespace(p);
+            if (p >= lineEnd || bytes[p] != ':') {
+                throw malformed("JSON line");
+            }
+            p = skipWhitespace(p + 1);
+
+            if (rangeEquals(keyStart, keyEnd, DISPLAY_NAME) && p < lineEnd && bytes[p] == '"') {
+                p = copyJsonString(p);
+                hasName = true;
+            } else if (rangeEquals(keyStart, keyEnd, IS_FRIEND) && p < lineEnd && bytes[p] == 't') {
+                p = skipJsonValue(p);
+                friend = rangeEquals(p - 4, p, "true".getBytes(StandardCharsets.US_ASCII));
+            } else {
+                p = skipJsonValue(p);
+            }
+
+            p = skipWhitespace(p);
+            if (p < lineEnd && bytes[p] == ',') {
+                p = skipWhitespace(p + 1);
+            } else if (p < lineEnd && bytes[p] == '}') {
+                return true;
+            } else {
+                throw malformed("JSON line");
+            }
+        }
+    }
+
+    private int skipWhitespace(int p) {
+        while (p < lineEnd && (bytes[p] == ' ' || bytes[p] == '\t' || bytes[p] == '\r')) {
+            p++;
+        }
+        return p;
+    }
+
+    private boolean rangeEquals(int from, int to, byte[] expected) {
+        return from >= 0 && Arrays.equals(bytes, from, to, expected, 0, expected.length);
+    }
+
+    /**
+     * p의 여는 따옴표부터 문자열을 건너뛰고 닫는 따옴표 다음 위치를 반환합니다.
+     */
+    private int skipJsonString(int p) throws IOException {
+        p++;
+        while (p < lineEnd) {
+            byte b = bytes[p];
+            if (b == '\\') {
+                p += 2;
+            } else if (b == '"') {
+                return p + 1;
+            } else {
+                p++;
+            }
+        }
+        throw malformed("JSON string");
+    }
+
+    /**
+     * 값 하나(문자열, 숫자, 리터럴, 중첩 객체/배열)를 건너뜁니다.
+     */
+    private int skipJsonValue(int p) throws IOException {
+        if (p >= lineEnd) {
+            throw malformed("JSON value");
+        }
+        byte b = bytes[p];
+        if (b == '"') {
+            return skipJsonString(p);
+        }
+        if (b == '{' || b == '[') {
+            int depth = 0;
+            while (p < lineEnd) {
+                b = bytes[p];
+                if (b == '"') {
+                    p = skipJsonString(p);
+                    continue;
+                }
+                if (b == '{' || b == '[') {
+                    depth++;
+                } else if (b == '}' || b == ']') {
+                    if (--depth == 0) {
+                        return p + 1;
+                    }
+                }
+                p++;
+            }
+            throw malformed("JSON value");
+        }
+        while (p < lineEnd && bytes[p] != ',' && bytes[p] != '}' && bytes[p] != ' ' && bytes[p] != '\t') {
+            p++;
+        }
+        return p;
+    }
+
+    /**
+     * JSON 문자열의 이스케이프를 풀어 UTF-8로 이름 버퍼에 복사합니다.
+     */
+    private int copyJsonString(int p) throws IOException {
+        p++;
+        int runStart = p;
+        while (p < lineEnd) {
+            byte b = bytes[p];
+            if (b == '"') {
+                appendName(runStart, p);
+                return p + 1;
+            }
+            if (b != '\\') {
+                p++;
+                continue;
+            }
+            appendName(runStart, p);
+            if (p + 1 >= lineEnd) {
+                break;
+            }
+            byte escaped = bytes[p + 1];
+            p += 2;
+            switch (escaped) {
+                case 'n' -> appendName((byte) '\n');
+                case 't' -> appendName((byte) '\t');
+                case 'r' -> appendName((byte) '\r');
+                case 'b' -> appendName((byte) '\b');
+                case 'f' -> appendName((byte) '\f');
+                case 'u' -> p = copyUnicodeEscape(p);
+                default -> appendName(escaped);
+            }
+            runStart = p;
+        }
+        throw malformed("JSON string");
+    }
+
+    /**
+     * p가 가리키는 16진수 4자리(와 이어지는 하위 서로게이트 이스케이프)를 UTF-8로 기록합니다.
+     */
+    private int copyUnicodeEscape(int p) throws IOException {
+        int c = hex4(p);
+        p += 4;
+        int codePoint = c;
+        if (Character.isHighSurrogate((char) c)) {
+            if (p + 6 <= lineEnd && bytes[p] == '\\' && bytes[p + 1] == 'u'
+                    && Character.isLowSurrogate((char) hex4(p + 2))) {
+                codePoint = Character.toCodePoint((char) c, (char) hex4(p + 2));
+                p += 6;
+            } else {
+                codePoint = 0xFFFD;
+            }
+        } else if (Character.isLowSurrogate((char) c)) {
+            codePoint = 0xFFFD;
+        }
+        appendUtf8(codePoint);
+        return p;
+    }
+
+    private int hex4(int p) throws IOException {
+        if (p + 4 > lineEnd) {
+            throw malformed("JSON unicode escape");
+        }
+        int value = 0;
+        for (int i = p; i < p + 4; i++) {
+            int digit = Character.digit(bytes[i], 16);
+            if (digit < 0) {
+                throw malformed("JSON unicode escape");
+            }
+            value = (value << 4) | digit;
+        }
+        return value;
+    }
+
+    private void appendUtf8(int codePoint) {
+        if (codePoint < 0x80) {
+            appendName((byte) codePoint);
+        } else if (codePoint < 0x800) {
+            appendName((byte) (0xC0 | (codePoint >>> 6)));
+            appendName((byte) (0x80 | (codePoint & 0x3F)));
+        } else if (codePoint < 0x10000) {
+            appendName((byte) (0xE0 | (codePoint >>> 12)));
+            appendName((byte) (0x80 | ((codePoint >>> 6) & 0x3F)));
+            appendName((byte) (0x80 | (codePoint & 0x3F)));
+        } else {
+            appendName((byte) (0xF0 | (codePoint >>> 18)));
+            appendName((byte) (0x80 | ((codePoint >>> 12) & 0x3F)));
+            appendName((byte) (0x80 | ((codePoint >>> 6) & 0x3F)));
+            appendName((byte) (0x80 | (codePoint & 0x3F)));
+        }
+    }
+
+    // ---- vCard ----
+
+    private boolean nextVCard() throws IOException {
+        boolean inCard = false;
+        boolean inName = false;
+        while (nextLine()) {
+            int start = recordStart;
+            if (start == lineEnd) {
+                continue;
+            }
+            if (bytes[start] == ' ' || bytes[start] == '\t') {
+                // 접힌 줄: 앞 공백 하나를 빼고 이전 속성 값에 이어 붙입니다.
+                if (inName) {
+                    appendName(start + 1, lineEnd);
+                }
+                continue;
+            }
+            if (inName) {
+                unescapeVCardName();
+                inName = false;
+            }
+
+            int colon = indexOf((byte) ':', start, lineEnd);
+            if (colon < 0) {
+                continue;
+            }
+            int nameEnd = start;
+            while (nameEnd < colon && bytes[nameEnd] != ';') {
+                nameEnd++;
+            }
+            // "item1.FN" 같은 그룹 접두사를 떼어 냅니다.
+            int propertyStart = start;
+            for (int i = start; i < nameEnd; i++) {
+                if (bytes[i] == '.') {
+                    propertyStart = i + 1;
+                }
+            }
+
+            if (equalsIgnoreCase(propertyStart, nameEnd, "BEGIN")) {
+                inCard = equalsIgnoreCase(colon + 1, lineEnd, "VCARD");
+            } else if (!inCard) {
+                continue;
+            } else if (equalsIgnoreCase(propertyStart, nameEnd, "END")) {
+                return true;
+            } else if (equalsIgnoreCase(propertyStart, nameEnd, "FN")) {
+                nameLength = 0;
+                appendName(colon + 1, lineEnd);
+                hasName = true;
+                inName = true;
+            } else if (equalsIgnoreCase(propertyStart, nameEnd, "X-FRIEND")) {
+                friend = equalsIgnoreCase(colon + 1, lineEnd, "TRUE");
+            }
+        }
+        if (inCard) {
+            throw malformed("vCard (missing END:VCARD)");
+        }
+        return false;
+    }
+
+    /**
+     * vCard 값 이스케이프(\\, \, \; \n)를 이름 버퍼 안에서 풉니다.
+     */
+    private void unescapeVCardName() {
+        int write = 0;
+        for (int read = 0; read < nameLength; read++) {
+            byte b = name[read];
+            if (b == '\\' && read + 1 < nameLength) {
+                byte escaped = name[++read];
+                name[write++] = escaped == 'n' || escaped == 'N' ? (byte) '\n' : escaped;
+            } else {
+                name[write++] = b;
+            }
+        }
+        nameLength = write;
+    }
+
+    private int indexOf(byte target, int from, int to) {
+        for (int i = from; i < to; i++) {
+            if (bytes[i] == target) {
+                return i;
+            }
+        }
+        return -1;
+    }
+}
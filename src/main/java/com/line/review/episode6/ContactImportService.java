@@ -0,0 +1,366 @@
+package com.line.review.episode6;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * 주소록 동기화 요청을 가상 스레드에서 처리하는 가져오기 서비스
+ *
+ * 생산자는 {@link #begin()}으로 가져오기를 시작한 뒤 연락처를 배치 단위로 제출합니다.
+ * 배치는 크기가 제한된 큐에 들어가고, 디스패처가 동시 처리 한도(세마포어 허가 수)만큼만
+ * 가상 스레드로 꺼내 {@link ContactProcessor#processContactGood(ContactModel)}로 처리합니다.
+ * 한도가 차면 큐가 차고, 큐가 차면 {@link Import#submit(List)}가 막히므로
+ * 대량 동기화가 다른 요청의 처리 자원을 모두 차지하지 못합니다.
+ *
+ * 가져오기마다 시작부터 마지막 배치 완료까지의 지연 시간과 처리량을 {@link ImportResult}로 보고합니다.
+ */
+public class ContactImportService implements AutoCloseable {
+
+    public static final int DEFAULT_QUEUE_CAPACITY = 1_024;
+
+    /** 디스패처에게 종료를 알리는 표식 */
+    private static final Batch SHUTDOWN = new Batch(null, List.of(), -1);
+
+    private final ContactProcessor processor;
+    private final int maxConcurrentBatches;
+    private final BlockingQueue<Batch> queue;
+    private final Semaphore permits;
+    private final ExecutorService workers;
+    private final Thread dispatcher;
+
+    /** 제출과 종료가 엇갈려 종료 표식 뒤에 배치가 들어가는 것을 막습니다. */
+    private final ReentrantReadWriteLock closeLock = new ReentrantReadWriteLock();
+    private boolean closed;
+
+    private final LongAdder completedImports = new LongAdder();
+    private final LongAdder failedImports = new LongAdder();
+    private final LongAdder processedContacts = new LongAdder();
+
+    /**
+     * @param processor 배치 처리에 사용할 프로세서
+     * @param maxConcurrentBatches 동시에 처리할 수 있는 최대 배치 수
+     */
+    public ContactImportService(ContactProcessor processor, int maxConcurrentBatches) {
+        this(processor, maxConcurrentBatches, DEFAULT_QUEUE_CAPACITY);
+    }
+
+    /**
+     * @param processor 배치 처리에 사용할 프로세서
+     * @param maxConcurrentBatches 동시에 처리할 수 있는 최대 배치 수
+     * @param queueCapacity 처리를 기다릴 수 있는 최대 배치 수. 가득 차면 제출이 막힙니다.
+     */
+    public ContactImportService(ContactProcessor processor, int maxConcurrentBatches, int queueCapacity) {
+        if (maxConcurrentBatches <= 0) {
+            throw new IllegalArgumentException("maxConcurrentBatches must be positive: " + maxConcurrentBatches);
+        }
+        if (queueCapacity <= 0) {
+            throw new IllegalArgumentException("queueCapacity must be positive: " + queueCapacity);
+        }
+        this.processor = processor;
+        this.maxConcurrentBatches = maxConcurrentBatches;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.permits = new Semaphore(maxConcurrentBatches);
+        this.workers = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("contact-import-", 0).factory());
+        this.dispatcher = Thread.ofVirtual().name("contact-import-dispatcher").start(this::dispatch);
+    }
+
+    /**
+     * 새 가져오기를 시작합니다. 지연 시간은 이 시점부터 측정합니다.
+     */
+    public Import begin() {
+        return new Import();
+    }
+
+    /**
+     * 서비스 전체 누적 지표
+     */
+    public Stats stats() {
+        return new Stats(
+                completedImports.sum(),
+                failedImports.sum(),
+                processedContacts.sum(),
+                queue.size(),
+                maxConcurrentBatches - permits.availablePermits()
+        );
+    }
+
+    /**
+     * 새 제출을 막고, 이미 큐에 들어간 배치를 모두 처리한 뒤 반환합니다.
+     *
+     * 기다리는 동안 인터럽트되어도 처리가 끝날 때까지 기다린 뒤 인터럽트 상태를 복원합니다.
+     */
+    @Override
+    public void close() {
+        closeLock.writeLock().lock();
+        try {
+            if (closed) {
+                return;
+            }
+            closed = true;
+        } finally {
+            closeLock.writeLock().unlock();
+        }
+        boolean interrupted = false;
+        while (true) {
+            try {
+                queue.put(SHUTDOWN);
+                break;
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+        while (true) {
+            try {
+                dispatcher.join();
+                break;
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * @param timeoutNanos 음수면 자리가 날 때까지 기다립니다
+     * @return 큐에 넣었으면 true
+     */
+    private boolean enqueue(Batch batch, long timeoutNanos) throws InterruptedException {
+        closeLock.readLock().lock();
+        try {
+            if (closed) {
+                throw new RejectedExecutionException("Import service is closed");
+            }
+            if (timeoutNanos < 0) {
+                queue.put(batch);
+                return true;
+            }
+            return queue.offer(batch, timeoutNanos, TimeUnit.NANOSECONDS);
+        } finally {
+            closeLock.readLock().unlock();
+        }
+    }
+
+    private void dispatch() {
+        try {
+            for (Batch batch = queue.take(); batch != SHUTDOWN; batch = queue.take()) {
+                permits.acquire();
+                Batch current = batch;
+                workers.execute(() -> {
+                    try {
+                        process(current);
+                    } finally {
+                        permits.release();
+                    }
+                });
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            // 실행 중인 배치가 모두 끝날 때까지 기다립니다.
+            workers.close();
+        }
+    }
+
+    private void process(Batch batch) {
+        Import owner = batch.owner();
+        if (owner.result.isDone()) {
+            // 앞선 배치가 실패한 가져오기는 나머지 배치를 건너뜁니다.
+            owner.batchDone();
+            return;
+        }
+        try {
+            List<ReturnValue> friends = new ArrayList<>();
+            for (ContactModel contact : batch.contacts()) {
+                ReturnValue result = processor.processContactGood(contact);
+                if (result != null) {
+                    friends.add(result);
+                }
+            }
+            processedContacts.add(batch.contacts().size());
+            owner.batchProcessed(batch.sequence(), friends);
+        } catch (RuntimeException e) {
+            owner.fail(e);
+        } catch (Error e) {
+            // finish()를 기다리는 호출자가 영원히 막히지 않도록 가져오기를 실패로 끝낸 뒤 다시 던집니다.
+            owner.fail(e);
+            throw e;
+        } finally {
+            owner.batchDone();
+        }
+    }
+
+    /**
+     * 진행 중인 가져오기 하나
+     *
+     * 한 가져오기의 배치들은 병렬로 처리될 수 있지만 결과는 제출 순서대로 합쳐집니다.
+     */
+    public final class Import {
+        private final long startNanos = System.nanoTime();
+        private final CompletableFuture<ImportResult> result = new CompletableFuture<>();
+        /** 제출되었지만 끝나지 않은 배치 수 + 아직 finish하지 않았으면 1 */
+        private final AtomicInteger pending = new AtomicInteger(1);
+        /** 배치 순번 -> 처리 결과 */
+        private final List<List<ReturnValue>> batchResults = new ArrayList<>();
+        private int contactCount;
+        private boolean finished;
+
+        private Import() {
+        }
+
+        /**
+         * 배치를 제출합니다. 큐가 가득 차 있으면 자리가 날 때까지 기다립니다.
+         *
+         * @throws RejectedExecutionException 서비스가 닫혔으면
+         */
+        public void submit(List<? extends ContactModel> contacts) throws InterruptedException {
+            submitBatch(contacts, -1);
+        }
+
+        /**
+         * 배치를 제출합니다. 큐가 timeout 동안 가득 차 있으면 포기합니다.
+         *
+         * @return 제출했으면 true, 시간 안에 자리가 나지 않았으면 false
+         * @throws RejectedExecutionException 서비스가 닫혔으면
+         */
+        public boolean trySubmit(List<? extends ContactModel> contacts, long timeout, TimeUnit unit)
+                throws InterruptedException {
+            return submitBatch(contacts, Math.max(0, unit.toNanos(timeout)));
+        }
+
+        /**
+         * 더 이상 배치를 제출하지 않음을 알립니다.
+         *
+         * @return 제출한 배치가 모두 처리되면 완료되는 결과
+         */
+        public CompletableFuture<ImportResult> finish() {
+            synchronized (this) {
+                if (finished) {
+                    return result;
+                }
+                finished = true;
+            }
+            batchDone();
+            return result;
+        }
+
+        private boolean submitBatch(List<? extends ContactModel> contacts, long timeoutNanos)
+                throws InterruptedException {
+            Batch batch = register(contacts);
+            boolean enqueued = false;
+            try {
+                enqueued = enqueue(batch, timeoutNanos);
+                return enqueued;
+            } finally {
+                if (!enqueued) {
+                    unregister(batch);
+                }
+            }
+        }
+
+        private Batch register(List<? extends ContactModel> contacts) {
+            // processContactGood처럼 null 연락처를 허용하므로 List.copyOf를 쓰지 않습니다.
+            List<ContactModel> copy = Collections.unmodifiableList(new ArrayList<>(contacts));
+            int sequence;
+            synchronized (this) {
+                if (finished) {
+                    throw new IllegalStateException("Import is already finished");
+                }
+                sequence = batchResults.size();
+                batchResults.add(null);
+                contactCount += copy.size();
+            }
+            pending.incrementAndGet();
+            return new Batch(this, copy, sequence);
+        }
+
+        /**
+         * 큐에 넣지 못한 배치를 없던 일로 합니다.
+         */
+        private void unregister(Batch batch) {
+            synchronized (this) {
+                contactCount -= batch.contacts().size();
+            }
+            batchDone();
+        }
+
+        private synchronized void batchProcessed(int sequence, List<ReturnValue> friends) {
+            batchResults.set(sequence, friends);
+        }
+
+        private void fail(Throwable cause) {
+            if (result.completeExceptionally(cause)) {
+                failedImports.increment();
+            }
+        }
+
+        private void batchDone() {
+            if (pending.decrementAndGet() != 0 || result.isDone()) {
+                return;
+            }
+            Duration latency = Duration.ofNanos(System.nanoTime() - startNanos);
+            List<ReturnValue> friends = new ArrayList<>();
+            int contacts;
+            synchronized (this) {
+                for (List<ReturnValue> batchResult : batchResults) {
+                    // 제출하지 못한 배치는 비어 있습니다.
+                    if (batchResult != null) {
+                        friends.addAll(batchResult);
+                    }
+                }
+                contacts = contactCount;
+            }
+            if (result.complete(new ImportResult(Collections.unmodifiableList(friends), contacts, latency))) {
+                completedImports.increment();
+            }
+        }
+    }
+
+    /**
+     * 가져오기 한 건의 결과
+     *
+     * @param friends 친구의 정규화된 이름, 제출 순서대로
+     * @param contactCount 처리한 연락처 수
+     * @param latency 시작부터 마지막 배치 완료까지 걸린 시간
+     */
+    public record ImportResult(List<ReturnValue> friends, int contactCount, Duration latency) {
+
+        /**
+         * 초당 처리한 연락처 수
+         */
+        public double contactsPerSecond() {
+            long nanos = Math.max(1, latency.toNanos());
+            return contactCount * 1_000_000_000.0 / nanos;
+        }
+    }
+
+    /**
+     * 서비스 지표 스냅숏
+     *
+     * @param completedImports 완료된 가져오기 수
+     * @param failedImports 실패한 가져오기 수
+     * @param processedContacts 처리한 연락처 수
+     * @param queuedBatches 큐에서 기다리는 배치 수
+     * @param activeBatches 처리 중인 배치 수
+     */
+    public record Stats(long completedImports, long failedImports, long processedContacts,
+                        int queuedBatches, int activeBatches) {
+    }
+
+    private record Batch(Import owner, List<ContactModel> contacts, int sequence) {
+    }
+}
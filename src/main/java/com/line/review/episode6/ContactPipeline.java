@@ -0,0 +1,306 @@
+package com.line.review.episode6;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.UnaryOperator;
+
+/**
+ * 필터 -> 변환 단계를 따로 선언하고 하나의 루프로 합쳐 실행하는 파이프라인
+ *
+ * processContactGood이 손으로 나눈 "친구인 Person만 고르기"와 "이름 정규화 -> ReturnValue"를
+ * 일반화한 것으로, 차단 목록이나 별명 치환 같은 단계를 계속 덧붙일 수 있습니다.
+ * <pre>
+ * ContactPipeline pipeline = ContactPipeline.builder()
+ *         .filter(ContactModel.Person::isFriend)
+ *         .filter(person -> !blockList.contains(person.getDisplayName()))
+ *         .mapWithContact((person, name) -> nicknames.getOrDefault(person, name))
+ *         .map(EmojiNormalizer::normalizeEmoji)
+ *         .build();
+ * </pre>
+ *
+ * build()는 단계마다 링크 객체를 만들어 사슬로 잇고, 루프와 각 링크의 클래스를
+ * 파이프라인마다 숨은 클래스(hidden class)로 복제합니다. 복제된 클래스는 호출 지점의
+ * 타입 프로파일을 따로 가지므로, 파이프라인이 여러 개여도 각 호출 지점은 단형(monomorphic)으로
+ * 남고 JIT가 루프 안으로 모든 단계를 인라인해 손으로 쓴 루프와 같은 코드가 됩니다.
+ * 중간 컬렉션은 만들지 않습니다.
+ */
+public final class ContactPipeline {
+
+    /** 템플릿 클래스 -> 클래스 파일 바이트 */
+    private static final Map<Class<?>, byte[]> TEMPLATES = new ConcurrentHashMap<>();
+
+    private final PipelineLoop loop;
+
+    private ContactPipeline(PipelineLoop loop) {
+        this.loop = loop;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * 연락처 하나를 처리합니다.
+     *
+     * @return 모든 필터를 통과하고 변환 결과가 null이 아니면 ReturnValue, 아니면 null
+     */
+    public ReturnValue apply(ContactModel contact) {
+        return loop.apply(contact);
+    }
+
+    /**
+     * 연락처 목록을 처리합니다.
+     *
+     * @return 결과, 입력 순서대로
+     */
+    public ReturnValue[] process(List<? extends ContactModel> contacts) {
+        return loop.process(contacts);
+    }
+
+    /**
+     * 연락처를 처리하며 결과를 하나씩 sink로 넘깁니다.
+     *
+     * @return sink에 넘긴 결과 수
+     */
+    public long process(Iterable<? extends ContactModel> contacts, Consumer<? super ReturnValue> sink) {
+        return loop.process(contacts, sink);
+    }
+
+    /**
+     * 파이프라인 빌더
+     *
+     * 단계는 추가한 순서대로 실행됩니다. 이름은 Person의 표시 이름에서 시작합니다.
+     */
+    public static final class Builder {
+        private final List<Function<PipelineLink, PipelineLink>> stages = new ArrayList<>();
+        private Function<String, ReturnValue> factory = ReturnValue::new;
+
+        private Builder() {
+        }
+
+        /**
+         * 조건을 만족하지 않는 연락처를 버립니다.
+         */
+        public Builder filter(Predicate<? super ContactModel.Person> predicate) {
+            stages.add(next -> newLink(FilterLink.class, Predicate.class, predicate, next));
+            return this;
+        }
+
+        /**
+         * 이름을 바꿉니다. null을 반환하면 연락처를 버립니다.
+         */
+        public Builder map(UnaryOperator<String> mapper) {
+            stages.add(next -> newLink(MapLink.class, UnaryOperator.class, mapper, next));
+            return this;
+        }
+
+        /**
+         * 연락처를 참고해 이름을 바꿉니다. null을 반환하면 연락처를 버립니다.
+         */
+        public Builder mapWithContact(BiFunction<? super ContactModel.Person, String, String> mapper) {
+            stages.add(next -> newLink(ContactMapLink.class, BiFunction.class, mapper, next));
+            return this;
+        }
+
+        /**
+         * 최종 이름으로 결과를 만드는 함수 (기본값: new ReturnValue)
+         */
+        public Builder into(Function<String, ReturnValue> factory) {
+            this.factory = factory;
+            return this;
+        }
+
+        public ContactPipeline build() {
+            PipelineLink head = newLink(TerminalLink.class, Function.class, factory, null);
+            for (int i = stages.size() - 1; i >= 0; i--) {
+                head = stages.get(i).apply(head);
+            }
+            return new ContactPipeline((PipelineLoop) newInstance(LinkedPipelineLoop.class, PipelineLink.class, head));
+        }
+    }
+
+    private static PipelineLink newLink(Class<? extends PipelineLink> template, Class<?> stageType,
+                                        Object stage, PipelineLink next) {
+        return (PipelineLink) newInstance(template, stageType, stage, PipelineLink.class, next);
+    }
+
+    /**
+     * 템플릿 클래스를 숨은 클래스로 복제해 인스턴스를 만듭니다.
+     *
+     * @param template 복제할 클래스
+     * @param argumentTypesAndValues 생성자 인자 (타입, 값)의 쌍
+     */
+    private static Object newInstance(Class<?> template, Object... argumentTypesAndValues) {
+        Class<?>[] types = new Class<?>[argumentTypesAndValues.length / 2];
+        Object[] values = new Object[types.length];
+        for (int i = 0; i < types.length; i++) {
+            types[i] = (Class<?>) argumentTypesAndValues[i * 2];
+            values[i] = argumentTypesAndValues[i * 2 + 1];
+        }
+        try {
+            MethodHandles.Lookup lookup = MethodHandles.lookup()
+                    .defineHiddenClass(templateBytes(template), true);
+            MethodHandle constructor = lookup.findConstructor(lookup.lookupClass(), MethodType.methodType(void.class, types));
+            return constructor.invokeWithArguments(values);
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new IllegalStateException("Cannot specialize " + template.getSimpleName(), e);
+        }
+    }
+
+    private static byte[] templateBytes(Class<?> template) {
+        return TEMPLATES.computeIfAbsent(template, type -> {
+            try (InputStream input = type.getResourceAsStream(type.getSimpleName() + ".class")) {
+                if (input == null) {
+                    throw new IllegalStateException("Class file not found: " + type.getName());
+                }
+                return input.readAllBytes();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+}
+
+/*
+ * 아래 클래스들은 ContactPipeline이 파이프라인마다 복제하는 템플릿입니다.
+ * 복제본은 원본과 다른 클래스이므로 서로를 추상 타입(PipelineLink, PipelineLoop)으로만 참조합니다.
+ */
+
+/**
+ * 단계 하나. 결과가 없으면 null을 반환합니다.
+ */
+abstract class PipelineLink {
+    abstract ReturnValue apply(ContactModel.Person person, String name);
+}
+
+final class FilterLink extends PipelineLink {
+    private final Predicate<? super ContactModel.Person> predicate;
+    private final PipelineLink next;
+
+    FilterLink(Predicate<? super ContactModel.Person> predicate, PipelineLink next) {
+        this.predicate = predicate;
+        this.next = next;
+    }
+
+    @Override
+    ReturnValue apply(ContactModel.Person person, String name) {
+        return predicate.test(person) ? next.apply(person, name) : null;
+    }
+}
+
+final class MapLink extends PipelineLink {
+    private final UnaryOperator<String> mapper;
+    private final PipelineLink next;
+
+    MapLink(UnaryOperator<String> mapper, PipelineLink next) {
+        this.mapper = mapper;
+        this.next = next;
+    }
+
+    @Override
+    ReturnValue apply(ContactModel.Person person, String name) {
+        String mapped = mapper.apply(name);
+        return mapped == null ? null : next.apply(person, mapped);
+    }
+}
+
+final class ContactMapLink extends PipelineLink {
+    private final BiFunction<? super ContactModel.Person, String, String> mapper;
+    private final PipelineLink next;
+
+    ContactMapLink(BiFunction<? super ContactModel.Person, String, String> mapper, PipelineLink next) {
+        this.mapper = mapper;
+        this.next = next;
+    }
+
+    @Override
+    ReturnValue apply(ContactModel.Person person, String name) {
+        String mapped = mapper.apply(person, name);
+        return mapped == null ? null : next.apply(person, mapped);
+    }
+}
+
+final class TerminalLink extends PipelineLink {
+    private final Function<String, ReturnValue> factory;
+
+    TerminalLink(Function<String, ReturnValue> factory, PipelineLink ignored) {
+        this.factory = factory;
+    }
+
+    @Override
+    ReturnValue apply(ContactModel.Person person, String name) {
+        return factory.apply(name);
+    }
+}
+
+/**
+ * 파이프라인의 루프. 복제본은 이 타입으로만 다룹니다.
+ */
+abstract class PipelineLoop {
+    abstract ReturnValue apply(ContactModel contact);
+
+    abstract ReturnValue[] process(List<? extends ContactModel> contacts);
+
+    abstract long process(Iterable<? extends ContactModel> contacts, Consumer<? super ReturnValue> sink);
+}
+
+/**
+ * 링크 사슬을 도는 루프. 첫 링크 호출 지점이 파이프라인마다 따로 프로파일되도록 함께 복제합니다.
+ */
+final class LinkedPipelineLoop extends PipelineLoop {
+    private final PipelineLink head;
+
+    LinkedPipelineLoop(PipelineLink head) {
+        this.head = head;
+    }
+
+    @Override
+    ReturnValue apply(ContactModel contact) {
+        return contact instanceof ContactModel.Person person ? head.apply(person, person.getDisplayName()) : null;
+    }
+
+    @Override
+    ReturnValue[] process(List<? extends ContactModel> contacts) {
+        ReturnValue[] results = new ReturnValue[contacts.size()];
+        int size = 0;
+        for (ContactModel contact : contacts) {
+            if (contact instanceof ContactModel.Person person) {
+                ReturnValue result = head.apply(person, person.getDisplayName());
+                if (result != null) {
+                    results[size++] = result;
+                }
+            }
+        }
+        return size == results.length ? results : Arrays.copyOf(results, size);
+    }
+
+    @Override
+    long process(Iterable<? extends ContactModel> contacts, Consumer<? super ReturnValue> sink) {
+        long count = 0;
+        for (ContactModel contact : contacts) {
+            if (contact instanceof ContactModel.Person person) {
+                ReturnValue result = head.apply(person, person.getDisplayName());
+                if (result != null) {
+                    sink.accept(result);
+                    count++;
+                }
+            }
+        }
+        return count;
+    }
+}
@@ -1,5 +1,17 @@
 package com.line.review.episode6;
 
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.RandomAccess;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.UnaryOperator;
+import java.util.stream.Stream;
+
 /**
  * 코드 품질 개선 기법 6편
  * 
@@ -7,6 +19,38 @@ package com.line.review.episode6;
  */
 public class ContactProcessor {
     
+    private final UnaryOperator<String> normalizer;
+    private final Function<String, ReturnValue> returnValueFactory;
+    
+    public ContactProcessor() {
+        this(EmojiNormalizer::normalizeEmoji);
+    }
+    
+    /**
+     * Good 버전에서 사용할 이름 정규화 함수를 지정합니다.
+     * 
+     * 예: {@code new ContactProcessor(new NormalizedNameCache(16 * 1024 * 1024)::normalize)}
+     * 
+     * @param normalizer 표시 이름 정규화 함수
+     */
+    public ContactProcessor(UnaryOperator<String> normalizer) {
+        this.normalizer = normalizer;
+        this.returnValueFactory = ReturnValue::new;
+    }
+    
+    /**
+     * 같은 이름의 결과가 하나의 String/ReturnValue 인스턴스를 공유하도록 intern 테이블을 연결합니다.
+     * 
+     * Good 버전과 대량 처리 메서드에 적용됩니다.
+     * 
+     * @param normalizer 표시 이름 정규화 함수
+     * @param interner 정규화된 이름 intern 테이블
+     */
+    public ContactProcessor(UnaryOperator<String> normalizer, NormalizedNameInterner interner) {
+        this.normalizer = normalizer;
+        this.returnValueFactory = interner::returnValueOf;
+    }
+    
     /**
      * Bad 버전: 부적절한 줄바꿈으로 인해 가독성이 떨어짐
      * 
@@ -91,7 +135,7 @@ public class ContactProcessor {
             return null;
         }
         
-        String friendName = EmojiNormalizer.normalizeEmoji(friend.getDisplayName());
+        String friendName = normalizer.apply(friend.getDisplayName());
         
         if (friendName == null) {
             return null;
@@ -100,7 +144,139 @@ public class ContactProcessor {
         // snip...
         // snip...
         
-        return new ReturnValue(friendName);
+        return returnValueFactory.apply(friendName);
+    }
+    
+    /**
+     * processContactGood과 같은 필터 -> 변환 단계로 시작하는 파이프라인 빌더를 반환합니다.
+     * 
+     * 반환된 빌더에 단계를 더 붙이면 정규화된 이름 뒤에 실행됩니다.
+     * 예: {@code processor.pipeline().filter(person -> !blocked.contains(person.getDisplayName())).build()}
+     * 
+     * @return 친구 필터와 이 프로세서의 정규화 함수, 결과 생성 방식이 설정된 빌더
+     */
+    public ContactPipeline.Builder pipeline() {
+        return ContactPipeline.builder()
+                .filter(ContactModel.Person::isFriend)
+                .map(normalizer)
+                .into(returnValueFactory);
+    }
+    
+    /**
+     * 여러 연락처를 한 번에 처리합니다.
+     * 
+     * processContactGood과 같은 규칙(친구인 Person만, 이름 정규화)을 적용하되
+     * 친구가 아닌 연락처는 정규화 전에 걸러 내고, 큰 입력은 fork/join으로 나눠 병렬 처리합니다.
+     * 결과 배열은 친구 수에 맞춰 한 번만 할당되며 입력 순서를 유지합니다.
+     * 
+     * @param contacts 연락처 목록 (null 원소 허용)
+     * @return 친구의 정규화된 이름, 입력 순서대로
+     */
+    public ReturnValue[] processContacts(List<? extends ContactModel> contacts) {
+        List<? extends ContactModel> randomAccess = contacts instanceof RandomAccess
+                ? contacts
+                : new ArrayList<>(contacts);
+        return new ParallelContactPipeline(normalizer, returnValueFactory, ForkJoinPool.commonPool()).process(randomAccess);
+    }
+    
+    /**
+     * 여러 연락처를 한 번에 처리합니다.
+     * 
+     * @see #processContacts(List)
+     */
+    public ReturnValue[] processContacts(Iterable<? extends ContactModel> contacts) {
+        if (contacts instanceof List<? extends ContactModel> list) {
+            return processContacts(list);
+        }
+        List<ContactModel> copy = new ArrayList<>();
+        contacts.forEach(copy::add);
+        return processContacts(copy);
+    }
+    
+    /**
+     * 연락처 스트림을 처리합니다.
+     * 
+     * 병렬 여부와 순서 유지 여부는 전달된 스트림의 설정을 따릅니다.
+     * 순서가 필요 없다면 {@code contacts.parallel().unordered()}를 넘기면 됩니다.
+     * 
+     * @param contacts 연락처 스트림
+     * @return 친구의 정규화된 이름
+     */
+    public ReturnValue[] processContacts(Stream<? extends ContactModel> contacts) {
+        return contacts
+                .filter(contact -> contact instanceof ContactModel.Person person && person.isFriend())
+                .map(contact -> normalizer.apply(((ContactModel.Person) contact).getDisplayName()))
+                .filter(Objects::nonNull)
+                .map(returnValueFactory)
+                .toArray(ReturnValue[]::new);
+    }
+    
+    /**
+     * 열 단위 저장소의 연락처를 처리합니다.
+     * 
+     * 친구 필터링은 비트셋을 64개 단위로 훑는 것으로 끝나며,
+     * 친구인 연락처의 이름만 UTF-8에서 디코딩해 정규화합니다.
+     * 
+     * @param store 연락처 저장소
+     * @return 친구의 정규화된 이름, 저장 순서대로
+     */
+    public ReturnValue[] processContacts(ContactStore store) {
+        ReturnValue[] results = new ReturnValue[store.friendCount()];
+        int size = 0;
+        for (int index = store.nextFriend(0); index >= 0; index = store.nextFriend(index + 1)) {
+            String friendName = normalizer.apply(store.getDisplayName(index));
+            if (friendName != null) {
+                results[size++] = returnValueFactory.apply(friendName);
+            }
+        }
+        return size == results.length ? results : Arrays.copyOf(results, size);
+    }
+    
+    /**
+     * 메모리 매핑된 스냅샷의 연락처를 처리합니다.
+     * 
+     * 스냅샷에는 정규화된 이름이 이미 기록되어 있으므로 Person 객체를 만들거나
+     * 다시 정규화하지 않고 친구의 정규화된 이름만 디코딩합니다.
+     * 다른 경로와 같이 정규화 결과가 null이었던 친구는 결과에서 뺍니다.
+     * 
+     * @param snapshot 연락처 스냅샷
+     * @return 친구의 정규화된 이름, 기록 순서대로
+     */
+    public ReturnValue[] processContacts(ContactSnapshot snapshot) {
+        ReturnValue[] results = new ReturnValue[snapshot.friendCount()];
+        int size = 0;
+        for (int index = snapshot.nextFriend(0); index >= 0; index = snapshot.nextFriend(index + 1)) {
+            String friendName = snapshot.getNormalizedName(index);
+            if (friendName != null) {
+                results[size++] = returnValueFactory.apply(friendName);
+            }
+        }
+        return size == results.length ? results : Arrays.copyOf(results, size);
+    }
+    
+    /**
+     * 연락처 파일을 스트리밍으로 읽으며 처리합니다.
+     * 
+     * 결과를 배열에 모으지 않고 친구 한 명마다 sink로 넘기므로 파일 크기와 관계없이
+     * 메모리 사용량이 일정합니다. 친구가 아닌 연락처는 이름을 디코딩하지 않고 건너뜁니다.
+     * 
+     * @param reader 연락처 파일 리더
+     * @param sink 친구의 정규화된 이름을 받을 함수, 파일 순서대로 호출됩니다
+     * @return sink에 넘긴 결과 수
+     */
+    public long processContacts(ContactFileReader reader, Consumer<? super ReturnValue> sink) throws IOException {
+        long count = 0;
+        while (reader.next()) {
+            if (!reader.isFriend()) {
+                continue;
+            }
+            String displayName = reader.getDisplayName();
+            String friendName = displayName == null ? null : normalizer.apply(displayName);
+            if (friendName != null) {
+                sink.accept(returnValueFactory.apply(friendName));
+                count++;
+            }
+        }
+        return count;
     }
 }
-
@@ -0,0 +1,546 @@
+package com.line.review.episode6;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.locks.StampedLock;
+import java.util.function.UnaryOperator;
+
+/**
+ * 정규화된 표시 이름으로 연락처를 찾는 입력 중 검색(type-ahead) 인덱스
+ *
+ * 이름은 이모지를 제거하고 소문자로 바꾼 뒤 두 가지 구조에 넣습니다.
+ * - 압축 접두사 트라이(radix trie): 이름이 검색어로 시작하는 연락처
+ * - 트라이그램 포스팅 목록: 이름 중간에 검색어가 들어 있는 연락처 (검색어 3자 이상)
+ *
+ * 결과는 친구를 먼저, 같은 그룹 안에서는 접두사 일치를 중간 일치보다 먼저 돌려줍니다.
+ * 트라이의 각 노드는 하위 트리의 연락처 수와 친구 수를 들고 있어서,
+ * 친구가 없는 하위 트리는 건너뛰고 limit개를 채우면 바로 멈춥니다.
+ * 즉 흔한 접두사라도 조회 비용은 전체 연락처 수가 아니라 limit과 트라이 깊이에 비례합니다.
+ *
+ * 추가/삭제/변경은 해당 이름의 경로와 트라이그램만 갱신합니다.
+ * FriendIndexedContacts와 같이 StampedLock으로 쓰기 하나와 여러 읽기를 허용합니다.
+ */
+public class ContactSearchIndex {
+
+    private static final int TRIGRAM = 3;
+
+    private final UnaryOperator<String> normalizer;
+    private final StampedLock lock = new StampedLock();
+
+    private final Node root = new Node("");
+    private final Map<Long, Postings> trigrams = new HashMap<>();
+
+    /** id -> 표시 이름 (삭제된 id는 null) */
+    private String[] displayNames = new String[16];
+    /** id -> 검색 키 (정규화 + 소문자) */
+    private String[] keys = new String[16];
+    private final BitSet friends = new BitSet();
+    private int nextId;
+    private int size;
+
+    public ContactSearchIndex() {
+        this(EmojiNormalizer::normalizeEmoji);
+    }
+
+    /**
+     * @param normalizer 검색 키를 만들기 전에 표시 이름에 적용할 정규화 함수
+     */
+    public ContactSearchIndex(UnaryOperator<String> normalizer) {
+        this.normalizer = normalizer;
+    }
+
+    /**
+     * 연락처를 추가합니다.
+     *
+     * @return 이후 변경/삭제에 사용할 id
+     */
+    public int add(ContactModel.Person person) {
+        long stamp = lock.writeLock();
+        try {
+            if (nextId == keys.length) {
+                keys = Arrays.copyOf(keys, nextId * 2);
+                displayNames = Arrays.copyOf(displayNames, nextId * 2);
+            }
+            int id = nextId++;
+            insert(id, person);
+            return id;
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * 연락처의 이름이나 친구 여부가 바뀌었을 때 인덱스를 갱신합니다.
+     * 삭제된 id는 무시합니다.
+     */
+    public void update(int id, ContactModel.Person person) {
+        long stamp = lock.writeLock();
+        try {
+            if (key(id) == null) {
+                return;
+            }
+            delete(id);
+            insert(id, person);
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * 연락처를 삭제합니다. 이미 삭제된 id는 무시합니다.
+     */
+    public void remove(int id) {
+        long stamp = lock.writeLock();
+        try {
+            if (key(id) != null) {
+                delete(id);
+            }
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    public int size() {
+        long stamp = lock.readLock();
+        try {
+            return size;
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    /**
+     * 검색어와 일치하는 연락처를 최대 limit개 반환합니다.
+     *
+     * 검색어는 이름과 같은 방식으로 정규화합니다. 2자 이하의 검색어는 접두사로만 찾습니다.
+     *
+     * @param query 검색어
+     * @param limit 최대 결과 수
+     * @return 친구 우선, 접두사 일치 우선으로 정렬된 결과
+     */
+    public List<Hit> search(String query, int limit) {
+        String key = toKey(query);
+        if (key.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+        long stamp = lock.readLock();
+        try {
+            Node prefixRoot = findPrefix(key);
+            Postings[] infix = key.length() >= TRIGRAM ? postingsOf(key) : null;
+
+            List<Hit> hits = new ArrayList<>(Math.min(limit, 64));
+            collectRanked(prefixRoot, infix, key, true, hits, limit);
+            collectRanked(prefixRoot, infix, key, false, hits, limit);
+            return hits;
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    private void collectRanked(Node prefixRoot, Postings[] infix, String key, boolean friend,
+                               List<Hit> hits, int limit) {
+        if (prefixRoot != null) {
+            collectPrefix(prefixRoot, friend, hits, limit);
+        }
+        if (infix != null) {
+            collectInfix(infix, key, friend, hits, limit);
+        }
+    }
+
+    /**
+     * 하위 트리를 사전 순으로 돌며 친구 여부가 일치하는 연락처를 limit까지 모읍니다.
+     */
+    private void collectPrefix(Node node, boolean friend, List<Hit> hits, int limit) {
+        if (hits.size() >= limit || node.count(friend) == 0) {
+            return;
+        }
+        for (int i = 0; i < node.idCount && hits.size() < limit; i++) {
+            int id = node.ids[i];
+            if (friends.get(id) == friend) {
+                hits.add(hit(id));
+            }
+        }
+        for (int i = 0; i < node.childCount && hits.size() < limit; i++) {
+            collectPrefix(node.children[i], friend, hits, limit);
+        }
+    }
+
+    /**
+     * 검색어를 접두사로 갖는 하위 트리의 루트를 찾습니다.
+     *
+     * @return 없으면 null
+     */
+    private Node findPrefix(String key) {
+        Node node = root;
+        int position = 0;
+        while (position < key.length()) {
+            Node child = node.child(key.charAt(position));
+            if (child == null) {
+                return null;
+            }
+            int matched = commonPrefix(child.label, key, position);
+            if (position + matched == key.length()) {
+                // 검색어가 간선 중간에서 끝나도 그 아래 전체가 일치합니다.
+                return child;
+            }
+            if (matched < child.label.length()) {
+                return null;
+            }
+            position += matched;
+            node = child;
+        }
+        return node;
+    }
+
+    /**
+     * 검색어의 트라이그램 포스팅 목록을 짧은 순으로 반환합니다.
+     *
+     * @return 없는 트라이그램이 하나라도 있으면 빈 배열
+     */
+    private Postings[] postingsOf(String key) {
+        long[] grams = trigramsOf(key);
+        Postings[] lists = new Postings[grams.length];
+        for (int i = 0; i < grams.length; i++) {
+            lists[i] = trigrams.get(grams[i]);
+            if (lists[i] == null) {
+                return new Postings[0];
+            }
+        }
+        Arrays.sort(lists, (a, b) -> Integer.compare(a.size, b.size));
+        return lists;
+    }
+
+    /**
+     * 모든 트라이그램을 가진 연락처 중 이름 중간에 검색어가 있는 것을 limit까지 모읍니다.
+     *
+     * 가장 짧은 포스팅 목록을 따라가며 나머지 목록은 이진 탐색으로 확인하고,
+     * 교집합 전체를 만들지 않고 필요한 만큼만 진행합니다.
+     */
+    private void collectInfix(Postings[] lists, String key, boolean friend, List<Hit> hits, int limit) {
+        if (lists.length == 0) {
+            return;
+        }
+        Postings smallest = lists[0];
+        candidates:
+        for (int i = 0; i < smallest.size && hits.size() < limit; i++) {
+            int id = smallest.ids[i];
+            if (friends.get(id) != friend) {
+                continue;
+            }
+            for (int list = 1; list < lists.length; list++) {
+                if (!lists[list].contains(id)) {
+                    continue candidates;
+                }
+            }
+            String candidate = keys[id];
+            // 트라이그램이 모두 있어도 연속하지 않을 수 있으므로 실제로 포함하는지 확인합니다.
+            // 접두사 일치는 트라이 쪽에서 이미 넣었습니다.
+            if (!candidate.startsWith(key) && candidate.contains(key)) {
+                hits.add(hit(id));
+            }
+        }
+    }
+
+    private void insert(int id, ContactModel.Person person) {
+        String key = toKey(person.getDisplayName());
+        boolean friend = person.isFriend();
+        displayNames[id] = person.getDisplayName();
+        keys[id] = key;
+        friends.set(id, friend);
+        size++;
+
+        Node node = root;
+        node.adjust(1, friend);
+        int position = 0;
+        while (position < key.length()) {
+            Node child = node.child(key.charAt(position));
+            if (child == null) {
+                child = new Node(key.substring(position));
+                node.addChild(child);
+                node = child;
+                node.adjust(1, friend);
+                break;
+            }
+            int matched = commonPrefix(child.label, key, position);
+            if (matched < child.label.length()) {
+                child = node.split(child, matched);
+            }
+            position += matched;
+            node = child;
+            node.adjust(1, friend);
+        }
+        node.addId(id);
+
+        for (long gram : trigramsOf(key)) {
+            trigrams.computeIfAbsent(gram, ignored -> new Postings()).add(id);
+        }
+    }
+
+    private void delete(int id) {
+        String key = keys[id];
+        boolean friend = friends.get(id);
+
+        Node parent = null;
+        Node node = root;
+        node.adjust(-1, friend);
+        int position = 0;
+        while (position < key.length()) {
+            parent = node;
+            node = node.child(key.charAt(position));
+            position += node.label.length();
+            node.adjust(-1, friend);
+        }
+        node.removeId(id);
+        if (parent != null) {
+            prune(key);
+        }
+
+        for (long gram : trigramsOf(key)) {
+            Postings postings = trigrams.get(gram);
+            postings.remove(id);
+            if (postings.size == 0) {
+                trigrams.remove(gram);
+            }
+        }
+
+        displayNames[id] = null;
+        keys[id] = null;
+        friends.clear(id);
+        size--;
+    }
+
+    /**
+     * 삭제 후 빈 노드를 떼어 내고, 자식이 하나뿐인 중간 노드는 자식과 합쳐 트라이를 압축 상태로 유지합니다.
+     */
+    private void prune(String key) {
+        Node parent = null;
+        Node node = root;
+        int position = 0;
+        while (position < key.length()) {
+            Node child = node.child(key.charAt(position));
+            if (child.total == 0) {
+                node.removeChild(child);
+                break;
+            }
+            position += child.label.length();
+            parent = node;
+            node = child;
+        }
+        // 한 번의 삭제로 합칠 수 있게 되는 노드는 경로상 마지막으로 남은 노드 하나뿐입니다.
+        if (parent != null && node.idCount == 0 && node.childCount == 1) {
+            parent.replaceChild(node, node.children[0].withPrefix(node.label));
+        }
+    }
+
+    private Hit hit(int id) {
+        return new Hit(id, displayNames[id], friends.get(id));
+    }
+
+    private String key(int id) {
+        return id >= 0 && id < nextId ? keys[id] : null;
+    }
+
+    private String toKey(String displayName) {
+        if (displayName == null) {
+            return "";
+        }
+        String normalized = normalizer.apply(displayName);
+        return normalized == null ? "" : normalized.toLowerCase(Locale.ROOT);
+    }
+
+    private static int commonPrefix(String label, String key, int offset) {
+        int max = Math.min(label.length(), key.length() - offset);
+        int i = 0;
+        while (i < max && label.charAt(i) == key.charAt(offset + i)) {
+            i++;
+        }
+        return i;
+    }
+
+    /**
+     * 중복을 제거한 트라이그램 키 (문자 3개를 16비트씩 long에 담음)
+     */
+    private static long[] trigramsOf(String key) {
+        int count = key.length() - TRIGRAM + 1;
+        if (count <= 0) {
+            return new long[0];
+        }
+        long[] grams = new long[count];
+        for (int i = 0; i < count; i++) {
+            grams[i] = ((long) key.charAt(i) << 32) | ((long) key.charAt(i + 1) << 16) | key.charAt(i + 2);
+        }
+        Arrays.sort(grams);
+        int unique = 0;
+        for (int i = 0; i < count; i++) {
+            if (i == 0 || grams[i] != grams[i - 1]) {
+                grams[unique++] = grams[i];
+            }
+        }
+        return unique == count ? grams : Arrays.copyOf(grams, unique);
+    }
+
+    /**
+     * 검색 결과 한 건
+     *
+     * @param id add가 반환한 id
+     * @param displayName 원래 표시 이름
+     * @param isFriend 친구 여부
+     */
+    public record Hit(int id, String displayName, boolean isFriend) {
+    }
+
+    /**
+     * 압축 트라이 노드
+     *
+     * 자식은 간선 첫 글자 순으로 정렬해 두어 사전 순 순회와 이진 탐색을 함께 지원합니다.
+     */
+    private static final class Node {
+        private static final Node[] NO_CHILDREN = new Node[0];
+        private static final int[] NO_IDS = new int[0];
+
+        String label;
+        Node[] children = NO_CHILDREN;
+        int childCount;
+        /** 이름이 정확히 이 노드에서 끝나는 연락처 */
+        int[] ids = NO_IDS;
+        int idCount;
+        /** 하위 트리 전체의 연락처 수와 친구 수 */
+        int total;
+        int friends;
+
+        Node(String label) {
+            this.label = label;
+        }
+
+        int count(boolean friend) {
+            return friend ? friends : total - friends;
+        }
+
+        void adjust(int delta, boolean friend) {
+            total += delta;
+            if (friend) {
+                friends += delta;
+            }
+        }
+
+        Node child(char first) {
+            int index = indexOf(first);
+            return index >= 0 ? children[index] : null;
+        }
+
+        void addChild(Node child) {
+            int index = -indexOf(child.label.charAt(0)) - 1;
+            if (childCount == children.length) {
+                children = Arrays.copyOf(children, Math.max(2, childCount * 2));
+            }
+            System.arraycopy(children, index, children, index + 1, childCount - index);
+            children[index] = child;
+            childCount++;
+        }
+
+        void removeChild(Node child) {
+            int index = indexOf(child.label.charAt(0));
+            System.arraycopy(children, index + 1, children, index, childCount - index - 1);
+            children[--childCount] = null;
+        }
+
+        void replaceChild(Node oldChild, Node newChild) {
+            children[indexOf(oldChild.label.charAt(0))] = newChild;
+        }
+
+        /**
+         * child의 간선을 at 위치에서 나눠 중간 노드를 만들고 그 노드를 반환합니다.
+         */
+        Node split(Node child, int at) {
+            Node middle = new Node(child.label.substring(0, at));
+            middle.total = child.total;
+            middle.friends = child.friends;
+            replaceChild(child, middle);
+            child.label = child.label.substring(at);
+            middle.children = new Node[] {child, null};
+            middle.childCount = 1;
+            return middle;
+        }
+
+        /**
+         * 부모와 합쳐질 때 간선 앞에 부모의 간선을 붙입니다.
+         */
+        Node withPrefix(String prefix) {
+            label = prefix + label;
+            return this;
+        }
+
+        void addId(int id) {
+            if (idCount == ids.length) {
+                ids = Arrays.copyOf(ids, Math.max(2, idCount * 2));
+            }
+            ids[idCount++] = id;
+        }
+
+        void removeId(int id) {
+            for (int i = 0; i < idCount; i++) {
+                if (ids[i] == id) {
+                    System.arraycopy(ids, i + 1, ids, i, idCount - i - 1);
+                    idCount--;
+                    return;
+                }
+            }
+        }
+
+        private int indexOf(char first) {
+            int low = 0;
+            int high = childCount - 1;
+            while (low <= high) {
+                int middle = (low + high) >>> 1;
+                char c = children[middle].label.charAt(0);
+                if (c < first) {
+                    low = middle + 1;
+                } else if (c > first) {
+                    high = middle - 1;
+                } else {
+                    return middle;
+                }
+            }
+            return -(low + 1);
+        }
+    }
+
+    /**
+     * id 오름차순으로 정렬된 포스팅 목록
+     */
+    private static final class Postings {
+        int[] ids = new int[4];
+        int size;
+
+        void add(int id) {
+            int index = Arrays.binarySearch(ids, 0, size, id);
+            if (index >= 0) {
+                return;
+            }
+            index = -index - 1;
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size * 2);
+            }
+            System.arraycopy(ids, index, ids, index + 1, size - index);
+            ids[index] = id;
+            size++;
+        }
+
+        void remove(int id) {
+            int index = Arrays.binarySearch(ids, 0, size, id);
+            if (index >= 0) {
+                System.arraycopy(ids, index + 1, ids, index, size - index - 1);
+                size--;
+            }
+        }
+
+        boolean contains(int id) {
+            return Arrays.binarySearch(ids, 0, size, id) >= 0;
+        }
+    }
+}
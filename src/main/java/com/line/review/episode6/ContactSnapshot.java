@@ -0,0 +1,304 @@
+package com.line.review.episode6;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.nio.LongBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.CRC32C;
+
+/**
+ * 메모리 매핑으로 여는 연락처 스냅샷 (읽기 전용)
+ *
+ * 재시작할 때마다 연락처 객체를 다시 만드는 대신, ContactSnapshotWriter가 기록한 파일을
+ * FileChannel.map으로 매핑해 제자리에서 읽습니다. 여는 비용은 헤더 검증과 매핑뿐이며
+ * 연락처 수와 관계없이 일정합니다. 이름은 요청한 항목만 디코딩합니다.
+ *
+ * 파일 형식 (버전 2, 리틀 엔디언):
+ * <pre>
+ * 헤더 (48바이트)
+ *   int   magic            'LRCS'
+ *   int   version          2
+ *   int   count            연락처 수
+ *   int   reserved
+ *   long  checksum         본문 전체의 CRC32C
+ *   long  displayBytes     표시 이름 영역 바이트 수
+ *   long  normalizedBytes  정규화된 이름 영역 바이트 수
+ *   long  reserved
+ * 본문 (각 구역은 8바이트 경계에 정렬)
+ *   long[(count + 63) / 64]  친구 여부 비트셋
+ *   long[(count + 63) / 64]  표시 이름이 null인 연락처 비트셋
+ *   long[(count + 63) / 64]  정규화된 이름이 null인 연락처 비트셋
+ *   int[count + 1]           표시 이름 오프셋
+ *   int[count + 1]           정규화된 이름 오프셋
+ *   byte[displayBytes]       표시 이름 (UTF-8)
+ *   byte[normalizedBytes]    정규화된 이름 (UTF-8)
+ * </pre>
+ * 구역마다 따로 매핑하므로 이름 영역은 각각 2GB까지 담을 수 있습니다.
+ * null인 이름은 빈 범위로 기록하고 비트셋에 표시해, 읽을 때 빈 문자열이 아닌 null로 돌려줍니다.
+ * 버전 1 파일에는 이 비트셋이 없어 null과 빈 이름을 구분할 수 없으므로 열지 않고, 다시 기록해야 합니다.
+ *
+ * 매핑하기 전에 헤더의 연락처 수와 영역 크기로 계산한 파일 크기를 실제 크기와 비교하고,
+ * 오프셋 배열의 처음과 끝이 이름 영역과 맞는지 확인합니다. 중간 오프셋은 이름을 읽을 때 범위를 확인하며,
+ * 체크섬 검증을 요청하면 매핑 전에 CRC32C를, 매핑 후에 모든 오프셋을 검사합니다.
+ */
+public class ContactSnapshot implements AutoCloseable {
+
+    static final int MAGIC = 0x5343524C; // "LRCS" (리틀 엔디언)
+    static final int VERSION = 2;
+    static final int HEADER_SIZE = 48;
+    private static final int CHECKSUM_BUFFER_SIZE = 1 << 20;
+    /** 오프셋 구역(int[count + 1])이 2GB 안에 들어가는 최대 연락처 수 */
+    private static final int MAX_COUNT = Integer.MAX_VALUE / Integer.BYTES - 1;
+
+    private final FileChannel channel;
+    private final int count;
+    private final long checksum;
+    private final LongBuffer friendBits;
+    private final LongBuffer nullDisplayBits;
+    private final LongBuffer nullNormalizedBits;
+    private final IntBuffer displayOffsets;
+    private final IntBuffer normalizedOffsets;
+    private final ByteBuffer displayNames;
+    private final ByteBuffer normalizedNames;
+    private final long bodyOffset;
+    private final long bodyLength;
+
+    private ContactSnapshot(FileChannel channel, boolean verifyChecksum) throws IOException {
+        this.channel = channel;
+        ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+        if (channel.read(header, 0) != HEADER_SIZE) {
+            throw new IOException("Snapshot is too short");
+        }
+        header.flip();
+        if (header.getInt() != MAGIC) {
+            throw new IOException("Not a contact snapshot");
+        }
+        int version = header.getInt();
+        if (version != VERSION) {
+            throw new IOException("Unsupported snapshot version: " + version);
+        }
+        this.count = header.getInt();
+        header.getInt();
+        this.checksum = header.getLong();
+        long displayLength = header.getLong();
+        long normalizedLength = header.getLong();
+        if (count < 0 || count > MAX_COUNT) {
+            throw new IOException("Invalid contact count: " + count);
+        }
+        checkSectionLength(displayLength);
+        checkSectionLength(normalizedLength);
+
+        long bitsLength = (long) wordCount(count) * Long.BYTES;
+        long offsetsLength = align((long) (count + 1) * Integer.BYTES);
+        this.bodyOffset = HEADER_SIZE;
+        this.bodyLength = bitsLength * 3 + offsetsLength * 2 + align(displayLength) + align(normalizedLength);
+        long fileSize = channel.size();
+        if (fileSize < bodyOffset + bodyLength) {
+            throw new IOException("Snapshot is truncated: expected " + (bodyOffset + bodyLength)
+                    + " bytes but was " + fileSize);
+        }
+        if (fileSize > bodyOffset + bodyLength) {
+            throw new IOException("Snapshot has trailing data: expected " + (bodyOffset + bodyLength)
+                    + " bytes but was " + fileSize);
+        }
+        if (verifyChecksum) {
+            verifyChecksum();
+        }
+
+        long position = bodyOffset;
+        this.friendBits = map(position, bitsLength).asLongBuffer();
+        position += bitsLength;
+        this.nullDisplayBits = map(position, bitsLength).asLongBuffer();
+        position += bitsLength;
+        this.nullNormalizedBits = map(position, bitsLength).asLongBuffer();
+        position += bitsLength;
+        this.displayOffsets = map(position, offsetsLength).asIntBuffer();
+        position += offsetsLength;
+        this.normalizedOffsets = map(position, offsetsLength).asIntBuffer();
+        position += offsetsLength;
+        this.displayNames = map(position, displayLength);
+        position += align(displayLength);
+        this.normalizedNames = map(position, normalizedLength);
+
+        checkOffsets(displayOffsets, displayLength, verifyChecksum);
+        checkOffsets(normalizedOffsets, normalizedLength, verifyChecksum);
+    }
+
+    /**
+     * 스냅샷을 엽니다. 체크섬은 검증하지 않습니다.
+     */
+    public static ContactSnapshot open(Path path) throws IOException {
+        return open(path, false);
+    }
+
+    /**
+     * 스냅샷을 엽니다.
+     *
+     * @param verifyChecksum true면 본문 전체를 읽어 CRC32C와 모든 오프셋을 검증합니다 (파일 크기에 비례하는 비용)
+     */
+    public static ContactSnapshot open(Path path, boolean verifyChecksum) throws IOException {
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.READ);
+        try {
+            return new ContactSnapshot(channel, verifyChecksum);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * 본문의 CRC32C를 계산해 헤더 값과 비교합니다.
+     *
+     * @throws IOException 체크섬이 다르면
+     */
+    public void verifyChecksum() throws IOException {
+        CRC32C crc = new CRC32C();
+        ByteBuffer buffer = ByteBuffer.allocateDirect(CHECKSUM_BUFFER_SIZE);
+        long position = bodyOffset;
+        long end = bodyOffset + bodyLength;
+        while (position < end) {
+            buffer.clear().limit((int) Math.min(buffer.capacity(), end - position));
+            int read = channel.read(buffer, position);
+            if (read < 0) {
+                throw new IOException("Snapshot is truncated");
+            }
+            buffer.flip();
+            crc.update(buffer);
+            position += read;
+        }
+        if (crc.getValue() != checksum) {
+            throw new IOException("Snapshot checksum mismatch");
+        }
+    }
+
+    public int size() {
+        return count;
+    }
+
+    public boolean isFriend(int index) {
+        checkIndex(index);
+        return isSet(friendBits, index);
+    }
+
+    /**
+     * @return 기록할 때 표시 이름이 null이었으면 null
+     */
+    public String getDisplayName(int index) {
+        checkIndex(index);
+        return isSet(nullDisplayBits, index) ? null : decode(displayNames, displayOffsets, index);
+    }
+
+    /**
+     * @return 기록할 때 정규화 결과가 null이었으면 null
+     */
+    public String getNormalizedName(int index) {
+        checkIndex(index);
+        return isSet(nullNormalizedBits, index) ? null : decode(normalizedNames, normalizedOffsets, index);
+    }
+
+    /**
+     * 친구 수 (비트셋의 popcount 합)
+     */
+    public int friendCount() {
+        int friends = 0;
+        for (int word = 0, words = wordCount(count); word < words; word++) {
+            friends += Long.bitCount(friendBits.get(word));
+        }
+        return friends;
+    }
+
+    /**
+     * fromIndex 이상에서 처음 나오는 친구의 인덱스를 반환합니다.
+     *
+     * @return 더 이상 친구가 없으면 -1
+     * @see ContactStore#nextFriend(int)
+     */
+    public int nextFriend(int fromIndex) {
+        if (fromIndex >= count) {
+            return -1;
+        }
+        int word = fromIndex >>> 6;
+        long bits = friendBits.get(word) & (-1L << fromIndex);
+        int words = wordCount(count);
+        while (bits == 0) {
+            if (++word >= words) {
+                return -1;
+            }
+            bits = friendBits.get(word);
+        }
+        return (word << 6) + Long.numberOfTrailingZeros(bits);
+    }
+
+    @Override
+    public void close() throws IOException {
+        // 매핑은 GC가 해제하며, 채널만 닫습니다.
+        channel.close();
+    }
+
+    private MappedByteBuffer map(long position, long length) throws IOException {
+        if (length > Integer.MAX_VALUE) {
+            throw new IOException("Snapshot section exceeds 2GB: " + length);
+        }
+        MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, position, length);
+        buffer.order(ByteOrder.LITTLE_ENDIAN);
+        return buffer;
+    }
+
+    private static boolean isSet(LongBuffer bits, int index) {
+        return (bits.get(index >>> 6) & (1L << index)) != 0;
+    }
+
+    private static String decode(ByteBuffer names, IntBuffer offsets, int index) {
+        int start = offsets.get(index);
+        int end = offsets.get(index + 1);
+        if (start < 0 || start > end || end > names.capacity()) {
+            throw new IllegalStateException("Snapshot is corrupted: name " + index + " spans " + start + ".." + end);
+        }
+        byte[] bytes = new byte[end - start];
+        names.get(start, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static void checkSectionLength(long length) throws IOException {
+        if (length < 0 || length > Integer.MAX_VALUE) {
+            throw new IOException("Invalid snapshot section length: " + length);
+        }
+    }
+
+    /**
+     * 오프셋 배열이 0에서 시작해 이름 영역 끝에서 끝나는지 확인합니다. all이면 모든 오프셋이 오름차순인지도 확인합니다.
+     */
+    private void checkOffsets(IntBuffer offsets, long namesLength, boolean all) throws IOException {
+        if (offsets.get(0) != 0 || offsets.get(count) != namesLength) {
+            throw new IOException("Snapshot offsets do not match the header");
+        }
+        if (!all) {
+            return;
+        }
+        for (int i = 0; i < count; i++) {
+            if (offsets.get(i) > offsets.get(i + 1)) {
+                throw new IOException("Snapshot offsets are not ascending at " + i);
+            }
+        }
+    }
+
+    private void checkIndex(int index) {
+        if (index < 0 || index >= count) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + count);
+        }
+    }
+
+    static int wordCount(int count) {
+        return (count + 63) >>> 6;
+    }
+
+    static long align(long length) {
+        return (length + 7) & ~7L;
+    }
+}
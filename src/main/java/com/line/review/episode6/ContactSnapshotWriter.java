@@ -0,0 +1,180 @@
+package com.line.review.episode6;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.function.UnaryOperator;
+import java.util.zip.CRC32C;
+
+/**
+ * ContactStore를 ContactSnapshot 형식의 파일로 기록합니다.
+ *
+ * 정규화된 이름도 함께 기록하므로 스냅샷을 연 쪽에서는 정규화를 다시 하지 않습니다.
+ * 같은 디렉터리의 임시 파일에 본문과 헤더를 모두 쓰고 디스크에 내린(force) 뒤 대상 파일로 원자적으로 옮기므로,
+ * 기록 중에 실패하거나 프로세스가 죽어도 대상 경로에는 이전 스냅샷이나 완성된 새 스냅샷만 남습니다.
+ *
+ * @see ContactSnapshot
+ */
+public class ContactSnapshotWriter {
+
+    private static final int WRITE_BUFFER_SIZE = 1 << 20;
+
+    private final UnaryOperator<String> normalizer;
+
+    public ContactSnapshotWriter() {
+        this(EmojiNormalizer::normalizeEmoji);
+    }
+
+    /**
+     * @param normalizer 정규화된 이름 영역을 만들 때 사용할 함수
+     */
+    public ContactSnapshotWriter(UnaryOperator<String> normalizer) {
+        this.normalizer = normalizer;
+    }
+
+    /**
+     * 저장소의 모든 연락처를 스냅샷 파일로 기록합니다.
+     *
+     * @param store 기록할 연락처
+     * @param path 대상 파일 (이미 있으면 원자적으로 교체)
+     * @throws java.nio.file.AtomicMoveNotSupportedException 대상 파일 시스템이 원자적 이동을 지원하지 않으면
+     */
+    public void write(ContactStore store, Path path) throws IOException {
+        int count = store.size();
+        int[] displayOffsets = Arrays.copyOf(store.nameOffsets(), count + 1);
+        int displayLength = displayOffsets[count];
+
+        int words = ContactSnapshot.wordCount(count);
+        long[] nullNormalizedBits = new long[words];
+        int[] normalizedOffsets = new int[count + 1];
+        byte[] normalizedNames = new byte[displayLength];
+        int normalizedLength = 0;
+        for (int i = 0; i < count; i++) {
+            String normalized = normalizer.apply(store.getDisplayName(i));
+            byte[] encoded;
+            if (normalized == null) {
+                nullNormalizedBits[i >>> 6] |= 1L << i;
+                encoded = new byte[0];
+            } else {
+                encoded = normalized.getBytes(StandardCharsets.UTF_8);
+            }
+            if (normalizedLength + encoded.length > normalizedNames.length) {
+                normalizedNames = Arrays.copyOf(normalizedNames,
+                        Math.max(normalizedLength + encoded.length, normalizedNames.length * 2));
+            }
+            System.arraycopy(encoded, 0, normalizedNames, normalizedLength, encoded.length);
+            normalizedLength += encoded.length;
+            normalizedOffsets[i + 1] = normalizedLength;
+        }
+
+        Path target = path.toAbsolutePath();
+        Path temp = Files.createTempFile(target.getParent(), target.getFileName() + ".", ".tmp");
+        try {
+            try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.WRITE)) {
+                SectionWriter body = new SectionWriter(channel, ContactSnapshot.HEADER_SIZE);
+                body.putLongs(store.friendBits(), words);
+                body.putLongs(store.nullNameBits(), words);
+                body.putLongs(nullNormalizedBits, words);
+                body.putInts(displayOffsets);
+                body.putInts(normalizedOffsets);
+                body.putBytes(store.nameBytes(), displayLength);
+                body.putBytes(normalizedNames, normalizedLength);
+                body.flush();
+
+                ByteBuffer header = ByteBuffer.allocate(ContactSnapshot.HEADER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+                header.putInt(ContactSnapshot.MAGIC)
+                        .putInt(ContactSnapshot.VERSION)
+                        .putInt(count)
+                        .putInt(0)
+                        .putLong(body.checksum())
+                        .putLong(displayLength)
+                        .putLong(normalizedLength)
+                        .putLong(0)
+                        .flip();
+                while (header.hasRemaining()) {
+                    channel.write(header, header.position());
+                }
+                channel.force(true);
+            }
+            Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } finally {
+            // 이동에 성공했으면 이미 없습니다.
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    /**
+     * 본문 구역을 8바이트 경계로 정렬하며 기록하고 CRC32C를 함께 계산합니다.
+     */
+    private static final class SectionWriter {
+        private final FileChannel channel;
+        private final ByteBuffer buffer = ByteBuffer.allocateDirect(WRITE_BUFFER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+        private final CRC32C crc = new CRC32C();
+        private long position;
+
+        SectionWriter(FileChannel channel, long position) {
+            this.channel = channel;
+            this.position = position;
+        }
+
+        void putLongs(long[] values, int length) throws IOException {
+            for (int i = 0; i < length; i++) {
+                ensureRemaining(Long.BYTES);
+                buffer.putLong(values[i]);
+            }
+        }
+
+        void putInts(int[] values) throws IOException {
+            for (int value : values) {
+                ensureRemaining(Integer.BYTES);
+                buffer.putInt(value);
+            }
+            pad(values.length * Integer.BYTES);
+        }
+
+        void putBytes(byte[] values, int length) throws IOException {
+            int offset = 0;
+            while (offset < length) {
+                ensureRemaining(1);
+                int chunk = Math.min(buffer.remaining(), length - offset);
+                buffer.put(values, offset, chunk);
+                offset += chunk;
+            }
+            pad(length);
+        }
+
+        long checksum() {
+            return crc.getValue();
+        }
+
+        void flush() throws IOException {
+            buffer.flip();
+            crc.update(buffer.duplicate());
+            while (buffer.hasRemaining()) {
+                position += channel.write(buffer, position);
+            }
+            buffer.clear();
+        }
+
+        private void pad(long writtenLength) throws IOException {
+            long padding = ContactSnapshot.align(writtenLength) - writtenLength;
+            for (int i = 0; i < padding; i++) {
+                ensureRemaining(1);
+                buffer.put((byte) 0);
+            }
+        }
+
+        private void ensureRemaining(int bytes) throws IOException {
+            if (buffer.remaining() < bytes) {
+                flush();
+            }
+        }
+    }
+}
@@ -0,0 +1,163 @@
+package com.line.review.episode6;
+
+import java.text.Collator;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.UnaryOperator;
+import java.util.stream.IntStream;
+
+/**
+ * 로케일 순서로 연락처 목록을 정렬하는 정렬기
+ *
+ * Collator.compare는 비교할 때마다 두 이름의 콜레이션 요소를 다시 계산하므로
+ * n log n번의 비교 전부가 비쌉니다. 이 정렬기는 정규화된 이름마다 콜레이션 키
+ * (CollationKey.toByteArray)를 한 번만 만들어 캐시하고, 정렬은 바이트 비교로만 합니다.
+ * - 키의 앞 8바이트를 부호 없는 long으로 미리 꺼내 두어 대부분의 비교가 long 비교 한 번으로 끝나고
+ * - 앞 8바이트가 같을 때만 나머지를 Arrays.compareUnsigned로 비교하며
+ * - 큰 목록은 키 생성과 정렬을 모두 병렬로 수행합니다.
+ *
+ * 결과 순서는 정규화된 이름에 Collator.compare를 쓴 안정 정렬과 같습니다.
+ * (콜레이션 키의 바이트 순서는 Collator.compare와 일치합니다)
+ */
+public class ContactSorter {
+
+    /** 이보다 큰 목록은 병렬로 키를 만들고 정렬합니다. */
+    static final int PARALLEL_THRESHOLD = 1 << 16;
+
+    private static final int DEFAULT_MAXIMUM_CACHED_KEYS = 1 << 20;
+
+    private final UnaryOperator<String> normalizer;
+    /** Collator는 스레드 안전하지 않으므로 스레드마다 복제본을 씁니다. */
+    private final ThreadLocal<Collator> collators;
+    private final ConcurrentHashMap<String, byte[]> keyCache = new ConcurrentHashMap<>();
+    private final int maximumCachedKeys;
+
+    public ContactSorter(Locale locale) {
+        this(Collator.getInstance(locale), EmojiNormalizer::normalizeEmoji, DEFAULT_MAXIMUM_CACHED_KEYS);
+    }
+
+    /**
+     * @param collator 정렬 기준 (복제해서 사용하므로 이후 변경은 반영되지 않습니다)
+     * @param normalizer 키를 만들기 전에 표시 이름에 적용할 정규화 함수
+     * @param maximumCachedKeys 캐시할 최대 키 수. 가득 차면 새 키는 캐시하지 않고 매번 만듭니다.
+     */
+    public ContactSorter(Collator collator, UnaryOperator<String> normalizer, int maximumCachedKeys) {
+        Collator prototype = (Collator) collator.clone();
+        this.collators = ThreadLocal.withInitial(() -> (Collator) prototype.clone());
+        this.normalizer = normalizer;
+        this.maximumCachedKeys = maximumCachedKeys;
+    }
+
+    /**
+     * 연락처를 로케일 순서로 정렬한 새 목록을 반환합니다. 이름이 같으면 입력 순서를 유지합니다.
+     */
+    public List<ContactModel.Person> sort(Collection<? extends ContactModel.Person> persons) {
+        ContactModel.Person[] input = persons.toArray(new ContactModel.Person[0]);
+        SortEntry[] entries = new SortEntry[input.length];
+        boolean parallel = input.length > PARALLEL_THRESHOLD;
+
+        IntStream indices = IntStream.range(0, input.length);
+        (parallel ? indices.parallel() : indices)
+                .forEach(i -> entries[i] = new SortEntry(sortKey(input[i].getDisplayName()), i));
+        if (parallel) {
+            Arrays.parallelSort(entries);
+        } else {
+            Arrays.sort(entries);
+        }
+
+        List<ContactModel.Person> sorted = new ArrayList<>(input.length);
+        for (SortEntry entry : entries) {
+            sorted.add(input[entry.index]);
+        }
+        return sorted;
+    }
+
+    /**
+     * 표시 이름 순서로 비교하는 Comparator를 반환합니다. 키는 같은 캐시를 사용합니다.
+     */
+    public Comparator<ContactModel.Person> comparator() {
+        return (a, b) -> Arrays.compareUnsigned(sortKey(a.getDisplayName()), sortKey(b.getDisplayName()));
+    }
+
+    /**
+     * 표시 이름의 콜레이션 키를 반환합니다. 반환된 배열을 수정하면 안 됩니다.
+     *
+     * @param displayName 표시 이름 (null은 빈 문자열로 취급)
+     */
+    public byte[] sortKey(String displayName) {
+        String normalized = displayName == null ? "" : normalizer.apply(displayName);
+        if (normalized == null) {
+            normalized = "";
+        }
+        byte[] key = keyCache.get(normalized);
+        if (key != null) {
+            return key;
+        }
+        key = collators.get().getCollationKey(normalized).toByteArray();
+        if (keyCache.size() < maximumCachedKeys) {
+            byte[] existing = keyCache.putIfAbsent(normalized, key);
+            if (existing != null) {
+                return existing;
+            }
+        }
+        return key;
+    }
+
+    /**
+     * 캐시된 키 수
+     */
+    public int cachedKeyCount() {
+        return keyCache.size();
+    }
+
+    /**
+     * 정렬 중에만 쓰는 (키, 원래 위치) 쌍
+     *
+     * 키의 앞 8바이트를 빅 엔디언 long으로 담아 두고 먼저 비교합니다.
+     */
+    private static final class SortEntry implements Comparable<SortEntry> {
+        private final long prefix;
+        private final byte[] key;
+        private final int index;
+
+        SortEntry(byte[] key, int index) {
+            this.prefix = prefixOf(key);
+            this.key = key;
+            this.index = index;
+        }
+
+        @Override
+        public int compareTo(SortEntry other) {
+            int result = Long.compareUnsigned(prefix, other.prefix);
+            if (result != 0) {
+                return result;
+            }
+            if (key.length > Long.BYTES || other.key.length > Long.BYTES) {
+                result = Arrays.compareUnsigned(
+                        key, Math.min(Long.BYTES, key.length), key.length,
+                        other.key, Math.min(Long.BYTES, other.key.length), other.key.length);
+                if (result != 0) {
+                    return result;
+                }
+            } else if (key.length != other.key.length) {
+                // 앞부분이 같고 둘 다 8바이트 이하라면 짧은 쪽이 앞입니다.
+                return Integer.compare(key.length, other.key.length);
+            }
+            return Integer.compare(index, other.index);
+        }
+
+        private static long prefixOf(byte[] key) {
+            long prefix = 0;
+            int length = Math.min(Long.BYTES, key.length);
+            for (int i = 0; i < length; i++) {
+                prefix |= (key[i] & 0xFFL) << (56 - 8 * i);
+            }
+            return prefix;
+        }
+    }
+}
@@ -0,0 +1,255 @@
+package com.line.review.episode6;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * 연락처를 열(column) 단위로 보관하는 저장소
+ *
+ * 수천만 개의 ContactModel.Person 객체를 두면 이름을 빼고도 연락처마다
+ * 객체 헤더와 참조 비용이 듭니다. 이 저장소는 같은 정보를 다음 배열로만 표현합니다.
+ * - friendBits: 친구 여부 비트셋 (연락처당 1비트)
+ * - nameBytes: 모든 표시 이름을 UTF-8로 이어 붙인 byte 배열
+ * - nameOffsets: i번째 이름은 nameBytes[nameOffsets[i], nameOffsets[i + 1])
+ * 표시 이름이 null인 연락처는 빈 이름으로 두고 nullNameBits에 표시해, 읽을 때 다시 null로 돌려줍니다.
+ *
+ * 단일 스레드에서 채운 뒤 읽기 전용으로 공유하는 용도입니다.
+ */
+public class ContactStore {
+
+    private long[] friendBits;
+    /** 표시 이름이 null인 연락처 비트셋 (friendBits와 같은 크기) */
+    private long[] nullNameBits;
+    private byte[] nameBytes;
+    private int[] nameOffsets;
+    private int size;
+
+    public ContactStore() {
+        this(16);
+    }
+
+    /**
+     * @param expectedContacts 예상 연락처 수
+     * @throws IllegalArgumentException expectedContacts가 음수면
+     */
+    public ContactStore(int expectedContacts) {
+        if (expectedContacts < 0) {
+            throw new IllegalArgumentException("expectedContacts must not be negative: " + expectedContacts);
+        }
+        int capacity = Math.max(1, expectedContacts);
+        this.friendBits = new long[(capacity + 63) >>> 6];
+        this.nullNameBits = new long[friendBits.length];
+        // 이름 영역은 연락처당 8바이트로 잡되 배열 최대 크기를 넘지 않게 합니다 (모자라면 add에서 늘립니다).
+        this.nameBytes = new byte[(int) Math.min((long) capacity * 8, Integer.MAX_VALUE - 8)];
+        this.nameOffsets = new int[capacity + 1];
+    }
+
+    /**
+     * 연락처 목록으로부터 저장소를 만듭니다.
+     *
+     * {@link ContactProcessor#processContacts(java.util.List)}와 같이 Person이 아닌 원소(null 포함)는 건너뜁니다.
+     */
+    public static ContactStore of(Iterable<? extends ContactModel> contacts) {
+        ContactStore store = new ContactStore();
+        for (ContactModel contact : contacts) {
+            if (contact instanceof ContactModel.Person person) {
+                store.add(person);
+            }
+        }
+        return store;
+    }
+
+    public void add(ContactModel.Person person) {
+        add(person.getDisplayName(), person.isFriend());
+    }
+
+    /**
+     * 연락처를 추가합니다.
+     *
+     * @param displayName 표시 이름 (null 허용)
+     * @param isFriend 친구 여부
+     */
+    public void add(String displayName, boolean isFriend) {
+        byte[] encoded = displayName == null ? new byte[0] : displayName.getBytes(StandardCharsets.UTF_8);
+        ensureCapacity(encoded.length);
+
+        int start = nameOffsets[size];
+        System.arraycopy(encoded, 0, nameBytes, start, encoded.length);
+        nameOffsets[size + 1] = start + encoded.length;
+        if (isFriend) {
+            friendBits[size >>> 6] |= 1L << size;
+        }
+        if (displayName == null) {
+            nullNameBits[size >>> 6] |= 1L << size;
+        }
+        size++;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isFriend(int index) {
+        checkIndex(index);
+        return (friendBits[index >>> 6] & (1L << index)) != 0;
+    }
+
+    /**
+     * @return 표시 이름, 추가할 때 null이었으면 null
+     */
+    public String getDisplayName(int index) {
+        checkIndex(index);
+        if ((nullNameBits[index >>> 6] & (1L << index)) != 0) {
+            return null;
+        }
+        int start = nameOffsets[index];
+        return new String(nameBytes, start, nameOffsets[index + 1] - start, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * 친구 수 (비트셋의 popcount 합)
+     */
+    public int friendCount() {
+        int count = 0;
+        for (int word = 0, words = wordCount(); word < words; word++) {
+            count += Long.bitCount(friendBits[word]);
+        }
+        return count;
+    }
+
+    /**
+     * fromIndex 이상에서 처음 나오는 친구의 인덱스를 반환합니다. (BitSet.nextSetBit과 같은 방식)
+     *
+     * 비트셋을 long 단위로 읽고 켜진 비트만 numberOfTrailingZeros로 찾아가므로
+     * 친구가 아닌 연락처 64개는 비교 한 번으로 건너뜁니다.
+     *
+     * @return 더 이상 친구가 없으면 -1
+     */
+    public int nextFriend(int fromIndex) {
+        if (fromIndex >= size) {
+            return -1;
+        }
+        int word = fromIndex >>> 6;
+        long bits = friendBits[word] & (-1L << fromIndex);
+        int words = wordCount();
+        while (bits == 0) {
+            if (++word >= words) {
+                return -1;
+            }
+            bits = friendBits[word];
+        }
+        return (word << 6) + Long.numberOfTrailingZeros(bits);
+    }
+
+    /**
+     * 지정한 위치의 연락처를 가리키는 가벼운 뷰를 반환합니다.
+     *
+     * 뷰는 이름을 미리 디코딩하지 않으며, {@link PersonView#moveTo(int)}로
+     * 하나의 뷰를 여러 연락처에 재사용할 수 있습니다.
+     */
+    public PersonView view(int index) {
+        checkIndex(index);
+        return new PersonView(this, index);
+    }
+
+    /**
+     * 배열이 차지하는 바이트 수 (객체 헤더 제외)
+     */
+    public long dataSizeInBytes() {
+        return (long) friendBits.length * Long.BYTES * 2
+                + nameBytes.length
+                + (long) nameOffsets.length * Integer.BYTES;
+    }
+
+    /**
+     * 여유 용량을 잘라 내 메모리를 줄입니다.
+     */
+    public void trimToSize() {
+        friendBits = Arrays.copyOf(friendBits, Math.max(1, wordCount()));
+        nullNameBits = Arrays.copyOf(nullNameBits, friendBits.length);
+        nameBytes = Arrays.copyOf(nameBytes, nameOffsets[size]);
+        nameOffsets = Arrays.copyOf(nameOffsets, size + 1);
+    }
+
+    long[] friendBits() {
+        return friendBits;
+    }
+
+    long[] nullNameBits() {
+        return nullNameBits;
+    }
+
+    byte[] nameBytes() {
+        return nameBytes;
+    }
+
+    int[] nameOffsets() {
+        return nameOffsets;
+    }
+
+    private int wordCount() {
+        return (size + 63) >>> 6;
+    }
+
+    private void ensureCapacity(int additionalBytes) {
+        if (size + 1 >= nameOffsets.length) {
+            nameOffsets = Arrays.copyOf(nameOffsets, nameOffsets.length * 2);
+        }
+        if ((size >>> 6) >= friendBits.length) {
+            friendBits = Arrays.copyOf(friendBits, friendBits.length * 2);
+            nullNameBits = Arrays.copyOf(nullNameBits, friendBits.length);
+        }
+        long required = (long) nameOffsets[size] + additionalBytes;
+        if (required > nameBytes.length) {
+            long grown = Math.max(required, (long) nameBytes.length * 2);
+            nameBytes = Arrays.copyOf(nameBytes, (int) Math.min(Integer.MAX_VALUE - 8, grown));
+        }
+    }
+
+    private void checkIndex(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+    }
+
+    /**
+     * 저장소의 한 연락처를 가리키는 플라이웨이트 뷰
+     */
+    public static final class PersonView {
+        private final ContactStore store;
+        private int index;
+
+        private PersonView(ContactStore store, int index) {
+            this.store = store;
+            this.index = index;
+        }
+
+        /**
+         * 같은 뷰가 다른 연락처를 가리키도록 옮깁니다.
+         */
+        public PersonView moveTo(int index) {
+            store.checkIndex(index);
+            this.index = index;
+            return this;
+        }
+
+        public int index() {
+            return index;
+        }
+
+        public String getDisplayName() {
+            return store.getDisplayName(index);
+        }
+
+        public boolean isFriend() {
+            return store.isFriend(index);
+        }
+
+        /**
+         * 객체가 필요한 API에 넘길 때 Person으로 변환합니다.
+         */
+        public ContactModel.Person toPerson() {
+            return new ContactModel.Person(getDisplayName(), isFriend());
+        }
+    }
+}
@@ -0,0 +1,112 @@
+package com.line.review.episode6;
+
+import jdk.incubator.vector.ShortVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * 이모지가 들어 있을 가능성이 있는 구간을 Vector API로 찾는 스캐너
+ *
+ * 모든 이모지 시퀀스는 다음 char 중 하나 이상을 포함합니다 (EmojiTable의 BMP 분류 범위).
+ * - Latin-1의 ©(U+00A9), ®(U+00AE)
+ * - U+2000 ~ U+2BFF (ZWJ, 키캡 결합 문자, 기호와 화살표 등)
+ * - U+3030, U+303D, U+3297, U+3299
+ * - 서로게이트 (보조 평면의 그림 문자, 지역 표시 문자, 수식 문자, 태그)
+ * - 이형 선택자 U+FE0E, U+FE0F
+ * 구간에 이런 char가 없으면 이모지가 없다고 판정할 수 있습니다.
+ * 한글, 가나, 한자처럼 그 사이에 있는 문자는 후보가 아니므로 느린 경로로 넘기지 않습니다.
+ * char 배열 구간은 이 판정을 SIMD 레인 폭만큼 한 번에 수행합니다.
+ *
+ * Vector API는 incubator 모듈(jdk.incubator.vector)이라 실행 시 --add-modules 옵션이 필요합니다.
+ * 이를 쓰는 코드는 {@link Simd}에만 두어, String을 검사하는 스칼라 경로는 이 모듈 없이도 동작합니다.
+ */
+final class EmojiCandidateScanner {
+
+    /** 이모지 시퀀스에 반드시 하나 이상 포함되는 char의 하한 */
+    static final char MIN_EMOJI_CHAR = '©';
+
+    private EmojiCandidateScanner() {
+    }
+
+    /**
+     * chars[from, to) 구간에 이모지 후보 char가 있는지 SIMD로 확인합니다.
+     */
+    static boolean mayContainEmoji(char[] chars, int from, int to) {
+        return Simd.mayContainEmoji(chars, from, to);
+    }
+
+    /**
+     * text에 이모지 후보 char가 있는지 확인합니다.
+     *
+     * 이름처럼 짧은 문자열은 char 배열로 복사해 SIMD로 검사하는 것보다 그대로 훑는 편이 싸므로 스칼라로 검사합니다.
+     */
+    static boolean mayContainEmoji(CharSequence text) {
+        for (int i = 0, length = text.length(); i < length; i++) {
+            if (isCandidate(text.charAt(i))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * c가 이모지 시퀀스에 포함될 수 있는 char인지 확인합니다.
+     */
+    static boolean isCandidate(char c) {
+        if (c < MIN_EMOJI_CHAR) {
+            return false;
+        }
+        return c == '\u00A9' || c == '\u00AE'
+                || (c >= '\u2000' && c <= '\u2BFF')
+                || c == '\u3030' || c == '\u303D' || c == '\u3297' || c == '\u3299'
+                || Character.isSurrogate(c)
+                || c == '\uFE0E' || c == '\uFE0F';
+    }
+
+    /**
+     * Vector API를 쓰는 부분. 처음 char 배열을 검사할 때 초기화됩니다.
+     */
+    private static final class Simd {
+
+        private static final VectorSpecies<Short> SPECIES = ShortVector.SPECIES_PREFERRED;
+
+        static boolean mayContainEmoji(char[] chars, int from, int to) {
+            int i = from;
+            int upperBound = from + SPECIES.loopBound(to - from);
+            for (; i < upperBound; i += SPECIES.length()) {
+                ShortVector vector = ShortVector.fromCharArray(SPECIES, chars, i);
+                // 대부분의 ASCII 레인은 첫 비교만으로 끝납니다.
+                if (vector.compare(VectorOperators.UNSIGNED_GE, (short) MIN_EMOJI_CHAR).anyTrue()
+                        && candidates(vector).anyTrue()) {
+                    return true;
+                }
+            }
+            for (; i < to; i++) {
+                if (isCandidate(chars[i])) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        private static VectorMask<Short> candidates(ShortVector vector) {
+            return vector.compare(VectorOperators.EQ, (short) 0x00A9)
+                    .or(vector.compare(VectorOperators.EQ, (short) 0x00AE))
+                    .or(inRange(vector, 0x2000, 0x2BFF))
+                    .or(vector.compare(VectorOperators.EQ, (short) 0x3030))
+                    .or(vector.compare(VectorOperators.EQ, (short) 0x303D))
+                    .or(vector.compare(VectorOperators.EQ, (short) 0x3297))
+                    .or(vector.compare(VectorOperators.EQ, (short) 0x3299))
+                    .or(inRange(vector, Character.MIN_SURROGATE, Character.MAX_SURROGATE))
+                    .or(inRange(vector, 0xFE0E, 0xFE0F));
+        }
+
+        /**
+         * first 이상 last 이하인 레인 (빼기 후 부호 없는 비교 한 번)
+         */
+        private static VectorMask<Short> inRange(ShortVector vector, int first, int last) {
+            return vector.sub((short) first).compare(VectorOperators.UNSIGNED_LE, (short) (last - first));
+        }
+    }
+}
@@ -1,14 +1,45 @@
 package com.line.review.episode6;
 
+import java.nio.CharBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
 /**
  * 이모지를 정규화하는 유틸리티 클래스
  */
 public class EmojiNormalizer {
-    
+
+    /**
+     * 스레드별로 재사용하는 출력 버퍼
+     */
+    private static final ThreadLocal<char[]> BUFFER = ThreadLocal.withInitial(() -> new char[64]);
+
+    /**
+     * 제거하는 이모지를 받아 볼 관찰자 (없으면 null)
+     */
+    private static volatile EmojiObserver observer;
+
+    /**
+     * 제거하는 이모지 시퀀스를 관찰자에게 알리도록 설정합니다.
+     *
+     * 이모지가 없는 이름은 관찰자를 확인하지 않으므로, 관찰자가 없을 때의 비용은
+     * 이모지가 있는 이름마다 volatile 읽기 한 번입니다.
+     *
+     * @param newObserver 관찰자, null이면 알리지 않습니다
+     */
+    public static void setObserver(EmojiObserver newObserver) {
+        observer = newObserver;
+    }
+
     /**
      * 이모지를 정규화합니다.
-     * 실제 구현은 예제 목적이므로 간단한 변환만 수행합니다.
-     * 
+     *
+     * ZWJ 시퀀스, 피부색 수식, 키캡, 국기, BMP 이모지(☺, ✂ 등)를 시퀀스 단위로 인식하여
+     * 이형 선택자나 결합자가 남지 않도록 통째로 제거합니다.
+     *
+     * 제거할 문자가 없으면 입력받은 String 인스턴스를 그대로 반환하고,
+     * 있으면 재사용 버퍼에 한 번만 순회하며 복사합니다.
+     *
      * @param text 정규화할 텍스트
      * @return 정규화된 텍스트
      */
@@ -16,9 +47,241 @@ public class EmojiNormalizer {
         if (text == null) {
             return null;
         }
-        // 예제를 위한 간단한 정규화: 이모지 제거 또는 변환
-        // 실제 구현에서는 더 복잡한 로직이 필요할 수 있습니다.
-        return text.replaceAll("[\\uD83C-\\uDBFF\\uDC00-\\uDFFF]+", "");
+        int firstIndex = indexOfEmoji(text);
+        if (firstIndex < 0) {
+            return text;
+        }
+        return strip(text, firstIndex);
+    }
+
+    /**
+     * 이모지를 지우는 대신 :smile: 같은 단축 코드로 바꿉니다.
+     *
+     * normalizeEmoji 대신 정규화 함수로 넘길 수 있습니다.
+     * 예: {@code new ContactProcessor(EmojiNormalizer::toShortcodes)}
+     *
+     * @param text 변환할 텍스트
+     * @return 변환된 텍스트, 바꿀 것이 없으면 입력 인스턴스
+     * @see EmojiShortcodes#defaults()
+     */
+    public static String toShortcodes(String text) {
+        return EmojiShortcodes.defaults().replace(text);
+    }
+
+    /**
+     * 여러 이름을 한 번에 정규화합니다.
+     *
+     * 이모지 후보 char가 없는 이름은 복사 없이 char 검사만으로 건너뛰고 원래 인스턴스를 그대로 담으며,
+     * 후보가 있는 이름만 시퀀스 단위 스캐너를 거칩니다.
+     * 이름마다 스칼라로 검사하며 SIMD는 쓰지 않습니다. SIMD 사전 검사는
+     * {@link #normalizeEmojiInPlace(char[], int[], int)}의 char 배열 경로에서만 씁니다.
+     *
+     * @param texts 정규화할 텍스트 배열 (null 원소 허용)
+     * @return 같은 순서로 정규화된 텍스트 배열
+     */
+    public static String[] normalizeAll(String[] texts) {
+        String[] results = new String[texts.length];
+        for (int i = 0; i < texts.length; i++) {
+            results[i] = normalizeCandidate(texts[i]);
+        }
+        return results;
+    }
+
+    /**
+     * 여러 이름을 한 번에 정규화합니다.
+     *
+     * @param texts 정규화할 텍스트 목록 (null 원소 허용)
+     * @return 같은 순서로 정규화된 텍스트 목록
+     * @see #normalizeAll(String[])
+     */
+    public static List<String> normalizeAll(List<String> texts) {
+        List<String> results = new ArrayList<>(texts.size());
+        for (String text : texts) {
+            results.add(normalizeCandidate(text));
+        }
+        return results;
     }
-}
 
+    /**
+     * 하나의 char 배열에 이어 붙인 이름들을 제자리에서 정규화합니다.
+     *
+     * i번째 이름은 arena[offsets[i], offsets[i + 1]) 구간입니다.
+     * 이모지를 제거하면서 arena를 앞으로 당겨 압축하고 offsets도 갱신하므로
+     * 이름 수와 무관하게 추가 할당이 거의 없습니다.
+     *
+     * @param arena 이름들을 이어 붙인 char 배열
+     * @param offsets 각 이름의 시작 위치 (길이 count + 1 이상)
+     * @param count 이름 수
+     * @return 압축 후 arena에서 사용 중인 길이 (= offsets[count])
+     */
+    public static int normalizeEmojiInPlace(char[] arena, int[] offsets, int count) {
+        CharBuffer view = CharBuffer.wrap(arena);
+        EmojiObserver currentObserver = observer;
+        int write = offsets[0];
+        for (int n = 0; n < count; n++) {
+            int from = offsets[n];
+            int to = offsets[n + 1];
+            offsets[n] = write;
+            if (!EmojiCandidateScanner.mayContainEmoji(arena, from, to)) {
+                System.arraycopy(arena, from, arena, write, to - from);
+                write += to - from;
+                continue;
+            }
+            int i = from;
+            while (i < to) {
+                int end = emojiSequenceEnd(view, i, to);
+                if (end > i) {
+                    if (currentObserver != null) {
+                        currentObserver.onEmoji(view, i, end);
+                    }
+                    i = end;
+                    continue;
+                }
+                arena[write++] = arena[i++];
+            }
+        }
+        offsets[count] = write;
+        return write;
+    }
+
+    private static String normalizeCandidate(String text) {
+        if (text == null) {
+            return null;
+        }
+        if (!EmojiCandidateScanner.mayContainEmoji(text)) {
+            return text;
+        }
+        return normalizeEmoji(text);
+    }
+
+    /**
+     * 이모지 시퀀스가 처음 시작되는 char 인덱스를 반환합니다.
+     *
+     * @return 이모지가 없으면 -1
+     */
+    private static int indexOfEmoji(String text) {
+        int length = text.length();
+        for (int i = 0; i < length; i++) {
+            if (emojiSequenceEnd(text, i, length) > i) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static String strip(String text, int firstIndex) {
+        int length = text.length();
+        char[] buffer = BUFFER.get();
+        if (buffer.length < length) {
+            buffer = new char[Math.max(length, buffer.length * 2)];
+            BUFFER.set(buffer);
+        }
+        text.getChars(0, firstIndex, buffer, 0);
+        int size = firstIndex;
+
+        EmojiObserver currentObserver = observer;
+        int i = firstIndex;
+        while (i < length) {
+            int end = emojiSequenceEnd(text, i, length);
+            if (end > i) {
+                if (currentObserver != null) {
+                    currentObserver.onEmoji(text, i, end);
+                }
+                i = end;
+                continue;
+            }
+            buffer[size++] = text.charAt(i++);
+        }
+        return new String(buffer, 0, size);
+    }
+
+    /**
+     * start에서 시작하는 이모지 시퀀스의 끝(exclusive)을 반환합니다.
+     *
+     * 다음을 하나의 시퀀스로 인식합니다.
+     * - 키캡: [0-9#*] U+FE0F? U+20E3
+     * - 국기: 지역 표시 문자 두 개
+     * - 그림 문자 또는 피부색 수식 문자 뒤에 이형 선택자, 피부색, 태그, 키캡 결합 문자가 붙은 것을
+     *   ZWJ로 이어 붙인 것 (예: 👩🏽‍💻, 🏴 태그 시퀀스)
+     * 홀로 남은 이형 선택자와 키캡 결합 문자도 제거 대상으로 봅니다.
+     * ™, ‼, 화살표처럼 텍스트로 표시되는 BMP 그림 문자는 U+FE0F나 피부색이 붙어야 시퀀스의 시작으로 봅니다.
+     *
+     * @param limit 시퀀스를 찾을 구간의 끝 (exclusive)
+     * @return 이모지 시퀀스가 아니면 start
+     */
+    static int emojiSequenceEnd(CharSequence text, int start, int limit) {
+        int codePoint = codePointAt(text, start, limit);
+        int i = start + Character.charCount(codePoint);
+
+        switch (EmojiTable.classOf(codePoint)) {
+            case EmojiTable.KEYCAP_BASE -> {
+                if (i < limit && text.charAt(i) == '\uFE0F') {
+                    i++;
+                }
+                return i < limit && text.charAt(i) == '\u20E3' ? i + 1 : start;
+            }
+            case EmojiTable.VARIATION_SELECTOR, EmojiTable.KEYCAP -> {
+                return i;
+            }
+            case EmojiTable.REGIONAL_INDICATOR -> {
+                if (i < limit) {
+                    int next = codePointAt(text, i, limit);
+                    if (EmojiTable.classOf(next) == EmojiTable.REGIONAL_INDICATOR) {
+                        i += Character.charCount(next);
+                    }
+                }
+                return i;
+            }
+            case EmojiTable.PICTOGRAPH -> {
+                // ©, ™, ‼ 처럼 텍스트로 표시되는 그림 문자는 U+FE0F나 피부색이 붙은 경우에만 이모지로 봅니다.
+                if (EmojiTable.isTextDefault(codePoint)
+                        && (i >= limit || (text.charAt(i) != '\uFE0F'
+                        && EmojiTable.classOf(codePointAt(text, i, limit)) != EmojiTable.MODIFIER))) {
+                    return start;
+                }
+                return consumeExtendersAndJoins(text, i, limit);
+            }
+            case EmojiTable.MODIFIER -> {
+                return consumeExtendersAndJoins(text, i, limit);
+            }
+            default -> {
+                return start;
+            }
+        }
+    }
+
+    private static int consumeExtendersAndJoins(CharSequence text, int i, int limit) {
+        while (i < limit) {
+            int codePoint = codePointAt(text, i, limit);
+            byte type = EmojiTable.classOf(codePoint);
+            if (type == EmojiTable.VARIATION_SELECTOR || type == EmojiTable.MODIFIER
+                    || type == EmojiTable.TAG || type == EmojiTable.KEYCAP) {
+                i += Character.charCount(codePoint);
+                continue;
+            }
+            if (type == EmojiTable.ZWJ && i + 1 < limit) {
+                int joined = codePointAt(text, i + 1, limit);
+                if (EmojiTable.classOf(joined) == EmojiTable.PICTOGRAPH) {
+                    i += 1 + Character.charCount(joined);
+                    continue;
+                }
+            }
+            break;
+        }
+        return i;
+    }
+
+    /**
+     * limit을 넘어서는 low surrogate는 읽지 않는 Character.codePointAt
+     */
+    private static int codePointAt(CharSequence text, int index, int limit) {
+        char high = text.charAt(index);
+        if (Character.isHighSurrogate(high) && index + 1 < limit) {
+            char low = text.charAt(index + 1);
+            if (Character.isLowSurrogate(low)) {
+                return Character.toCodePoint(high, low);
+            }
+        }
+        return high;
+    }
+}
@@ -0,0 +1,19 @@
+package com.line.review.episode6;
+
+/**
+ * EmojiNormalizer가 제거하는 이모지 시퀀스를 받아 보는 관찰자
+ *
+ * 정규화 스레드에서 바로 호출되므로 빠르게 반환하고 예외를 던지지 않아야 하며,
+ * 여러 스레드에서 동시에 호출될 수 있습니다.
+ *
+ * @see EmojiNormalizer#setObserver(EmojiObserver)
+ */
+@FunctionalInterface
+public interface EmojiObserver {
+
+    /**
+     * 이모지 시퀀스 text[start, end)를 제거했습니다.
+     * text는 호출이 끝난 뒤 바뀔 수 있으므로 보관하려면 복사해야 합니다.
+     */
+    void onEmoji(CharSequence text, int start, int end);
+}
@@ -0,0 +1,379 @@
+package com.line.review.episode6;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * 이모지 시퀀스를 :smile: 같은 단축 코드로 바꾸는 변환기
+ *
+ * 이모지를 지우는 {@link EmojiNormalizer#normalizeEmoji(String)} 대신 정보를 남기고 싶을 때 씁니다.
+ * 모든 (시퀀스, 단축 코드) 쌍을 하나의 트라이로 컴파일해 배열에 담고, 텍스트를 한 번 훑으며
+ * 위치마다 가장 긴 시퀀스를 찾아 바꿉니다.
+ *
+ * 기본 테이블은 다음으로 구성합니다.
+ * - 자주 쓰는 이모지와 ZWJ 시퀀스의 이름 (gemoji 이름)
+ * - 나머지 그림 문자는 유니코드 이름을 소문자로 바꾼 것 (예: U+1F600 -> :grinning_face:)
+ * - 국기는 ISO 국가 코드 (:flag_kr:), 키캡은 숫자 이름 (:one:)
+ * ™, ❤처럼 텍스트로 표시되는 그림 문자는 U+FE0F나 피부색이 붙은 경우에만 바꿉니다.
+ *
+ * 테이블에 없는 이모지 시퀀스는 normalizeEmoji와 같이 제거하고,
+ * 바꾼 이모지 뒤에 남은 ZWJ, 이형 선택자, 태그 문자도 제거합니다.
+ */
+public final class EmojiShortcodes {
+
+    /** 자주 쓰는 이모지의 단축 코드 (코드 포인트 16진수, 공백 구분) */
+    private static final String[][] COMMON = {
+            {"1F600", "grinning"}, {"1F603", "smiley"}, {"1F604", "smile"}, {"1F601", "grin"},
+            {"1F606", "laughing"}, {"1F605", "sweat_smile"}, {"1F602", "joy"}, {"1F923", "rofl"},
+            {"1F60A", "blush"}, {"1F607", "innocent"}, {"1F642", "slightly_smiling_face"}, {"1F609", "wink"},
+            {"1F60D", "heart_eyes"}, {"1F618", "kissing_heart"}, {"1F60B", "yum"}, {"1F914", "thinking"},
+            {"1F610", "neutral_face"}, {"1F644", "roll_eyes"}, {"1F62D", "sob"}, {"1F622", "cry"},
+            {"1F621", "rage"}, {"1F620", "angry"}, {"1F631", "scream"}, {"1F634", "sleeping"},
+            {"1F60E", "sunglasses"}, {"1F973", "partying_face"}, {"1F97A", "pleading_face"},
+            {"1F44D", "+1"}, {"1F44E", "-1"}, {"1F44F", "clap"}, {"1F64F", "pray"}, {"1F44B", "wave"},
+            {"1F64C", "raised_hands"}, {"1F4AA", "muscle"}, {"270C", "v"}, {"1F44C", "ok_hand"},
+            {"2764", "heart"}, {"1F494", "broken_heart"}, {"1F495", "two_hearts"}, {"1F496", "sparkling_heart"},
+            {"1F499", "blue_heart"}, {"1F49A", "green_heart"}, {"1F49B", "yellow_heart"},
+            {"1F49C", "purple_heart"}, {"1F5A4", "black_heart"}, {"1F525", "fire"}, {"2728", "sparkles"},
+            {"2B50", "star"}, {"1F31F", "star2"}, {"1F389", "tada"}, {"1F382", "birthday"}, {"1F381", "gift"},
+            {"1F4AF", "100"}, {"2705", "white_check_mark"}, {"274C", "x"}, {"26A0", "warning"},
+            {"1F680", "rocket"}, {"1F440", "eyes"}, {"1F436", "dog"}, {"1F431", "cat"}, {"1F337", "tulip"},
+            {"1F338", "cherry_blossom"}, {"2600", "sunny"}, {"2601", "cloud"}, {"2615", "coffee"},
+            {"1F37A", "beer"}, {"1F355", "pizza"}, {"263A", "relaxed"}, {"2702", "scissors"},
+            {"A9 FE0F", "copyright"}, {"AE FE0F", "registered"}, {"2122", "tm"}, {"203C", "bangbang"},
+            {"1F4BB", "computer"}, {"1F469", "woman"}, {"1F468", "man"}, {"1F476", "baby"},
+            {"1F3FB", "skin-tone-2"}, {"1F3FC", "skin-tone-3"}, {"1F3FD", "skin-tone-4"},
+            {"1F3FE", "skin-tone-5"}, {"1F3FF", "skin-tone-6"},
+            {"1F469 200D 1F4BB", "woman_technologist"}, {"1F468 200D 1F4BB", "man_technologist"},
+            {"2764 FE0F 200D 1F525", "heart_on_fire"}, {"1F3F3 FE0F 200D 1F308", "rainbow_flag"},
+            {"1F468 200D 1F469 200D 1F467 200D 1F466", "family_man_woman_girl_boy"},
+            {"1F3F4 E0067 E0062 E0065 E006E E0067 E007F", "england"},
+            {"1F3F4 E0067 E0062 E0073 E0063 E0074 E007F", "scotland"},
+            {"1F3F4 E0067 E0062 E0077 E006C E0073 E007F", "wales"},
+    };
+
+    private static final String[] KEYCAP_NAMES = {
+            "zero", "one", "two", "three", "four", "five", "six", "seven", "eight", "nine"
+    };
+
+    private static final int NO_OUTPUT = -1;
+
+    /** 스레드별로 재사용하는 출력 버퍼 */
+    private static final ThreadLocal<StringBuilder> BUFFER = ThreadLocal.withInitial(() -> new StringBuilder(64));
+
+    /*
+     * 배열로 펼친 트라이. 노드 n의 자식은 labels/children[childStart[n], childStart[n + 1]) 구간에
+     * 라벨(char) 순으로 정렬되어 있고, 노드에서 끝나는 시퀀스가 있으면 outputs[n]이 단축 코드 번호입니다.
+     * 0번 노드가 루트입니다.
+     */
+    private final int[] childStart;
+    private final char[] labels;
+    private final int[] children;
+    private final int[] outputs;
+    private final String[] replacements;
+
+    private EmojiShortcodes(Map<String, String> table) {
+        // 1단계: 맵 기반 트라이
+        List<TreeMap<Character, Integer>> nodes = new ArrayList<>();
+        List<Integer> nodeOutputs = new ArrayList<>();
+        nodes.add(new TreeMap<>());
+        nodeOutputs.add(NO_OUTPUT);
+        List<String> values = new ArrayList<>();
+        Map<String, Integer> valueIndex = new HashMap<>();
+        for (Map.Entry<String, String> entry : table.entrySet()) {
+            String sequence = entry.getKey();
+            if (sequence.isEmpty() || EmojiTable.classOf(sequence.codePointAt(0)) == EmojiTable.NONE) {
+                throw new IllegalArgumentException("Not an emoji sequence: " + sequence);
+            }
+            int node = 0;
+            for (int i = 0; i < sequence.length(); i++) {
+                Integer child = nodes.get(node).get(sequence.charAt(i));
+                if (child == null) {
+                    child = nodes.size();
+                    nodes.add(new TreeMap<>());
+                    nodeOutputs.add(NO_OUTPUT);
+                    nodes.get(node).put(sequence.charAt(i), child);
+                }
+                node = child;
+            }
+            Integer value = valueIndex.computeIfAbsent(entry.getValue(), replacement -> {
+                values.add(replacement);
+                return values.size() - 1;
+            });
+            nodeOutputs.set(node, value);
+        }
+
+        // 2단계: 자식 목록을 이어 붙여 배열로 펼칩니다.
+        int nodeCount = nodes.size();
+        childStart = new int[nodeCount + 1];
+        labels = new char[nodeCount - 1];
+        children = new int[nodeCount - 1];
+        outputs = new int[nodeCount];
+        int edge = 0;
+        for (int node = 0; node < nodeCount; node++) {
+            childStart[node] = edge;
+            for (Map.Entry<Character, Integer> child : nodes.get(node).entrySet()) {
+                labels[edge] = child.getKey();
+                children[edge] = child.getValue();
+                edge++;
+            }
+            outputs[node] = nodeOutputs.get(node);
+        }
+        childStart[nodeCount] = edge;
+        replacements = values.toArray(new String[0]);
+    }
+
+    /**
+     * 기본 테이블로 만든 변환기를 반환합니다.
+     */
+    public static EmojiShortcodes defaults() {
+        return DefaultsHolder.INSTANCE;
+    }
+
+    /**
+     * 주어진 테이블로 변환기를 만듭니다.
+     *
+     * @param table 이모지 시퀀스 -> 바꿀 문자열 (예: "👍" -> ":+1:")
+     * @throws IllegalArgumentException 이모지 분류가 없는 문자로 시작하는 시퀀스가 있으면
+     */
+    public static EmojiShortcodes of(Map<String, String> table) {
+        return new EmojiShortcodes(table);
+    }
+
+    /**
+     * 이모지 시퀀스를 단축 코드로 바꿉니다.
+     *
+     * 바꿀 것이 없으면 입력받은 String 인스턴스를 그대로 반환합니다.
+     *
+     * @param text 변환할 텍스트
+     * @return 변환된 텍스트
+     */
+    public String replace(String text) {
+        if (text == null) {
+            return null;
+        }
+        int length = text.length();
+        int first = 0;
+        while (first < length && !isCandidate(text, first)) {
+            first++;
+        }
+        if (first == length) {
+            return text;
+        }
+
+        StringBuilder buffer = BUFFER.get();
+        buffer.setLength(0);
+        buffer.append(text, 0, first);
+        boolean changed = false;
+        // 바로 앞에서 이모지를 바꾸거나 지웠으면 true. 뒤따르는 ZWJ, 이형 선택자, 태그를 지웁니다.
+        boolean afterEmoji = false;
+        int i = first;
+        while (i < length) {
+            char c = text.charAt(i);
+            if (!isCandidate(text, i)) {
+                buffer.append(c);
+                i++;
+                afterEmoji = false;
+                continue;
+            }
+            long match = longestMatch(text, i, length);
+            if (match >= 0) {
+                buffer.append(replacements[(int) match]);
+                i = (int) (match >>> 32);
+                changed = true;
+                afterEmoji = true;
+                continue;
+            }
+            int codePoint = text.codePointAt(i);
+            byte type = EmojiTable.classOf(codePoint);
+            if (afterEmoji && (type == EmojiTable.ZWJ || type == EmojiTable.VARIATION_SELECTOR
+                    || type == EmojiTable.TAG || type == EmojiTable.KEYCAP)) {
+                i += Character.charCount(codePoint);
+                changed = true;
+                continue;
+            }
+            int end = EmojiNormalizer.emojiSequenceEnd(text, i, length);
+            if (end > i) {
+                i = end;
+                changed = true;
+                afterEmoji = true;
+                continue;
+            }
+            buffer.append(c);
+            i++;
+            afterEmoji = false;
+        }
+        return changed ? buffer.toString() : text;
+    }
+
+    /**
+     * 변환기에 등록된 시퀀스 수
+     */
+    public int size() {
+        int count = 0;
+        for (int output : outputs) {
+            count += output != NO_OUTPUT ? 1 : 0;
+        }
+        return count;
+    }
+
+    /**
+     * start에서 시작하는 가장 긴 시퀀스를 찾습니다.
+     *
+     * @return (끝 위치 << 32 | 단축 코드 번호), 없으면 -1
+     */
+    private long longestMatch(String text, int start, int limit) {
+        long match = -1;
+        int node = 0;
+        for (int i = start; i < limit; i++) {
+            node = child(node, text.charAt(i));
+            if (node < 0) {
+                break;
+            }
+            if (outputs[node] != NO_OUTPUT) {
+                match = ((long) (i + 1) << 32) | outputs[node];
+            }
+        }
+        return match;
+    }
+
+    private int child(int node, char label) {
+        int low = childStart[node];
+        int high = childStart[node + 1] - 1;
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+            char value = labels[middle];
+            if (value < label) {
+                low = middle + 1;
+            } else if (value > label) {
+                high = middle - 1;
+            } else {
+                return children[middle];
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * index의 문자가 이모지 시퀀스를 시작할 수 있는지 확인합니다.
+     * 모든 시퀀스는 이모지 분류가 있는 문자로 시작하므로 한글 등은 트라이를 찾지 않고 복사합니다.
+     */
+    private static boolean isCandidate(String text, int index) {
+        char c = text.charAt(index);
+        if (c < EmojiCandidateScanner.MIN_EMOJI_CHAR) {
+            return (c >= '0' && c <= '9') || c == '#' || c == '*';
+        }
+        return EmojiTable.classOf(text.codePointAt(index)) != EmojiTable.NONE;
+    }
+
+    /**
+     * 기본 테이블 (처음 사용할 때 만듭니다)
+     */
+    private static final class DefaultsHolder {
+        static final EmojiShortcodes INSTANCE = new EmojiShortcodes(defaultTable());
+
+        private static Map<String, String> defaultTable() {
+            Map<String, String> table = new HashMap<>();
+            // 유니코드 이름에서 만든 단축 코드
+            for (int codePoint = 0x100; codePoint <= 0x1FFFF; codePoint++) {
+                byte type = EmojiTable.classOf(codePoint);
+                if (type != EmojiTable.PICTOGRAPH && type != EmojiTable.MODIFIER) {
+                    continue;
+                }
+                // 이름 조회는 비싸므로 이모지로 분류된 코드 포인트에 대해서만 합니다.
+                String name = Character.getName(codePoint);
+                if (name != null) {
+                    putWithVariationSelector(table, Character.toString(codePoint), shortcodeOf(name));
+                }
+            }
+            // 국기: 지역 표시 문자 두 개
+            for (String country : Locale.getISOCountries()) {
+                String flag = new StringBuilder()
+                        .appendCodePoint(0x1F1E6 + country.charAt(0) - 'A')
+                        .appendCodePoint(0x1F1E6 + country.charAt(1) - 'A')
+                        .toString();
+                table.put(flag, ":flag_" + country.toLowerCase(Locale.ROOT) + ":");
+            }
+            // 키캡
+            for (int digit = 0; digit <= 9; digit++) {
+                putKeycap(table, (char) ('0' + digit), KEYCAP_NAMES[digit]);
+            }
+            putKeycap(table, '#', "hash");
+            putKeycap(table, '*', "asterisk");
+            // 자주 쓰는 이름이 유니코드 이름보다 우선합니다.
+            for (String[] entry : COMMON) {
+                StringBuilder sequence = new StringBuilder();
+                for (String hex : entry[0].split(" ")) {
+                    sequence.appendCodePoint(Integer.parseInt(hex, 16));
+                }
+                String shortcode = ":" + entry[1] + ":";
+                if (sequence.codePointCount(0, sequence.length()) == 1) {
+                    putWithVariationSelector(table, sequence.toString(), shortcode);
+                } else {
+                    table.put(sequence.toString(), shortcode);
+                }
+            }
+            removeTextPresentationForms(table);
+            return table;
+        }
+
+        /**
+         * ™, ❤처럼 텍스트로 표시되는 그림 문자의 단독 형태를 빼고, 피부색이 붙은 형태를 더합니다.
+         * normalizeEmoji와 같이 U+FE0F나 피부색이 붙은 경우에만 이모지로 보고 바꿉니다.
+         */
+        private static void removeTextPresentationForms(Map<String, String> table) {
+            List<String> textDefault = new ArrayList<>();
+            for (String sequence : table.keySet()) {
+                int codePoint = sequence.codePointAt(0);
+                if (sequence.length() == Character.charCount(codePoint) && EmojiTable.isTextDefault(codePoint)) {
+                    textDefault.add(sequence);
+                }
+            }
+            for (String sequence : textDefault) {
+                String shortcode = table.remove(sequence);
+                if (!Character.isEmojiModifierBase(sequence.codePointAt(0))) {
+                    continue;
+                }
+                for (int modifier = 0x1F3FB; modifier <= 0x1F3FF; modifier++) {
+                    String tone = Character.toString(modifier);
+                    table.putIfAbsent(sequence + tone, shortcode + table.get(tone));
+                }
+            }
+        }
+
+        private static void putWithVariationSelector(Map<String, String> table, String emoji, String shortcode) {
+            table.put(emoji, shortcode);
+            table.put(emoji + '\uFE0F', shortcode);
+        }
+
+        private static void putKeycap(Map<String, String> table, char base, String name) {
+            table.put(base + "\u20E3", ":" + name + ":");
+            table.put(base + "\uFE0F\u20E3", ":" + name + ":");
+        }
+
+        /**
+         * 유니코드 이름을 단축 코드로 바꿉니다. (예: "GRINNING FACE" -> ":grinning_face:")
+         */
+        private static String shortcodeOf(String name) {
+            StringBuilder shortcode = new StringBuilder(name.length() + 2).append(':');
+            boolean separator = false;
+            for (int i = 0; i < name.length(); i++) {
+                char c = name.charAt(i);
+                if (Character.isLetterOrDigit(c)) {
+                    if (separator && shortcode.length() > 1) {
+                        shortcode.append('_');
+                    }
+                    shortcode.append(Character.toLowerCase(c));
+                    separator = false;
+                } else {
+                    separator = true;
+                }
+            }
+            return shortcode.append(':').toString();
+        }
+    }
+}
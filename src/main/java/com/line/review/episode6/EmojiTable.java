@@ -0,0 +1,162 @@
+package com.line.review.episode6;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 코드 포인트별 이모지 분류를 담은 2단계 룩업 테이블
+ *
+ * 클래스 초기화 시 JDK의 유니코드 이모지 속성(Character.isExtendedPictographic 등)으로부터
+ * 생성합니다. 코드 포인트를 256개 단위 블록으로 나누고 내용이 같은 블록은 하나만 보관하므로
+ * 전체 코드 포인트 공간을 수십 KB 이내로 표현합니다.
+ */
+final class EmojiTable {
+
+    /** 이모지와 관계없는 문자 */
+    static final byte NONE = 0;
+    /** 그림 문자 (Extended_Pictographic) */
+    static final byte PICTOGRAPH = 1;
+    /** 국기를 이루는 지역 표시 문자 (U+1F1E6 ~ U+1F1FF) */
+    static final byte REGIONAL_INDICATOR = 2;
+    /** 피부색 수식 문자 (U+1F3FB ~ U+1F3FF) */
+    static final byte MODIFIER = 3;
+    /** 이형 선택자 (U+FE0E, U+FE0F) */
+    static final byte VARIATION_SELECTOR = 4;
+    /** 폭 없는 결합자 (U+200D) */
+    static final byte ZWJ = 5;
+    /** 키캡 결합 문자 (U+20E3) */
+    static final byte KEYCAP = 6;
+    /** 태그 문자 (U+E0020 ~ U+E007F) */
+    static final byte TAG = 7;
+    /** 키캡 시퀀스의 시작이 될 수 있는 문자 ([0-9#*]) */
+    static final byte KEYCAP_BASE = 8;
+
+    private static final int TAG_START = 0xE0020;
+    private static final int TAG_END = 0xE007F;
+    /** 그림 문자와 수식 문자는 모두 이 값 이하에 있습니다. */
+    private static final int LAST_PICTOGRAPHIC_CODE_POINT = 0x1FFFF;
+
+    private static final int BLOCK_SHIFT = 8;
+    private static final int BLOCK_SIZE = 1 << BLOCK_SHIFT;
+    private static final int BLOCK_MASK = BLOCK_SIZE - 1;
+
+    /** 블록 번호 -> 중복 제거된 블록의 시작 오프셋 */
+    private static final int[] BLOCK_INDEX;
+    /** 중복 제거된 블록들을 이어 붙인 분류 값 */
+    private static final byte[] BLOCKS;
+
+    static {
+        int blockCount = (Character.MAX_CODE_POINT + 1) >>> BLOCK_SHIFT;
+        int[] blockIndex = new int[blockCount];
+        Map<BlockKey, Integer> offsets = new HashMap<>();
+        List<byte[]> uniqueBlocks = new ArrayList<>();
+        // 0번 블록은 모든 값이 NONE인 블록으로 예약합니다.
+        uniqueBlocks.add(new byte[BLOCK_SIZE]);
+        byte[] values = new byte[BLOCK_SIZE];
+
+        for (int block = 0; block < blockCount; block++) {
+            int base = block << BLOCK_SHIFT;
+            if (base > LAST_PICTOGRAPHIC_CODE_POINT && (base >>> BLOCK_SHIFT) != (TAG_START >>> BLOCK_SHIFT)) {
+                continue;
+            }
+            boolean allNone = true;
+            for (int i = 0; i < BLOCK_SIZE; i++) {
+                values[i] = classify(base + i);
+                allNone &= values[i] == NONE;
+            }
+            if (allNone) {
+                continue;
+            }
+            BlockKey key = new BlockKey(values);
+            Integer offset = offsets.get(key);
+            if (offset == null) {
+                offset = uniqueBlocks.size() * BLOCK_SIZE;
+                key = new BlockKey(values.clone());
+                offsets.put(key, offset);
+                uniqueBlocks.add(key.values());
+            }
+            blockIndex[block] = offset;
+        }
+
+        byte[] blocks = new byte[uniqueBlocks.size() * BLOCK_SIZE];
+        for (int i = 0; i < uniqueBlocks.size(); i++) {
+            System.arraycopy(uniqueBlocks.get(i), 0, blocks, i * BLOCK_SIZE, BLOCK_SIZE);
+        }
+        BLOCK_INDEX = blockIndex;
+        BLOCKS = blocks;
+    }
+
+    private EmojiTable() {
+    }
+
+    /**
+     * 코드 포인트의 이모지 분류를 반환합니다.
+     */
+    static byte classOf(int codePoint) {
+        return BLOCKS[BLOCK_INDEX[codePoint >>> BLOCK_SHIFT] + (codePoint & BLOCK_MASK)];
+    }
+
+    /**
+     * 그림 문자가 기본적으로 텍스트로 표시되는지 확인합니다 (BMP의 Emoji_Presentation=No).
+     *
+     * ™, ‼, 화살표, ©처럼 이름에 기호로 흔히 쓰이는 문자가 여기에 해당하며,
+     * 이형 선택자 U+FE0F나 피부색 수식 문자가 붙어야 이모지로 표시됩니다.
+     * 보조 평면의 그림 문자는 표시 방식과 관계없이 이모지로 봅니다.
+     */
+    static boolean isTextDefault(int codePoint) {
+        return codePoint <= 0xFFFF && !Character.isEmojiPresentation(codePoint);
+    }
+
+    /**
+     * 테이블이 차지하는 바이트 수 (블록 인덱스 + 블록 데이터)
+     */
+    static int sizeInBytes() {
+        return BLOCK_INDEX.length * Integer.BYTES + BLOCKS.length;
+    }
+
+    private static byte classify(int codePoint) {
+        if (codePoint > LAST_PICTOGRAPHIC_CODE_POINT) {
+            return codePoint >= TAG_START && codePoint <= TAG_END ? TAG : NONE;
+        }
+        if (codePoint == 0x200D) {
+            return ZWJ;
+        }
+        if (codePoint == 0xFE0E || codePoint == 0xFE0F) {
+            return VARIATION_SELECTOR;
+        }
+        if (codePoint == 0x20E3) {
+            return KEYCAP;
+        }
+        if ((codePoint >= '0' && codePoint <= '9') || codePoint == '#' || codePoint == '*') {
+            return KEYCAP_BASE;
+        }
+        if (codePoint >= 0x1F1E6 && codePoint <= 0x1F1FF) {
+            return REGIONAL_INDICATOR;
+        }
+        if (Character.isEmojiModifier(codePoint)) {
+            return MODIFIER;
+        }
+        if (Character.isExtendedPictographic(codePoint)) {
+            return PICTOGRAPH;
+        }
+        return NONE;
+    }
+
+    /**
+     * 블록 중복 제거용 키
+     */
+    private record BlockKey(byte[] values) {
+        @Override
+        public boolean equals(Object other) {
+            return other instanceof BlockKey key && Arrays.equals(values, key.values);
+        }
+
+        @Override
+        public int hashCode() {
+            return Arrays.hashCode(values);
+        }
+    }
+}
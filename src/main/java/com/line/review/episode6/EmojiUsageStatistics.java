@@ -0,0 +1,522 @@
+package com.line.review.episode6;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 표시 이름에 나온 이모지의 사용 빈도를 고정된 메모리로 집계하는 통계
+ *
+ * {@link EmojiNormalizer#setObserver(EmojiObserver)}에 등록하면 제거되는 이모지 시퀀스를 받아
+ * - count-min 스케치(depth x width 카운터)의 행마다 카운터 하나씩을 올리고
+ * - 추정 빈도가 상위 K개 후보 중 가장 작은 값보다 크면 그 후보를 밀어내고 들어갑니다 (space-saving 방식).
+ * 관찰 경로는 잠금을 쓰지 않으며 메모리는 이모지 종류 수와 무관하게 생성 시 정한 크기로 고정됩니다.
+ *
+ * 이모지마다 공유 카운터를 원자적으로 올리면 정규화 처리량이 40% 가까이 떨어지므로,
+ * 관찰은 스레드 id로 고른 줄무늬(stripe)의 작은 표에 이모지별 횟수로 모아 두었다가 {@value #FLUSH_THRESHOLD}번마다
+ * (또는 표가 차면) 한꺼번에 공유 스케치에 더합니다. 줄무늬는 CAS로 잠시 소유하고, 모든 줄무늬를 다른 스레드가
+ * 쓰는 중이면 기다리지 않고 그 관찰만 공유 스케치에 바로 더하므로 관찰하는 스레드는 막히지 않습니다.
+ * 줄무늬는 스레드가 아니라 이 객체에 속하므로 관찰한 스레드가 끝나도(요청마다 새로 만드는 가상 스레드 등)
+ * 남은 관찰을 잃지 않으며,
+ * {@link #flush()}와 {@link #snapshot()}은 모든 줄무늬를 비워 그때까지의 관찰을 빠짐없이 반영합니다
+ * (소유 중인 줄무늬는 관찰 하나를 더하는 동안만 기다립니다).
+ *
+ * 기본값은 모든 이모지를 세며, 이때 추정 빈도는 실제 빈도보다 작아지지 않습니다.
+ * 그래도 이모지가 많은 이름에서는 정규화 시간이 10% 넘게 늘어나므로, 정확도보다 처리량이 중요하면
+ * samplingInterval을 지정해 이모지를 그 수 중 하나꼴로만 세고 횟수에 간격을 곱해 더할 수 있습니다 (예: 16).
+ * 건너뛰는 관찰은 스레드별 난수 한 번으로 끝납니다.
+ *
+ * 집계 결과는 {@link #snapshot()}으로 꺼내며, 같은 크기로 만든 스냅숏끼리는
+ * 서버를 넘어 합칠 수 있습니다 ({@link Snapshot#merge(Snapshot)}, {@link Snapshot#writeTo(DataOutput)}).
+ * 표본 추출을 하지 않으면 추정 빈도는 실제 빈도 이상이고, 초과분은 높은 확률로 전체 관찰 수의 (e / width) 배 이하입니다.
+ * 표본 추출을 하면 추정 빈도는 실제 빈도를 중심으로 흩어지며, 드문 이모지일수록 상대 오차가 큽니다.
+ */
+public class EmojiUsageStatistics implements EmojiObserver {
+
+    public static final int DEFAULT_WIDTH = 1 << 14;
+    public static final int DEFAULT_DEPTH = 4;
+    public static final int DEFAULT_TOP_K = 64;
+    /** 기본값은 표본 추출 없이 모두 셈 */
+    public static final int DEFAULT_SAMPLING_INTERVAL = 1;
+
+    /** 스레드별 표를 공유 스케치에 더하는 관찰 횟수 */
+    static final int FLUSH_THRESHOLD = 1024;
+
+    private final int width;
+    private final int depth;
+    private final int samplingInterval;
+    /** 행 r의 카운터는 [r * width, (r + 1) * width) */
+    private final AtomicLongArray counters;
+    private final LongAdder total = new LongAdder();
+    /** 아직 공유 스케치에 더하지 않은 관찰. 스레드 id로 하나를 고르고, 소유 중이면 다음 것을 씁니다. */
+    private final LocalCounts[] stripes;
+
+    /** 상위 K개 후보 */
+    private final AtomicReferenceArray<Candidate> candidates;
+    /**
+     * 후보 해시를 직접 사상(direct-mapped)으로 담은 표. 후보인지 빠르게 확인하는 용도라서
+     * 경쟁 상태로 값이 어긋나도 느린 경로를 한 번 더 탈 뿐 결과는 틀리지 않습니다.
+     */
+    private final long[] candidateHashes;
+    /** 후보가 되기 위해 넘어야 하는 추정 빈도 (후보 중 최솟값, 느린 경로에서 갱신) */
+    private volatile long threshold;
+
+    public EmojiUsageStatistics() {
+        this(DEFAULT_WIDTH, DEFAULT_DEPTH, DEFAULT_TOP_K, DEFAULT_SAMPLING_INTERVAL);
+    }
+
+    /**
+     * @param width 스케치 행당 카운터 수 (2의 거듭제곱)
+     * @param depth 스케치 행 수
+     * @param topK 유지할 상위 이모지 수
+     */
+    public EmojiUsageStatistics(int width, int depth, int topK) {
+        this(width, depth, topK, DEFAULT_SAMPLING_INTERVAL);
+    }
+
+    /**
+     * @param width 스케치 행당 카운터 수 (2의 거듭제곱)
+     * @param depth 스케치 행 수
+     * @param topK 유지할 상위 이모지 수
+     * @param samplingInterval 평균 몇 개의 이모지마다 하나를 셀지 (2의 거듭제곱, 1이면 모두 셈)
+     */
+    public EmojiUsageStatistics(int width, int depth, int topK, int samplingInterval) {
+        if (width <= 0 || Integer.bitCount(width) != 1) {
+            throw new IllegalArgumentException("width must be a power of two: " + width);
+        }
+        if (depth <= 0 || topK <= 0) {
+            throw new IllegalArgumentException("depth and topK must be positive: " + depth + ", " + topK);
+        }
+        if (samplingInterval <= 0 || Integer.bitCount(samplingInterval) != 1) {
+            throw new IllegalArgumentException("samplingInterval must be a power of two: " + samplingInterval);
+        }
+        this.width = width;
+        this.depth = depth;
+        this.samplingInterval = samplingInterval;
+        this.counters = new AtomicLongArray(width * depth);
+        this.candidates = new AtomicReferenceArray<>(topK);
+        this.candidateHashes = new long[Integer.highestOneBit(topK * 8 - 1) << 1];
+        // 코어 수의 두 배 정도면 서로 다른 스레드가 같은 줄무늬를 잡는 일이 드뭅니다.
+        this.stripes = new LocalCounts[Integer.highestOneBit(Runtime.getRuntime().availableProcessors() * 2 - 1) << 1];
+        for (int i = 0; i < stripes.length; i++) {
+            stripes[i] = new LocalCounts();
+        }
+    }
+
+    @Override
+    public void onEmoji(CharSequence text, int start, int end) {
+        if (samplingInterval > 1 && (ThreadLocalRandom.current().nextInt() & (samplingInterval - 1)) != 0) {
+            return;
+        }
+        long key = localKey(text, start, end);
+        LocalCounts local = acquireStripe();
+        if (local == null) {
+            record(text.subSequence(start, end).toString(), samplingInterval);
+            total.add(samplingInterval);
+            return;
+        }
+        try {
+            if (local.add(text, start, end, key)) {
+                flush(local);
+            }
+        } finally {
+            local.release();
+        }
+    }
+
+    /**
+     * 모든 스레드가 모아 둔 관찰을 공유 스케치에 반영합니다.
+     */
+    public void flush() {
+        for (LocalCounts local : stripes) {
+            // 소유자는 관찰 하나(와 그 줄무늬의 반영)만 처리하고 놓으므로 잠깐 돌며 기다립니다.
+            for (int spins = 0; !local.tryAcquire(); spins++) {
+                if (spins < 64) {
+                    Thread.onSpinWait();
+                } else {
+                    Thread.yield();
+                }
+            }
+            try {
+                flush(local);
+            } finally {
+                local.release();
+            }
+        }
+    }
+
+    /**
+     * 스레드 id로 고른 줄무늬를 소유합니다. 다른 스레드가 쓰고 있으면 기다리지 않고 다음 줄무늬를 시도합니다.
+     *
+     * @return 모든 줄무늬를 다른 스레드가 쓰고 있으면 null
+     */
+    private LocalCounts acquireStripe() {
+        long id = Thread.currentThread().threadId();
+        int mask = stripes.length - 1;
+        int index = (int) ((id * 0x9E3779B97F4A7C15L) >>> 32) & mask;
+        for (int attempt = 0; attempt < stripes.length; attempt++) {
+            LocalCounts local = stripes[(index + attempt) & mask];
+            if (local.tryAcquire()) {
+                return local;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * 이모지 시퀀스의 추정 빈도
+     */
+    public long estimate(String emoji) {
+        return estimate(hash(emoji, 0, emoji.length()));
+    }
+
+    /**
+     * 관찰한 이모지 시퀀스 수 (표본 추출을 하면 추정치)
+     */
+    public long total() {
+        return total.sum();
+    }
+
+    /**
+     * 현재까지의 집계를 복사합니다. 모아 둔 관찰을 먼저 반영하므로 호출 전에 끝난 관찰은 모두 포함됩니다.
+     * 집계 중에도 호출할 수 있으며, 복사하는 동안 반영된 관찰은 일부 행에만 들어 있을 수 있습니다.
+     */
+    public Snapshot snapshot() {
+        flush();
+        long[] copy = new long[counters.length()];
+        for (int i = 0; i < copy.length; i++) {
+            copy[i] = counters.get(i);
+        }
+        Set<String> keys = new LinkedHashSet<>();
+        for (int i = 0; i < candidates.length(); i++) {
+            Candidate candidate = candidates.get(i);
+            if (candidate != null) {
+                keys.add(candidate.emoji);
+            }
+        }
+        return new Snapshot(width, depth, candidates.length(), total.sum(), copy, List.copyOf(keys));
+    }
+
+    private void flush(LocalCounts local) {
+        if (local.observed == 0) {
+            return;
+        }
+        for (int i = 0; i < local.keys.length; i++) {
+            if (local.counts[i] == 0) {
+                continue;
+            }
+            record(local.emoji[i], (long) local.counts[i] * samplingInterval);
+        }
+        total.add((long) local.observed * samplingInterval);
+        local.clear();
+    }
+
+    /**
+     * 이모지의 카운터를 count만큼 올리고, 추정 빈도가 문턱을 넘으면 후보로 올립니다.
+     */
+    private void record(String emoji, long count) {
+        long hash = hash(emoji, 0, emoji.length());
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        long estimate = Long.MAX_VALUE;
+        for (int row = 0; row < depth; row++) {
+            int index = row * width + ((h1 + row * h2) & (width - 1));
+            estimate = Math.min(estimate, counters.addAndGet(index, count));
+        }
+        if (estimate > threshold && candidateHashes[slotOf(hash)] != hash) {
+            offer(emoji, hash, estimate);
+        }
+    }
+
+    /**
+     * 후보 표에 없는 이모지가 문턱을 넘었을 때, 가장 빈도가 낮은 후보를 밀어내고 들어갑니다.
+     */
+    private void offer(String emoji, long hash, long estimate) {
+        int minimumIndex = -1;
+        Candidate minimum = null;
+        long minimumCount = Long.MAX_VALUE;
+        for (int i = 0; i < candidates.length(); i++) {
+            Candidate candidate = candidates.get(i);
+            if (candidate == null) {
+                minimumIndex = i;
+                minimum = null;
+                minimumCount = 0;
+                break;
+            }
+            if (candidate.hash == hash && candidate.emoji.equals(emoji)) {
+                candidateHashes[slotOf(hash)] = hash;
+                return;
+            }
+            long count = estimate(candidate.hash);
+            if (count < minimumCount) {
+                minimumIndex = i;
+                minimum = candidate;
+                minimumCount = count;
+            }
+        }
+        if (estimate <= minimumCount) {
+            threshold = minimumCount;
+            return;
+        }
+        if (candidates.compareAndSet(minimumIndex, minimum, new Candidate(emoji, hash))) {
+            if (minimum != null && candidateHashes[slotOf(minimum.hash)] == minimum.hash) {
+                candidateHashes[slotOf(minimum.hash)] = 0;
+            }
+            candidateHashes[slotOf(hash)] = hash;
+            threshold = minimumCount;
+        }
+    }
+
+    private long estimate(long hash) {
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        long estimate = Long.MAX_VALUE;
+        for (int row = 0; row < depth; row++) {
+            estimate = Math.min(estimate, counters.get(row * width + ((h1 + row * h2) & (width - 1))));
+        }
+        return estimate;
+    }
+
+    private int slotOf(long hash) {
+        return (int) (hash ^ (hash >>> 29)) & (candidateHashes.length - 1);
+    }
+
+    /**
+     * text[start, end)의 64비트 해시 (두 char씩 묶은 FNV-1a 뒤 비트 섞기). 0은 빈 칸 표시로 쓰므로 나오지 않습니다.
+     * 서버 간 스냅숏을 합칠 수 있도록 JVM과 무관하게 같은 값을 냅니다.
+     */
+    static long hash(CharSequence text, int start, int end) {
+        long hash = 0xCBF29CE484222325L ^ (end - start);
+        int i = start;
+        for (; i + 1 < end; i += 2) {
+            hash = (hash ^ (text.charAt(i) << 16 | text.charAt(i + 1))) * 0x100000001B3L;
+        }
+        if (i < end) {
+            hash = (hash ^ text.charAt(i)) * 0x100000001B3L;
+        }
+        hash ^= hash >>> 33;
+        hash *= 0xFF51AFD7ED558CCDL;
+        hash ^= hash >>> 33;
+        hash *= 0xC4CEB9FE1A85EC53L;
+        hash ^= hash >>> 33;
+        return hash == 0 ? 1 : hash;
+    }
+
+    /**
+     * 스레드별 표의 키. 관찰마다 계산하므로 곱셈 사슬을 피해,
+     * 세 char 이하(한 코드 포인트와 선택자)는 char를 그대로 담고 더 긴 시퀀스만 해시합니다.
+     * 두 경우는 최상위 비트로 구분되며 0은 나오지 않습니다.
+     */
+    private static long localKey(CharSequence text, int start, int end) {
+        int length = end - start;
+        if (length > 3) {
+            return hash(text, start, end) | Long.MIN_VALUE;
+        }
+        long key = (long) length << 48 | text.charAt(start);
+        if (length > 1) {
+            key |= (long) text.charAt(start + 1) << 16;
+            if (length > 2) {
+                key |= (long) text.charAt(start + 2) << 32;
+            }
+        }
+        return key;
+    }
+
+    private record Candidate(String emoji, long hash) {
+    }
+
+    /**
+     * 한 줄무늬에 모인, 아직 공유 스케치에 더하지 않은 이모지별 관찰 횟수 (열린 주소법 해시 표)
+     * 반영한 뒤에도 이모지 문자열은 남겨 두어, 자주 나오는 이모지는 다시 복사하지 않습니다.
+     * 모든 필드는 {@link #tryAcquire()}로 소유한 스레드만 읽고 씁니다.
+     */
+    private static final class LocalCounts {
+        private static final int CAPACITY_BITS = 8;
+        private static final int CAPACITY = 1 << CAPACITY_BITS;
+        /** 이모지 종류가 이만큼 모이면 반영하고 표를 비웁니다 */
+        private static final int MAX_SIZE = CAPACITY * 3 / 4;
+
+        private final AtomicBoolean owned = new AtomicBoolean();
+        final long[] keys = new long[CAPACITY];
+        final int[] counts = new int[CAPACITY];
+        final String[] emoji = new String[CAPACITY];
+        int size;
+        int observed;
+
+        /**
+         * CAS로 소유를 시도합니다. 성공한 스레드는 다른 소유자가 {@link #release()} 전에 쓴 내용을 모두 봅니다.
+         */
+        boolean tryAcquire() {
+            return !owned.get() && owned.compareAndSet(false, true);
+        }
+
+        void release() {
+            owned.set(false);
+        }
+
+        /**
+         * @return 공유 스케치에 반영해야 하면 true
+         */
+        boolean add(CharSequence text, int start, int end, long key) {
+            int slot = (int) ((key * 0x9E3779B97F4A7C15L) >>> (Long.SIZE - CAPACITY_BITS));
+            while (keys[slot] != key) {
+                if (keys[slot] == 0) {
+                    return insert(slot, key, text.subSequence(start, end).toString());
+                }
+                slot = (slot + 1) & (CAPACITY - 1);
+            }
+            counts[slot]++;
+            return ++observed >= FLUSH_THRESHOLD;
+        }
+
+        private boolean insert(int slot, long key, String value) {
+            keys[slot] = key;
+            emoji[slot] = value;
+            counts[slot] = 1;
+            size++;
+            return ++observed >= FLUSH_THRESHOLD || size >= MAX_SIZE;
+        }
+
+        void clear() {
+            Arrays.fill(counts, 0);
+            observed = 0;
+            if (size >= MAX_SIZE) {
+                Arrays.fill(keys, 0);
+                Arrays.fill(emoji, null);
+                size = 0;
+            }
+        }
+    }
+
+    /**
+     * 많이 쓰인 이모지
+     *
+     * @param emoji 이모지 시퀀스
+     * @param count 추정 빈도 (표본 추출을 하지 않으면 실제 빈도 이상)
+     */
+    public record HeavyHitter(String emoji, long count) {
+    }
+
+    /**
+     * 집계의 변경 불가능한 사본
+     */
+    public static final class Snapshot {
+        private final int width;
+        private final int depth;
+        private final int topK;
+        private final long total;
+        private final long[] counters;
+        private final List<String> candidates;
+
+        private Snapshot(int width, int depth, int topK, long total, long[] counters, List<String> candidates) {
+            this.width = width;
+            this.depth = depth;
+            this.topK = topK;
+            this.total = total;
+            this.counters = counters;
+            this.candidates = candidates;
+        }
+
+        /**
+         * 관찰한 이모지 시퀀스 수 (표본 추출을 하면 추정치)
+         */
+        public long total() {
+            return total;
+        }
+
+        public long estimate(String emoji) {
+            long hash = hash(emoji, 0, emoji.length());
+            int h1 = (int) hash;
+            int h2 = (int) (hash >>> 32);
+            long estimate = Long.MAX_VALUE;
+            for (int row = 0; row < depth; row++) {
+                estimate = Math.min(estimate, counters[row * width + ((h1 + row * h2) & (width - 1))]);
+            }
+            return estimate;
+        }
+
+        /**
+         * 추정 빈도가 높은 순서의 이모지 (최대 topK개)
+         */
+        public List<HeavyHitter> topK() {
+            List<HeavyHitter> hitters = new ArrayList<>(candidates.size());
+            for (String emoji : candidates) {
+                hitters.add(new HeavyHitter(emoji, estimate(emoji)));
+            }
+            hitters.sort(Comparator.comparingLong(HeavyHitter::count).reversed().thenComparing(HeavyHitter::emoji));
+            return hitters.size() > topK ? List.copyOf(hitters.subList(0, topK)) : List.copyOf(hitters);
+        }
+
+        /**
+         * 두 스냅숏을 합칩니다. 카운터는 더하고, 후보는 양쪽 후보 중 합친 추정 빈도가 높은 topK개입니다.
+         *
+         * @throws IllegalArgumentException 스케치 크기가 다르면
+         */
+        public Snapshot merge(Snapshot other) {
+            if (width != other.width || depth != other.depth || topK != other.topK) {
+                throw new IllegalArgumentException("Snapshot dimensions differ: " + width + "x" + depth + "/" + topK
+                        + " != " + other.width + "x" + other.depth + "/" + other.topK);
+            }
+            long[] merged = counters.clone();
+            for (int i = 0; i < merged.length; i++) {
+                merged[i] += other.counters[i];
+            }
+            Set<String> keys = new LinkedHashSet<>(candidates);
+            keys.addAll(other.candidates);
+            Snapshot union = new Snapshot(width, depth, topK, total + other.total, merged, List.copyOf(keys));
+            List<String> kept = union.topK().stream().map(HeavyHitter::emoji).toList();
+            return new Snapshot(width, depth, topK, union.total, merged, kept);
+        }
+
+        /**
+         * 다른 서버로 보낼 수 있도록 씁니다.
+         */
+        public void writeTo(DataOutput output) throws IOException {
+            output.writeInt(width);
+            output.writeInt(depth);
+            output.writeInt(topK);
+            output.writeLong(total);
+            for (long counter : counters) {
+                output.writeLong(counter);
+            }
+            output.writeInt(candidates.size());
+            for (String emoji : candidates) {
+                output.writeUTF(emoji);
+            }
+        }
+
+        /**
+         * {@link #writeTo(DataOutput)}로 쓴 스냅숏을 읽습니다.
+         */
+        public static Snapshot readFrom(DataInput input) throws IOException {
+            int width = input.readInt();
+            int depth = input.readInt();
+            int topK = input.readInt();
+            if (width <= 0 || Integer.bitCount(width) != 1 || depth <= 0 || topK <= 0) {
+                throw new IOException("Corrupted snapshot header: " + width + "x" + depth + "/" + topK);
+            }
+            long total = input.readLong();
+            long[] counters = new long[width * depth];
+            for (int i = 0; i < counters.length; i++) {
+                counters[i] = input.readLong();
+            }
+            int size = input.readInt();
+            List<String> candidates = new ArrayList<>(size);
+            for (int i = 0; i < size; i++) {
+                candidates.add(input.readUTF());
+            }
+            return new Snapshot(width, depth, topK, total, counters, List.copyOf(candidates));
+        }
+    }
+}
@@ -0,0 +1,490 @@
+package com.line.review.episode6;
+
+import jdk.incubator.vector.IntVector;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorShuffle;
+import jdk.incubator.vector.VectorSpecies;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.ToIntFunction;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+/**
+ * 사용자 간 친구 관계를 압축해 담는 읽기 전용 그래프 (CSR, compressed sparse row)
+ *
+ * Person.isFriend()는 한 사용자의 연락처 목록 안에서만 의미가 있으므로, 사용자마다의 연락처를
+ * 모아 "owner -> 친구" 간선으로 만듭니다. 간선은 방향이 있고 (A가 B를 친구로 추가한 것과
+ * B가 A를 추가한 것은 다른 간선), 사용자 id는 0부터 vertexCount - 1까지입니다.
+ *
+ * 사용자마다 친구 id를 정렬한 뒤 앞 원소와의 차이를 varint(LEB128)로 이어 붙여 저장하므로
+ * 간선 하나가 보통 1~3바이트를 차지합니다. 행은 1GB 페이지에 나눠 담아 전체 크기가
+ * 배열 한도(2GB)를 넘어도 됩니다.
+ *
+ * 공통 친구 수는 두 행을 풀어 정렬된 집합의 교집합 크기로 구합니다.
+ * - 크기 차이가 크면 작은 쪽 원소마다 큰 쪽을 갤로핑(지수 탐색 + 이진 탐색)으로 찾고
+ * - 비슷하면 Vector API로 두 블록의 모든 쌍을 한 번에 비교합니다.
+ */
+public final class FriendGraph {
+
+    static final int PAGE_SHIFT = 30;
+    private static final long PAGE_MASK = (1L << PAGE_SHIFT) - 1;
+
+    /** 큰 쪽이 작은 쪽의 이 배수 이상이면 갤로핑으로 교집합을 구합니다. */
+    static final int GALLOP_RATIO = 32;
+
+    private static final VectorSpecies<Integer> SPECIES = IntVector.SPECIES_PREFERRED;
+    /** 블록을 한 칸씩 회전시키는 셔플 (ROTATIONS[r]: i -> i + r) */
+    private static final VectorShuffle<Integer>[] ROTATIONS = rotations();
+
+    /** 교집합을 구할 때 행을 풀어 둘 스레드별 버퍼 */
+    private static final ThreadLocal<int[][]> SCRATCH = ThreadLocal.withInitial(() -> new int[][]{new int[256], new int[256]});
+
+    private final int vertexCount;
+    private final long edgeCount;
+    /** 사용자 id -> 행의 시작 위치 (페이지 번호 << PAGE_SHIFT | 페이지 안 위치) */
+    private final long[] offsets;
+    /** 사용자 id -> 친구 수 */
+    private final int[] degrees;
+    private final byte[][] pages;
+
+    private FriendGraph(int vertexCount, long edgeCount, long[] offsets, int[] degrees, byte[][] pages) {
+        this.vertexCount = vertexCount;
+        this.edgeCount = edgeCount;
+        this.offsets = offsets;
+        this.degrees = degrees;
+        this.pages = pages;
+    }
+
+    /**
+     * @param vertexCount 사용자 수. 사용자 id는 0부터 vertexCount - 1까지입니다.
+     */
+    public static Builder builder(int vertexCount) {
+        return new Builder(vertexCount);
+    }
+
+    public int vertexCount() {
+        return vertexCount;
+    }
+
+    public long edgeCount() {
+        return edgeCount;
+    }
+
+    public int degree(int user) {
+        return degrees[user];
+    }
+
+    /**
+     * 사용자의 친구 id를 오름차순으로 반환합니다.
+     */
+    public int[] friends(int user) {
+        int[] friends = new int[degrees[user]];
+        decode(user, friends);
+        return friends;
+    }
+
+    /**
+     * from이 to를 친구로 추가했는지 확인합니다.
+     */
+    public boolean isFriend(int from, int to) {
+        long start = offsets[from];
+        byte[] page = pages[(int) (start >>> PAGE_SHIFT)];
+        int position = (int) (start & PAGE_MASK);
+        int value = 0;
+        for (int i = 0, degree = degrees[from]; i < degree; i++) {
+            int delta = 0;
+            int shift = 0;
+            byte b;
+            do {
+                b = page[position++];
+                delta |= (b & 0x7F) << shift;
+                shift += 7;
+            } while (b < 0);
+            value += delta;
+            if (value >= to) {
+                return value == to;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 두 사용자가 모두 친구로 추가한 사용자 수
+     */
+    public int mutualFriendCount(int a, int b) {
+        int[][] scratch = SCRATCH.get();
+        int[] left = scratch[0].length < degrees[a] ? (scratch[0] = new int[degrees[a]]) : scratch[0];
+        int[] right = scratch[1].length < degrees[b] ? (scratch[1] = new int[degrees[b]]) : scratch[1];
+        return intersectionSize(left, decode(a, left), right, decode(b, right));
+    }
+
+    /**
+     * 여러 사용자 쌍의 공통 친구 수를 병렬로 구합니다.
+     *
+     * @return i번째 값은 (a[i], b[i])의 공통 친구 수
+     */
+    public int[] mutualFriendCounts(int[] a, int[] b) {
+        if (a.length != b.length) {
+            throw new IllegalArgumentException("Pair arrays differ in length: " + a.length + " != " + b.length);
+        }
+        int[] counts = new int[a.length];
+        IntStream.range(0, a.length).parallel().forEach(i -> counts[i] = mutualFriendCount(a[i], b[i]));
+        return counts;
+    }
+
+    /**
+     * 친구의 친구 중 아직 친구가 아닌 사용자를 공통 친구가 많은 순서로 추천합니다.
+     * 공통 친구 수가 같으면 id가 작은 사용자가 앞입니다.
+     */
+    public List<Suggestion> suggestFriends(int user, int limit) {
+        int[] friends = friends(user);
+        long total = 0;
+        for (int friend : friends) {
+            total += degrees[friend];
+        }
+        if (total > Integer.MAX_VALUE - 8) {
+            throw new IllegalStateException("Too many friends of friends: " + total);
+        }
+        int[] candidates = new int[(int) total];
+        int size = 0;
+        int[] buffer = new int[16];
+        for (int friend : friends) {
+            if (buffer.length < degrees[friend]) {
+                buffer = new int[degrees[friend]];
+            }
+            for (int i = 0, count = decode(friend, buffer); i < count; i++) {
+                int candidate = buffer[i];
+                if (candidate != user && Arrays.binarySearch(friends, candidate) < 0) {
+                    candidates[size++] = candidate;
+                }
+            }
+        }
+        Arrays.sort(candidates, 0, size);
+
+        // (공통 친구 수, id)를 하나의 long으로 묶어 정렬합니다.
+        long[] ranked = new long[size];
+        int distinct = 0;
+        for (int i = 0; i < size; ) {
+            int j = i;
+            while (j < size && candidates[j] == candidates[i]) {
+                j++;
+            }
+            ranked[distinct++] = ((long) (Integer.MAX_VALUE - (j - i)) << 32) | candidates[i];
+            i = j;
+        }
+        Arrays.sort(ranked, 0, distinct);
+
+        List<Suggestion> suggestions = new ArrayList<>(Math.min(limit, distinct));
+        for (int i = 0; i < distinct && suggestions.size() < limit; i++) {
+            suggestions.add(new Suggestion((int) ranked[i], Integer.MAX_VALUE - (int) (ranked[i] >>> 32)));
+        }
+        return suggestions;
+    }
+
+    /**
+     * 인코딩된 친구 목록이 차지하는 바이트 수
+     */
+    public long adjacencyBytes() {
+        long bytes = 0;
+        for (byte[] page : pages) {
+            bytes += page.length;
+        }
+        return bytes;
+    }
+
+    /**
+     * 그래프 전체의 대략적인 힙 사용량 (친구 목록 + 행 위치 + 친구 수)
+     */
+    public long memoryBytes() {
+        return adjacencyBytes() + (long) offsets.length * Long.BYTES + (long) degrees.length * Integer.BYTES;
+    }
+
+    /**
+     * 간선 하나당 평균 바이트 수 (행 위치와 친구 수 포함)
+     */
+    public double bytesPerEdge() {
+        return edgeCount == 0 ? 0 : (double) memoryBytes() / edgeCount;
+    }
+
+    /**
+     * 사용자의 친구 id를 into에 풀어 넣습니다.
+     *
+     * @return 친구 수
+     */
+    private int decode(int user, int[] into) {
+        long start = offsets[user];
+        byte[] page = pages[(int) (start >>> PAGE_SHIFT)];
+        int position = (int) (start & PAGE_MASK);
+        int degree = degrees[user];
+        int value = 0;
+        for (int i = 0; i < degree; i++) {
+            byte b = page[position++];
+            int delta = b & 0x7F;
+            // 한 바이트로 끝나는 간격(128 미만)은 분기 하나로 처리합니다.
+            if (b < 0) {
+                int shift = 7;
+                do {
+                    b = page[position++];
+                    delta |= (b & 0x7F) << shift;
+                    shift += 7;
+                } while (b < 0);
+            }
+            value += delta;
+            into[i] = value;
+        }
+        return degree;
+    }
+
+    /**
+     * 정렬되고 중복 없는 두 배열 앞부분의 교집합 크기
+     */
+    static int intersectionSize(int[] a, int aLength, int[] b, int bLength) {
+        if (aLength > bLength) {
+            return intersectionSize(b, bLength, a, aLength);
+        }
+        if (aLength == 0) {
+            return 0;
+        }
+        if (bLength / aLength >= GALLOP_RATIO) {
+            return gallopingIntersectionSize(a, aLength, b, bLength);
+        }
+        if (SPECIES.length() >= 4) {
+            return vectorIntersectionSize(a, aLength, b, bLength);
+        }
+        return mergeIntersectionSize(a, 0, aLength, b, 0, bLength);
+    }
+
+    /**
+     * 두 배열을 나란히 훑어 교집합 크기를 구합니다.
+     */
+    static int mergeIntersectionSize(int[] a, int i, int aLength, int[] b, int j, int bLength) {
+        int count = 0;
+        while (i < aLength && j < bLength) {
+            int x = a[i];
+            int y = b[j];
+            // 분기 예측이 어려운 비교를 산술로 바꿉니다.
+            i += x <= y ? 1 : 0;
+            j += y <= x ? 1 : 0;
+            count += x == y ? 1 : 0;
+        }
+        return count;
+    }
+
+    /**
+     * 작은 쪽(a)의 원소마다 큰 쪽(b)에서 지수 탐색 뒤 이진 탐색으로 위치를 찾습니다.
+     */
+    static int gallopingIntersectionSize(int[] a, int aLength, int[] b, int bLength) {
+        int count = 0;
+        int low = 0;
+        for (int i = 0; i < aLength && low < bLength; i++) {
+            int target = a[i];
+            int step = 1;
+            int high = low;
+            while (high < bLength && b[high] < target) {
+                low = high + 1;
+                high += step;
+                step <<= 1;
+            }
+            int index = Arrays.binarySearch(b, low, Math.min(high + 1, bLength), target);
+            if (index >= 0) {
+                count++;
+                low = index + 1;
+            } else {
+                low = -index - 1;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * 두 배열에서 레인 폭만큼의 블록을 꺼내, 한쪽을 한 칸씩 회전시키며 모든 쌍을 비교합니다.
+     * 블록의 마지막 값이 작은 쪽(같으면 둘 다)을 다음 블록으로 넘깁니다.
+     */
+    static int vectorIntersectionSize(int[] a, int aLength, int[] b, int bLength) {
+        int lanes = SPECIES.length();
+        int i = 0;
+        int j = 0;
+        int count = 0;
+        while (i + lanes <= aLength && j + lanes <= bLength) {
+            int aLast = a[i + lanes - 1];
+            int bLast = b[j + lanes - 1];
+            // 블록의 범위가 겹치지 않으면 비교할 필요가 없습니다.
+            if (aLast >= b[j] && bLast >= a[i]) {
+                IntVector left = IntVector.fromArray(SPECIES, a, i);
+                IntVector right = IntVector.fromArray(SPECIES, b, j);
+                for (VectorShuffle<Integer> rotation : ROTATIONS) {
+                    count += left.compare(VectorOperators.EQ, right.rearrange(rotation)).trueCount();
+                }
+            }
+            i += aLast <= bLast ? lanes : 0;
+            j += bLast <= aLast ? lanes : 0;
+        }
+        // 남은 원소는 앞 블록들의 값보다 크므로 이어서 훑기만 하면 됩니다.
+        return count + mergeIntersectionSize(a, i, aLength, b, j, bLength);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static VectorShuffle<Integer>[] rotations() {
+        VectorShuffle<Integer>[] rotations = (VectorShuffle<Integer>[]) new VectorShuffle<?>[SPECIES.length()];
+        for (int r = 0; r < rotations.length; r++) {
+            rotations[r] = VectorShuffle.iota(SPECIES, r, 1, true);
+        }
+        return rotations;
+    }
+
+    /**
+     * 친구 추천 결과
+     *
+     * @param userId 추천 대상
+     * @param mutualFriends 공통 친구 수
+     */
+    public record Suggestion(int userId, int mutualFriends) {
+    }
+
+    /**
+     * 간선을 모아 FriendGraph를 만드는 빌더
+     *
+     * 중복 간선과 자기 자신을 향한 간선은 build()에서 제거됩니다. 스레드 안전하지 않습니다.
+     */
+    public static final class Builder {
+        private final int vertexCount;
+        /** (from << 32 | to) */
+        private long[] edges = new long[1024];
+        private int size;
+
+        private Builder(int vertexCount) {
+            if (vertexCount < 0) {
+                throw new IllegalArgumentException("vertexCount must not be negative: " + vertexCount);
+            }
+            this.vertexCount = vertexCount;
+        }
+
+        /**
+         * from이 to를 친구로 추가한 간선을 더합니다.
+         */
+        public Builder addFriend(int from, int to) {
+            checkVertex(from);
+            checkVertex(to);
+            if (size == edges.length) {
+                grow(1);
+            }
+            edges[size++] = ((long) from << 32) | to;
+            return this;
+        }
+
+        /**
+         * owner의 연락처 중 친구인 사람마다 간선을 더합니다. 병렬 스트림이어도 됩니다.
+         *
+         * @param idOf 연락처의 사용자 id를 찾는 함수
+         */
+        public Builder addContacts(int owner, Stream<? extends ContactModel.Person> contacts,
+                                   ToIntFunction<? super ContactModel.Person> idOf) {
+            checkVertex(owner);
+            int[] friends = contacts.filter(ContactModel.Person::isFriend).mapToInt(idOf).toArray();
+            if (edges.length - size < friends.length) {
+                grow(friends.length);
+            }
+            for (int friend : friends) {
+                checkVertex(friend);
+                edges[size++] = ((long) owner << 32) | friend;
+            }
+            return this;
+        }
+
+        public FriendGraph build() {
+            // 간선 배열을 그대로 정렬해 빌드 중 추가 메모리를 줄입니다.
+            Arrays.parallelSort(edges, 0, size);
+            long[] sorted = edges;
+
+            // 1단계: 사용자마다 친구 수와 인코딩 길이를 세어 행을 페이지에 배치합니다.
+            int[] degrees = new int[vertexCount];
+            long[] offsets = new long[vertexCount];
+            List<Integer> pageSizes = new ArrayList<>();
+            int pageUsed = 0;
+            long edgeCount = 0;
+            int index = 0;
+            for (int user = 0; user < vertexCount; user++) {
+                long rowBytes = 0;
+                int previous = 0;
+                int degree = 0;
+                for (; index < size && (int) (sorted[index] >>> 32) == user; index++) {
+                    int friend = (int) sorted[index];
+                    if (friend == user || (degree > 0 && friend == previous)) {
+                        continue;
+                    }
+                    rowBytes += varintLength(friend - previous);
+                    previous = friend;
+                    degree++;
+                }
+                if (rowBytes > (1L << PAGE_SHIFT)) {
+                    throw new IllegalStateException("Too many friends for user " + user + ": " + degree);
+                }
+                if (pageSizes.isEmpty() || pageUsed + rowBytes > (1L << PAGE_SHIFT)) {
+                    if (!pageSizes.isEmpty()) {
+                        pageSizes.set(pageSizes.size() - 1, pageUsed);
+                    }
+                    pageSizes.add(0);
+                    pageUsed = 0;
+                }
+                offsets[user] = ((long) (pageSizes.size() - 1) << PAGE_SHIFT) | pageUsed;
+                degrees[user] = degree;
+                pageUsed += (int) rowBytes;
+                edgeCount += degree;
+            }
+            if (pageSizes.isEmpty()) {
+                pageSizes.add(0);
+            }
+            pageSizes.set(pageSizes.size() - 1, pageUsed);
+
+            // 2단계: 배치된 위치에 간격을 varint로 씁니다.
+            byte[][] pages = new byte[pageSizes.size()][];
+            for (int p = 0; p < pages.length; p++) {
+                pages[p] = new byte[pageSizes.get(p)];
+            }
+            index = 0;
+            for (int user = 0; user < vertexCount; user++) {
+                byte[] page = pages[(int) (offsets[user] >>> PAGE_SHIFT)];
+                int position = (int) (offsets[user] & PAGE_MASK);
+                int previous = 0;
+                boolean first = true;
+                for (; index < size && (int) (sorted[index] >>> 32) == user; index++) {
+                    int friend = (int) sorted[index];
+                    if (friend == user || (!first && friend == previous)) {
+                        continue;
+                    }
+                    for (int delta = friend - previous; ; delta >>>= 7) {
+                        if ((delta & ~0x7F) == 0) {
+                            page[position++] = (byte) delta;
+                            break;
+                        }
+                        page[position++] = (byte) ((delta & 0x7F) | 0x80);
+                    }
+                    previous = friend;
+                    first = false;
+                }
+            }
+            return new FriendGraph(vertexCount, edgeCount, offsets, degrees, pages);
+        }
+
+        private void checkVertex(int user) {
+            if (user < 0 || user >= vertexCount) {
+                throw new IndexOutOfBoundsException("User id out of range: " + user);
+            }
+        }
+
+        private void grow(int minimumExtra) {
+            long capacity = Math.max((long) edges.length + (edges.length >> 1), (long) size + minimumExtra);
+            if (capacity > Integer.MAX_VALUE - 8) {
+                throw new IllegalStateException("Too many edges: " + capacity);
+            }
+            edges = Arrays.copyOf(edges, (int) capacity);
+        }
+
+        private static int varintLength(int value) {
+            return value < (1 << 7) ? 1 : value < (1 << 14) ? 2 : value < (1 << 21) ? 3 : value < (1 << 28) ? 4 : 5;
+        }
+    }
+}
@@ -0,0 +1,201 @@
+package com.line.review.episode6;
+
+import java.util.Arrays;
+import java.util.concurrent.locks.StampedLock;
+import java.util.function.Consumer;
+import java.util.function.UnaryOperator;
+
+/**
+ * 친구 인덱스를 함께 유지하는 연락처 모음
+ *
+ * 가장 흔한 조회인 "모든 친구의 정규화된 이름"을 위해 친구 항목과 정규화된 이름을
+ * 조밀한 배열(friendNames)에 따로 보관하고, 추가/삭제/친구 여부 변경 때마다 갱신합니다.
+ * 친구에서 빠지는 항목은 마지막 항목과 자리를 바꿔 지우므로 모든 갱신이 O(1)이고,
+ * 조회는 친구 수에 비례하며 할당이 없습니다.
+ *
+ * 쓰기 스레드 하나와 여러 읽기 스레드를 전제로 StampedLock을 사용합니다.
+ * 배열 복사 조회는 잠금 없는 낙관적 읽기를 먼저 시도합니다.
+ */
+public class FriendIndexedContacts {
+
+    private static final int NOT_FRIEND = -1;
+
+    private final UnaryOperator<String> normalizer;
+    private final StampedLock lock = new StampedLock();
+
+    /** id -> 연락처 (삭제된 id는 null) */
+    private ContactModel.Person[] contacts = new ContactModel.Person[16];
+    /** id -> friendNames에서의 위치, 친구가 아니면 NOT_FRIEND */
+    private int[] friendSlots = new int[16];
+    private int nextId;
+
+    /** 친구의 정규화된 이름 (앞에서부터 friendCount개가 유효) */
+    private String[] friendNames = new String[16];
+    /** friendNames와 같은 위치의 연락처 id */
+    private int[] friendIds = new int[16];
+    private int friendCount;
+
+    public FriendIndexedContacts() {
+        this(EmojiNormalizer::normalizeEmoji);
+    }
+
+    /**
+     * @param normalizer 친구 인덱스에 넣을 이름을 만드는 함수
+     */
+    public FriendIndexedContacts(UnaryOperator<String> normalizer) {
+        this.normalizer = normalizer;
+    }
+
+    /**
+     * 연락처를 추가합니다.
+     *
+     * @return 이후 변경/삭제에 사용할 id
+     */
+    public int add(ContactModel.Person person) {
+        long stamp = lock.writeLock();
+        try {
+            if (nextId == contacts.length) {
+                contacts = Arrays.copyOf(contacts, nextId * 2);
+                friendSlots = Arrays.copyOf(friendSlots, nextId * 2);
+            }
+            int id = nextId++;
+            contacts[id] = person;
+            friendSlots[id] = NOT_FRIEND;
+            if (person.isFriend()) {
+                addFriend(id, person);
+            }
+            return id;
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * 연락처를 삭제합니다. 이미 삭제된 id는 무시합니다.
+     */
+    public void remove(int id) {
+        long stamp = lock.writeLock();
+        try {
+            if (get(id) == null) {
+                return;
+            }
+            removeFriend(id);
+            contacts[id] = null;
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * 연락처의 친구 여부를 바꿉니다.
+     */
+    public void setFriend(int id, boolean isFriend) {
+        long stamp = lock.writeLock();
+        try {
+            ContactModel.Person person = get(id);
+            if (person == null || person.isFriend() == isFriend) {
+                return;
+            }
+            ContactModel.Person updated = new ContactModel.Person(person.getDisplayName(), isFriend);
+            contacts[id] = updated;
+            if (isFriend) {
+                addFriend(id, updated);
+            } else {
+                removeFriend(id);
+            }
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * 친구 수
+     */
+    public int friendCount() {
+        long stamp = lock.tryOptimisticRead();
+        int count = friendCount;
+        if (lock.validate(stamp)) {
+            return count;
+        }
+        stamp = lock.readLock();
+        try {
+            return friendCount;
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    /**
+     * 모든 친구의 정규화된 이름을 방문합니다. O(친구 수)이며 할당이 없습니다.
+     *
+     * 방문하는 동안 읽기 잠금을 잡으므로 action 안에서 이 객체를 수정하면 안 됩니다.
+     */
+    public void forEachFriendName(Consumer<String> action) {
+        long stamp = lock.readLock();
+        try {
+            for (int i = 0; i < friendCount; i++) {
+                action.accept(friendNames[i]);
+            }
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    /**
+     * 모든 친구의 정규화된 이름을 dest에 복사합니다.
+     *
+     * @param dest 복사할 배열 (friendCount() 이상의 길이)
+     * @return 복사한 이름 수. dest가 작으면 필요한 길이를 음수로 반환합니다.
+     */
+    public int copyFriendNames(String[] dest) {
+        long stamp = lock.tryOptimisticRead();
+        int copied = copyFriendNamesUnlocked(dest);
+        if (lock.validate(stamp)) {
+            return copied;
+        }
+        stamp = lock.readLock();
+        try {
+            return copyFriendNamesUnlocked(dest);
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    private int copyFriendNamesUnlocked(String[] dest) {
+        String[] names = friendNames;
+        int count = Math.min(friendCount, names.length);
+        if (dest.length < count) {
+            return -count;
+        }
+        System.arraycopy(names, 0, dest, 0, count);
+        return count;
+    }
+
+    private ContactModel.Person get(int id) {
+        return id >= 0 && id < nextId ? contacts[id] : null;
+    }
+
+    private void addFriend(int id, ContactModel.Person person) {
+        if (friendCount == friendNames.length) {
+            friendNames = Arrays.copyOf(friendNames, friendCount * 2);
+            friendIds = Arrays.copyOf(friendIds, friendCount * 2);
+        }
+        friendNames[friendCount] = normalizer.apply(person.getDisplayName());
+        friendIds[friendCount] = id;
+        friendSlots[id] = friendCount;
+        friendCount++;
+    }
+
+    private void removeFriend(int id) {
+        int slot = friendSlots[id];
+        if (slot == NOT_FRIEND) {
+            return;
+        }
+        int last = --friendCount;
+        friendNames[slot] = friendNames[last];
+        friendIds[slot] = friendIds[last];
+        friendSlots[friendIds[slot]] = slot;
+        friendNames[last] = null;
+        friendSlots[id] = NOT_FRIEND;
+    }
+}
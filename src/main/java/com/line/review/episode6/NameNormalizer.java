@@ -0,0 +1,186 @@
+package com.line.review.episode6;
+
+import java.nio.CharBuffer;
+import java.text.Normalizer;
+
+/**
+ * 이모지 제거와 유니코드 정규화(NFC/NFKC)를 함께 수행하는 표시 이름 정규화기
+ *
+ * 결과는 {@code Normalizer.normalize(EmojiNormalizer.normalizeEmoji(text), form)}과 같습니다.
+ * Normalizer.normalize는 이미 정규화된 입력에도 새 String을 만들고 비용이 크므로,
+ * 코드 포인트별 빠른 검사(quick check) 표를 먼저 봅니다.
+ * - 이모지도 없고 모든 문자가 "정규형 그대로(YES)"이면 입력 인스턴스를 그대로 반환하고
+ * - 이모지만 있으면 EmojiNormalizer처럼 한 번 순회하며 제거하고
+ * - 정규화가 필요할 수 있는 문자가 있으면, 같은 순회에서 이모지를 지운 뒤
+ *   그 문자 앞의 안정된 경계부터 끝까지만 Normalizer에 넘깁니다.
+ *
+ * 빠른 검사 표는 JDK의 Normalizer로부터 만듭니다. 유니코드의 NFC_QC/NFKC_QC 속성 중
+ * NO와 MAYBE에 해당하는 문자와 모든 결합 문자(정준 결합 클래스가 0이 아닐 수 있는 문자)를
+ * "검사 필요"로 표시하므로 실제 속성보다 보수적입니다.
+ */
+public final class NameNormalizer {
+
+    private static final int CODE_POINT_COUNT = Character.MAX_CODE_POINT + 1;
+
+    /** 스레드별로 재사용하는 출력 버퍼 */
+    private static final ThreadLocal<char[]> BUFFER = ThreadLocal.withInitial(() -> new char[64]);
+
+    private final Normalizer.Form form;
+    /** 정규형 그대로라고 확신할 수 없는 코드 포인트의 비트 집합 */
+    private final long[] unstable;
+    /** BMP char 중 더 살펴봐야 하는 것 (불안정하거나, 이모지를 시작할 수 있거나, 서로게이트) */
+    private final long[] attention;
+
+    private NameNormalizer(Normalizer.Form form, long[] unstable) {
+        this.form = form;
+        this.unstable = unstable;
+        this.attention = new long[(Character.MAX_VALUE + 1) >>> 6];
+        for (int c = 0; c <= Character.MAX_VALUE; c++) {
+            if (isUnstable(c) || Character.isSurrogate((char) c) || EmojiTable.classOf(c) != EmojiTable.NONE) {
+                attention[c >>> 6] |= 1L << c;
+            }
+        }
+    }
+
+    /**
+     * 이모지를 지우고 NFC로 정규화하는 정규화기
+     */
+    public static NameNormalizer nfc() {
+        return NfcHolder.INSTANCE;
+    }
+
+    /**
+     * 이모지를 지우고 NFKC로 정규화하는 정규화기 (전각 영문, 합자 등도 풀어 씁니다)
+     */
+    public static NameNormalizer nfkc() {
+        return NfkcHolder.INSTANCE;
+    }
+
+    /**
+     * 표시 이름을 정규화합니다.
+     *
+     * @param text 정규화할 텍스트
+     * @return 정규화된 텍스트, 바꿀 것이 없으면 입력 인스턴스
+     */
+    public String normalize(String text) {
+        if (text == null) {
+            return null;
+        }
+        int length = text.length();
+        int first = 0;
+        while (first < length && isStable(text, first, length)) {
+            first++;
+        }
+        if (first == length) {
+            return text;
+        }
+
+        char[] buffer = BUFFER.get();
+        if (buffer.length < length) {
+            buffer = new char[Math.max(length, buffer.length * 2)];
+            BUFFER.set(buffer);
+        }
+        text.getChars(0, first, buffer, 0);
+        int size = first;
+        // 버퍼에서 처음으로 정규화가 필요할 수 있는 문자의 위치
+        int firstUnstable = -1;
+        boolean dropped = false;
+        int i = first;
+        while (i < length) {
+            int end = EmojiNormalizer.emojiSequenceEnd(text, i, length);
+            if (end > i) {
+                dropped = true;
+                i = end;
+                continue;
+            }
+            int codePoint = text.codePointAt(i);
+            if (firstUnstable < 0 && isUnstable(codePoint)) {
+                firstUnstable = size;
+            }
+            int count = Character.charCount(codePoint);
+            text.getChars(i, i + count, buffer, size);
+            size += count;
+            i += count;
+        }
+        if (firstUnstable < 0) {
+            // 보조 문자처럼 느린 경로로 넘어왔지만 지운 것이 없으면 입력 그대로입니다.
+            return dropped ? new String(buffer, 0, size) : text;
+        }
+
+        // 앞 문자와 합쳐질 수 있으므로 바로 앞의 안정된 문자(경계)부터 정규화합니다.
+        int start = firstUnstable;
+        while (start > 0) {
+            int codePoint = Character.codePointBefore(buffer, start);
+            start -= Character.charCount(codePoint);
+            if (!isUnstable(codePoint)) {
+                break;
+            }
+        }
+        CharBuffer unnormalized = CharBuffer.wrap(buffer, start, size - start);
+        String tail = Normalizer.normalize(unnormalized, form);
+        if (!dropped && tail.contentEquals(unnormalized)) {
+            return text;
+        }
+        return new StringBuilder(start + tail.length()).append(buffer, 0, start).append(tail).toString();
+    }
+
+    /**
+     * index의 char가 이모지의 시작도 아니고 정규형 그대로인지 확인합니다.
+     */
+    private boolean isStable(String text, int index, int length) {
+        char c = text.charAt(index);
+        if ((attention[c >>> 6] & (1L << c)) == 0) {
+            return true;
+        }
+        if (Character.isSurrogate(c) || isUnstable(c)) {
+            // 서로게이트 쌍은 한 번에 판정하도록 느린 경로로 넘깁니다.
+            return false;
+        }
+        return EmojiNormalizer.emojiSequenceEnd(text, index, length) == index;
+    }
+
+    private boolean isUnstable(int codePoint) {
+        return (unstable[codePoint >>> 6] & (1L << codePoint)) != 0;
+    }
+
+    /**
+     * 정규형 그대로라고 확신할 수 없는 코드 포인트 집합을 만듭니다.
+     * - 혼자서도 정규화 결과가 달라지는 문자 (QC = NO)
+     * - 앞 문자와 정준 합성될 수 있는 문자 (QC = MAYBE, 정준 분해의 마지막 문자)
+     * - 결합 문자 (순서 재배열 대상)
+     */
+    private static long[] unstableCodePoints(Normalizer.Form form) {
+        long[] unstable = new long[CODE_POINT_COUNT >>> 6];
+        for (int codePoint = 0x80; codePoint < CODE_POINT_COUNT; codePoint++) {
+            int type = Character.getType(codePoint);
+            if (type == Character.UNASSIGNED || type == Character.SURROGATE || type == Character.PRIVATE_USE) {
+                continue;
+            }
+            if (type == Character.NON_SPACING_MARK || type == Character.COMBINING_SPACING_MARK
+                    || type == Character.ENCLOSING_MARK) {
+                unstable[codePoint >>> 6] |= 1L << codePoint;
+                continue;
+            }
+            String text = Character.toString(codePoint);
+            if (!Normalizer.normalize(text, form).equals(text)) {
+                unstable[codePoint >>> 6] |= 1L << codePoint;
+            }
+            String decomposed = Normalizer.normalize(text, Normalizer.Form.NFD);
+            if (!decomposed.equals(text) && Normalizer.normalize(text, Normalizer.Form.NFC).equals(text)) {
+                int last = decomposed.codePointBefore(decomposed.length());
+                unstable[last >>> 6] |= 1L << last;
+            }
+        }
+        return unstable;
+    }
+
+    private static final class NfcHolder {
+        static final NameNormalizer INSTANCE =
+                new NameNormalizer(Normalizer.Form.NFC, unstableCodePoints(Normalizer.Form.NFC));
+    }
+
+    private static final class NfkcHolder {
+        static final NameNormalizer INSTANCE =
+                new NameNormalizer(Normalizer.Form.NFKC, unstableCodePoints(Normalizer.Form.NFKC));
+    }
+}
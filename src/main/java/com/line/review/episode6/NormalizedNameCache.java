@@ -0,0 +1,302 @@
+package com.line.review.episode6;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.UnaryOperator;
+
+/**
+ * 정규화된 표시 이름을 보관하는 크기 제한 캐시 (W-TinyLFU)
+ *
+ * 같은 이름(공식 계정, 유명인, 흔한 가족 이름)이 여러 연락처에 반복해서 나타나므로
+ * 정규화 결과를 재사용합니다. 구조는 다음과 같습니다.
+ * - 윈도 LRU (전체 예산의 1%): 새로 들어온 항목이 머무는 곳
+ * - 메인 SLRU (나머지 99%): probation 구간과 protected 구간(메인의 80%)으로 나뉨
+ * - 윈도에서 밀려난 후보는 TinyLFU 빈도 추정치가 probation의 희생자보다 높을 때만 남습니다.
+ *
+ * 조회는 ConcurrentHashMap으로 잠금 없이 처리하고, 정책 갱신은 잠금을 얻을 수 있을 때만
+ * 수행합니다(경합 중인 읽기의 순서 갱신은 버려도 정확성에는 영향이 없습니다).
+ * 용량은 항목 수가 아니라 키와 값 문자열의 추정 바이트 수로 제한합니다.
+ */
+public class NormalizedNameCache {
+
+    /** 항목마다 문자열 내용 외에 드는 추정 바이트 수 (노드, 해시 엔트리, 문자열 헤더) */
+    private static final int ENTRY_OVERHEAD_BYTES = 112;
+    /** 예산으로부터 스케치 크기를 정할 때 쓰는 평균 항목 크기 추정치 */
+    private static final int AVERAGE_ENTRY_BYTES = 160;
+
+    private final UnaryOperator<String> normalizer;
+    private final ConcurrentHashMap<String, Node> data = new ConcurrentHashMap<>();
+    private final ReentrantLock evictionLock = new ReentrantLock();
+    private final FrequencySketch sketch;
+
+    private final long maximumBytes;
+    private final long maximumWindowBytes;
+    private final long maximumProtectedBytes;
+
+    private final Node window = Node.sentinel();
+    private final Node probation = Node.sentinel();
+    private final Node protectedQueue = Node.sentinel();
+    private long windowBytes;
+    private long protectedBytes;
+    private long totalBytes;
+
+    private final LongAdder hitCount = new LongAdder();
+    private final LongAdder missCount = new LongAdder();
+    private final LongAdder evictionCount = new LongAdder();
+
+    /**
+     * EmojiNormalizer.normalizeEmoji 앞에 두는 캐시를 생성합니다.
+     *
+     * @param maximumBytes 키와 값을 합한 추정 바이트 예산
+     */
+    public NormalizedNameCache(long maximumBytes) {
+        this(maximumBytes, EmojiNormalizer::normalizeEmoji);
+    }
+
+    /**
+     * @param maximumBytes 키와 값을 합한 추정 바이트 예산
+     * @param normalizer 캐시 미스 시 호출할 정규화 함수
+     */
+    public NormalizedNameCache(long maximumBytes, UnaryOperator<String> normalizer) {
+        if (maximumBytes <= 0) {
+            throw new IllegalArgumentException("maximumBytes must be positive: " + maximumBytes);
+        }
+        this.normalizer = normalizer;
+        this.maximumBytes = maximumBytes;
+        this.maximumWindowBytes = Math.max(1, maximumBytes / 100);
+        this.maximumProtectedBytes = (long) ((maximumBytes - maximumWindowBytes) * 0.8);
+        this.sketch = new FrequencySketch(maximumBytes / AVERAGE_ENTRY_BYTES);
+    }
+
+    /**
+     * 캐시된 정규화 결과를 반환하고, 없으면 정규화한 뒤 캐시에 넣습니다.
+     *
+     * @param text 정규화할 텍스트
+     * @return 정규화된 텍스트
+     */
+    public String normalize(String text) {
+        if (text == null) {
+            return null;
+        }
+        Node node = data.get(text);
+        if (node != null) {
+            hitCount.increment();
+            if (evictionLock.tryLock()) {
+                try {
+                    onAccess(node);
+                } finally {
+                    evictionLock.unlock();
+                }
+            }
+            return node.value;
+        }
+
+        missCount.increment();
+        String value = normalizer.apply(text);
+        put(text, value);
+        return value;
+    }
+
+    /**
+     * 현재까지의 통계를 반환합니다.
+     */
+    public Stats stats() {
+        evictionLock.lock();
+        try {
+            return new Stats(hitCount.sum(), missCount.sum(), evictionCount.sum(), data.size(), totalBytes);
+        } finally {
+            evictionLock.unlock();
+        }
+    }
+
+    private void put(String key, String value) {
+        long weight = weigh(key, value);
+        if (weight > maximumBytes) {
+            return;
+        }
+        evictionLock.lock();
+        try {
+            Node node = new Node(key, value, weight);
+            if (data.putIfAbsent(key, node) != null) {
+                return;
+            }
+            sketch.increment(key);
+            node.queue = Node.WINDOW;
+            window.addLast(node);
+            windowBytes += weight;
+            totalBytes += weight;
+            evict();
+        } finally {
+            evictionLock.unlock();
+        }
+    }
+
+    private void onAccess(Node node) {
+        sketch.increment(node.key);
+        switch (node.queue) {
+            case Node.WINDOW -> {
+                node.unlink();
+                window.addLast(node);
+            }
+            case Node.PROBATION -> {
+                node.unlink();
+                node.queue = Node.PROTECTED;
+                protectedQueue.addLast(node);
+                protectedBytes += node.weight;
+                demoteFromProtected();
+            }
+            case Node.PROTECTED -> {
+                node.unlink();
+                protectedQueue.addLast(node);
+            }
+            default -> {
+                // 이미 제거된 노드
+            }
+        }
+    }
+
+    private void demoteFromProtected() {
+        while (protectedBytes > maximumProtectedBytes) {
+            Node demoted = protectedQueue.first();
+            demoted.unlink();
+            protectedBytes -= demoted.weight;
+            demoted.queue = Node.PROBATION;
+            probation.addLast(demoted);
+        }
+    }
+
+    private void evict() {
+        Node candidate = null;
+        while (windowBytes > maximumWindowBytes) {
+            Node moved = window.first();
+            moved.unlink();
+            windowBytes -= moved.weight;
+            moved.queue = Node.PROBATION;
+            probation.addLast(moved);
+            if (candidate == null) {
+                candidate = moved;
+            }
+        }
+
+        while (totalBytes > maximumBytes) {
+            Node victim = probation.first();
+            if (victim == null) {
+                Node fallback = protectedQueue.first() != null ? protectedQueue.first() : window.first();
+                remove(fallback);
+                continue;
+            }
+            if (candidate == null || candidate == victim) {
+                candidate = candidate == null ? null : candidate.nextInQueue();
+                remove(victim);
+                continue;
+            }
+            if (sketch.frequency(candidate.key) > sketch.frequency(victim.key)) {
+                remove(victim);
+            } else {
+                Node rejected = candidate;
+                candidate = candidate.nextInQueue();
+                remove(rejected);
+            }
+        }
+    }
+
+    private void remove(Node node) {
+        if (node.queue == Node.WINDOW) {
+            windowBytes -= node.weight;
+        } else if (node.queue == Node.PROTECTED) {
+            protectedBytes -= node.weight;
+        }
+        node.unlink();
+        node.queue = Node.REMOVED;
+        totalBytes -= node.weight;
+        data.remove(node.key, node);
+        evictionCount.increment();
+    }
+
+    private static long weigh(String key, String value) {
+        long chars = value == key ? key.length() : (long) key.length() + value.length();
+        return ENTRY_OVERHEAD_BYTES + chars * Character.BYTES;
+    }
+
+    /**
+     * 캐시 통계
+     *
+     * @param hitCount 캐시 적중 수
+     * @param missCount 캐시 미스 수 (정규화 함수 호출 수)
+     * @param evictionCount 예산 초과로 제거된 항목 수
+     * @param size 현재 항목 수
+     * @param weightedBytes 현재 항목들의 추정 바이트 합
+     */
+    public record Stats(long hitCount, long missCount, long evictionCount, long size, long weightedBytes) {
+
+        /**
+         * 적중률 (요청이 없으면 1.0)
+         */
+        public double hitRate() {
+            long requests = hitCount + missCount;
+            return requests == 0 ? 1.0 : (double) hitCount / requests;
+        }
+    }
+
+    /**
+     * 큐에 연결되는 캐시 항목
+     *
+     * 각 큐는 자기 자신을 가리키는 센티널 노드를 가진 원형 이중 연결 리스트입니다.
+     */
+    private static final class Node {
+        static final int REMOVED = 0;
+        static final int WINDOW = 1;
+        static final int PROBATION = 2;
+        static final int PROTECTED = 3;
+
+        final String key;
+        final String value;
+        final long weight;
+        int queue;
+        Node prev;
+        Node next;
+        /** 이 노드가 속한 큐의 센티널 (센티널 자신은 자기 자신) */
+        Node head;
+
+        private Node(String key, String value, long weight) {
+            this.key = key;
+            this.value = value;
+            this.weight = weight;
+        }
+
+        static Node sentinel() {
+            Node sentinel = new Node(null, null, 0);
+            sentinel.prev = sentinel;
+            sentinel.next = sentinel;
+            sentinel.head = sentinel;
+            return sentinel;
+        }
+
+        /** 센티널에서 호출: 가장 오래된 노드, 비어 있으면 null */
+        Node first() {
+            return next == this ? null : next;
+        }
+
+        /** 센티널에서 호출: 노드를 가장 최근 위치에 추가 */
+        void addLast(Node node) {
+            node.head = this;
+            node.prev = prev;
+            node.next = this;
+            prev.next = node;
+            prev = node;
+        }
+
+        /** 같은 큐에서 다음(더 최근) 노드, 없으면 null */
+        Node nextInQueue() {
+            return next == head ? null : next;
+        }
+
+        void unlink() {
+            prev.next = next;
+            next.prev = prev;
+            prev = null;
+            next = null;
+        }
+    }
+}
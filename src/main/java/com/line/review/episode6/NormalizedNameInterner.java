@@ -0,0 +1,243 @@
+package com.line.review.episode6;
+
+import java.lang.ref.WeakReference;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 정규화된 이름과 그 ReturnValue를 프로세스 전체에서 공유하게 해 주는 intern 테이블
+ *
+ * 수천 개의 연락처가 같은 이름을 가질 때 매번 새로 만들어지는 String과 ReturnValue를
+ * 하나의 인스턴스로 합칩니다. String.intern과 달리
+ * - 공유 String과 ReturnValue를 약한 참조로만 보관하므로 아무도 쓰지 않는 이름은 GC가 회수하고
+ * - 샤드마다 따로 잠그는 오픈 어드레싱(선형 탐사) 테이블이라 경합이 적으며
+ * - 절약한 바이트 수를 추정해 보고합니다.
+ *
+ * 항목은 공유 String이 살아 있는 동안 유지되므로, String만 붙잡고 있어도 {@link #intern(String)}은 같은 인스턴스를 돌려줍니다.
+ * ReturnValue만 회수되었으면 같은 공유 String으로 다시 만듭니다.
+ *
+ * 사용은 선택 사항입니다. {@link ContactProcessor#ContactProcessor(java.util.function.UnaryOperator, NormalizedNameInterner)}
+ * 로 연결합니다.
+ */
+public class NormalizedNameInterner {
+
+    private static final int DEFAULT_SHARDS = 16;
+    private static final int INITIAL_SHARD_CAPACITY = 64;
+
+    /** String 헤더 + byte[] 헤더 (압축 OOP 기준 추정치) */
+    private static final int STRING_OVERHEAD_BYTES = 40;
+    /** ReturnValue 객체 크기 추정치 */
+    private static final int RETURN_VALUE_BYTES = 16;
+
+    private final Shard[] shards;
+    private final int shardMask;
+    /** 샤드 안의 슬롯은 샤드를 고른 하위 비트를 버린 해시로 정합니다. */
+    private final int shardShift;
+    private final LongAdder hitCount = new LongAdder();
+    private final LongAdder savedBytes = new LongAdder();
+
+    public NormalizedNameInterner() {
+        this(DEFAULT_SHARDS);
+    }
+
+    /**
+     * @param shardCount 샤드 수 (2의 거듭제곱으로 올림)
+     */
+    public NormalizedNameInterner(int shardCount) {
+        int size = shardCount <= 1 ? 1 : Integer.highestOneBit(shardCount - 1) << 1;
+        this.shards = new Shard[size];
+        for (int i = 0; i < size; i++) {
+            shards[i] = new Shard();
+        }
+        this.shardMask = size - 1;
+        this.shardShift = Integer.numberOfTrailingZeros(size);
+    }
+
+    /**
+     * 같은 내용의 공유 String을 반환합니다.
+     */
+    public String intern(String name) {
+        if (name == null) {
+            return null;
+        }
+        int hash = spread(name.hashCode());
+        String canonical = shards[hash & shardMask].intern(name, hash >>> shardShift);
+        if (canonical != name) {
+            hitCount.increment();
+            savedBytes.add(STRING_OVERHEAD_BYTES + (long) name.length() * Character.BYTES);
+        }
+        return canonical;
+    }
+
+    /**
+     * 같은 이름을 담은 공유 ReturnValue를 반환합니다. 없으면 새로 만들어 등록합니다.
+     */
+    public ReturnValue returnValueOf(String name) {
+        int hash = spread(name.hashCode());
+        ReturnValue existing = shards[hash & shardMask].returnValueOf(name, hash >>> shardShift);
+        if (existing.getValue() != name) {
+            hitCount.increment();
+            savedBytes.add(STRING_OVERHEAD_BYTES + (long) name.length() * Character.BYTES + RETURN_VALUE_BYTES);
+        }
+        return existing;
+    }
+
+    /**
+     * 기존 인스턴스를 돌려준 횟수
+     */
+    public long hitCount() {
+        return hitCount.sum();
+    }
+
+    /**
+     * 중복 String과 ReturnValue를 만들지 않아 절약한 바이트 수 추정치 (누적)
+     */
+    public long savedBytes() {
+        return savedBytes.sum();
+    }
+
+    /**
+     * 현재 살아 있는 항목 수 (GC가 회수한 항목은 제외)
+     */
+    public int size() {
+        int size = 0;
+        for (Shard shard : shards) {
+            size += shard.liveCount();
+        }
+        return size;
+    }
+
+    private static int spread(int hashCode) {
+        int h = hashCode * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+
+    /**
+     * 선형 탐사 해시 테이블 하나
+     *
+     * 슬롯은 공유 String(키)과 그 ReturnValue를 각각 약한 참조로 가지며, 키가 회수되면 빈 슬롯으로 봅니다.
+     * GC로 비워진 슬롯은 탐사를 이어 가기 위해 남겨 두었다가 삽입 시 재사용하고,
+     * 테이블을 키울 때 정리합니다.
+     */
+    private static final class Shard {
+        private WeakReference<String>[] keys = newSlots(INITIAL_SHARD_CAPACITY);
+        private WeakReference<ReturnValue>[] values = newSlots(INITIAL_SHARD_CAPACITY);
+        private int[] hashes = new int[INITIAL_SHARD_CAPACITY];
+        /** 비어 있지 않은 슬롯 수 (회수된 참조 포함) */
+        private int used;
+
+        synchronized String intern(String name, int hash) {
+            int slot = slotOf(name, hash);
+            String key = slot >= 0 ? keys[slot].get() : null;
+            if (key != null) {
+                return key;
+            }
+            put(slot, name, hash);
+            return name;
+        }
+
+        synchronized ReturnValue returnValueOf(String name, int hash) {
+            int slot = slotOf(name, hash);
+            String key = slot >= 0 ? keys[slot].get() : null;
+            if (key == null) {
+                ReturnValue created = new ReturnValue(name);
+                // put이 테이블을 키울 수 있으므로 values는 put 뒤에 읽습니다.
+                int inserted = put(slot, name, hash);
+                values[inserted] = new WeakReference<>(created);
+                return created;
+            }
+            ReturnValue value = values[slot] == null ? null : values[slot].get();
+            if (value == null) {
+                value = new ReturnValue(key);
+                values[slot] = new WeakReference<>(value);
+            }
+            return value;
+        }
+
+        synchronized int liveCount() {
+            int live = 0;
+            for (WeakReference<String> key : keys) {
+                if (key != null && key.get() != null) {
+                    live++;
+                }
+            }
+            return live;
+        }
+
+        /**
+         * name과 같은 키가 살아 있는 슬롯을 찾습니다. 없으면 삽입할 슬롯 i를 -(i + 1)로 반환합니다.
+         */
+        private int slotOf(String name, int hash) {
+            int mask = keys.length - 1;
+            int reusable = -1;
+            for (int i = hash & mask; ; i = (i + 1) & mask) {
+                WeakReference<String> reference = keys[i];
+                if (reference == null) {
+                    return -(reusable >= 0 ? reusable : i) - 1;
+                }
+                String key = reference.get();
+                if (key == null) {
+                    if (reusable < 0) {
+                        reusable = i;
+                    }
+                } else if (hashes[i] == hash && key.equals(name)) {
+                    return i;
+                }
+            }
+        }
+
+        /**
+         * slotOf가 반환한 자리에 name을 키로 넣고 실제로 넣은 슬롯을 반환합니다.
+         * 찾은 슬롯의 키가 그 사이에 회수되었으면 그 자리를 그대로 씁니다.
+         */
+        private int put(int slot, String name, int hash) {
+            int i = slot >= 0 ? slot : -slot - 1;
+            if (keys[i] == null) {
+                if ((used + 1) * 4 > keys.length * 3) {
+                    rehash();
+                    i = emptySlot(hash);
+                }
+                used++;
+            }
+            keys[i] = new WeakReference<>(name);
+            values[i] = null;
+            hashes[i] = hash;
+            return i;
+        }
+
+        private int emptySlot(int hash) {
+            int mask = keys.length - 1;
+            int i = hash & mask;
+            while (keys[i] != null) {
+                i = (i + 1) & mask;
+            }
+            return i;
+        }
+
+        private void rehash() {
+            WeakReference<String>[] oldKeys = keys;
+            WeakReference<ReturnValue>[] oldValues = values;
+            int[] oldHashes = hashes;
+            int live = liveCount();
+            // 살아 있는 항목이 절반을 넘을 때만 키우고, 아니면 같은 크기로 다시 만들어 빈 참조만 정리합니다.
+            int capacity = live * 2 > oldKeys.length ? oldKeys.length * 2 : oldKeys.length;
+            keys = newSlots(capacity);
+            values = newSlots(capacity);
+            hashes = new int[capacity];
+            used = 0;
+            for (int i = 0; i < oldKeys.length; i++) {
+                if (oldKeys[i] != null && oldKeys[i].get() != null) {
+                    int slot = emptySlot(oldHashes[i]);
+                    keys[slot] = oldKeys[i];
+                    values[slot] = oldValues[i];
+                    hashes[slot] = oldHashes[i];
+                    used++;
+                }
+            }
+        }
+
+        @SuppressWarnings("unchecked")
+        private static <T> WeakReference<T>[] newSlots(int capacity) {
+            return (WeakReference<T>[]) new WeakReference<?>[capacity];
+        }
+    }
+}
@@ -0,0 +1,199 @@
+package com.line.review.episode6;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.function.UnaryOperator;
+
+/**
+ * 대량의 연락처를 fork/join으로 나눠 필터 -> 정규화하는 파이프라인
+ *
+ * 두 단계로 처리합니다.
+ * 1. 청크별로 친구 수만 센다 (정규화 없음)
+ * 2. 누적 합으로 각 청크의 출력 위치를 정하고, 미리 크기를 맞춘 배열에 청크별로 병렬 기록한다
+ *
+ * 출력 위치가 청크 순서대로 정해지므로 입력 순서가 추가 비용 없이 유지됩니다.
+ */
+final class ParallelContactPipeline {
+
+    /** 이보다 작은 입력은 포크하지 않고 현재 스레드에서 처리합니다. */
+    static final int SEQUENTIAL_THRESHOLD = 8_192;
+
+    private final UnaryOperator<String> normalizer;
+    private final Function<String, ReturnValue> returnValueFactory;
+    private final ForkJoinPool pool;
+
+    ParallelContactPipeline(UnaryOperator<String> normalizer, Function<String, ReturnValue> returnValueFactory,
+                            ForkJoinPool pool) {
+        this.normalizer = normalizer;
+        this.returnValueFactory = returnValueFactory;
+        this.pool = pool;
+    }
+
+    ReturnValue[] process(List<? extends ContactModel> contacts) {
+        int size = contacts.size();
+        if (size == 0) {
+            return new ReturnValue[0];
+        }
+        int chunkSize = chunkSize(size);
+        int chunkCount = (size + chunkSize - 1) / chunkSize;
+
+        int[] offsets = new int[chunkCount + 1];
+        if (chunkCount == 1) {
+            offsets[1] = countFriends(contacts, 0, size);
+        } else {
+            pool.invoke(new CountTask(contacts, chunkSize, offsets, 0, chunkCount));
+            // offsets[c + 1]에 청크 c의 친구 수가 들어 있으므로 누적 합으로 바꿉니다.
+            for (int c = 0; c < chunkCount; c++) {
+                offsets[c + 1] += offsets[c];
+            }
+        }
+
+        ReturnValue[] results = new ReturnValue[offsets[chunkCount]];
+        LongAdder nullCount = new LongAdder();
+        if (chunkCount == 1) {
+            nullCount.add(writeFriends(contacts, 0, size, results, 0));
+        } else {
+            pool.invoke(new WriteTask(contacts, chunkSize, offsets, results, nullCount, 0, chunkCount));
+        }
+        return nullCount.sum() == 0 ? results : compact(results);
+    }
+
+    private int chunkSize(int size) {
+        if (size <= SEQUENTIAL_THRESHOLD) {
+            return Math.max(1, size);
+        }
+        // 작업 훔치기가 부하를 고르게 나눌 수 있도록 워커 수보다 충분히 많은 청크로 나눕니다.
+        int targetChunks = pool.getParallelism() * 8;
+        return Math.max(SEQUENTIAL_THRESHOLD / 4, (size + targetChunks - 1) / targetChunks);
+    }
+
+    /**
+     * processContactGood과 같이 표시 이름이 null이어도 정규화 함수에 넘기고, 결과가 null일 때만 뺍니다.
+     */
+    private static boolean isFriend(ContactModel contact) {
+        return contact instanceof ContactModel.Person person && person.isFriend();
+    }
+
+    private static int countFriends(List<? extends ContactModel> contacts, int from, int to) {
+        int count = 0;
+        for (int i = from; i < to; i++) {
+            if (isFriend(contacts.get(i))) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * @return 정규화 함수가 null을 반환한 수
+     */
+    private int writeFriends(List<? extends ContactModel> contacts, int from, int to,
+                             ReturnValue[] results, int offset) {
+        int nulls = 0;
+        for (int i = from; i < to; i++) {
+            ContactModel contact = contacts.get(i);
+            if (!isFriend(contact)) {
+                continue;
+            }
+            String friendName = normalizer.apply(((ContactModel.Person) contact).getDisplayName());
+            if (friendName == null) {
+                nulls++;
+            }
+            results[offset++] = friendName == null ? null : returnValueFactory.apply(friendName);
+        }
+        return nulls;
+    }
+
+    private static ReturnValue[] compact(ReturnValue[] results) {
+        return Arrays.stream(results)
+                .filter(Objects::nonNull)
+                .toArray(ReturnValue[]::new);
+    }
+
+    /**
+     * 청크 [fromChunk, toChunk)의 친구 수를 센다
+     */
+    private static final class CountTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        // 작업은 직렬화하지 않으므로 직렬화할 수 없는 필드는 transient로 둔다
+        private final transient List<? extends ContactModel> contacts;
+        private final int chunkSize;
+        private final int[] counts;
+        private final int fromChunk;
+        private final int toChunk;
+
+        CountTask(List<? extends ContactModel> contacts, int chunkSize, int[] counts, int fromChunk, int toChunk) {
+            this.contacts = contacts;
+            this.chunkSize = chunkSize;
+            this.counts = counts;
+            this.fromChunk = fromChunk;
+            this.toChunk = toChunk;
+        }
+
+        @Override
+        protected void compute() {
+            if (toChunk - fromChunk == 1) {
+                int from = fromChunk * chunkSize;
+                int to = Math.min(contacts.size(), from + chunkSize);
+                counts[fromChunk + 1] = countFriends(contacts, from, to);
+                return;
+            }
+            int middle = (fromChunk + toChunk) >>> 1;
+            invokeAll(
+                    new CountTask(contacts, chunkSize, counts, fromChunk, middle),
+                    new CountTask(contacts, chunkSize, counts, middle, toChunk)
+            );
+        }
+    }
+
+    /**
+     * 청크 [fromChunk, toChunk)의 친구 이름을 정규화해 offsets 위치에 기록한다
+     */
+    private final class WriteTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        // 작업은 직렬화하지 않으므로 직렬화할 수 없는 필드는 transient로 둔다
+        private final transient List<? extends ContactModel> contacts;
+        private final int chunkSize;
+        private final int[] offsets;
+        private final transient ReturnValue[] results;
+        private final LongAdder nullCount;
+        private final int fromChunk;
+        private final int toChunk;
+
+        WriteTask(List<? extends ContactModel> contacts, int chunkSize, int[] offsets, ReturnValue[] results,
+                  LongAdder nullCount, int fromChunk, int toChunk) {
+            this.contacts = contacts;
+            this.chunkSize = chunkSize;
+            this.offsets = offsets;
+            this.results = results;
+            this.nullCount = nullCount;
+            this.fromChunk = fromChunk;
+            this.toChunk = toChunk;
+        }
+
+        @Override
+        protected void compute() {
+            if (toChunk - fromChunk == 1) {
+                int from = fromChunk * chunkSize;
+                int to = Math.min(contacts.size(), from + chunkSize);
+                int nulls = writeFriends(contacts, from, to, results, offsets[fromChunk]);
+                if (nulls > 0) {
+                    nullCount.add(nulls);
+                }
+                return;
+            }
+            int middle = (fromChunk + toChunk) >>> 1;
+            invokeAll(
+                    new WriteTask(contacts, chunkSize, offsets, results, nullCount, fromChunk, middle),
+                    new WriteTask(contacts, chunkSize, offsets, results, nullCount, middle, toChunk)
+            );
+        }
+    }
+}
@@ -0,0 +1,248 @@
+package com.line.review.episode6;
+
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.util.Objects;
+
+/**
+ * UTF-8 바이트를 String으로 디코딩하지 않고 이모지를 제거하는 정규화기
+ *
+ * 수집 계층에서 받은 UTF-8 표시 이름을 디코딩 -> normalizeEmoji -> 인코딩하던 과정을
+ * 바이트 단위 처리 한 번으로 대신합니다. 인식하는 이모지 시퀀스와 결과는
+ * {@link EmojiNormalizer#normalizeEmoji(String)}를 UTF-8로 인코딩한 것과 같습니다.
+ *
+ * 결과는 입력보다 길어지지 않으므로 출력 버퍼는 입력 길이만큼만 있으면 되고,
+ * 입력과 같은 위치에 덮어써도 됩니다. 잘못된 UTF-8 바이트는 그대로 복사합니다.
+ */
+public final class Utf8EmojiNormalizer {
+
+    /**
+     * 이모지 시퀀스를 시작할 수 있는 바이트 (ASCII의 [0-9#*]와 이모지 관련 문자의 첫 바이트)
+     * 이 밖의 바이트는 디코딩하지 않고 바로 복사합니다.
+     */
+    private static final boolean[] CANDIDATE_LEAD = candidateLeads();
+
+    /** 힙 배열이 없는 ByteBuffer를 처리할 때 쓰는 스레드별 버퍼 */
+    private static final ThreadLocal<byte[]> SCRATCH = ThreadLocal.withInitial(() -> new byte[256]);
+
+    private Utf8EmojiNormalizer() {
+    }
+
+    /**
+     * src[from, to)의 이모지를 제거해 dst[dstOffset, ...)에 씁니다.
+     *
+     * @param dst 결과를 쓸 배열. dstOffset부터 to - from 바이트 이상의 공간이 있어야 합니다.
+     *            src와 같은 배열이고 dstOffset이 from 이하면 제자리에서 처리됩니다.
+     * @return 쓴 바이트 수
+     */
+    public static int normalize(byte[] src, int from, int to, byte[] dst, int dstOffset) {
+        Objects.checkFromToIndex(from, to, src.length);
+        Objects.checkFromIndexSize(dstOffset, to - from, dst.length);
+        int write = dstOffset;
+        int i = from;
+        while (i < to) {
+            // 후보가 아닌 바이트는 구간째 복사합니다.
+            int run = i;
+            while (run < to && !CANDIDATE_LEAD[src[run] & 0xFF]) {
+                run++;
+            }
+            if (run > i) {
+                System.arraycopy(src, i, dst, write, run - i);
+                write += run - i;
+                i = run;
+                if (i == to) {
+                    break;
+                }
+            }
+            int end = emojiSequenceEnd(src, i, to);
+            if (end > i) {
+                i = end;
+                continue;
+            }
+            dst[write++] = src[i++];
+        }
+        return write - dstOffset;
+    }
+
+    /**
+     * src의 남은 바이트에서 이모지를 제거해 dst에 씁니다.
+     * src는 limit까지, dst는 쓴 만큼 position이 이동합니다.
+     *
+     * @return 쓴 바이트 수
+     * @throws BufferOverflowException dst의 남은 공간이 src의 남은 바이트보다 적으면 (아무것도 읽거나 쓰지 않습니다)
+     */
+    public static int normalize(ByteBuffer src, ByteBuffer dst) {
+        int length = src.remaining();
+        if (dst.remaining() < length) {
+            throw new BufferOverflowException();
+        }
+        int written;
+        if (src.hasArray() && dst.hasArray()) {
+            written = normalize(src.array(), src.arrayOffset() + src.position(), src.arrayOffset() + src.limit(),
+                    dst.array(), dst.arrayOffset() + dst.position());
+        } else {
+            // 다이렉트 버퍼는 스레드별 버퍼로 복사해 제자리에서 처리한 뒤 옮겨 씁니다.
+            byte[] scratch = SCRATCH.get();
+            if (scratch.length < length) {
+                scratch = new byte[Math.max(length, scratch.length * 2)];
+                SCRATCH.set(scratch);
+            }
+            src.get(src.position(), scratch, 0, length);
+            written = normalize(scratch, 0, length, scratch, 0);
+            dst.put(dst.position(), scratch, 0, written);
+        }
+        src.position(src.limit());
+        dst.position(dst.position() + written);
+        return written;
+    }
+
+    /**
+     * start에서 시작하는 이모지 시퀀스의 끝(exclusive)을 반환합니다.
+     * 인식 규칙은 {@link EmojiNormalizer#emojiSequenceEnd(CharSequence, int, int)}와 같습니다.
+     *
+     * @return 이모지 시퀀스가 아니면 start
+     */
+    static int emojiSequenceEnd(byte[] text, int start, int limit) {
+        int codePoint = codePointAt(text, start, limit);
+        if (codePoint < 0) {
+            return start;
+        }
+        int i = start + utf8Length(codePoint);
+
+        switch (EmojiTable.classOf(codePoint)) {
+            case EmojiTable.KEYCAP_BASE -> {
+                if (startsWith(text, i, limit, 0xFE0F)) {
+                    i += 3;
+                }
+                return startsWith(text, i, limit, 0x20E3) ? i + 3 : start;
+            }
+            case EmojiTable.VARIATION_SELECTOR, EmojiTable.KEYCAP -> {
+                return i;
+            }
+            case EmojiTable.REGIONAL_INDICATOR -> {
+                int next = codePointAt(text, i, limit);
+                if (next >= 0 && EmojiTable.classOf(next) == EmojiTable.REGIONAL_INDICATOR) {
+                    i += 4;
+                }
+                return i;
+            }
+            case EmojiTable.PICTOGRAPH -> {
+                // ©, ™, ‼ 처럼 텍스트로 표시되는 그림 문자는 U+FE0F나 피부색이 붙은 경우에만 이모지로 봅니다.
+                if (EmojiTable.isTextDefault(codePoint) && !startsWith(text, i, limit, 0xFE0F)) {
+                    int next = codePointAt(text, i, limit);
+                    if (next < 0 || EmojiTable.classOf(next) != EmojiTable.MODIFIER) {
+                        return start;
+                    }
+                }
+                return consumeExtendersAndJoins(text, i, limit);
+            }
+            case EmojiTable.MODIFIER -> {
+                return consumeExtendersAndJoins(text, i, limit);
+            }
+            default -> {
+                return start;
+            }
+        }
+    }
+
+    private static int consumeExtendersAndJoins(byte[] text, int i, int limit) {
+        while (i < limit) {
+            int codePoint = codePointAt(text, i, limit);
+            if (codePoint < 0) {
+                break;
+            }
+            byte type = EmojiTable.classOf(codePoint);
+            if (type == EmojiTable.VARIATION_SELECTOR || type == EmojiTable.MODIFIER
+                    || type == EmojiTable.TAG || type == EmojiTable.KEYCAP) {
+                i += utf8Length(codePoint);
+                continue;
+            }
+            if (type == EmojiTable.ZWJ) {
+                int joined = codePointAt(text, i + 3, limit);
+                if (joined >= 0 && EmojiTable.classOf(joined) == EmojiTable.PICTOGRAPH) {
+                    i += 3 + utf8Length(joined);
+                    continue;
+                }
+            }
+            break;
+        }
+        return i;
+    }
+
+    /**
+     * text[index, limit)의 첫 코드 포인트가 BMP 문자 c(3바이트 UTF-8)인지 확인합니다.
+     */
+    private static boolean startsWith(byte[] text, int index, int limit, int c) {
+        return index + 3 <= limit
+                && text[index] == (byte) (0xE0 | (c >>> 12))
+                && text[index + 1] == (byte) (0x80 | ((c >>> 6) & 0x3F))
+                && text[index + 2] == (byte) (0x80 | (c & 0x3F));
+    }
+
+    /**
+     * index에서 시작하는 UTF-8 코드 포인트를 디코딩합니다.
+     *
+     * @return 코드 포인트, limit을 넘거나 올바른 UTF-8이 아니면 -1
+     */
+    static int codePointAt(byte[] text, int index, int limit) {
+        if (index >= limit) {
+            return -1;
+        }
+        int b0 = text[index] & 0xFF;
+        if (b0 < 0x80) {
+            return b0;
+        }
+        if (b0 < 0xC2) {
+            return -1;
+        }
+        if (b0 < 0xE0) {
+            if (index + 2 > limit || !isContinuation(text[index + 1])) {
+                return -1;
+            }
+            return ((b0 & 0x1F) << 6) | (text[index + 1] & 0x3F);
+        }
+        if (b0 < 0xF0) {
+            if (index + 3 > limit || !isContinuation(text[index + 1]) || !isContinuation(text[index + 2])) {
+                return -1;
+            }
+            int codePoint = ((b0 & 0x0F) << 12) | ((text[index + 1] & 0x3F) << 6) | (text[index + 2] & 0x3F);
+            // 짧게 쓸 수 있는 값을 길게 쓴 것과 서로게이트는 올바른 UTF-8이 아닙니다.
+            return codePoint < 0x800 || Character.isSurrogate((char) codePoint) ? -1 : codePoint;
+        }
+        if (b0 < 0xF5) {
+            if (index + 4 > limit || !isContinuation(text[index + 1])
+                    || !isContinuation(text[index + 2]) || !isContinuation(text[index + 3])) {
+                return -1;
+            }
+            int codePoint = ((b0 & 0x07) << 18) | ((text[index + 1] & 0x3F) << 12)
+                    | ((text[index + 2] & 0x3F) << 6) | (text[index + 3] & 0x3F);
+            return codePoint < 0x10000 || codePoint > Character.MAX_CODE_POINT ? -1 : codePoint;
+        }
+        return -1;
+    }
+
+    private static boolean isContinuation(byte b) {
+        return (b & 0xC0) == 0x80;
+    }
+
+    private static int utf8Length(int codePoint) {
+        return codePoint < 0x80 ? 1 : codePoint < 0x800 ? 2 : codePoint < 0x10000 ? 3 : 4;
+    }
+
+    private static boolean[] candidateLeads() {
+        boolean[] leads = new boolean[256];
+        for (int codePoint = 0; codePoint <= Character.MAX_CODE_POINT; codePoint++) {
+            if (Character.isSurrogate((char) codePoint) && codePoint <= 0xFFFF) {
+                continue;
+            }
+            if (EmojiTable.classOf(codePoint) != EmojiTable.NONE) {
+                int lead = codePoint < 0x80 ? codePoint
+                        : codePoint < 0x800 ? 0xC0 | (codePoint >>> 6)
+                        : codePoint < 0x10000 ? 0xE0 | (codePoint >>> 12)
+                        : 0xF0 | (codePoint >>> 18);
+                leads[lead] = true;
+            }
+        }
+        return leads;
+    }
+}
@@ -0,0 +1,137 @@
+package com.line.review.episode21;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * FooVideoPlayerOption3.prepareAsync 테스트
+ */
+class FooVideoPlayerOption3AsyncTest {
+
+    private final Uri uri = new Uri("https://example.com/video.mp4");
+
+    @Test
+    void shouldPrepareOnVirtualThreadByDefault() throws Exception {
+        // Given
+        AtomicBoolean virtual = new AtomicBoolean();
+        FooVideoPlayerOption3 player = new FooVideoPlayerOption3(uri) {
+            @Override
+            public PreparedFooVideoPlayer prepare() {
+                virtual.set(Thread.currentThread().isVirtual());
+                return super.prepare();
+            }
+        };
+
+        // When
+        PreparedFooVideoPlayer prepared = player.prepareAsync().get(5, TimeUnit.SECONDS);
+
+        // Then
+        assertThat(prepared).isNotNull();
+        assertThat(virtual).isTrue();
+    }
+
+    @Test
+    void shouldNotPrepareWhenCancelledBeforeStart() {
+        // Given: 작업을 쌓아 두기만 하는 실행기
+        List<Runnable> queued = new ArrayList<>();
+        AtomicInteger prepareCount = new AtomicInteger();
+        FooVideoPlayerOption3 player = new FooVideoPlayerOption3(uri) {
+            @Override
+            public PreparedFooVideoPlayer prepare() {
+                prepareCount.incrementAndGet();
+                return super.prepare();
+            }
+        };
+        CompletableFuture<PreparedFooVideoPlayer> future = player.prepareAsync(queued::add);
+
+        // When: 시청자가 화면을 떠난 뒤 실행기가 작업을 꺼냄
+        future.cancel(true);
+        queued.forEach(Runnable::run);
+
+        // Then
+        assertThat(future).isCancelled();
+        assertThat(prepareCount).hasValue(0);
+    }
+
+    @Test
+    void shouldInterruptRunningPrepareWhenCancelled() throws Exception {
+        // Given
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch interrupted = new CountDownLatch(1);
+        FooVideoPlayerOption3 player = new FooVideoPlayerOption3(uri) {
+            @Override
+            public PreparedFooVideoPlayer prepare() {
+                started.countDown();
+                try {
+                    Thread.sleep(TimeUnit.MINUTES.toMillis(1));
+                } catch (InterruptedException e) {
+                    interrupted.countDown();
+                    throw new IllegalStateException(e);
+                }
+                return super.prepare();
+            }
+        };
+        CompletableFuture<PreparedFooVideoPlayer> future = player.prepareAsync();
+        started.await();
+
+        // When
+        future.cancel(true);
+
+        // Then
+        assertThat(interrupted.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThatThrownBy(future::join).isInstanceOf(CancellationException.class);
+    }
+
+    @Test
+    void shouldStopPrepareWhenTimedOut() throws Exception {
+        // Given
+        CountDownLatch interrupted = new CountDownLatch(1);
+        FooVideoPlayerOption3 player = new FooVideoPlayerOption3(uri) {
+            @Override
+            public PreparedFooVideoPlayer prepare() {
+                try {
+                    Thread.sleep(TimeUnit.MINUTES.toMillis(1));
+                } catch (InterruptedException e) {
+                    interrupted.countDown();
+                    throw new IllegalStateException(e);
+                }
+                return super.prepare();
+            }
+        };
+
+        // When: future가 시간 초과로 완료되면 준비도 멈춤
+        CompletableFuture<PreparedFooVideoPlayer> future = player.prepareAsync().orTimeout(10, TimeUnit.MILLISECONDS);
+
+        // Then
+        assertThat(interrupted.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(future).isCompletedExceptionally();
+    }
+
+    @Test
+    void shouldPropagatePrepareFailure() {
+        // Given
+        FooVideoPlayerOption3 player = new FooVideoPlayerOption3(uri) {
+            @Override
+            public PreparedFooVideoPlayer prepare() {
+                throw new IllegalStateException("codec unavailable");
+            }
+        };
+
+        // When & Then
+        assertThatThrownBy(() -> player.prepareAsync(Runnable::run).get())
+                .isInstanceOf(ExecutionException.class)
+                .hasRootCauseMessage("codec unavailable");
+    }
+}
@@ -0,0 +1,123 @@
+package com.line.review.episode21;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Lazy 테스트
+ */
+class LazyTest {
+
+    @Test
+    void shouldRunSupplierOnceForConcurrentCallers() throws Exception {
+        // Given: 첫 호출자가 준비하는 동안 1,000개의 가상 스레드가 동시에 접근
+        AtomicInteger calls = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        Lazy<PreparedValue> lazy = Lazy.of(() -> {
+            calls.incrementAndGet();
+            return new PreparedValue("prepared-" + calls.get());
+        });
+        List<Future<PreparedValue>> futures = new ArrayList<>();
+
+        // When
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < 1_000; i++) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    return lazy.get();
+                }));
+            }
+            start.countDown();
+        }
+
+        // Then
+        assertThat(calls).hasValue(1);
+        for (Future<PreparedValue> future : futures) {
+            assertThat(future.get()).isSameAs(lazy.get());
+        }
+        assertThat(lazy.isInitialized()).isTrue();
+    }
+
+    @Test
+    void shouldRetryAfterFailure() {
+        // Given
+        AtomicInteger calls = new AtomicInteger();
+        Lazy<PreparedValue> lazy = Lazy.of(() -> {
+            if (calls.incrementAndGet() == 1) {
+                throw new IllegalStateException("network unavailable");
+            }
+            return new PreparedValue("prepared");
+        });
+
+        // When & Then
+        assertThatThrownBy(lazy::get).hasMessage("network unavailable");
+        assertThat(lazy.isInitialized()).isFalse();
+        assertThat(lazy.get()).isEqualTo(new PreparedValue("prepared"));
+        assertThat(lazy.get()).isSameAs(lazy.get());
+        assertThat(calls).hasValue(2);
+    }
+
+    @Test
+    void shouldShareFailureWithWaitingCallers() throws Exception {
+        // Given
+        CountDownLatch entered = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Lazy<PreparedValue> lazy = Lazy.of(() -> {
+            entered.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            throw new IllegalStateException("network unavailable");
+        });
+        AtomicReference<Throwable> waiterFailure = new AtomicReference<>();
+
+        // When
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            Future<?> owner = executor.submit(lazy::get);
+            entered.await();
+            Future<?> waiter = executor.submit(() -> {
+                try {
+                    lazy.get();
+                } catch (RuntimeException e) {
+                    waiterFailure.set(e);
+                }
+            });
+            // 기다리는 쪽이 진행 중인 초기화에 합류할 시간을 줍니다 (늦게 와서 다시 시도해도 같은 예외를 받습니다).
+            Thread.sleep(20);
+            release.countDown();
+            waiter.get();
+            assertThatThrownBy(owner::get).hasRootCauseMessage("network unavailable");
+        }
+
+        // Then
+        assertThat(waiterFailure.get()).hasMessage("network unavailable");
+    }
+
+    @Test
+    void shouldRejectRecursiveInitialization() {
+        AtomicReference<Lazy<PreparedValue>> self = new AtomicReference<>();
+        self.set(Lazy.of(() -> self.get().get()));
+
+        assertThatThrownBy(() -> self.get().get()).isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    void shouldRejectNullValue() {
+        Lazy<PreparedValue> lazy = Lazy.of(() -> null);
+
+        assertThatThrownBy(lazy::get).isInstanceOf(NullPointerException.class);
+    }
+}
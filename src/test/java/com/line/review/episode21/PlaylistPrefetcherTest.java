@@ -0,0 +1,155 @@
+package com.line.review.episode21;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * PlaylistPrefetcher 테스트
+ */
+class PlaylistPrefetcherTest {
+
+    private final List<Uri> playlist = new ArrayList<>();
+    /** 준비가 실행된 Uri (실행 순서대로) */
+    private final Queue<Uri> prepared = new ConcurrentLinkedQueue<>();
+    /** 작업을 쌓아 두기만 하는 실행기. runQueued()로 미리 준비를 끝냅니다. */
+    private final List<Runnable> queued = new ArrayList<>();
+    private final Executor executor = queued::add;
+    private final Function<Uri, FooVideoPlayerOption3> playerFactory = uri -> new FooVideoPlayerOption3(uri) {
+        @Override
+        public PreparedFooVideoPlayer prepare() {
+            prepared.add(uri);
+            return super.prepare();
+        }
+    };
+
+    PlaylistPrefetcherTest() {
+        for (int i = 0; i < 10; i++) {
+            playlist.add(new Uri("https://example.com/playlist/" + i));
+        }
+    }
+
+    @Test
+    void shouldPlayPrefetchedPlayerWithoutPreparingAgain() {
+        // Given: 첫 항목을 재생하면 다음 두 항목을 미리 준비
+        PlaylistPrefetcher prefetcher = new PlaylistPrefetcher(playlist, 2, playerFactory, executor, () -> 0.0);
+        prefetcher.play(0);
+        assertThat(queued).hasSize(2);
+        runQueued();
+
+        // When
+        prepared.clear();
+        prefetcher.play(1);
+
+        // Then: 1번은 다시 준비하지 않고, 창이 밀려 3번만 새로 미리 준비
+        assertThat(prepared).isEmpty();
+        assertThat(queued).hasSize(1);
+        runQueued();
+        assertThat(prepared).containsExactly(playlist.get(3));
+        PlaylistPrefetcher.Stats stats = prefetcher.stats();
+        assertThat(stats.readyCount()).isEqualTo(1);
+        assertThat(stats.missCount()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldCancelStalePrefetchesOnSkip() {
+        // Given: 1, 2번 미리 준비가 아직 시작하지 않음
+        PlaylistPrefetcher prefetcher = new PlaylistPrefetcher(playlist, 2, playerFactory, executor, () -> 0.0);
+        prefetcher.play(0);
+
+        // When: 5번으로 건너뜀
+        prefetcher.play(5);
+        runQueued();
+
+        // Then: 1, 2번은 준비하지 않고 6, 7번만 준비
+        assertThat(prepared).containsExactly(playlist.get(0), playlist.get(5), playlist.get(6), playlist.get(7));
+        assertThat(prefetcher.stats().cancelledCount()).isEqualTo(2);
+        assertThat(prefetcher.stats().missCount()).isEqualTo(2);
+    }
+
+    @Test
+    void shouldShrinkWindowUnderCpuPressure() {
+        // Given
+        double[] cpuLoad = {0.5};
+        PlaylistPrefetcher prefetcher = new PlaylistPrefetcher(playlist, 4, playerFactory, executor,
+                () -> cpuLoad[0]);
+        assertThat(prefetcher.effectiveWindow()).isEqualTo(4);
+
+        // When & Then: 0.7과 0.95의 중간이면 창이 절반
+        cpuLoad[0] = 0.825;
+        assertThat(prefetcher.effectiveWindow()).isEqualTo(2);
+        prefetcher.play(0);
+        assertThat(queued).hasSize(2);
+
+        // When & Then: 0.95 이상이면 건너뛰어도 새로 미리 준비하지 않음
+        cpuLoad[0] = 0.99;
+        prefetcher.play(5);
+        assertThat(queued).hasSize(2);
+        assertThat(prefetcher.stats().cancelledCount()).isEqualTo(2);
+        runQueued();
+        assertThat(prepared).containsExactly(playlist.get(0), playlist.get(5));
+    }
+
+    @Test
+    void shouldPrepareOnPlayWhenPrefetchFailed() {
+        // Given: 1번의 첫 준비만 실패
+        boolean[] failed = {false};
+        PlaylistPrefetcher prefetcher = new PlaylistPrefetcher(playlist, 1, uri -> new FooVideoPlayerOption3(uri) {
+            @Override
+            public PreparedFooVideoPlayer prepare() {
+                if (uri.equals(playlist.get(1)) && !failed[0]) {
+                    failed[0] = true;
+                    throw new IllegalStateException("network unavailable");
+                }
+                return super.prepare();
+            }
+        }, Runnable::run, () -> 0.0);
+        prefetcher.play(0);
+
+        // When
+        PreparedFooVideoPlayer player = prefetcher.play(1);
+
+        // Then
+        assertThat(player).isNotNull();
+        assertThat(prefetcher.stats().missCount()).isEqualTo(2);
+        assertThat(prefetcher.stats().readyCount()).isZero();
+    }
+
+    @Test
+    void shouldCancelAllPrefetchesOnClose() {
+        // Given
+        PlaylistPrefetcher prefetcher = new PlaylistPrefetcher(playlist, 3, playerFactory, executor, () -> 0.0);
+        prefetcher.play(0);
+
+        // When
+        prefetcher.close();
+        runQueued();
+
+        // Then
+        assertThat(prepared).containsExactly(playlist.get(0));
+        assertThat(prefetcher.stats().cancelledCount()).isEqualTo(3);
+    }
+
+    @Test
+    void shouldRejectInvalidArguments() {
+        assertThatThrownBy(() -> new PlaylistPrefetcher(playlist, -1))
+                .isInstanceOf(IllegalArgumentException.class);
+        PlaylistPrefetcher prefetcher = new PlaylistPrefetcher(playlist, 1, playerFactory, executor, () -> 0.0);
+        assertThatThrownBy(() -> prefetcher.play(playlist.size()))
+                .isInstanceOf(IndexOutOfBoundsException.class);
+    }
+
+    private void runQueued() {
+        List<Runnable> tasks = new ArrayList<>(queued);
+        queued.clear();
+        tasks.forEach(Runnable::run);
+    }
+}
@@ -0,0 +1,182 @@
+package com.line.review.episode21;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * PreparedPlayerCache 테스트
+ */
+class PreparedPlayerCacheTest {
+
+    private final Uri uri = new Uri("https://example.com/video.mp4");
+
+    @Test
+    void shouldPrepareOnceForConcurrentRequests() throws Exception {
+        // Given: 준비가 끝나지 않도록 막아 둔 상태에서 1,000개의 가상 스레드가 같은 Uri를 요청
+        AtomicInteger prepareCount = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+        PreparedPlayerCache cache = new PreparedPlayerCache(10, Duration.ofMinutes(1), videoUri -> {
+            prepareCount.incrementAndGet();
+            await(release);
+            return new FooVideoPlayerOption3(videoUri).prepare();
+        });
+        List<Future<PreparedFooVideoPlayer>> futures = new ArrayList<>();
+
+        // When
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < 1_000; i++) {
+                futures.add(executor.submit(() -> cache.get(uri)));
+            }
+            while (cache.stats().missCount() + cache.stats().coalescedCount() < 1_000) {
+                Thread.sleep(1);
+            }
+            release.countDown();
+        }
+
+        // Then: 모두 같은 인스턴스를 공유
+        PreparedFooVideoPlayer first = futures.get(0).get();
+        for (Future<PreparedFooVideoPlayer> future : futures) {
+            assertThat(future.get()).isSameAs(first);
+        }
+        assertThat(prepareCount).hasValue(1);
+        assertThat(cache.stats().missCount()).isEqualTo(1);
+        assertThat(cache.stats().coalescedCount()).isEqualTo(999);
+        assertThat(cache.get(uri)).isSameAs(first);
+        assertThat(cache.stats().hitCount()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldPropagateFailureToWaitersAndRetryLater() throws Exception {
+        // Given
+        AtomicInteger prepareCount = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+        PreparedPlayerCache cache = new PreparedPlayerCache(10, Duration.ofMinutes(1), videoUri -> {
+            if (prepareCount.incrementAndGet() == 1) {
+                await(release);
+                throw new IllegalStateException("codec unavailable");
+            }
+            return new FooVideoPlayerOption3(videoUri).prepare();
+        });
+
+        // When
+        List<Future<PreparedFooVideoPlayer>> futures = new ArrayList<>();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < 10; i++) {
+                futures.add(executor.submit(() -> cache.get(uri)));
+            }
+            while (cache.stats().missCount() + cache.stats().coalescedCount() < 10) {
+                Thread.sleep(1);
+            }
+            release.countDown();
+        }
+
+        // Then: 기다리던 호출자도 같은 예외를 받고, 실패는 캐시되지 않음
+        for (Future<PreparedFooVideoPlayer> future : futures) {
+            assertThatThrownBy(future::get).hasRootCauseMessage("codec unavailable");
+        }
+        assertThat(cache.get(uri)).isNotNull();
+        assertThat(prepareCount).hasValue(2);
+    }
+
+    @Test
+    void shouldPrepareAgainAfterTimeToLive() {
+        // Given
+        AtomicLong now = new AtomicLong();
+        AtomicInteger prepareCount = new AtomicInteger();
+        PreparedPlayerCache cache = new PreparedPlayerCache(10, Duration.ofSeconds(30), videoUri -> {
+            prepareCount.incrementAndGet();
+            return new FooVideoPlayerOption3(videoUri).prepare();
+        }, now::get);
+        PreparedFooVideoPlayer first = cache.get(uri);
+
+        // When & Then
+        now.addAndGet(TimeUnit.SECONDS.toNanos(29));
+        assertThat(cache.get(uri)).isSameAs(first);
+        now.addAndGet(TimeUnit.SECONDS.toNanos(1));
+        assertThat(cache.get(uri)).isNotSameAs(first);
+        assertThat(prepareCount).hasValue(2);
+    }
+
+    @Test
+    void shouldNotKeepReplacedOrInvalidatedEntriesInClock() {
+        // Given: 항목 100개가 유효 기간마다 다시 준비됨
+        AtomicLong now = new AtomicLong();
+        PreparedPlayerCache cache = new PreparedPlayerCache(100, Duration.ofSeconds(30),
+                videoUri -> new FooVideoPlayerOption3(videoUri).prepare(), now::get);
+        List<Uri> uris = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            uris.add(new Uri("https://example.com/" + i));
+        }
+
+        // When
+        for (int round = 0; round < 1_000; round++) {
+            uris.forEach(cache::get);
+            now.addAndGet(TimeUnit.SECONDS.toNanos(30));
+        }
+
+        // Then: 교체된 항목은 큐에서 빠져 큐 길이가 항목 수의 두 배 안팎으로 유지됨
+        assertThat(cache.stats().size()).isEqualTo(100);
+        assertThat(cache.clockSize()).isLessThanOrEqualTo(201);
+
+        // When & Then: invalidate한 항목은 바로 큐에서 빠짐
+        PreparedPlayerCache fresh = new PreparedPlayerCache(100, Duration.ofMinutes(1));
+        uris.forEach(fresh::get);
+        uris.forEach(fresh::invalidate);
+        assertThat(fresh.stats().size()).isZero();
+        assertThat(fresh.clockSize()).isZero();
+    }
+
+    @Test
+    void shouldEvictEntriesNotUsedRecently() {
+        // Given
+        PreparedPlayerCache cache = new PreparedPlayerCache(3, Duration.ofMinutes(1));
+        Uri a = new Uri("a");
+        Uri b = new Uri("b");
+        Uri c = new Uri("c");
+        PreparedFooVideoPlayer preparedA = cache.get(a);
+        cache.get(b);
+        cache.get(c);
+
+        // When: a만 다시 쓰인 뒤 새 Uri가 들어옴
+        cache.get(a);
+        cache.get(new Uri("d"));
+
+        // Then: 최근에 쓰이지 않은 b가 제거됨
+        assertThat(cache.stats().size()).isEqualTo(3);
+        assertThat(cache.stats().evictionCount()).isEqualTo(1);
+        assertThat(cache.get(a)).isSameAs(preparedA);
+        long misses = cache.stats().missCount();
+        cache.get(b);
+        assertThat(cache.stats().missCount()).isEqualTo(misses + 1);
+    }
+
+    @Test
+    void shouldRejectInvalidConfiguration() {
+        assertThatThrownBy(() -> new PreparedPlayerCache(0, Duration.ofMinutes(1)))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new PreparedPlayerCache(10, Duration.ZERO))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+}
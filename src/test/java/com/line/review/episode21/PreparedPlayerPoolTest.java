@@ -0,0 +1,200 @@
+package com.line.review.episode21;
+
+import org.junit.jupiter.api.Test;
+
+import java.lang.ref.Reference;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * PreparedPlayerPool 테스트
+ */
+class PreparedPlayerPoolTest {
+
+    private final Function<Uri, PreparedFooVideoPlayer> preparer = uri -> new FooVideoPlayerOption3(uri).prepare();
+    /** Uri가 한 글자일 때 플레이어 하나의 크기 */
+    private final long playerBytes = preparer.apply(new Uri("a")).sizeInBytes();
+    private final Function<PreparedFooVideoPlayer, Runnable> noRelease = player -> () -> {
+    };
+
+    @Test
+    void shouldEstimateStringPayloadSize() {
+        // Latin-1 문자는 1바이트, 그 밖의 문자가 하나라도 있으면 2바이트
+        assertThat(new PreparedValue("a".repeat(1_000)).sizeInBytes()).isEqualTo(16 + 24 + 1_016);
+        assertThat(new PreparedValue("가".repeat(1_000)).sizeInBytes()).isEqualTo(16 + 24 + 2_016);
+    }
+
+    @Test
+    void shouldEvictEntriesNotUsedRecentlyWhenOverBudget() {
+        // Given: 플레이어 3개만큼의 예산
+        PreparedPlayerPool pool = new PreparedPlayerPool(playerBytes * 3, preparer, noRelease, () -> 0.0);
+        PreparedFooVideoPlayer a = pool.get(new Uri("a"));
+        pool.get(new Uri("b"));
+        pool.get(new Uri("c"));
+
+        // When: a만 다시 쓰인 뒤 새 Uri가 들어옴
+        pool.get(new Uri("a"));
+        pool.get(new Uri("d"));
+
+        // Then: 최근에 쓰이지 않은 b가 제거됨
+        PreparedPlayerPool.Stats stats = pool.stats();
+        assertThat(stats.residentBytes()).isEqualTo(playerBytes * 3);
+        assertThat(stats.evictionCount()).isEqualTo(1);
+        assertThat(pool.get(new Uri("a"))).isSameAs(a);
+        long misses = pool.stats().missCount();
+        pool.get(new Uri("b"));
+        assertThat(pool.stats().missCount()).isEqualTo(misses + 1);
+    }
+
+    @Test
+    void shouldNotKeepPlayerLargerThanBudget() {
+        // Given: 플레이어 2개만큼의 예산을 채움
+        PreparedPlayerPool pool = new PreparedPlayerPool(playerBytes * 2, preparer, noRelease, () -> 0.0);
+        PreparedFooVideoPlayer a = pool.get(new Uri("a"));
+        pool.get(new Uri("b"));
+
+        // When: 예산보다 큰 플레이어를 요청
+        Uri large = new Uri("x".repeat((int) playerBytes * 2));
+        PreparedFooVideoPlayer player = pool.get(large);
+
+        // Then: 반환은 하되 보관하지 않고, 기존 항목도 밀어내지 않음
+        assertThat(player.sizeInBytes()).isGreaterThan(playerBytes * 2);
+        PreparedPlayerPool.Stats stats = pool.stats();
+        assertThat(stats.size()).isEqualTo(2);
+        assertThat(stats.residentBytes()).isEqualTo(playerBytes * 2);
+        assertThat(stats.retainedBytes()).isEqualTo(player.sizeInBytes());
+        assertThat(stats.evictionCount()).isZero();
+        assertThat(pool.get(new Uri("a"))).isSameAs(a);
+        assertThat(pool.get(large)).isNotSameAs(player);
+    }
+
+    @Test
+    void shouldShrinkBudgetUnderHeapPressureAndRecover() {
+        // Given: 플레이어 8개를 보관 중
+        double[] occupancy = {0.5};
+        PreparedPlayerPool pool = new PreparedPlayerPool(playerBytes * 8, preparer, noRelease, () -> occupancy[0]);
+        for (char c = 'a'; c < 'i'; c++) {
+            pool.get(new Uri(String.valueOf(c)));
+        }
+        assertThat(pool.stats().residentBytes()).isEqualTo(playerBytes * 8);
+
+        // When: GC 후에도 old 영역이 87.5% 차 있음 (임계값 75%와 100%의 중간)
+        occupancy[0] = 0.875;
+        pool.trim();
+
+        // Then: 예산이 절반으로 줄고 그만큼 제거됨
+        assertThat(pool.stats().budgetBytes()).isEqualTo(playerBytes * 4);
+        assertThat(pool.stats().residentBytes()).isEqualTo(playerBytes * 4);
+
+        // When: 사용률이 내려감
+        occupancy[0] = 0.5;
+        pool.trim();
+
+        // Then: 예산이 돌아와 다시 채울 수 있음
+        assertThat(pool.stats().budgetBytes()).isEqualTo(playerBytes * 8);
+        for (char c = 'a'; c < 'i'; c++) {
+            pool.get(new Uri(String.valueOf(c)));
+        }
+        assertThat(pool.stats().residentBytes()).isEqualTo(playerBytes * 8);
+    }
+
+    @Test
+    void shouldReleaseRemovedPlayerOnlyAfterLastSessionDropsIt() throws Exception {
+        // Given
+        // 해제 작업은 플레이어를 참조하면 안 되므로 방금 준비한 Uri를 따로 기억해 둠
+        Queue<Uri> released = new ConcurrentLinkedQueue<>();
+        Uri[] preparing = new Uri[1];
+        PreparedPlayerPool pool = new PreparedPlayerPool(playerBytes * 10, uri -> {
+            preparing[0] = uri;
+            return preparer.apply(uri);
+        }, player -> {
+            Uri uri = preparing[0];
+            return () -> released.add(uri);
+        }, () -> 0.0);
+        Uri playing = new Uri("playing");
+        Uri dropped = new Uri("dropped");
+        PreparedFooVideoPlayer session = pool.get(playing);
+        pool.get(dropped);
+
+        // When: 두 항목 모두 풀에서 제거되고, playing은 아직 재생 중
+        pool.invalidate(playing);
+        pool.invalidate(dropped);
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (released.isEmpty() && System.nanoTime() < deadline) {
+            System.gc();
+            Thread.sleep(10);
+        }
+
+        // Then: 아무도 붙잡지 않은 dropped만 해제됨
+        assertThat(released).containsExactly(dropped);
+        assertThat(pool.stats().releaseCount()).isEqualTo(1);
+        assertThat(pool.stats().residentBytes()).isZero();
+        assertThat(pool.stats().retainedBytes()).isEqualTo(session.sizeInBytes());
+        Reference.reachabilityFence(session);
+    }
+
+    @Test
+    void shouldReleaseOnlyResourcesOfCollectedPlayerWhenUriIsPreparedAgain() throws Exception {
+        // Given: 준비할 때마다 플레이어별 자원 핸들을 만듦
+        List<AtomicBoolean> handles = new CopyOnWriteArrayList<>();
+        PreparedPlayerPool pool = new PreparedPlayerPool(playerBytes * 10, preparer, player -> {
+            AtomicBoolean closed = new AtomicBoolean();
+            handles.add(closed);
+            return () -> closed.set(true);
+        }, () -> 0.0);
+        Uri uri = new Uri("a");
+        pool.get(uri);
+
+        // When: 제거된 뒤 같은 Uri를 다시 준비해 재생 중이고, 처음 플레이어는 아무도 붙잡지 않음
+        pool.invalidate(uri);
+        PreparedFooVideoPlayer session = pool.get(uri);
+        pool.invalidate(uri);
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (!handles.get(0).get() && System.nanoTime() < deadline) {
+            System.gc();
+            Thread.sleep(10);
+        }
+
+        // Then: 처음 플레이어의 자원만 해제되고 재생 중인 플레이어의 자원은 그대로
+        assertThat(handles).hasSize(2);
+        assertThat(handles.get(0)).isTrue();
+        assertThat(handles.get(1)).isFalse();
+        assertThat(pool.stats().releaseCount()).isEqualTo(1);
+        Reference.reachabilityFence(session);
+    }
+
+    @Test
+    void shouldPrepareOnceAndShareFailure() {
+        // Given
+        AtomicInteger prepareCount = new AtomicInteger();
+        PreparedPlayerPool pool = new PreparedPlayerPool(playerBytes * 10, uri -> {
+            if (prepareCount.incrementAndGet() == 1) {
+                throw new IllegalStateException("codec unavailable");
+            }
+            return preparer.apply(uri);
+        }, noRelease, () -> 0.0);
+        Uri uri = new Uri("a");
+
+        // When & Then: 실패는 보관하지 않고, 성공한 뒤에는 다시 준비하지 않음
+        assertThatThrownBy(() -> pool.get(uri)).hasMessage("codec unavailable");
+        PreparedFooVideoPlayer player = pool.get(uri);
+        assertThat(pool.get(uri)).isSameAs(player);
+        assertThat(prepareCount).hasValue(2);
+        assertThat(pool.stats().hitRate()).isEqualTo(1.0 / 3);
+    }
+
+    @Test
+    void shouldRejectInvalidBudget() {
+        assertThatThrownBy(() -> new PreparedPlayerPool(0))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,116 @@
+package com.line.review.episode6;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * ContactFileReader 테스트
+ */
+class ContactFileReaderTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void shouldReadCsv_WithQuotedFieldsAndHeaderOrder() throws IOException {
+        // Given
+        Path file = write("contacts.csv", """
+                id,isFriend,displayName\r
+                1,true,김민수😊\r
+                2,TRUE,"Lee, ""Jr""
+                Line"
+
+                3,false,Bob
+                4,1,"Ann\"""");
+
+        // When & Then
+        assertThat(readAll(file, ContactFileReader.Format.CSV, 32))
+                .containsExactly("김민수😊|true", "Lee, \"Jr\"\nLine|true", "Bob|false", "Ann|true");
+    }
+
+    @Test
+    void shouldReadJsonLines_WithEscapesAndUnknownKeys() throws IOException {
+        // Given
+        Path file = write("contacts.jsonl", """
+                {"id": 1, "displayName": "Kim \\"K\\" \\uD83D\\uDE00", "tags": ["a", {"b": "}"}], "isFriend": true}
+
+                {"isFriend": false, "displayName": "Bob"}
+                {"displayName": null, "isFriend": true}
+                """);
+
+        // When & Then
+        assertThat(readAll(file, ContactFileReader.Format.JSON_LINES, 256))
+                .containsExactly("Kim \"K\" 😀|true", "Bob|false", "null|true");
+    }
+
+    @Test
+    void shouldReadVCard_WithFoldedAndEscapedName() throws IOException {
+        // Given
+        Path file = write("contacts.vcf", """
+                BEGIN:VCARD\r
+                VERSION:3.0\r
+                FN;CHARSET=UTF-8:Kim\\, Min\r
+                  su😊\r
+                X-FRIEND:TRUE\r
+                PHOTO;ENCODING=b:AAAA\r
+                 BBBB\r
+                END:VCARD\r
+                BEGIN:VCARD\r
+                item1.FN:Bob\r
+                END:VCARD\r
+                """);
+
+        // When & Then
+        assertThat(readAll(file, ContactFileReader.Format.VCARD, 32))
+                .containsExactly("Kim, Min su😊|true", "Bob|false");
+    }
+
+    @Test
+    void shouldFail_WhenRecordExceedsBuffer() throws IOException {
+        Path file = write("contacts.jsonl", "{\"displayName\": \"" + "a".repeat(100) + "\", \"isFriend\": true}\n");
+
+        assertThatThrownBy(() -> readAll(file, ContactFileReader.Format.JSON_LINES, 64))
+                .isInstanceOf(IOException.class)
+                .hasMessageContaining("exceeds buffer size");
+    }
+
+    @Test
+    void shouldStreamFriendsIntoContactProcessor() throws IOException {
+        // Given
+        Path file = write("contacts.csv", "displayName,isFriend\n김민수😊,true\nBob,false\nAnn👍🏻,true\n");
+        List<String> friendNames = new ArrayList<>();
+
+        // When
+        long count;
+        try (ContactFileReader reader = ContactFileReader.open(file, ContactFileReader.Format.CSV)) {
+            count = new ContactProcessor().processContacts(reader, result -> friendNames.add(result.getValue()));
+        }
+
+        // Then
+        assertThat(count).isEqualTo(2);
+        assertThat(friendNames).containsExactly("김민수", "Ann");
+    }
+
+    private Path write(String fileName, String content) throws IOException {
+        return Files.writeString(directory.resolve(fileName), content);
+    }
+
+    private static List<String> readAll(Path file, ContactFileReader.Format format, int bufferSize) throws IOException {
+        List<String> contacts = new ArrayList<>();
+        try (ContactFileReader reader = ContactFileReader.open(file, format, bufferSize)) {
+            while (reader.next()) {
+                contacts.add(reader.getDisplayName() + "|" + reader.isFriend());
+            }
+        }
+        return contacts;
+    }
+}
@@ -0,0 +1,121 @@
+package com.line.review.episode6;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * ContactImportService 테스트
+ */
+class ContactImportServiceTest {
+
+    @Test
+    void shouldMatchProcessContactGood_InSubmissionOrder() throws Exception {
+        // Given
+        ContactProcessor processor = new ContactProcessor();
+        List<ContactModel> contacts = new ArrayList<>();
+        for (int i = 0; i < 5_000; i++) {
+            contacts.add(i % 7 == 0 ? null : new ContactModel.Person("친구" + i + "😊", i % 3 == 0));
+        }
+
+        // When
+        ContactImportService.ImportResult result;
+        try (ContactImportService service = new ContactImportService(processor, 4, 2)) {
+            ContactImportService.Import importJob = service.begin();
+            for (int from = 0; from < contacts.size(); from += 256) {
+                importJob.submit(contacts.subList(from, Math.min(contacts.size(), from + 256)));
+            }
+            result = importJob.finish().get(10, TimeUnit.SECONDS);
+        }
+
+        // Then
+        List<String> expected = contacts.stream()
+                .map(processor::processContactGood)
+                .filter(value -> value != null)
+                .map(ReturnValue::getValue)
+                .toList();
+        assertThat(result.friends()).extracting(ReturnValue::getValue).containsExactlyElementsOf(expected);
+        assertThat(result.contactCount()).isEqualTo(contacts.size());
+        assertThat(result.latency()).isPositive();
+    }
+
+    @Test
+    void shouldCompleteImmediately_WhenNothingSubmitted() throws Exception {
+        try (ContactImportService service = new ContactImportService(new ContactProcessor(), 1)) {
+            ContactImportService.ImportResult result = service.begin().finish().get(10, TimeUnit.SECONDS);
+
+            assertThat(result.friends()).isEmpty();
+            assertThat(result.contactCount()).isZero();
+        }
+    }
+
+    @Test
+    void shouldApplyBackpressure_WhenConcurrencyLimitAndQueueAreFull() throws Exception {
+        // Given: 정규화가 막혀 있어 배치 하나가 허가를 쥐고 있고, 큐 자리는 하나뿐
+        CountDownLatch release = new CountDownLatch(1);
+        ContactProcessor blockingProcessor = new ContactProcessor(name -> {
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return name;
+        });
+        List<ContactModel> batch = List.of(new ContactModel.Person("친구", true));
+
+        try (ContactImportService service = new ContactImportService(blockingProcessor, 1, 1)) {
+            ContactImportService.Import importJob = service.begin();
+            importJob.submit(batch); // 처리 중 (허가 사용)
+            importJob.submit(batch); // 디스패처가 허가를 기다리며 쥐고 있음
+            importJob.submit(batch); // 큐에 대기
+
+            // When
+            boolean accepted = importJob.trySubmit(batch, 50, TimeUnit.MILLISECONDS);
+
+            // Then
+            assertThat(accepted).isFalse();
+            release.countDown();
+            ContactImportService.ImportResult result = importJob.finish().get(10, TimeUnit.SECONDS);
+            assertThat(result.friends()).hasSize(3);
+            assertThat(result.contactCount()).isEqualTo(3);
+        }
+    }
+
+    @Test
+    void shouldFailImport_WhenBatchThrowsError() throws Exception {
+        // Given: 정규화가 RuntimeException이 아닌 Error를 던짐
+        ContactProcessor failingProcessor = new ContactProcessor(name -> {
+            throw new AssertionError("normalizer bug");
+        });
+
+        try (ContactImportService service = new ContactImportService(failingProcessor, 1)) {
+            ContactImportService.Import importJob = service.begin();
+            importJob.submit(List.of(new ContactModel.Person("친구", true)));
+
+            // When & Then: finish()가 막히지 않고 실패로 끝남
+            assertThatThrownBy(() -> importJob.finish().get(10, TimeUnit.SECONDS))
+                    .isInstanceOf(ExecutionException.class)
+                    .hasRootCauseMessage("normalizer bug");
+            assertThat(service.stats().failedImports()).isEqualTo(1);
+        }
+    }
+
+    @Test
+    void shouldRejectSubmit_AfterClose() throws Exception {
+        ContactImportService service = new ContactImportService(new ContactProcessor(), 1);
+        ContactImportService.Import importJob = service.begin();
+        service.close();
+
+        assertThatThrownBy(() -> importJob.submit(List.of(new ContactModel.Person("친구", true))))
+                .isInstanceOf(RejectedExecutionException.class);
+        assertThat(importJob.finish().get(10, TimeUnit.SECONDS).contactCount()).isZero();
+    }
+}
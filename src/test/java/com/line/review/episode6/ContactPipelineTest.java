@@ -0,0 +1,100 @@
+package com.line.review.episode6;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * ContactPipeline 테스트
+ */
+class ContactPipelineTest {
+
+    private final ContactProcessor processor = new ContactProcessor();
+
+    @Test
+    void shouldMatchProcessContactGood() {
+        // Given
+        List<String> names = List.of("김민수😊", "이서연👍🏻", "박지훈", "さとう🎉", "alice", "Bob👍🏻");
+        Random random = new Random(7);
+        List<ContactModel> contacts = new ArrayList<>();
+        for (int i = 0; i < 1_000; i++) {
+            contacts.add(new ContactModel.Person(names.get(random.nextInt(names.size())), random.nextBoolean()));
+        }
+        contacts.add(null);
+        contacts.add(new ContactModel.Person("", true));
+
+        // When
+        ReturnValue[] results = processor.pipeline().build().process(contacts);
+
+        // Then
+        List<String> expected = new ArrayList<>();
+        for (ContactModel contact : contacts) {
+            ReturnValue result = processor.processContactGood(contact);
+            if (result != null) {
+                expected.add(result.getValue());
+            }
+        }
+        assertThat(Arrays.stream(results).map(ReturnValue::getValue)).containsExactlyElementsOf(expected);
+    }
+
+    @Test
+    void shouldRunStagesInDeclaredOrder() {
+        // Given
+        Set<String> blockList = Set.of("차단된 친구");
+        Map<String, String> nicknames = Map.of("김민수😊", "민수 ");
+        ContactPipeline pipeline = ContactPipeline.builder()
+                .filter(ContactModel.Person::isFriend)
+                .filter(person -> !blockList.contains(person.getDisplayName()))
+                .mapWithContact((person, name) -> nicknames.getOrDefault(person.getDisplayName(), name))
+                .map(EmojiNormalizer::normalizeEmoji)
+                .map(String::trim)
+                .build();
+        List<ContactModel> contacts = List.of(
+                new ContactModel.Person("김민수😊", true),
+                new ContactModel.Person("차단된 친구", true),
+                new ContactModel.Person("이서연👍🏻", true),
+                new ContactModel.Person("박지훈", false)
+        );
+
+        // When
+        List<String> names = new ArrayList<>();
+        long count = pipeline.process(contacts, result -> names.add(result.getValue()));
+
+        // Then
+        assertThat(count).isEqualTo(2);
+        assertThat(names).containsExactly("민수", "이서연");
+    }
+
+    @Test
+    void shouldDropContactWhenMapperReturnsNull() {
+        // Given
+        ContactPipeline pipeline = ContactPipeline.builder()
+                .map(name -> name.isEmpty() ? null : name)
+                .into(name -> new ReturnValue("[" + name + "]"))
+                .build();
+
+        // When & Then
+        assertThat(pipeline.apply(new ContactModel.Person("", true))).isNull();
+        assertThat(pipeline.apply(new ContactModel.Person("a", false)).getValue()).isEqualTo("[a]");
+        assertThat(pipeline.apply(null)).isNull();
+    }
+
+    @Test
+    void shouldKeepPipelinesIndependent() {
+        // Given: 같은 단계 종류로 만든 파이프라인끼리 상태를 공유하지 않아야 합니다.
+        ContactPipeline upper = ContactPipeline.builder().map(String::toUpperCase).build();
+        ContactPipeline lower = ContactPipeline.builder().map(String::toLowerCase).build();
+        ContactModel contact = new ContactModel.Person("MiXeD", false);
+
+        // When & Then
+        assertThat(upper.apply(contact).getValue()).isEqualTo("MIXED");
+        assertThat(lower.apply(contact).getValue()).isEqualTo("mixed");
+    }
+}
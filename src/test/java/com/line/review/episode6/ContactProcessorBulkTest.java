@@ -0,0 +1,127 @@
+package com.line.review.episode6;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * ContactProcessor 대량 처리 테스트
+ */
+class ContactProcessorBulkTest {
+
+    private final ContactProcessor processor = new ContactProcessor();
+
+    @Test
+    void shouldMatchProcessContactGood_InInputOrder() {
+        // Given
+        List<ContactModel> contacts = new ArrayList<>();
+        for (int i = 0; i < 50_000; i++) {
+            contacts.add(i % 11 == 0 ? null : new ContactModel.Person("친구" + i + "😊", i % 3 == 0));
+        }
+
+        // When
+        ReturnValue[] results = processor.processContacts(contacts);
+
+        // Then
+        List<String> expected = contacts.stream()
+                .map(processor::processContactGood)
+                .filter(Objects::nonNull)
+                .map(ReturnValue::getValue)
+                .toList();
+        assertThat(results).extracting(ReturnValue::getValue).containsExactlyElementsOf(expected);
+    }
+
+    @Test
+    void shouldMatchListPath_WhenProcessingContactStore() {
+        // Given: null 원소, 친구가 아닌 연락처, 표시 이름이 null인 친구가 섞인 목록
+        List<ContactModel> contacts = new ArrayList<>();
+        for (int i = 0; i < 1_000; i++) {
+            if (i % 11 == 0) {
+                contacts.add(null);
+            } else if (i % 7 == 0) {
+                contacts.add(new ContactModel.Person(null, true));
+            } else {
+                contacts.add(new ContactModel.Person(i % 5 == 0 ? "" : "친구" + i + "😊", i % 3 != 0));
+            }
+        }
+        ContactStore store = ContactStore.of(contacts);
+
+        // When
+        ReturnValue[] fromStore = processor.processContacts(store);
+
+        // Then
+        List<String> fromList = Arrays.stream(processor.processContacts(contacts))
+                .map(ReturnValue::getValue)
+                .toList();
+        assertThat(fromStore).extracting(ReturnValue::getValue)
+                .containsExactlyElementsOf(fromList)
+                .doesNotContainNull();
+        assertThat(store.size()).isEqualTo(contacts.size() - (contacts.size() + 10) / 11);
+        assertThat(store.getDisplayName(6)).isNull();
+        assertThat(store.view(6).toPerson().getDisplayName()).isNull();
+    }
+
+    @Test
+    void shouldPassNullNamesToNormalizer_InEveryOverload() {
+        // Given: null 이름은 자리표시자로 바꾸고 빈 이름은 null로 걸러 내는 정규화 함수, 포크할 만큼 큰 목록
+        ContactProcessor custom = new ContactProcessor(name -> name == null ? "(이름 없음)" : name.isEmpty() ? null : name);
+        List<ContactModel> contacts = new ArrayList<>();
+        for (int i = 0; i < 3 * ParallelContactPipeline.SEQUENTIAL_THRESHOLD; i++) {
+            String name = switch (i % 4) {
+                case 0 -> null;
+                case 1 -> "";
+                default -> "친구" + i;
+            };
+            contacts.add(i % 13 == 0 ? null : new ContactModel.Person(name, i % 5 != 0));
+        }
+        List<String> expected = contacts.stream()
+                .map(custom::processContactGood)
+                .filter(Objects::nonNull)
+                .map(ReturnValue::getValue)
+                .toList();
+        Iterable<ContactModel> iterable = contacts::iterator;
+
+        // When & Then
+        assertThat(expected).contains("(이름 없음)").doesNotContain("");
+        assertThat(custom.processContacts(contacts)).extracting(ReturnValue::getValue)
+                .containsExactlyElementsOf(expected);
+        assertThat(custom.processContacts(iterable)).extracting(ReturnValue::getValue)
+                .containsExactlyElementsOf(expected);
+        assertThat(custom.processContacts(contacts.stream())).extracting(ReturnValue::getValue)
+                .containsExactlyElementsOf(expected);
+        assertThat(custom.processContacts(ContactStore.of(contacts))).extracting(ReturnValue::getValue)
+                .containsExactlyElementsOf(expected);
+    }
+
+    @Test
+    void shouldRejectNegativeCapacity_WhenCreatingContactStore() {
+        assertThatThrownBy(() -> new ContactStore(-1)).isInstanceOf(IllegalArgumentException.class);
+        assertThat(new ContactStore(0).size()).isZero();
+    }
+
+    @Test
+    void shouldReturnEmptyArray_WhenNoContacts() {
+        assertThat(processor.processContacts(List.of())).isEmpty();
+    }
+
+    @Test
+    void shouldFilterStream() {
+        // Given
+        var contacts = List.of(
+                new ContactModel.Person("친구😊", true),
+                new ContactModel.Person("친구아님", false)
+        );
+
+        // When
+        ReturnValue[] results = processor.processContacts(contacts.stream());
+
+        // Then
+        assertThat(results).extracting(ReturnValue::getValue).containsExactly("친구");
+    }
+}
@@ -0,0 +1,68 @@
+package com.line.review.episode6;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * ContactSearchIndex 테스트
+ */
+class ContactSearchIndexTest {
+
+    @Test
+    void shouldRankFriendsFirst_ThenPrefixBeforeInfix() {
+        // Given
+        ContactSearchIndex index = new ContactSearchIndex();
+        index.add(new ContactModel.Person("Kimberly", false));
+        index.add(new ContactModel.Person("Joakim", true));
+        index.add(new ContactModel.Person("Kim😊", true));
+        index.add(new ContactModel.Person("Ekim Park", false));
+
+        // When & Then
+        assertThat(index.search("KIM", 10))
+                .extracting(ContactSearchIndex.Hit::displayName)
+                .containsExactly("Kim😊", "Joakim", "Kimberly", "Ekim Park");
+    }
+
+    @Test
+    void shouldStopAtLimit() {
+        // Given
+        ContactSearchIndex index = new ContactSearchIndex();
+        for (int i = 0; i < 1_000; i++) {
+            index.add(new ContactModel.Person("김민수" + i, i % 100 == 0));
+        }
+
+        // When & Then
+        assertThat(index.search("김민", 5))
+                .hasSize(5)
+                .allMatch(ContactSearchIndex.Hit::isFriend);
+    }
+
+    @Test
+    void shouldMatchPrefix_EndingInsideCompressedEdge() {
+        // Given
+        ContactSearchIndex index = new ContactSearchIndex();
+        index.add(new ContactModel.Person("알렉산더", false));
+
+        // When & Then
+        assertThat(index.search("알렉", 10)).extracting(ContactSearchIndex.Hit::displayName).containsExactly("알렉산더");
+        assertThat(index.search("알렉스", 10)).isEmpty();
+    }
+
+    @Test
+    void shouldReflectUpdatesAndRemovals() {
+        // Given
+        ContactSearchIndex index = new ContactSearchIndex();
+        int alice = index.add(new ContactModel.Person("Alice", false));
+        int alicia = index.add(new ContactModel.Person("Alicia", false));
+
+        // When
+        index.update(alice, new ContactModel.Person("Bob", true));
+        index.remove(alicia);
+
+        // Then
+        assertThat(index.search("ali", 10)).isEmpty();
+        assertThat(index.search("bo", 10)).containsExactly(new ContactSearchIndex.Hit(alice, "Bob", true));
+        assertThat(index.size()).isEqualTo(1);
+    }
+}
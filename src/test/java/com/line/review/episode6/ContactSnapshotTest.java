@@ -0,0 +1,188 @@
+package com.line.review.episode6;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * ContactSnapshotWriter와 ContactSnapshot 테스트
+ */
+class ContactSnapshotTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void shouldReadBackWhatWriterWrote() throws IOException {
+        // Given
+        ContactStore store = new ContactStore();
+        store.add("김철수😊", true);
+        store.add("", false);
+        store.add("John Doe", false);
+        for (int i = 0; i < 100; i++) {
+            store.add("이름" + i, i % 7 == 0);
+        }
+        Path path = directory.resolve("contacts.snapshot");
+
+        // When
+        new ContactSnapshotWriter().write(store, path);
+
+        // Then
+        try (ContactSnapshot snapshot = ContactSnapshot.open(path, true)) {
+            assertThat(snapshot.size()).isEqualTo(store.size());
+            for (int i = 0; i < store.size(); i++) {
+                assertThat(snapshot.getDisplayName(i)).isEqualTo(store.getDisplayName(i));
+                assertThat(snapshot.getNormalizedName(i))
+                        .isEqualTo(EmojiNormalizer.normalizeEmoji(store.getDisplayName(i)));
+                assertThat(snapshot.isFriend(i)).isEqualTo(store.isFriend(i));
+            }
+            assertThat(snapshot.friendCount()).isEqualTo(store.friendCount());
+            assertThat(snapshot.nextFriend(1)).isEqualTo(store.nextFriend(1));
+        }
+    }
+
+    @Test
+    void shouldKeepNullNames_AndSkipThemLikeListPath() throws IOException {
+        // Given: 표시 이름이 null인 친구와 빈 이름인 친구
+        List<ContactModel> contacts = List.of(
+                new ContactModel.Person(null, true),
+                new ContactModel.Person("", true),
+                new ContactModel.Person("김철수😊", true),
+                new ContactModel.Person(null, false));
+        ContactStore store = ContactStore.of(contacts);
+        Path path = directory.resolve("contacts.snapshot");
+
+        // When
+        new ContactSnapshotWriter().write(store, path);
+
+        // Then: null은 null로 돌아오고, 처리 결과는 목록 경로와 같음
+        ContactProcessor processor = new ContactProcessor();
+        try (ContactSnapshot snapshot = ContactSnapshot.open(path, true)) {
+            assertThat(snapshot.getDisplayName(0)).isNull();
+            assertThat(snapshot.getNormalizedName(0)).isNull();
+            assertThat(snapshot.getDisplayName(1)).isEmpty();
+            assertThat(snapshot.getNormalizedName(1)).isEmpty();
+            assertThat(snapshot.getDisplayName(3)).isNull();
+            assertThat(processor.processContacts(snapshot))
+                    .extracting(ReturnValue::getValue)
+                    .containsExactlyElementsOf(Arrays.stream(processor.processContacts(contacts))
+                            .map(ReturnValue::getValue)
+                            .toList())
+                    .containsExactly("", "김철수");
+        }
+    }
+
+    @Test
+    void shouldReplaceExistingSnapshotWithoutLeavingTempFiles() throws IOException {
+        // Given
+        Path path = directory.resolve("contacts.snapshot");
+        ContactStore first = new ContactStore();
+        first.add("김철수", true);
+        new ContactSnapshotWriter().write(first, path);
+
+        // When
+        ContactStore second = new ContactStore();
+        second.add("이영희", false);
+        second.add("박민수", true);
+        new ContactSnapshotWriter().write(second, path);
+
+        // Then
+        try (ContactSnapshot snapshot = ContactSnapshot.open(path, true)) {
+            assertThat(snapshot.size()).isEqualTo(2);
+            assertThat(snapshot.getDisplayName(1)).isEqualTo("박민수");
+        }
+        try (Stream<Path> files = Files.list(directory)) {
+            assertThat(files).containsExactly(path);
+        }
+    }
+
+    @Test
+    void shouldRejectTruncatedSnapshot() throws IOException {
+        // Given: 마지막 8바이트가 잘린 파일
+        Path path = writeSample();
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.WRITE)) {
+            channel.truncate(channel.size() - 8);
+        }
+
+        // When & Then
+        assertThatThrownBy(() -> ContactSnapshot.open(path))
+                .isInstanceOf(IOException.class)
+                .hasMessageStartingWith("Snapshot is truncated");
+    }
+
+    @Test
+    void shouldRejectCountThatDoesNotMatchFileSize() throws IOException {
+        // Given: 헤더의 연락처 수를 부풀림
+        Path path = writeSample();
+        overwriteInt(path, 8, 1_000_000);
+
+        // When & Then
+        assertThatThrownBy(() -> ContactSnapshot.open(path))
+                .isInstanceOf(IOException.class)
+                .hasMessageStartingWith("Snapshot is truncated");
+    }
+
+    @Test
+    void shouldRejectCorruptedBody_WhenChecksumIsVerified() throws IOException {
+        // Given: 이름 영역의 한 바이트를 바꿈 (파일 끝의 정규화된 이름 영역)
+        Path path = writeSample();
+        long size = Files.size(path);
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            ByteBuffer one = ByteBuffer.allocate(1);
+            channel.read(one, size - 16);
+            one.flip();
+            one.put(0, (byte) (one.get(0) ^ 0x5A));
+            channel.write(one, size - 16);
+        }
+
+        // When & Then
+        assertThatThrownBy(() -> ContactSnapshot.open(path, true))
+                .isInstanceOf(IOException.class)
+                .hasMessage("Snapshot checksum mismatch");
+    }
+
+    @Test
+    void shouldRejectCorruptedOffsets() throws IOException {
+        // Given: 표시 이름 오프셋 구역의 두 번째 값을 음수로 바꿈 (헤더 48 + 비트셋 3개 24 뒤)
+        Path path = writeSample();
+        overwriteInt(path, 48 + 24 + Integer.BYTES, -5);
+
+        // When & Then: 체크섬을 보지 않아도 이름을 읽을 때 걸러지고, 검증하면 열 때 걸러짐
+        try (ContactSnapshot snapshot = ContactSnapshot.open(path)) {
+            assertThatThrownBy(() -> snapshot.getDisplayName(0))
+                    .isInstanceOf(IllegalStateException.class);
+        }
+        assertThatThrownBy(() -> ContactSnapshot.open(path, true))
+                .isInstanceOf(IOException.class);
+    }
+
+    private Path writeSample() throws IOException {
+        ContactStore store = new ContactStore();
+        store.add("김철수😊", true);
+        store.add("이영희", false);
+        store.add("John", true);
+        Path path = directory.resolve("sample.snapshot");
+        new ContactSnapshotWriter().write(store, path);
+        return path;
+    }
+
+    private static void overwriteInt(Path path, long position, int value) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.WRITE)) {
+            ByteBuffer buffer = ByteBuffer.allocate(Integer.BYTES).order(ByteOrder.LITTLE_ENDIAN).putInt(value).flip();
+            channel.write(buffer, position);
+        }
+    }
+}
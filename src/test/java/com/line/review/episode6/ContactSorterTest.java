@@ -0,0 +1,67 @@
+package com.line.review.episode6;
+
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.text.Collator;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * ContactSorter 테스트
+ */
+class ContactSorterTest {
+
+    private static final List<String> NAMES = List.of(
+            "김민수", "김민지", "강하늘", "가나다", "각", "이서연😊", "박지훈",
+            "さとう", "サトウ", "佐藤", "すずき", "が", "か", "ｶ",
+            "alice", "Alice", "Álvaro", "bob", "Bob👍🏻", "", "abcdefghij", "abcdefgh"
+    );
+
+    @ParameterizedTest
+    @ValueSource(strings = {"ko", "ja", "en"})
+    void shouldMatchCollatorOrder(String language) {
+        // Given
+        Locale locale = Locale.forLanguageTag(language);
+        Random random = new Random(7);
+        List<ContactModel.Person> persons = new ArrayList<>();
+        for (int i = 0; i < 2_000; i++) {
+            persons.add(new ContactModel.Person(NAMES.get(random.nextInt(NAMES.size())), random.nextBoolean()));
+        }
+        Collator collator = Collator.getInstance(locale);
+        List<ContactModel.Person> expected = new ArrayList<>(persons);
+        expected.sort((a, b) -> collator.compare(
+                EmojiNormalizer.normalizeEmoji(a.getDisplayName()),
+                EmojiNormalizer.normalizeEmoji(b.getDisplayName())));
+
+        // When
+        ContactSorter sorter = new ContactSorter(locale);
+        List<ContactModel.Person> sorted = sorter.sort(persons);
+
+        // Then: 같은 이름끼리는 입력 순서가 유지되므로 인스턴스 순서까지 같아야 합니다.
+        assertThat(sorted).containsExactlyElementsOf(expected);
+        assertThat(sorter.cachedKeyCount()).isLessThanOrEqualTo(NAMES.size());
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {0, 1, ContactSorter.PARALLEL_THRESHOLD + 1})
+    void shouldKeepInputOrderForEqualNames(int size) {
+        // Given
+        List<ContactModel.Person> persons = new ArrayList<>();
+        for (int i = 0; i < size; i++) {
+            persons.add(new ContactModel.Person(i % 2 == 0 ? "나" : "가", i % 3 == 0));
+        }
+
+        // When
+        List<ContactModel.Person> sorted = new ContactSorter(Locale.KOREAN).sort(persons);
+
+        // Then
+        List<ContactModel.Person> expected = new ArrayList<>(persons);
+        expected.sort((a, b) -> a.getDisplayName().compareTo(b.getDisplayName()));
+        assertThat(sorted).containsExactlyElementsOf(expected);
+    }
+}
@@ -0,0 +1,138 @@
+package com.line.review.episode6;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * EmojiNormalizer 테스트
+ */
+class EmojiNormalizerTest {
+
+    @Test
+    void shouldReturnSameInstance_WhenNothingToStrip() {
+        // Given
+        String name = "홍길동 Alice";
+
+        // When
+        String result = EmojiNormalizer.normalizeEmoji(name);
+
+        // Then
+        assertThat(result).isSameAs(name);
+    }
+
+    @Test
+    void shouldStripEmoji_WhenNameContainsSurrogatePair() {
+        // When
+        String result = EmojiNormalizer.normalizeEmoji("친구😊");
+
+        // Then
+        assertThat(result).isEqualTo("친구");
+    }
+
+    @Test
+    void shouldReturnNull_WhenTextIsNull() {
+        assertThat(EmojiNormalizer.normalizeEmoji(null)).isNull();
+    }
+
+    @Test
+    void shouldStripWholeSequence_WhenEmojiHasJoinersAndModifiers() {
+        assertThat(EmojiNormalizer.normalizeEmoji("👩🏽‍💻개발자")).isEqualTo("개발자");
+        assertThat(EmojiNormalizer.normalizeEmoji("❤️‍🔥 fire")).isEqualTo(" fire");
+        assertThat(EmojiNormalizer.normalizeEmoji("👨‍👩‍👧‍👦가족")).isEqualTo("가족");
+    }
+
+    @Test
+    void shouldStripBmpEmojiWithVariationSelector() {
+        assertThat(EmojiNormalizer.normalizeEmoji("x☺️✂️⭐☝🏽y")).isEqualTo("xy");
+        assertThat(EmojiNormalizer.normalizeEmoji("A‼️™️B")).isEqualTo("AB");
+    }
+
+    @Test
+    void shouldKeepTextPresentationSymbols_WithoutVariationSelector() {
+        // Given: 이모지 표현 선택자가 없는 ™, ‼, 화살표, ☺, ❤
+        String name = "브랜드™ 최고‼ 서울→부산 ☺ ❤";
+
+        // Then
+        assertThat(EmojiNormalizer.normalizeEmoji(name)).isSameAs(name);
+        assertThat(EmojiNormalizer.normalizeEmoji("브랜드™😊")).isEqualTo("브랜드™");
+    }
+
+    @Test
+    void shouldStripKeycapsAndFlags_ButKeepPlainDigits() {
+        assertThat(EmojiNormalizer.normalizeEmoji("1️⃣번 010")).isEqualTo("번 010");
+        assertThat(EmojiNormalizer.normalizeEmoji("🇰🇷한국🇯🇵")).isEqualTo("한국");
+    }
+
+    @Test
+    void shouldKeepPunctuationAndFullwidthLetters() {
+        // Given
+        String name = "김-철수 ＡＢＣ ©2024";
+
+        // Then
+        assertThat(EmojiNormalizer.normalizeEmoji(name)).isSameAs(name);
+    }
+
+    @Test
+    void shouldNormalizeBatch_AndKeepInstancesWithoutEmoji() {
+        // Given
+        String plain = "홍길동";
+        String[] names = {plain, "친구😊", null};
+
+        // When
+        String[] results = EmojiNormalizer.normalizeAll(names);
+
+        // Then
+        assertThat(results).containsExactly("홍길동", "친구", null);
+        assertThat(results[0]).isSameAs(plain);
+        assertThat(EmojiNormalizer.normalizeAll(List.of("a😊", "b"))).containsExactly("a", "b");
+    }
+
+    @Test
+    void shouldCompactArenaInPlace() {
+        // Given
+        char[] arena = "친구😊홍길동🇰🇷1".toCharArray();
+        int[] offsets = {0, 4, 7, 11, 12};
+
+        // When
+        int used = EmojiNormalizer.normalizeEmojiInPlace(arena, offsets, 4);
+
+        // Then
+        assertThat(new String(arena, 0, used)).isEqualTo("친구홍길동1");
+        assertThat(offsets).containsExactly(0, 2, 5, 5, 6);
+    }
+
+    @Test
+    void shouldNotFlagHangulOrKana_AsEmojiCandidates() {
+        // Given
+        char[] names = "김민수さとうカタカナ漢字 Élodie".toCharArray();
+
+        // When & Then
+        assertThat(EmojiCandidateScanner.mayContainEmoji(names, 0, names.length)).isFalse();
+        assertThat(EmojiCandidateScanner.mayContainEmoji("김민수さとうカタカナ")).isFalse();
+        assertThat(EmojiCandidateScanner.mayContainEmoji("김민수™")).isTrue();
+        assertThat(EmojiCandidateScanner.mayContainEmoji("김민수😊")).isTrue();
+    }
+
+    @Test
+    void shouldFlagEveryCharThatCanBelongToEmojiSequence() {
+        // 키캡의 시작 문자([0-9#*])는 U+20E3과 함께 나올 때만 이모지이므로 제외합니다.
+        char[] lane = new char[64];
+        for (int c = 0; c <= Character.MAX_VALUE; c++) {
+            byte type = Character.isSurrogate((char) c) ? EmojiTable.NONE : EmojiTable.classOf(c);
+            boolean expected = Character.isSurrogate((char) c)
+                    || (type != EmojiTable.NONE && type != EmojiTable.KEYCAP_BASE);
+            if (expected) {
+                assertThat(EmojiCandidateScanner.isCandidate((char) c)).as("U+%04X", c).isTrue();
+            }
+            // SIMD 경로와 스칼라 경로가 같은 판정을 내림
+            Arrays.fill(lane, 'a');
+            lane[c % lane.length] = (char) c;
+            assertThat(EmojiCandidateScanner.mayContainEmoji(lane, 0, lane.length))
+                    .as("U+%04X", c)
+                    .isEqualTo(EmojiCandidateScanner.isCandidate((char) c));
+        }
+    }
+}
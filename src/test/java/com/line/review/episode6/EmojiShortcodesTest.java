@@ -0,0 +1,90 @@
+package com.line.review.episode6;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * EmojiShortcodes 테스트
+ */
+class EmojiShortcodesTest {
+
+    private final EmojiShortcodes shortcodes = EmojiShortcodes.defaults();
+
+    @Test
+    void shouldReturnSameInstance_WhenNothingToReplace() {
+        // Given
+        String name = "홍길동 Alice 010 ©2024 Brand™ 최고‼ I ❤ you";
+
+        // When & Then
+        assertThat(shortcodes.replace(name)).isSameAs(name);
+        assertThat(shortcodes.replace(null)).isNull();
+    }
+
+    @Test
+    void shouldReplaceTextPresentationSymbols_OnlyWithVariationSelectorOrSkinTone() {
+        assertThat(shortcodes.replace("Brand™️ ❤️ ❤")).isEqualTo("Brand:tm: :heart: ❤");
+        assertThat(shortcodes.replace("✌🏻")).isEqualTo(":v::skin-tone-2:");
+    }
+
+    @Test
+    void shouldPreferLongestSequence() {
+        assertThat(shortcodes.replace("❤️‍🔥 fire")).isEqualTo(":heart_on_fire: fire");
+        assertThat(shortcodes.replace("❤️ love")).isEqualTo(":heart: love");
+        assertThat(shortcodes.replace("👨‍👩‍👧‍👦가족")).isEqualTo(":family_man_woman_girl_boy:가족");
+        assertThat(shortcodes.replace("🏴󠁧󠁢󠁥󠁮󠁧󠁿")).isEqualTo(":england:");
+    }
+
+    @Test
+    void shouldReplaceFlagsKeycapsAndModifiers() {
+        assertThat(shortcodes.replace("🇰🇷한국🇯🇵")).isEqualTo(":flag_kr:한국:flag_jp:");
+        assertThat(shortcodes.replace("1️⃣번 #⃣")).isEqualTo(":one:번 :hash:");
+        assertThat(shortcodes.replace("친구👍🏽")).isEqualTo("친구:+1::skin-tone-4:");
+    }
+
+    @Test
+    void shouldFallBackToUnicodeName_AndDropDanglingJoiners() {
+        // 자주 쓰는 목록에 없는 이모지는 유니코드 이름으로, 테이블에 없는 ZWJ 시퀀스는 구성 요소별로 바꿉니다.
+        assertThat(shortcodes.replace("🫠")).isEqualTo(":melting_face:");
+        assertThat(shortcodes.replace("👩🏽‍🚀")).isEqualTo(":woman::skin-tone-4::rocket:");
+    }
+
+    @Test
+    void shouldLeaveNoEmojiBehind() {
+        // Given
+        int[] codePoints = {'a', '1', '#', '가', '©', 0xFE0F, 0x200D, 0x20E3, 0x1F600, 0x1F469, 0x1F3FD,
+                0x1F4BB, 0x1F1F0, 0x1F1F7, 0x2764, 0x1F3F4, 0xE0067, 0xE007F};
+        Random random = new Random(3);
+        for (int round = 0; round < 100_000; round++) {
+            StringBuilder builder = new StringBuilder();
+            for (int i = random.nextInt(10); i > 0; i--) {
+                builder.appendCodePoint(random.nextInt(6) == 0
+                        ? random.nextInt(0x20000)
+                        : codePoints[random.nextInt(codePoints.length)]);
+            }
+
+            // When
+            String replaced = shortcodes.replace(builder.toString());
+
+            // Then: 결과에는 normalizeEmoji가 지울 것이 남지 않아야 합니다.
+            assertThat(EmojiNormalizer.normalizeEmoji(replaced)).isEqualTo(replaced);
+        }
+    }
+
+    @Test
+    void shouldUseCustomTable() {
+        // Given
+        EmojiShortcodes custom = EmojiShortcodes.of(Map.of("😊", "(웃음)", "👍", "(최고)", "👍🏻", "(최고!)"));
+
+        // When & Then
+        assertThat(custom.size()).isEqualTo(3);
+        assertThat(custom.replace("좋아요👍🏻 👍😊")).isEqualTo("좋아요(최고!) (최고)(웃음)");
+        assertThat(custom.replace("🫠")).isEmpty();
+        assertThatThrownBy(() -> EmojiShortcodes.of(Map.of(":)", "smile")))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,251 @@
+package com.line.review.episode6;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * EmojiUsageStatistics 테스트
+ */
+class EmojiUsageStatisticsTest {
+
+    @AfterEach
+    void tearDown() {
+        EmojiNormalizer.setObserver(null);
+    }
+
+    @Test
+    void shouldCountEmojiRemovedByNormalizer() {
+        // Given
+        EmojiUsageStatistics statistics = exactStatistics();
+        EmojiNormalizer.setObserver(statistics);
+
+        // When
+        String normalized = EmojiNormalizer.normalizeEmoji("친구😊 Alice👍🏽😊");
+        EmojiNormalizer.normalizeEmoji("이모지 없는 이름");
+        statistics.flush();
+
+        // Then
+        assertThat(normalized).isEqualTo("친구 Alice");
+        assertThat(statistics.total()).isEqualTo(3);
+        assertThat(statistics.estimate("😊")).isEqualTo(2);
+        assertThat(statistics.estimate("👍🏽")).isEqualTo(1);
+        assertThat(statistics.snapshot().topK())
+                .containsExactly(new EmojiUsageStatistics.HeavyHitter("😊", 2),
+                        new EmojiUsageStatistics.HeavyHitter("👍🏽", 1));
+    }
+
+    @Test
+    void shouldCountEmojiRemovedInPlace() {
+        // Given
+        EmojiUsageStatistics statistics = exactStatistics();
+        EmojiNormalizer.setObserver(statistics);
+        char[] arena = "A😊B🇰🇷".toCharArray();
+
+        // When
+        EmojiNormalizer.normalizeEmojiInPlace(arena, new int[]{0, 3, arena.length}, 2);
+        statistics.flush();
+
+        // Then
+        assertThat(statistics.estimate("😊")).isEqualTo(1);
+        assertThat(statistics.estimate("🇰🇷")).isEqualTo(1);
+    }
+
+    @Test
+    void shouldFindHeavyHittersWithConcurrentObservers() throws Exception {
+        // Given: 8개의 인기 이모지와 2,000종의 드문 이모지를 여러 스레드에서 관찰
+        EmojiUsageStatistics statistics = new EmojiUsageStatistics(1 << 12, 4, 16, 1);
+        String[] popular = {"😊", "👍", "🎉", "❤️", "🔥", "😂", "🙏", "✨"};
+        int threads = 4;
+        int perThread = 50_000;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        List<Future<?>> futures = new ArrayList<>();
+
+        // When
+        for (int t = 0; t < threads; t++) {
+            int seed = t;
+            futures.add(executor.submit(() -> {
+                Random random = new Random(seed);
+                for (int i = 0; i < perThread; i++) {
+                    String emoji = random.nextInt(4) == 0
+                            ? popular[random.nextInt(popular.length)]
+                            : Character.toString(0x1F000 + random.nextInt(2_000));
+                    statistics.onEmoji(emoji, 0, emoji.length());
+                }
+                statistics.flush();
+            }));
+        }
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        executor.shutdown();
+
+        // Then
+        assertThat(statistics.total()).isEqualTo((long) threads * perThread);
+        List<String> top = statistics.snapshot().topK().stream()
+                .limit(popular.length)
+                .map(EmojiUsageStatistics.HeavyHitter::emoji)
+                .toList();
+        assertThat(top).containsExactlyInAnyOrder(popular);
+    }
+
+    @Test
+    void shouldIncludeObservationsFromFinishedVirtualThreads() throws Exception {
+        // Given: 요청마다 새 가상 스레드가 이름을 정규화하고 끝남 (스레드마다 반영 기준보다 적게 관찰)
+        EmojiUsageStatistics statistics = exactStatistics();
+        EmojiNormalizer.setObserver(statistics);
+
+        // When
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int t = 0; t < 100; t++) {
+                executor.submit(() -> {
+                    for (int i = 0; i < 500; i++) {
+                        EmojiNormalizer.normalizeEmoji("친구😊");
+                    }
+                });
+            }
+        }
+
+        // Then: flush를 부르지 않아도 스냅숏에 모두 반영
+        EmojiUsageStatistics.Snapshot snapshot = statistics.snapshot();
+        assertThat(snapshot.total()).isEqualTo(50_000);
+        assertThat(snapshot.estimate("😊")).isEqualTo(50_000);
+        assertThat(statistics.total()).isEqualTo(50_000);
+    }
+
+    @Test
+    void shouldCountEveryEmojiByDefault() {
+        // Given
+        EmojiUsageStatistics statistics = new EmojiUsageStatistics();
+
+        // When: 드문 이모지도 한 번씩 섞음
+        observe(statistics, "😊", 160_000);
+        observe(statistics, "👍", 1);
+        observe(statistics, "🎉", 3);
+
+        // Then: 표본 추출을 하지 않으므로 실제 빈도보다 작게 추정하지 않음
+        assertThat(statistics.total()).isEqualTo(160_004);
+        assertThat(statistics.estimate("😊")).isGreaterThanOrEqualTo(160_000);
+        assertThat(statistics.estimate("👍")).isGreaterThanOrEqualTo(1);
+        assertThat(statistics.estimate("🎉")).isGreaterThanOrEqualTo(3);
+    }
+
+    @Test
+    void shouldNeverUnderestimate() {
+        // Given
+        EmojiUsageStatistics statistics = new EmojiUsageStatistics(1 << 8, 4, 8, 1);
+        int[] exact = new int[1_000];
+        Random random = new Random(7);
+
+        // When
+        for (int i = 0; i < 100_000; i++) {
+            int n = (int) Math.min(exact.length - 1, Math.abs(random.nextGaussian()) * 100);
+            exact[n]++;
+            String emoji = Character.toString(0x1F300 + n);
+            statistics.onEmoji(emoji, 0, emoji.length());
+        }
+        statistics.flush();
+
+        // Then
+        for (int n = 0; n < exact.length; n++) {
+            assertThat(statistics.estimate(Character.toString(0x1F300 + n))).isGreaterThanOrEqualTo(exact[n]);
+        }
+    }
+
+    @Test
+    void shouldReflectObservationsWhenThreadBufferFills() {
+        // Given
+        EmojiUsageStatistics statistics = exactStatistics();
+
+        // When: flush를 부르지 않아도 줄무늬 표가 차면 반영
+        observeWithoutFlush(statistics, "😊", EmojiUsageStatistics.FLUSH_THRESHOLD);
+
+        // Then
+        assertThat(statistics.total()).isEqualTo(EmojiUsageStatistics.FLUSH_THRESHOLD);
+        assertThat(statistics.estimate("😊")).isEqualTo(EmojiUsageStatistics.FLUSH_THRESHOLD);
+    }
+
+    @Test
+    void shouldScaleSampledCounts() {
+        // Given: 16개 중 하나꼴로 셈
+        EmojiUsageStatistics statistics = new EmojiUsageStatistics(1 << 10, 4, 8, 16);
+
+        // When
+        observe(statistics, "😊", 160_000);
+        observe(statistics, "👍", 16_000);
+
+        // Then: 실제 빈도 근처로 추정
+        assertThat(statistics.estimate("😊")).isBetween(150_000L, 170_000L);
+        assertThat(statistics.estimate("👍")).isBetween(12_000L, 20_000L);
+        assertThat(statistics.total()).isBetween(160_000L, 192_000L);
+        assertThat(statistics.snapshot().topK().get(0).emoji()).isEqualTo("😊");
+    }
+
+    @Test
+    void shouldMergeSnapshotsAcrossNodes() throws IOException {
+        // Given: 두 서버가 각자 집계
+        EmojiUsageStatistics first = new EmojiUsageStatistics(1 << 10, 4, 4, 1);
+        EmojiUsageStatistics second = new EmojiUsageStatistics(1 << 10, 4, 4, 1);
+        observe(first, "😊", 30);
+        observe(first, "🎉", 5);
+        observe(second, "👍", 20);
+        observe(second, "🎉", 25);
+
+        // When: 한쪽 스냅숏을 직렬화해 보낸 뒤 합침
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        second.snapshot().writeTo(new DataOutputStream(bytes));
+        EmojiUsageStatistics.Snapshot received =
+                EmojiUsageStatistics.Snapshot.readFrom(new DataInputStream(new ByteArrayInputStream(bytes.toByteArray())));
+        EmojiUsageStatistics.Snapshot merged = first.snapshot().merge(received);
+
+        // Then
+        assertThat(merged.total()).isEqualTo(80);
+        assertThat(merged.topK()).containsExactly(
+                new EmojiUsageStatistics.HeavyHitter("🎉", 30),
+                new EmojiUsageStatistics.HeavyHitter("😊", 30),
+                new EmojiUsageStatistics.HeavyHitter("👍", 20));
+    }
+
+    @Test
+    void shouldRejectMergeWithDifferentDimensions() {
+        EmojiUsageStatistics.Snapshot small = new EmojiUsageStatistics(1 << 8, 4, 8).snapshot();
+        EmojiUsageStatistics.Snapshot large = new EmojiUsageStatistics(1 << 10, 4, 8).snapshot();
+
+        assertThatThrownBy(() -> small.merge(large)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new EmojiUsageStatistics(1000, 4, 8)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new EmojiUsageStatistics(1 << 8, 4, 8, 10)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    /**
+     * 모든 이모지를 세는 통계 (정확한 횟수를 확인하는 테스트용)
+     */
+    private static EmojiUsageStatistics exactStatistics() {
+        return new EmojiUsageStatistics(EmojiUsageStatistics.DEFAULT_WIDTH, EmojiUsageStatistics.DEFAULT_DEPTH,
+                EmojiUsageStatistics.DEFAULT_TOP_K, 1);
+    }
+
+    private static void observeWithoutFlush(EmojiUsageStatistics statistics, String emoji, int times) {
+        for (int i = 0; i < times; i++) {
+            statistics.onEmoji(emoji, 0, emoji.length());
+        }
+    }
+
+    private static void observe(EmojiUsageStatistics statistics, String emoji, int times) {
+        observeWithoutFlush(statistics, emoji, times);
+        statistics.flush();
+    }
+}
@@ -0,0 +1,153 @@
+package com.line.review.episode6;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.TreeSet;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * FriendGraph 테스트
+ */
+class FriendGraphTest {
+
+    @Test
+    void shouldBuildFromContacts() {
+        // Given: 연락처의 표시 이름이 곧 사용자 id인 주소록
+        Map<String, Integer> ids = Map.of("민수", 1, "서연", 2, "지훈", 3);
+        List<ContactModel.Person> contacts = List.of(
+                new ContactModel.Person("민수", true),
+                new ContactModel.Person("서연", false),
+                new ContactModel.Person("지훈", true),
+                new ContactModel.Person("민수", true)
+        );
+
+        // When
+        FriendGraph graph = FriendGraph.builder(4)
+                .addContacts(0, contacts.parallelStream(), person -> ids.get(person.getDisplayName()))
+                .addFriend(2, 2)
+                .build();
+
+        // Then: 친구가 아닌 연락처, 중복 간선, 자기 자신을 향한 간선은 빠집니다.
+        assertThat(graph.friends(0)).containsExactly(1, 3);
+        assertThat(graph.friends(2)).isEmpty();
+        assertThat(graph.edgeCount()).isEqualTo(2);
+        assertThat(graph.isFriend(0, 3)).isTrue();
+        assertThat(graph.isFriend(3, 0)).isFalse();
+    }
+
+    @Test
+    void shouldMatchBruteForce() {
+        // Given: 간격이 1바이트를 넘는 간선과 친구가 아주 많은 사용자를 함께 넣습니다.
+        int users = 5_000;
+        Random random = new Random(3);
+        FriendGraph.Builder builder = FriendGraph.builder(users);
+        List<Set<Integer>> expected = new ArrayList<>();
+        for (int user = 0; user < users; user++) {
+            expected.add(new TreeSet<>());
+        }
+        for (int i = 0; i < 100_000; i++) {
+            int from = random.nextInt(4) == 0 ? 0 : random.nextInt(users);
+            int to = random.nextInt(users);
+            builder.addFriend(from, to);
+            if (from != to) {
+                expected.get(from).add(to);
+            }
+        }
+
+        // When
+        FriendGraph graph = builder.build();
+
+        // Then
+        for (int user = 0; user < users; user++) {
+            assertThat(Arrays.stream(graph.friends(user)).boxed().toList()).containsExactlyElementsOf(expected.get(user));
+        }
+        int[] left = new int[1_000];
+        int[] right = new int[left.length];
+        for (int i = 0; i < left.length; i++) {
+            left[i] = i % 10 == 0 ? 0 : random.nextInt(users);
+            right[i] = random.nextInt(users);
+        }
+        int[] counts = graph.mutualFriendCounts(left, right);
+        for (int i = 0; i < left.length; i++) {
+            Set<Integer> mutual = new HashSet<>(expected.get(left[i]));
+            mutual.retainAll(expected.get(right[i]));
+            assertThat(counts[i]).as("pair %d-%d", left[i], right[i]).isEqualTo(mutual.size());
+        }
+    }
+
+    @Test
+    void shouldAgreeOnIntersectionStrategies() {
+        Random random = new Random(5);
+        for (int round = 0; round < 200; round++) {
+            // Given
+            int[] small = random.ints(random.nextInt(100), 0, 500).distinct().sorted().toArray();
+            int[] large = random.ints(random.nextInt(5_000), 0, 500 + random.nextInt(5_000)).distinct().sorted().toArray();
+            Set<Integer> smallSet = new HashSet<>();
+            for (int value : small) {
+                smallSet.add(value);
+            }
+            int expected = 0;
+            for (int value : large) {
+                expected += smallSet.contains(value) ? 1 : 0;
+            }
+
+            // When & Then
+            assertThat(FriendGraph.mergeIntersectionSize(small, 0, small.length, large, 0, large.length)).isEqualTo(expected);
+            assertThat(FriendGraph.gallopingIntersectionSize(small, small.length, large, large.length)).isEqualTo(expected);
+            assertThat(FriendGraph.vectorIntersectionSize(small, small.length, large, large.length)).isEqualTo(expected);
+            assertThat(FriendGraph.vectorIntersectionSize(large, large.length, small, small.length)).isEqualTo(expected);
+        }
+    }
+
+    @Test
+    void shouldSuggestFriendsOfFriendsByMutualCount() {
+        // Given: 0의 친구는 1, 2, 3
+        FriendGraph graph = FriendGraph.builder(7)
+                .addFriend(0, 1).addFriend(0, 2).addFriend(0, 3)
+                .addFriend(1, 4).addFriend(2, 4).addFriend(3, 4)
+                .addFriend(1, 5).addFriend(2, 5)
+                .addFriend(1, 6).addFriend(1, 0).addFriend(2, 3)
+                .build();
+
+        // When
+        List<FriendGraph.Suggestion> suggestions = graph.suggestFriends(0, 2);
+
+        // Then: 이미 친구인 3과 자기 자신은 추천하지 않습니다.
+        assertThat(suggestions).containsExactly(
+                new FriendGraph.Suggestion(4, 3),
+                new FriendGraph.Suggestion(5, 2));
+        assertThat(graph.mutualFriendCount(1, 2)).isEqualTo(2);
+    }
+
+    @Test
+    void shouldRejectUnknownUsers() {
+        FriendGraph.Builder builder = FriendGraph.builder(2);
+
+        assertThatThrownBy(() -> builder.addFriend(0, 2)).isInstanceOf(IndexOutOfBoundsException.class);
+        assertThatThrownBy(() -> builder.addFriend(-1, 0)).isInstanceOf(IndexOutOfBoundsException.class);
+    }
+
+    @Test
+    void shouldReportMemoryPerEdge() {
+        FriendGraph.Builder builder = FriendGraph.builder(1_000);
+        for (int user = 0; user < 1_000; user++) {
+            for (int friend = 1; friend <= 10; friend++) {
+                builder.addFriend(user, (user + friend) % 1_000);
+            }
+        }
+        FriendGraph graph = builder.build();
+
+        // 가까운 id끼리의 간선은 간격이 작아 대부분 1바이트로 저장됩니다.
+        assertThat(graph.adjacencyBytes()).isLessThan(graph.edgeCount() * 2);
+        assertThat(graph.bytesPerEdge()).isGreaterThan(0);
+    }
+}
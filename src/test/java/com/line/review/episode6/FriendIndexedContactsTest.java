@@ -0,0 +1,153 @@
+package com.line.review.episode6;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * FriendIndexedContacts 테스트
+ */
+class FriendIndexedContactsTest {
+
+    private final FriendIndexedContacts contacts = new FriendIndexedContacts();
+
+    @Test
+    void shouldIndexOnlyFriends_WhenAdding() {
+        // When
+        int friend = contacts.add(new ContactModel.Person("김철수😊", true));
+        int other = contacts.add(new ContactModel.Person("이영희", false));
+
+        // Then
+        assertThat(friend).isNotEqualTo(other);
+        assertThat(contacts.friendCount()).isEqualTo(1);
+        assertThat(friendNames()).containsExactly("김철수");
+    }
+
+    @Test
+    void shouldKeepRemainingFriends_WhenRemovingSwappedAndLastElements() {
+        // Given
+        int a = contacts.add(new ContactModel.Person("A", true));
+        int b = contacts.add(new ContactModel.Person("B", true));
+        int c = contacts.add(new ContactModel.Person("C", true));
+        int d = contacts.add(new ContactModel.Person("D", true));
+
+        // When: 가운데를 지우면 마지막 D가 그 자리로 옮겨짐
+        contacts.remove(b);
+
+        // Then
+        assertThat(friendNames()).containsExactly("A", "D", "C");
+
+        // When: 자리를 옮긴 D와 마지막 C를 지움
+        contacts.remove(d);
+        assertThat(friendNames()).containsExactly("A", "C");
+        contacts.remove(c);
+
+        // Then
+        assertThat(friendNames()).containsExactly("A");
+
+        // When & Then: 마지막 하나를 지우고, 이미 지운 id나 없는 id는 무시
+        contacts.remove(a);
+        contacts.remove(a);
+        contacts.remove(99);
+        contacts.remove(-1);
+        assertThat(contacts.friendCount()).isZero();
+        assertThat(friendNames()).isEmpty();
+    }
+
+    @Test
+    void shouldUpdateIndex_WhenFriendFlagToggles() {
+        // Given
+        int a = contacts.add(new ContactModel.Person("A", true));
+        int b = contacts.add(new ContactModel.Person("B", false));
+        int c = contacts.add(new ContactModel.Person("C", true));
+
+        // When
+        contacts.setFriend(a, false);
+        contacts.setFriend(b, true);
+        contacts.setFriend(c, true);
+
+        // Then
+        assertThat(friendNames()).containsExactlyInAnyOrder("B", "C");
+
+        // When: 다시 친구로 바꾼 뒤 삭제
+        contacts.setFriend(a, true);
+        contacts.remove(b);
+        contacts.setFriend(b, true);
+
+        // Then
+        assertThat(friendNames()).containsExactlyInAnyOrder("A", "C");
+    }
+
+    @Test
+    void shouldReturnRequiredLength_WhenDestinationIsTooSmall() {
+        // Given
+        contacts.add(new ContactModel.Person("A", true));
+        contacts.add(new ContactModel.Person("B", true));
+
+        // When & Then
+        assertThat(contacts.copyFriendNames(new String[1])).isEqualTo(-2);
+    }
+
+    @Test
+    void shouldSeeConsistentFriends_WhileWriterUpdates() throws Exception {
+        // Given: 고정 친구 100명, 쓰기 스레드는 임시 친구를 추가/토글/삭제하며 배열을 키우고 자리를 바꿈
+        Set<String> fixed = new HashSet<>();
+        for (int i = 0; i < 100; i++) {
+            contacts.add(new ContactModel.Person("고정" + i, true));
+            fixed.add("고정" + i);
+        }
+        AtomicBoolean running = new AtomicBoolean(true);
+
+        // When
+        List<Future<Integer>> readers = new ArrayList<>();
+        try (ExecutorService executor = Executors.newFixedThreadPool(4)) {
+            Future<?> writer = executor.submit(() -> {
+                for (int i = 0; i < 20_000; i++) {
+                    int id = contacts.add(new ContactModel.Person("임시" + i, false));
+                    contacts.setFriend(id, true);
+                    contacts.remove(id);
+                }
+                running.set(false);
+                return null;
+            });
+            for (int r = 0; r < 3; r++) {
+                readers.add(executor.submit(() -> {
+                    String[] dest = new String[128];
+                    int checks = 0;
+                    while (running.get() || checks == 0) {
+                        int copied = contacts.copyFriendNames(dest);
+                        // 어느 시점이든 고정 친구 전부와 임시 친구 최대 1명
+                        assertThat(copied).isBetween(100, 101);
+                        assertThat(Arrays.asList(dest).subList(0, copied)).doesNotContainNull().containsAll(fixed);
+                        assertThat(contacts.friendCount()).isBetween(100, 101);
+                        checks++;
+                    }
+                    return checks;
+                }));
+            }
+            writer.get();
+        }
+
+        // Then
+        for (Future<Integer> reader : readers) {
+            assertThat(reader.get()).isPositive();
+        }
+        assertThat(friendNames()).containsExactlyInAnyOrderElementsOf(fixed);
+    }
+
+    private List<String> friendNames() {
+        List<String> names = new ArrayList<>();
+        contacts.forEachFriendName(names::add);
+        return names;
+    }
+}
@@ -0,0 +1,85 @@
+package com.line.review.episode6;
+
+import org.junit.jupiter.api.Test;
+
+import java.text.Normalizer;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * NameNormalizer 테스트
+ */
+class NameNormalizerTest {
+
+    @Test
+    void shouldReturnSameInstance_WhenAlreadyNormalized() {
+        // Given
+        String name = "김민수 Alice さとう がぎ Élodie";
+
+        // When & Then
+        assertThat(NameNormalizer.nfc().normalize(name)).isSameAs(name);
+        assertThat(NameNormalizer.nfkc().normalize(name)).isSameAs(name);
+        assertThat(NameNormalizer.nfc().normalize(null)).isNull();
+    }
+
+    @Test
+    void shouldReturnSameInstance_WhenSupplementaryCharactersNeedNoChange() {
+        // Given: 서로게이트 쌍 때문에 느린 경로로 가지만 지우거나 바꿀 것이 없는 이름
+        String name = "𠮷野家";
+        String withCombining = "𠮷野家 Élodie";
+
+        // When & Then
+        assertThat(NameNormalizer.nfc().normalize(name)).isSameAs(name);
+        assertThat(NameNormalizer.nfkc().normalize(name)).isSameAs(name);
+        assertThat(NameNormalizer.nfc().normalize(withCombining)).isSameAs(withCombining);
+        assertThat(NameNormalizer.nfc().normalize("𠮷野家😊")).isEqualTo("𠮷野家");
+    }
+
+    @Test
+    void shouldComposeDecomposedHangulAndKana() {
+        // Given: macOS 파일 이름 등에서 오는 NFD 형태
+        String decomposed = Normalizer.normalize("한글 이름 がぎ Élodie", Normalizer.Form.NFD);
+
+        // When & Then
+        assertThat(NameNormalizer.nfc().normalize(decomposed)).isEqualTo("한글 이름 がぎ Élodie");
+    }
+
+    @Test
+    void shouldComposeAcrossRemovedEmoji() {
+        // 이모지를 먼저 지우므로 이모지 양쪽의 기본 문자와 결합 문자가 합쳐집니다.
+        assertThat(NameNormalizer.nfc().normalize("e😊́ 친구👍🏽")).isEqualTo("é 친구");
+    }
+
+    @Test
+    void shouldApplyCompatibilityMappingsForNfkc() {
+        assertThat(NameNormalizer.nfkc().normalize("ＡＢＣ ｶﾞ ﬁle①")).isEqualTo("ABC ガ file1");
+        assertThat(NameNormalizer.nfc().normalize("ＡＢＣ ｶﾞ")).isEqualTo("ＡＢＣ ｶﾞ");
+    }
+
+    @Test
+    void shouldMatchNormalizerAfterEmojiRemoval() {
+        // Given
+        int[] codePoints = {'a', 'e', '1', '#', '가', 0x1100, 0x1161, 0x11A8, 0x0301, 0x0308, 0x0323, 0x3099,
+                'か', 'ｶ', 0xFF9E, 0xFB01, 0x2122, 0x00A0, 0x212B, 0x0344, 0x0F73, 0x1D15E,
+                0x1F600, 0xFE0F, 0x20E3, 0x200D, 0x1F3FD, 0x1F1F0, 0x1F1F7};
+        Random random = new Random(5);
+        for (int round = 0; round < 100_000; round++) {
+            StringBuilder builder = new StringBuilder();
+            for (int i = random.nextInt(10); i > 0; i--) {
+                int codePoint = random.nextInt(10) == 0
+                        ? random.nextInt(0x30000)
+                        : codePoints[random.nextInt(codePoints.length)];
+                builder.appendCodePoint(Character.isSurrogate((char) codePoint) ? 'z' : codePoint);
+            }
+            String name = builder.toString();
+            String stripped = EmojiNormalizer.normalizeEmoji(name);
+
+            // When & Then
+            assertThat(NameNormalizer.nfc().normalize(name)).as(name)
+                    .isEqualTo(Normalizer.normalize(stripped, Normalizer.Form.NFC));
+            assertThat(NameNormalizer.nfkc().normalize(name)).as(name)
+                    .isEqualTo(Normalizer.normalize(stripped, Normalizer.Form.NFKC));
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package com.line.review.episode6;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * NormalizedNameCache 테스트
+ */
+class NormalizedNameCacheTest {
+
+    @Test
+    void shouldNormalizeOnlyOnce_WhenSameNameRepeats() {
+        // Given
+        AtomicInteger calls = new AtomicInteger();
+        NormalizedNameCache cache = new NormalizedNameCache(64 * 1024, text -> {
+            calls.incrementAndGet();
+            return EmojiNormalizer.normalizeEmoji(text);
+        });
+
+        // When
+        for (int i = 0; i < 10; i++) {
+            assertThat(cache.normalize("친구😊")).isEqualTo("친구");
+        }
+
+        // Then
+        assertThat(calls).hasValue(1);
+        assertThat(cache.stats().hitCount()).isEqualTo(9);
+        assertThat(cache.stats().missCount()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldStayWithinByteBudget_AndKeepFrequentNames() {
+        // Given
+        NormalizedNameCache cache = new NormalizedNameCache(8 * 1024);
+
+        // When
+        for (int i = 0; i < 10_000; i++) {
+            cache.normalize("공식계정");
+            cache.normalize("이름" + i);
+        }
+
+        // Then
+        NormalizedNameCache.Stats stats = cache.stats();
+        assertThat(stats.weightedBytes()).isLessThanOrEqualTo(8 * 1024);
+        assertThat(stats.evictionCount()).isPositive();
+        assertThat(stats.hitCount()).isGreaterThanOrEqualTo(9_000);
+    }
+
+    @Test
+    void shouldUseCacheInProcessContactGood() {
+        // Given
+        NormalizedNameCache cache = new NormalizedNameCache(64 * 1024);
+        ContactProcessor processor = new ContactProcessor(cache::normalize);
+
+        // When
+        processor.processContactGood(new ContactModel.Person("친구😊", true));
+        ReturnValue result = processor.processContactGood(new ContactModel.Person("친구😊", true));
+
+        // Then
+        assertThat(result.getValue()).isEqualTo("친구");
+        assertThat(cache.stats().hitCount()).isEqualTo(1);
+    }
+}
@@ -0,0 +1,105 @@
+package com.line.review.episode6;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * NormalizedNameInterner 테스트
+ */
+class NormalizedNameInternerTest {
+
+    @Test
+    void shouldReturnSameInstance_WhenSameNameRepeats() {
+        // Given
+        NormalizedNameInterner interner = new NormalizedNameInterner();
+        String first = new String("김철수");
+
+        // When
+        String interned = interner.intern(first);
+        ReturnValue value = interner.returnValueOf(new String("김철수"));
+
+        // Then
+        assertThat(interned).isSameAs(first);
+        assertThat(interner.intern(new String("김철수"))).isSameAs(first);
+        assertThat(value.getValue()).isSameAs(first);
+        assertThat(interner.returnValueOf(new String("김철수"))).isSameAs(value);
+        assertThat(interner.intern(null)).isNull();
+        assertThat(interner.hitCount()).isEqualTo(3);
+        assertThat(interner.size()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldKeepStringIdentityAcrossGc_WhenOnlyStringIsHeld() throws Exception {
+        // Given: intern한 String만 붙잡고 ReturnValue는 버림
+        NormalizedNameInterner interner = new NormalizedNameInterner();
+        String held = interner.intern(new String("김철수"));
+        interner.returnValueOf(new String("김철수"));
+
+        // When
+        for (int i = 0; i < 5; i++) {
+            System.gc();
+            Thread.sleep(10);
+        }
+
+        // Then: 다음 호출도 같은 String을 돌려주고, 다시 만든 ReturnValue도 그 String을 공유
+        assertThat(interner.intern(new String("김철수"))).isSameAs(held);
+        assertThat(interner.returnValueOf(new String("김철수")).getValue()).isSameAs(held);
+        assertThat(interner.size()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldReclaimNames_WhenNoLongerReferenced() throws Exception {
+        // Given: 1,000개의 이름 중 하나만 계속 붙잡음
+        NormalizedNameInterner interner = new NormalizedNameInterner(4);
+        List<ReturnValue> values = new ArrayList<>();
+        for (int i = 0; i < 1_000; i++) {
+            values.add(interner.returnValueOf("이름" + i));
+        }
+        ReturnValue kept = values.get(0);
+        assertThat(interner.size()).isEqualTo(1_000);
+
+        // When
+        values.clear();
+        awaitGc(() -> interner.size() == 1);
+
+        // Then: 나머지는 회수되고, 빈 슬롯을 재사용해 다시 등록할 수 있음
+        assertThat(interner.size()).isEqualTo(1);
+        assertThat(interner.returnValueOf(new String("이름0"))).isSameAs(kept);
+        for (int i = 0; i < 1_000; i++) {
+            values.add(interner.returnValueOf("다른이름" + i));
+        }
+        assertThat(interner.size()).isEqualTo(1_001);
+    }
+
+    @Test
+    void shouldInternAcrossShardCounts() {
+        for (int shardCount : new int[]{1, 3, 64}) {
+            // Given
+            NormalizedNameInterner interner = new NormalizedNameInterner(shardCount);
+            List<String> names = new ArrayList<>();
+            for (int i = 0; i < 5_000; i++) {
+                names.add(interner.intern("이름" + i));
+            }
+
+            // When & Then: 같은 내용은 처음 등록한 인스턴스로 돌아옴
+            for (int i = 0; i < 5_000; i++) {
+                assertThat(interner.intern(new String("이름" + i))).as("shards=%d", shardCount).isSameAs(names.get(i));
+            }
+            assertThat(interner.size()).isEqualTo(5_000);
+        }
+    }
+
+    private static void awaitGc(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (!condition.getAsBoolean() && System.nanoTime() < deadline) {
+            System.gc();
+            Thread.sleep(10);
+        }
+    }
+}
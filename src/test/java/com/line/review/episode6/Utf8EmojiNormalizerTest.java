@@ -0,0 +1,102 @@
+package com.line.review.episode6;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Utf8EmojiNormalizer 테스트
+ */
+class Utf8EmojiNormalizerTest {
+
+    /** 이모지 시퀀스를 이루는 문자와 그 주변 문자 */
+    private static final int[] CODE_POINTS = {
+            'a', '1', '#', '*', '가', 'ア', '©', '®', 0x20AC, 0x2122, 0x203C, 0x2192, 0x2764, 0x263A, 0x261D, 0x2B50, 0x3030,
+            0xFE0F, 0xFE0E, 0x20E3, 0x200D, 0x1F1F0, 0x1F1F7, 0x1F3F4, 0x1F3FD, 0x1F44D, 0x1F469,
+            0x1F4BB, 0x1F600, 0xE0067, 0xE007F, 0x10FFFF
+    };
+
+    @Test
+    void shouldMatchStringNormalizer() {
+        Random random = new Random(17);
+        for (int round = 0; round < 200_000; round++) {
+            // Given
+            StringBuilder builder = new StringBuilder();
+            for (int i = random.nextInt(12); i > 0; i--) {
+                int codePoint = random.nextInt(8) == 0
+                        ? random.nextInt(0x20000)
+                        : CODE_POINTS[random.nextInt(CODE_POINTS.length)];
+                builder.appendCodePoint(Character.isSurrogate((char) codePoint) ? 'x' : codePoint);
+            }
+            String name = builder.toString();
+            byte[] utf8 = name.getBytes(StandardCharsets.UTF_8);
+            byte[] expected = EmojiNormalizer.normalizeEmoji(name).getBytes(StandardCharsets.UTF_8);
+
+            // When
+            byte[] output = new byte[utf8.length];
+            int written = Utf8EmojiNormalizer.normalize(utf8, 0, utf8.length, output, 0);
+
+            // Then
+            assertThat(Arrays.copyOf(output, written)).as(name).isEqualTo(expected);
+        }
+    }
+
+    @Test
+    void shouldStripSequencesInPlace() {
+        // Given
+        byte[] utf8 = "👩🏽‍💻개발자 1️⃣번 🇰🇷한국 ©2024 ❤️‍🔥".getBytes(StandardCharsets.UTF_8);
+
+        // When
+        int written = Utf8EmojiNormalizer.normalize(utf8, 0, utf8.length, utf8, 0);
+
+        // Then
+        assertThat(new String(utf8, 0, written, StandardCharsets.UTF_8)).isEqualTo("개발자 번 한국 ©2024 ");
+    }
+
+    @Test
+    void shouldCopyMalformedBytes() {
+        // Given: 잘린 4바이트 시퀀스, 잘못된 시작 바이트, 짧게 쓸 수 있는 값을 길게 쓴 문자
+        byte[] malformed = {(byte) 0xF0, (byte) 0x9F, (byte) 0x98, 'a', (byte) 0xFF, (byte) 0xC0, (byte) 0x80};
+
+        // When
+        byte[] output = new byte[malformed.length];
+        int written = Utf8EmojiNormalizer.normalize(malformed, 0, malformed.length, output, 0);
+
+        // Then
+        assertThat(written).isEqualTo(malformed.length);
+        assertThat(output).isEqualTo(malformed);
+    }
+
+    @Test
+    void shouldNormalizeDirectBuffers() {
+        // Given
+        byte[] utf8 = "친구😊 Bob👍🏻".getBytes(StandardCharsets.UTF_8);
+        ByteBuffer src = ByteBuffer.allocateDirect(utf8.length).put(utf8).flip();
+        ByteBuffer dst = ByteBuffer.allocateDirect(utf8.length);
+
+        // When
+        int written = Utf8EmojiNormalizer.normalize(src, dst);
+
+        // Then
+        byte[] result = new byte[written];
+        dst.flip().get(result);
+        assertThat(new String(result, StandardCharsets.UTF_8)).isEqualTo("친구 Bob");
+        assertThat(src.hasRemaining()).isFalse();
+    }
+
+    @Test
+    void shouldRejectSmallOutputBuffer() {
+        ByteBuffer src = ByteBuffer.wrap("abc".getBytes(StandardCharsets.UTF_8));
+        ByteBuffer dst = ByteBuffer.allocate(2);
+
+        assertThatThrownBy(() -> Utf8EmojiNormalizer.normalize(src, dst)).isInstanceOf(BufferOverflowException.class);
+        assertThat(src.position()).isZero();
+    }
+}